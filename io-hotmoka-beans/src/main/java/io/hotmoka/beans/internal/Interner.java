@@ -0,0 +1,117 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.beans.internal;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.hotmoka.annotations.ThreadSafe;
+
+/**
+ * A table of canonical instances of immutable objects, similar to {@link String#intern()}.
+ * The canonical instances are weakly referenced, hence they get removed from the table
+ * when they are not used anymore.
+ *
+ * @param <T> the type of the interned objects
+ */
+@ThreadSafe
+public final class Interner<T> {
+
+	/**
+	 * A map from each canonical instance to itself.
+	 */
+	private final ConcurrentMap<Key<T>, Key<T>> table = new ConcurrentHashMap<>();
+
+	/**
+	 * The queue where the keys of the canonical instances get enqueued,
+	 * once the latter are garbage-collected.
+	 */
+	private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+	/**
+	 * Yields the canonical instance equal to the given object.
+	 *
+	 * @param object the object
+	 * @return the canonical instance equal to {@code object}; this is {@code object}
+	 *         itself if no equal object was interned before
+	 */
+	public T intern(T object) {
+		expungeStaleKeys();
+
+		// the common case: the object has been already interned and we do not register the key in the queue
+		Key<T> old = table.get(new Key<>(object, null));
+		if (old != null) {
+			T canonical = old.get();
+			if (canonical != null)
+				return canonical;
+		}
+
+		var key = new Key<>(object, queue);
+		while (true) {
+			old = table.putIfAbsent(key, key);
+			if (old == null)
+				return object;
+
+			T canonical = old.get();
+			if (canonical != null)
+				return canonical;
+
+			// the canonical instance has just been garbage-collected
+			table.remove(old, old);
+		}
+	}
+
+	private void expungeStaleKeys() {
+		Reference<? extends T> stale;
+		while ((stale = queue.poll()) != null)
+			table.remove(stale, stale);
+	}
+
+	/**
+	 * A weak reference to an object, that compares by equality of the referenced objects.
+	 * Cleared references are only equal to themselves.
+	 */
+	private static class Key<T> extends WeakReference<T> {
+		private final int hashCode;
+
+		private Key(T object, ReferenceQueue<T> queue) {
+			super(object, queue);
+
+			this.hashCode = object.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (other == this)
+				return true;
+			else if (other instanceof Key<?>) {
+				Object referent = get();
+				return referent != null && referent.equals(((Key<?>) other).get());
+			}
+			else
+				return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
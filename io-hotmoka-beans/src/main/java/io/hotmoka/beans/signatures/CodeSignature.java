@@ -55,283 +55,303 @@ public abstract class CodeSignature extends MarshallableBean {
 	/**
 	 * The method {@code balance} of a contract.
 	 */
-	public final static MethodSignature BALANCE = new NonVoidMethodSignature(ClassType.CONTRACT, "balance", ClassType.BIG_INTEGER);
+	public final static MethodSignature BALANCE = new NonVoidMethodSignature(ClassType.CONTRACT, "balance", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code balanceRed} of a contract.
 	 */
-	public final static MethodSignature BALANCE_RED = new NonVoidMethodSignature(ClassType.CONTRACT, "balanceRed", ClassType.BIG_INTEGER);
+	public final static MethodSignature BALANCE_RED = new NonVoidMethodSignature(ClassType.CONTRACT, "balanceRed", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code publicKey} of an account.
 	 */
-	public final static MethodSignature PUBLIC_KEY = new NonVoidMethodSignature(ClassType.ACCOUNT, "publicKey", ClassType.STRING);
+	public final static MethodSignature PUBLIC_KEY = new NonVoidMethodSignature(ClassType.ACCOUNT, "publicKey", ClassType.STRING).intern();
 
 	/**
 	 * The method {@code nonce} of an account.
 	 */
-	public final static MethodSignature NONCE = new NonVoidMethodSignature(ClassType.ACCOUNT, "nonce", ClassType.BIG_INTEGER);
+	public final static MethodSignature NONCE = new NonVoidMethodSignature(ClassType.ACCOUNT, "nonce", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code getGenesisTime} of the manifest.
 	 */
-	public final static MethodSignature GET_GENESIS_TIME = new NonVoidMethodSignature(ClassType.MANIFEST, "getGenesisTime", ClassType.STRING);
+	public final static MethodSignature GET_GENESIS_TIME = new NonVoidMethodSignature(ClassType.MANIFEST, "getGenesisTime", ClassType.STRING).intern();
 
 	/**
 	 * The method {@code getChainId} of the manifest.
 	 */
-	public final static MethodSignature GET_CHAIN_ID = new NonVoidMethodSignature(ClassType.MANIFEST, "getChainId", ClassType.STRING);
+	public final static MethodSignature GET_CHAIN_ID = new NonVoidMethodSignature(ClassType.MANIFEST, "getChainId", ClassType.STRING).intern();
 
 	/**
 	 * The method {@code getMaxErrorLength} of the manifest.
 	 */
-	public final static MethodSignature GET_MAX_ERROR_LENGTH = new NonVoidMethodSignature(ClassType.MANIFEST, "getMaxErrorLength", BasicTypes.INT);
+	public final static MethodSignature GET_MAX_ERROR_LENGTH = new NonVoidMethodSignature(ClassType.MANIFEST, "getMaxErrorLength", BasicTypes.INT).intern();
 
 	/**
 	 * The method {@code getMaxDependencies} of the manifest.
 	 */
-	public final static MethodSignature GET_MAX_DEPENDENCIES = new NonVoidMethodSignature(ClassType.MANIFEST, "getMaxDependencies", BasicTypes.INT);
+	public final static MethodSignature GET_MAX_DEPENDENCIES = new NonVoidMethodSignature(ClassType.MANIFEST, "getMaxDependencies", BasicTypes.INT).intern();
 
 	/**
 	 * The method {@code getMaxCumulativeSizeOfDependencies} of the manifest.
 	 */
-	public final static MethodSignature GET_MAX_CUMULATIVE_SIZE_OF_DEPENDENCIES = new NonVoidMethodSignature(ClassType.MANIFEST, "getMaxCumulativeSizeOfDependencies", BasicTypes.LONG);
+	public final static MethodSignature GET_MAX_CUMULATIVE_SIZE_OF_DEPENDENCIES = new NonVoidMethodSignature(ClassType.MANIFEST, "getMaxCumulativeSizeOfDependencies", BasicTypes.LONG).intern();
 
 	/**
 	 * The method {@code getTicketForNewPoll} of the validators.
 	 */
-	public final static MethodSignature GET_TICKET_FOR_NEW_POLL = new NonVoidMethodSignature(ClassType.VALIDATORS, "getTicketForNewPoll", ClassType.BIG_INTEGER);
+	public final static MethodSignature GET_TICKET_FOR_NEW_POLL = new NonVoidMethodSignature(ClassType.VALIDATORS, "getTicketForNewPoll", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code getHeight} of the validators.
 	 */
-	public final static MethodSignature GET_HEIGHT = new NonVoidMethodSignature(ClassType.VALIDATORS, "getHeight", ClassType.BIG_INTEGER);
+	public final static MethodSignature GET_HEIGHT = new NonVoidMethodSignature(ClassType.VALIDATORS, "getHeight", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code getCurrentSupply} of the validators.
 	 */
-	public final static MethodSignature GET_CURRENT_SUPPLY = new NonVoidMethodSignature(ClassType.VALIDATORS, "getCurrentSupply", ClassType.BIG_INTEGER);
+	public final static MethodSignature GET_CURRENT_SUPPLY = new NonVoidMethodSignature(ClassType.VALIDATORS, "getCurrentSupply", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code getNumberOfTransactions} of the validators.
 	 */
-	public final static MethodSignature GET_NUMBER_OF_TRANSACTIONS = new NonVoidMethodSignature(ClassType.VALIDATORS, "getNumberOfTransactions", ClassType.BIG_INTEGER);
+	public final static MethodSignature GET_NUMBER_OF_TRANSACTIONS = new NonVoidMethodSignature(ClassType.VALIDATORS, "getNumberOfTransactions", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code getMaxFaucet} of the gamete.
 	 */
-	public final static MethodSignature GET_MAX_FAUCET = new NonVoidMethodSignature(ClassType.GAMETE, "getMaxFaucet", ClassType.BIG_INTEGER);
+	public final static MethodSignature GET_MAX_FAUCET = new NonVoidMethodSignature(ClassType.GAMETE, "getMaxFaucet", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code getMaxRedFaucet} of the gamete.
 	 */
-	public final static MethodSignature GET_MAX_RED_FAUCET = new NonVoidMethodSignature(ClassType.GAMETE, "getMaxRedFaucet", ClassType.BIG_INTEGER);
+	public final static MethodSignature GET_MAX_RED_FAUCET = new NonVoidMethodSignature(ClassType.GAMETE, "getMaxRedFaucet", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code allowsSelfCharged} of the manifest.
 	 */
-	public final static MethodSignature ALLOWS_SELF_CHARGED = new NonVoidMethodSignature(ClassType.MANIFEST, "allowsSelfCharged", BasicTypes.BOOLEAN);
+	public final static MethodSignature ALLOWS_SELF_CHARGED = new NonVoidMethodSignature(ClassType.MANIFEST, "allowsSelfCharged", BasicTypes.BOOLEAN).intern();
 
 	/**
 	 * The method {@code allowsUnsignedFaucet} of the manifest.
 	 */
-	public final static MethodSignature ALLOWS_UNSIGNED_FAUCET = new NonVoidMethodSignature(ClassType.MANIFEST, "allowsUnsignedFaucet", BasicTypes.BOOLEAN);
+	public final static MethodSignature ALLOWS_UNSIGNED_FAUCET = new NonVoidMethodSignature(ClassType.MANIFEST, "allowsUnsignedFaucet", BasicTypes.BOOLEAN).intern();
 
 	/**
 	 * The method {@code allowsMintBurnFromGamete} of the manifest.
 	 */
-	public final static MethodSignature ALLOWS_MINT_BURN_FROM_GAMETE = new NonVoidMethodSignature(ClassType.MANIFEST, "allowsMintBurnFromGamete", BasicTypes.BOOLEAN);
+	public final static MethodSignature ALLOWS_MINT_BURN_FROM_GAMETE = new NonVoidMethodSignature(ClassType.MANIFEST, "allowsMintBurnFromGamete", BasicTypes.BOOLEAN).intern();
 
 	/**
 	 * The method {@code skipsVerification} of the manifest.
 	 */
-	public final static MethodSignature SKIPS_VERIFICATION = new NonVoidMethodSignature(ClassType.MANIFEST, "skipsVerification", BasicTypes.BOOLEAN);
+	public final static MethodSignature SKIPS_VERIFICATION = new NonVoidMethodSignature(ClassType.MANIFEST, "skipsVerification", BasicTypes.BOOLEAN).intern();
 
 	/**
 	 * The method {@code getSignature} of the manifest.
 	 */
-	public final static MethodSignature GET_SIGNATURE = new NonVoidMethodSignature(ClassType.MANIFEST, "getSignature", ClassType.STRING);
+	public final static MethodSignature GET_SIGNATURE = new NonVoidMethodSignature(ClassType.MANIFEST, "getSignature", ClassType.STRING).intern();
 
 	/**
 	 * The method {@code getGamete} of the manifest.
 	 */
-	public final static MethodSignature GET_GAMETE = new NonVoidMethodSignature(ClassType.MANIFEST, "getGamete", ClassType.GAMETE);
+	public final static MethodSignature GET_GAMETE = new NonVoidMethodSignature(ClassType.MANIFEST, "getGamete", ClassType.GAMETE).intern();
 
 	/**
 	 * The method {@code getGasStation} of the manifest.
 	 */
-	public final static MethodSignature GET_GAS_STATION = new NonVoidMethodSignature(ClassType.MANIFEST, "getGasStation", ClassType.GAS_STATION);
+	public final static MethodSignature GET_GAS_STATION = new NonVoidMethodSignature(ClassType.MANIFEST, "getGasStation", ClassType.GAS_STATION).intern();
 
 	/**
 	 * The method {@code getVersions} of the manifest.
 	 */
-	public final static MethodSignature GET_VERSIONS = new NonVoidMethodSignature(ClassType.MANIFEST, "getVersions", ClassType.VERSIONS);
+	public final static MethodSignature GET_VERSIONS = new NonVoidMethodSignature(ClassType.MANIFEST, "getVersions", ClassType.VERSIONS).intern();
 
 	/**
 	 * The method {@code getAccountsLedger} of the manifest.
 	 */
-	public final static MethodSignature GET_ACCOUNTS_LEDGER = new NonVoidMethodSignature(ClassType.MANIFEST, "getAccountsLedger", ClassType.ACCOUNTS_LEDGER);
+	public final static MethodSignature GET_ACCOUNTS_LEDGER = new NonVoidMethodSignature(ClassType.MANIFEST, "getAccountsLedger", ClassType.ACCOUNTS_LEDGER).intern();
 
 	/**
 	 * The method {@code get} of the account ledger.
 	 */
-	public final static MethodSignature GET_FROM_ACCOUNTS_LEDGER = new NonVoidMethodSignature(ClassType.ACCOUNTS_LEDGER, "get", ClassType.EOA, ClassType.STRING);
+	public final static MethodSignature GET_FROM_ACCOUNTS_LEDGER = new NonVoidMethodSignature(ClassType.ACCOUNTS_LEDGER, "get", ClassType.EOA, ClassType.STRING).intern();
 
 	/**
 	 * The method {@code getGasPrice} of the gas station.
 	 */
-	public final static MethodSignature GET_GAS_PRICE = new NonVoidMethodSignature(ClassType.GAS_STATION, "getGasPrice", ClassType.BIG_INTEGER);
+	public final static MethodSignature GET_GAS_PRICE = new NonVoidMethodSignature(ClassType.GAS_STATION, "getGasPrice", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code getMaxGasPerTransaction} of the gas station.
 	 */
-	public final static MethodSignature GET_MAX_GAS_PER_TRANSACTION = new NonVoidMethodSignature(ClassType.GAS_STATION, "getMaxGasPerTransaction", ClassType.BIG_INTEGER);
+	public final static MethodSignature GET_MAX_GAS_PER_TRANSACTION = new NonVoidMethodSignature(ClassType.GAS_STATION, "getMaxGasPerTransaction", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code getInitialGasPrice} of the gas station.
 	 */
-	public final static MethodSignature GET_INITIAL_GAS_PRICE = new NonVoidMethodSignature(ClassType.GAS_STATION, "getInitialGasPrice", ClassType.BIG_INTEGER);
+	public final static MethodSignature GET_INITIAL_GAS_PRICE = new NonVoidMethodSignature(ClassType.GAS_STATION, "getInitialGasPrice", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code getTargetGasAtReward} of the gas station.
 	 */
-	public final static MethodSignature GET_TARGET_GAS_AT_REWARD = new NonVoidMethodSignature(ClassType.GAS_STATION, "getTargetGasAtReward", ClassType.BIG_INTEGER);
+	public final static MethodSignature GET_TARGET_GAS_AT_REWARD = new NonVoidMethodSignature(ClassType.GAS_STATION, "getTargetGasAtReward", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code getOblivion} of the gas station.
 	 */
-	public final static MethodSignature GET_OBLIVION = new NonVoidMethodSignature(ClassType.GAS_STATION, "getOblivion", BasicTypes.LONG);
+	public final static MethodSignature GET_OBLIVION = new NonVoidMethodSignature(ClassType.GAS_STATION, "getOblivion", BasicTypes.LONG).intern();
 
 	/**
 	 * The method {@code getStake} of the validators object.
 	 */
-	public final static MethodSignature GET_STAKE = new NonVoidMethodSignature(ClassType.VALIDATORS, "getStake", ClassType.BIG_INTEGER, ClassType.VALIDATOR);
+	public final static MethodSignature GET_STAKE = new NonVoidMethodSignature(ClassType.VALIDATORS, "getStake", ClassType.BIG_INTEGER, ClassType.VALIDATOR).intern();
 
 	/**
 	 * The method {@code getInitialInflation} of the validators object.
 	 */
-	public final static MethodSignature GET_INITIAL_INFLATION = new NonVoidMethodSignature(ClassType.VALIDATORS, "getInitialInflation", BasicTypes.LONG);
+	public final static MethodSignature GET_INITIAL_INFLATION = new NonVoidMethodSignature(ClassType.VALIDATORS, "getInitialInflation", BasicTypes.LONG).intern();
 
 	/**
 	 * The method {@code getCurrentInflation} of the validators object.
 	 */
-	public final static MethodSignature GET_CURRENT_INFLATION = new NonVoidMethodSignature(ClassType.VALIDATORS, "getCurrentInflation", BasicTypes.LONG);
+	public final static MethodSignature GET_CURRENT_INFLATION = new NonVoidMethodSignature(ClassType.VALIDATORS, "getCurrentInflation", BasicTypes.LONG).intern();
 
 	/**
 	 * The method {@code ignoresGasPrice} of the gas station.
 	 */
-	public final static MethodSignature IGNORES_GAS_PRICE = new NonVoidMethodSignature(ClassType.GAS_STATION, "ignoresGasPrice", BasicTypes.BOOLEAN);
+	public final static MethodSignature IGNORES_GAS_PRICE = new NonVoidMethodSignature(ClassType.GAS_STATION, "ignoresGasPrice", BasicTypes.BOOLEAN).intern();
 
 	/**
 	 * The method {@code getValidators} of the manifest.
 	 */
-	public final static MethodSignature GET_VALIDATORS = new NonVoidMethodSignature(ClassType.MANIFEST, "getValidators", ClassType.VALIDATORS);
+	public final static MethodSignature GET_VALIDATORS = new NonVoidMethodSignature(ClassType.MANIFEST, "getValidators", ClassType.VALIDATORS).intern();
 
 	/**
 	 * The method {@code getInitialValidators} of the manifest.
 	 */
-	public final static MethodSignature GET_INITIAL_VALIDATORS = new NonVoidMethodSignature(ClassType.MANIFEST, "getInitialValidators", ClassType.SHARED_ENTITY_VIEW);
+	public final static MethodSignature GET_INITIAL_VALIDATORS = new NonVoidMethodSignature(ClassType.MANIFEST, "getInitialValidators", ClassType.SHARED_ENTITY_VIEW).intern();
 
 	/**
 	 * The method {@code getVerificationVersion} of the versions object.
 	 */
-	public final static MethodSignature GET_VERIFICATION_VERSION = new NonVoidMethodSignature(ClassType.VERSIONS, "getVerificationVersion", BasicTypes.INT);
+	public final static MethodSignature GET_VERIFICATION_VERSION = new NonVoidMethodSignature(ClassType.VERSIONS, "getVerificationVersion", BasicTypes.INT).intern();
 
 	/**
 	 * The method {@code getPolls} of the validators object.
 	 */
-	public final static MethodSignature GET_POLLS = new NonVoidMethodSignature(ClassType.VALIDATORS, "getPolls", ClassType.STORAGE_SET_VIEW);
+	public final static MethodSignature GET_POLLS = new NonVoidMethodSignature(ClassType.VALIDATORS, "getPolls", ClassType.STORAGE_SET_VIEW).intern();
 
 	/**
 	 * The method {@code getInitialSupply} of the validators object.
 	 */
-	public final static MethodSignature GET_INITIAL_SUPPLY = new NonVoidMethodSignature(ClassType.VALIDATORS, "getInitialSupply", ClassType.BIG_INTEGER);
+	public final static MethodSignature GET_INITIAL_SUPPLY = new NonVoidMethodSignature(ClassType.VALIDATORS, "getInitialSupply", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code getInitialRedSupply} of the validators object.
 	 */
-	public final static MethodSignature GET_INITIAL_RED_SUPPLY = new NonVoidMethodSignature(ClassType.VALIDATORS, "getInitialRedSupply", ClassType.BIG_INTEGER);
+	public final static MethodSignature GET_INITIAL_RED_SUPPLY = new NonVoidMethodSignature(ClassType.VALIDATORS, "getInitialRedSupply", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code getFinalSupply} of the validators object.
 	 */
-	public final static MethodSignature GET_FINAL_SUPPLY = new NonVoidMethodSignature(ClassType.VALIDATORS, "getFinalSupply", ClassType.BIG_INTEGER);
+	public final static MethodSignature GET_FINAL_SUPPLY = new NonVoidMethodSignature(ClassType.VALIDATORS, "getFinalSupply", ClassType.BIG_INTEGER).intern();
+
+	/**
+	 * The method {@code getBuyerSurcharge} of the validators object.
+	 */
+	public final static MethodSignature GET_BUYER_SURCHARGE = new NonVoidMethodSignature(ClassType.VALIDATORS, "getBuyerSurcharge", BasicTypes.INT).intern();
+
+	/**
+	 * The method {@code getSlashingForMisbehaving} of the validators object.
+	 */
+	public final static MethodSignature GET_SLASHING_FOR_MISBEHAVING = new NonVoidMethodSignature(ClassType.VALIDATORS, "getSlashingForMisbehaving", BasicTypes.INT).intern();
+
+	/**
+	 * The method {@code getSlashingForNotBehaving} of the validators object.
+	 */
+	public final static MethodSignature GET_SLASHING_FOR_NOT_BEHAVING = new NonVoidMethodSignature(ClassType.VALIDATORS, "getSlashingForNotBehaving", BasicTypes.INT).intern();
+
+	/**
+	 * The method {@code getPercentStaked} of the validators object.
+	 */
+	public final static MethodSignature GET_PERCENT_STAKED = new NonVoidMethodSignature(ClassType.VALIDATORS, "getPercentStaked", BasicTypes.INT).intern();
 
 	/**
 	 * The method {@code add} of the account ledger.
 	 */
-	public final static MethodSignature ADD_INTO_ACCOUNTS_LEDGER = new NonVoidMethodSignature(ClassType.ACCOUNTS_LEDGER, "add", ClassType.EOA, ClassType.BIG_INTEGER, ClassType.STRING);
+	public final static MethodSignature ADD_INTO_ACCOUNTS_LEDGER = new NonVoidMethodSignature(ClassType.ACCOUNTS_LEDGER, "add", ClassType.EOA, ClassType.BIG_INTEGER, ClassType.STRING).intern();
 
 	/**
 	 * The method {@code id} of a validator.
 	 */
-	public final static MethodSignature ID = new NonVoidMethodSignature(ClassType.VALIDATOR, "id", ClassType.STRING);
+	public final static MethodSignature ID = new NonVoidMethodSignature(ClassType.VALIDATOR, "id", ClassType.STRING).intern();
 
 	/**
 	 * The method {@code mint} of an externally owned account.
 	 */
-	public final static MethodSignature EOA_MINT = new VoidMethodSignature(ClassType.EOA, "mint", ClassType.BIG_INTEGER);
+	public final static MethodSignature EOA_MINT = new VoidMethodSignature(ClassType.EOA, "mint", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code burn} of an externally owned account.
 	 */
-	public final static MethodSignature EOA_BURN = new VoidMethodSignature(ClassType.EOA, "burn", ClassType.BIG_INTEGER);
+	public final static MethodSignature EOA_BURN = new VoidMethodSignature(ClassType.EOA, "burn", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code receive} of a payable contract, with a big integer argument.
 	 */
-	public final static MethodSignature RECEIVE_BIG_INTEGER = new VoidMethodSignature(ClassType.PAYABLE_CONTRACT, "receive", ClassType.BIG_INTEGER);
+	public final static MethodSignature RECEIVE_BIG_INTEGER = new VoidMethodSignature(ClassType.PAYABLE_CONTRACT, "receive", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code receiveRed} of a payable contract, with a big integer argument.
 	 */
-	public final static MethodSignature RECEIVE_RED_BIG_INTEGER = new VoidMethodSignature(ClassType.PAYABLE_CONTRACT, "receiveRed", ClassType.BIG_INTEGER);
+	public final static MethodSignature RECEIVE_RED_BIG_INTEGER = new VoidMethodSignature(ClassType.PAYABLE_CONTRACT, "receiveRed", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code receive} of a payable contract, with an int argument.
 	 */
-	public final static MethodSignature RECEIVE_INT = new VoidMethodSignature(ClassType.PAYABLE_CONTRACT, "receive", BasicTypes.INT);
+	public final static MethodSignature RECEIVE_INT = new VoidMethodSignature(ClassType.PAYABLE_CONTRACT, "receive", BasicTypes.INT).intern();
 
 	/**
 	 * The method {@code receive} of a payable contract, with a long argument.
 	 */
-	public final static MethodSignature RECEIVE_LONG = new VoidMethodSignature(ClassType.PAYABLE_CONTRACT, "receive", BasicTypes.LONG);
+	public final static MethodSignature RECEIVE_LONG = new VoidMethodSignature(ClassType.PAYABLE_CONTRACT, "receive", BasicTypes.LONG).intern();
 
 	/**
 	 * The method {@code reward} of the validators contract.
 	 */
 	public final static MethodSignature VALIDATORS_REWARD = new VoidMethodSignature
-		(ClassType.VALIDATORS, "reward", ClassType.BIG_INTEGER, ClassType.BIG_INTEGER, ClassType.STRING, ClassType.STRING, ClassType.BIG_INTEGER, ClassType.BIG_INTEGER);
+		(ClassType.VALIDATORS, "reward", ClassType.BIG_INTEGER, ClassType.BIG_INTEGER, ClassType.STRING, ClassType.STRING, ClassType.BIG_INTEGER, ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The method {@code newPoll} of the generic validators contract.
 	 */
-	public final static MethodSignature NEW_POLL = new NonVoidMethodSignature(ClassType.GENERIC_VALIDATORS, "newPoll", ClassType.POLL);
+	public final static MethodSignature NEW_POLL = new NonVoidMethodSignature(ClassType.GENERIC_VALIDATORS, "newPoll", ClassType.POLL).intern();
 	
 	/**
 	 * The method {@code newPollWithTimeParams} of the generic validators contract with time parameters.
 	 */
-	public final static MethodSignature NEW_POLL_WITH_TIME_PARAMS = new NonVoidMethodSignature(ClassType.GENERIC_VALIDATORS, "newPollWithTimeParams", ClassType.POLL, ClassType.BIG_INTEGER, ClassType.BIG_INTEGER);
+	public final static MethodSignature NEW_POLL_WITH_TIME_PARAMS = new NonVoidMethodSignature(ClassType.GENERIC_VALIDATORS, "newPollWithTimeParams", ClassType.POLL, ClassType.BIG_INTEGER, ClassType.BIG_INTEGER).intern();
 	
 	/**
 	 * The method {@code isVoteOver} of the Poll contract.
 	 */
-	public final static MethodSignature IS_VOTE_OVER = new NonVoidMethodSignature(ClassType.POLL, "isVoteOver", BasicTypes.BOOLEAN);
+	public final static MethodSignature IS_VOTE_OVER = new NonVoidMethodSignature(ClassType.POLL, "isVoteOver", BasicTypes.BOOLEAN).intern();
 	
 	/**
 	 * The method {@code closePoll} of the Poll contract.
 	 */
-	public final static MethodSignature CLOSE_POLL = new VoidMethodSignature(ClassType.POLL, "closePoll");
+	public final static MethodSignature CLOSE_POLL = new VoidMethodSignature(ClassType.POLL, "closePoll").intern();
 	
 	/**
 	 * The method {@code vote} of the Poll contract.
 	 */
-	public final static MethodSignature VOTE = new VoidMethodSignature(ClassType.POLL, "vote");
+	public final static MethodSignature VOTE = new VoidMethodSignature(ClassType.POLL, "vote").intern();
 	
 	/**
 	 * The method {@code vote} of the Poll contract with the share parameter.
 	 */
-	public final static MethodSignature VOTE_WITH_SHARE = new VoidMethodSignature(ClassType.POLL, "vote", ClassType.BIG_INTEGER);
+	public final static MethodSignature VOTE_WITH_SHARE = new VoidMethodSignature(ClassType.POLL, "vote", ClassType.BIG_INTEGER).intern();
 	
 	/**
 	 * Builds the signature of a method or constructor.
@@ -361,7 +381,7 @@ public abstract class CodeSignature extends MarshallableBean {
 	 * @param formals the formal arguments of the method or constructor
 	 */
 	public CodeSignature(String definingClass, StorageType... formals) {
-		this(new ClassType(definingClass), formals);
+		this(new ClassType(definingClass).intern(), formals);
 	}
 
 	/**
@@ -386,8 +406,8 @@ public abstract class CodeSignature extends MarshallableBean {
 
 	@Override
 	public boolean equals(Object other) {
-		return other instanceof CodeSignature && ((CodeSignature) other).definingClass.equals(definingClass)
-			&& Arrays.equals(((CodeSignature) other).formals, formals);
+		return other == this || (other instanceof CodeSignature && ((CodeSignature) other).definingClass.equals(definingClass)
+			&& Arrays.equals(((CodeSignature) other).formals, formals));
 	}
 
 	@Override
@@ -437,8 +457,8 @@ public abstract class CodeSignature extends MarshallableBean {
 
 		switch (selector) {
 		case ConstructorSignature.SELECTOR: return new ConstructorSignature(definingClass, formals);
-		case VoidMethodSignature.SELECTOR: return new VoidMethodSignature(definingClass, context.readUTF(), formals);
-		case NonVoidMethodSignature.SELECTOR: return new NonVoidMethodSignature(definingClass, context.readUTF(), StorageType.from(context), formals);
+		case VoidMethodSignature.SELECTOR: return new VoidMethodSignature(definingClass, context.readUTF(), formals).intern();
+		case NonVoidMethodSignature.SELECTOR: return new NonVoidMethodSignature(definingClass, context.readUTF(), StorageType.from(context), formals).intern();
 		default: throw new IOException("unexpected code signature selector: " + selector);
 		}
 	}
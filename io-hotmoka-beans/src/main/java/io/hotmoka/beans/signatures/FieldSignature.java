@@ -21,6 +21,7 @@ import java.math.BigInteger;
 
 import io.hotmoka.annotations.Immutable;
 import io.hotmoka.beans.GasCostModel;
+import io.hotmoka.beans.internal.Interner;
 import io.hotmoka.beans.marshalling.MarshallableBean;
 import io.hotmoka.beans.types.BasicTypes;
 import io.hotmoka.beans.types.ClassType;
@@ -35,126 +36,131 @@ import io.hotmoka.marshalling.UnmarshallingContext;
 @Immutable
 public final class FieldSignature extends MarshallableBean implements Comparable<FieldSignature> {
 
+	/**
+	 * The canonical instances of the field signatures. It must be initialized before the constants below.
+	 */
+	private final static Interner<FieldSignature> interner = new Interner<>();
+
 	/**
 	 * The field that holds the balance in contracts.
 	 */
-	public final static FieldSignature BALANCE_FIELD = new FieldSignature(ClassType.CONTRACT, "balance", ClassType.BIG_INTEGER);
+	public final static FieldSignature BALANCE_FIELD = new FieldSignature(ClassType.CONTRACT, "balance", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The field that holds the red balance in contracts.
 	 */
-	public final static FieldSignature RED_BALANCE_FIELD = new FieldSignature(ClassType.CONTRACT, "balanceRed", ClassType.BIG_INTEGER);
+	public final static FieldSignature RED_BALANCE_FIELD = new FieldSignature(ClassType.CONTRACT, "balanceRed", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The field that holds the nonce in externally owned accounts.
 	 */
-	public final static FieldSignature EOA_NONCE_FIELD = new FieldSignature(ClassType.EOA, "nonce", ClassType.BIG_INTEGER);
+	public final static FieldSignature EOA_NONCE_FIELD = new FieldSignature(ClassType.EOA, "nonce", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The field that holds the public key in externally owned accounts.
 	 */
-	public final static FieldSignature EOA_PUBLIC_KEY_FIELD = new FieldSignature(ClassType.EOA, "publicKey", ClassType.STRING);
+	public final static FieldSignature EOA_PUBLIC_KEY_FIELD = new FieldSignature(ClassType.EOA, "publicKey", ClassType.STRING).intern();
 
 	/**
 	 * The field of the manifest that holds the contract of the validators of the node.
 	 */
-	public final static FieldSignature MANIFEST_VALIDATORS_FIELD = new FieldSignature(Constants.MANIFEST_NAME, "validators", ClassType.VALIDATORS);
+	public final static FieldSignature MANIFEST_VALIDATORS_FIELD = new FieldSignature(Constants.MANIFEST_NAME, "validators", ClassType.VALIDATORS).intern();
 
 	/**
 	 * The field of the manifest that holds the object that keeps track
 	 * of the versions of the modules of the node.
 	 */
-	public final static FieldSignature MANIFEST_VERSIONS_FIELD = new FieldSignature(Constants.MANIFEST_NAME, "versions", ClassType.VERSIONS);
+	public final static FieldSignature MANIFEST_VERSIONS_FIELD = new FieldSignature(Constants.MANIFEST_NAME, "versions", ClassType.VERSIONS).intern();
 
 	/**
 	 * The field of the manifest that holds the gas station.
 	 */
-	public final static FieldSignature MANIFEST_GAS_STATION_FIELD = new FieldSignature(ClassType.MANIFEST, "gasStation", ClassType.GAS_STATION);
+	public final static FieldSignature MANIFEST_GAS_STATION_FIELD = new FieldSignature(ClassType.MANIFEST, "gasStation", ClassType.GAS_STATION).intern();
 
 	/**
 	 * The field of the manifest that holds the gamete account of the node.
 	 */
-	public final static FieldSignature MANIFEST_GAMETE_FIELD = new FieldSignature(Constants.MANIFEST_NAME, "gamete", ClassType.GAMETE);
+	public final static FieldSignature MANIFEST_GAMETE_FIELD = new FieldSignature(Constants.MANIFEST_NAME, "gamete", ClassType.GAMETE).intern();
 
 	/**
 	 * The field that holds the creator of an event.
 	 */
-	public final static FieldSignature EVENT_CREATOR_FIELD = new FieldSignature(ClassType.EVENT, "creator", ClassType.CONTRACT);
+	public final static FieldSignature EVENT_CREATOR_FIELD = new FieldSignature(ClassType.EVENT, "creator", ClassType.CONTRACT).intern();
 
 	/**
 	 * The field that holds the gas price inside a {@code io.takamaka.code.governance.GenericGasStation}.
 	 */
-	public final static FieldSignature GENERIC_GAS_STATION_GAS_PRICE_FIELD = new FieldSignature(ClassType.GENERIC_GAS_STATION, "gasPrice", ClassType.BIG_INTEGER);
+	public final static FieldSignature GENERIC_GAS_STATION_GAS_PRICE_FIELD = new FieldSignature(ClassType.GENERIC_GAS_STATION, "gasPrice", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The field that holds the current supply inside a {@code io.takamaka.code.governance.AbstractValidators}.
 	 */
-	public final static FieldSignature ABSTRACT_VALIDATORS_CURRENT_SUPPLY_FIELD = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "currentSupply", ClassType.BIG_INTEGER);
+	public final static FieldSignature ABSTRACT_VALIDATORS_CURRENT_SUPPLY_FIELD = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "currentSupply", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The field that holds the gas price inside a {@code io.takamaka.code.math.UnsignedBigInteger.value}.
 	 */
-	public final static FieldSignature UNSIGNED_BIG_INTEGER_VALUE_FIELD = new FieldSignature(ClassType.UNSIGNED_BIG_INTEGER, "value", ClassType.BIG_INTEGER);
+	public final static FieldSignature UNSIGNED_BIG_INTEGER_VALUE_FIELD = new FieldSignature(ClassType.UNSIGNED_BIG_INTEGER, "value", ClassType.BIG_INTEGER).intern();
 
 	/**
 	 * The field that holds the root of a {@code io.takamaka.code.util.StorageTreeMap}.
 	 */
-	public final static FieldSignature STORAGE_TREE_MAP_ROOT_FIELD = new FieldSignature(ClassType.STORAGE_TREE_MAP, "root", ClassType.STORAGE_TREE_MAP_NODE);
+	public final static FieldSignature STORAGE_TREE_MAP_ROOT_FIELD = new FieldSignature(ClassType.STORAGE_TREE_MAP, "root", ClassType.STORAGE_TREE_MAP_NODE).intern();
 
 	/**
 	 * The field that holds the root of a {@code io.takamaka.code.util.StorageIntTreeMap}.
 	 */
-	public final static FieldSignature STORAGE_TREE_INTMAP_ROOT_FIELD = new FieldSignature(ClassType.STORAGE_TREE_INTMAP, "root", ClassType.STORAGE_TREE_INTMAP_NODE);
+	public final static FieldSignature STORAGE_TREE_INTMAP_ROOT_FIELD = new FieldSignature(ClassType.STORAGE_TREE_INTMAP, "root", ClassType.STORAGE_TREE_INTMAP_NODE).intern();
 
 	/**
 	 * The field that holds the size of a {@code io.takamaka.code.util.StorageTreeMap.Node}.
 	 */
-	public final static FieldSignature STORAGE_TREE_MAP_NODE_SIZE_FIELD = new FieldSignature(ClassType.STORAGE_TREE_MAP_NODE, "size", BasicTypes.INT);
+	public final static FieldSignature STORAGE_TREE_MAP_NODE_SIZE_FIELD = new FieldSignature(ClassType.STORAGE_TREE_MAP_NODE, "size", BasicTypes.INT).intern();
 
 	/**
 	 * The field that holds the size of a {@code io.takamaka.code.util.StorageTreeIntMap.Node}.
 	 */
-	public final static FieldSignature STORAGE_TREE_INTMAP_NODE_SIZE_FIELD = new FieldSignature(ClassType.STORAGE_TREE_INTMAP_NODE, "size", BasicTypes.INT);
+	public final static FieldSignature STORAGE_TREE_INTMAP_NODE_SIZE_FIELD = new FieldSignature(ClassType.STORAGE_TREE_INTMAP_NODE, "size", BasicTypes.INT).intern();
 
 	/**
 	 * The field that holds the value of a {@code io.takamaka.code.util.StorageTreeIntMap.Node}.
 	 */
-	public final static FieldSignature STORAGE_TREE_INTMAP_NODE_VALUE_FIELD = new FieldSignature(ClassType.STORAGE_TREE_INTMAP_NODE, "value", ClassType.OBJECT);
+	public final static FieldSignature STORAGE_TREE_INTMAP_NODE_VALUE_FIELD = new FieldSignature(ClassType.STORAGE_TREE_INTMAP_NODE, "value", ClassType.OBJECT).intern();
 
 	/**
 	 * The field that holds the left child of a {@code io.takamaka.code.util.StorageTreeIntMap.Node}.
 	 */
-	public final static FieldSignature STORAGE_TREE_INTMAP_NODE_LEFT_FIELD = new FieldSignature(ClassType.STORAGE_TREE_INTMAP_NODE, "left", ClassType.STORAGE_TREE_INTMAP_NODE);
+	public final static FieldSignature STORAGE_TREE_INTMAP_NODE_LEFT_FIELD = new FieldSignature(ClassType.STORAGE_TREE_INTMAP_NODE, "left", ClassType.STORAGE_TREE_INTMAP_NODE).intern();
 
 	/**
 	 * The field that holds the right child of a {@code io.takamaka.code.util.StorageTreeIntMap.Node}.
 	 */
-	public final static FieldSignature STORAGE_TREE_INTMAP_NODE_RIGHT_FIELD = new FieldSignature(ClassType.STORAGE_TREE_INTMAP_NODE, "right", ClassType.STORAGE_TREE_INTMAP_NODE);
+	public final static FieldSignature STORAGE_TREE_INTMAP_NODE_RIGHT_FIELD = new FieldSignature(ClassType.STORAGE_TREE_INTMAP_NODE, "right", ClassType.STORAGE_TREE_INTMAP_NODE).intern();
 
 	/**
 	 * The field that holds the key of a {@code io.takamaka.code.util.StorageTreeIntMap.Node}.
 	 */
-	public final static FieldSignature STORAGE_TREE_INTMAP_NODE_KEY_FIELD = new FieldSignature(ClassType.STORAGE_TREE_INTMAP_NODE, "key", BasicTypes.INT);
+	public final static FieldSignature STORAGE_TREE_INTMAP_NODE_KEY_FIELD = new FieldSignature(ClassType.STORAGE_TREE_INTMAP_NODE, "key", BasicTypes.INT).intern();
 
 	/**
 	 * The field that holds the left tree of a {@code io.takamaka.code.util.StorageTreeMap.Node}.
 	 */
-	public final static FieldSignature STORAGE_TREE_MAP_NODE_LEFT_FIELD = new FieldSignature(ClassType.STORAGE_TREE_MAP_NODE, "left", ClassType.STORAGE_TREE_MAP_NODE);
+	public final static FieldSignature STORAGE_TREE_MAP_NODE_LEFT_FIELD = new FieldSignature(ClassType.STORAGE_TREE_MAP_NODE, "left", ClassType.STORAGE_TREE_MAP_NODE).intern();
 
 	/**
 	 * The field that holds the right tree of a {@code io.takamaka.code.util.StorageTreeMap.Node}.
 	 */
-	public final static FieldSignature STORAGE_TREE_MAP_NODE_RIGHT_FIELD = new FieldSignature(ClassType.STORAGE_TREE_MAP_NODE, "right", ClassType.STORAGE_TREE_MAP_NODE);
+	public final static FieldSignature STORAGE_TREE_MAP_NODE_RIGHT_FIELD = new FieldSignature(ClassType.STORAGE_TREE_MAP_NODE, "right", ClassType.STORAGE_TREE_MAP_NODE).intern();
 
 	/**
 	 * The field that holds the key of a {@code io.takamaka.code.util.StorageTreeMap.Node}.
 	 */
-	public final static FieldSignature STORAGE_TREE_MAP_NODE_KEY_FIELD = new FieldSignature(ClassType.STORAGE_TREE_MAP_NODE, "key", ClassType.OBJECT);
+	public final static FieldSignature STORAGE_TREE_MAP_NODE_KEY_FIELD = new FieldSignature(ClassType.STORAGE_TREE_MAP_NODE, "key", ClassType.OBJECT).intern();
 
 	/**
 	 * The field that holds the value of a {@code io.takamaka.code.util.StorageTreeMap.Node}.
 	 */
-	public final static FieldSignature STORAGE_TREE_MAP_NODE_VALUE_FIELD = new FieldSignature(ClassType.STORAGE_TREE_MAP_NODE, "value", ClassType.OBJECT);
+	public final static FieldSignature STORAGE_TREE_MAP_NODE_VALUE_FIELD = new FieldSignature(ClassType.STORAGE_TREE_MAP_NODE, "value", ClassType.OBJECT).intern();
 
 	/**
 	 * The class of the field.
@@ -201,13 +207,24 @@ public final class FieldSignature extends MarshallableBean implements Comparable
 	 * @param type the type of the field
 	 */
 	public FieldSignature(String definingClass, String name, StorageType type) {
-		this(new ClassType(definingClass), name, type);
+		this(new ClassType(definingClass).intern(), name, type);
+	}
+
+	/**
+	 * Yields the canonical instance of this field signature. Equal field signatures
+	 * have the same canonical instance, hence they can be compared by identity
+	 * and do not waste memory.
+	 * 
+	 * @return the canonical instance, equal to this field signature
+	 */
+	public FieldSignature intern() {
+		return interner.intern(this);
 	}
 
 	@Override
 	public boolean equals(Object other) {
-		return other instanceof FieldSignature && ((FieldSignature) other).definingClass.equals(definingClass)
-			&& ((FieldSignature) other).name.equals(name) && ((FieldSignature) other).type.equals(type);
+		return other == this || (other instanceof FieldSignature && ((FieldSignature) other).definingClass.equals(definingClass)
+			&& ((FieldSignature) other).name.equals(name) && ((FieldSignature) other).type.equals(type));
 	}
 
 	@Override
@@ -21,6 +21,7 @@ import java.math.BigInteger;
 
 import io.hotmoka.annotations.Immutable;
 import io.hotmoka.beans.GasCostModel;
+import io.hotmoka.beans.internal.Interner;
 import io.hotmoka.beans.types.ClassType;
 import io.hotmoka.beans.types.StorageType;
 import io.hotmoka.marshalling.MarshallingContext;
@@ -52,6 +53,26 @@ public abstract class MethodSignature extends CodeSignature {
 		this.methodName = methodName;
 	}
 
+	/**
+	 * Yields the canonical instance of this method signature. Equal method signatures
+	 * have the same canonical instance, hence they can be compared by identity
+	 * and do not waste memory.
+	 * 
+	 * @return the canonical instance, equal to this method signature
+	 */
+	public MethodSignature intern() {
+		return Canonical.interner.intern(this);
+	}
+
+	/**
+	 * The holder of the canonical instances of the method signatures. It is a separate class
+	 * since the constants in {@link CodeSignature} get interned while this class
+	 * might still be under initialization.
+	 */
+	private static class Canonical {
+		private final static Interner<MethodSignature> interner = new Interner<>();
+	}
+
 	@Override
 	public String toString() {
 		return definingClass + "." + methodName + commaSeparatedFormals();
@@ -21,6 +21,7 @@ import java.math.BigInteger;
 
 import io.hotmoka.annotations.Immutable;
 import io.hotmoka.beans.GasCostModel;
+import io.hotmoka.beans.internal.Interner;
 import io.hotmoka.constants.Constants;
 import io.hotmoka.marshalling.MarshallingContext;
 
@@ -62,290 +63,295 @@ public final class ClassType implements StorageType {
 	final static byte SELECTOR_GAS_STATION = 40;
 	final static byte SELECTOR_GAS_PRICE_UPDATE = 16;
 
+	/**
+	 * The canonical instances of the class types. It must be initialized before the constants below.
+	 */
+	private final static Interner<ClassType> interner = new Interner<>();
+
 	/**
 	 * The frequently used class type for {@link java.lang.Object}.
 	 */
-	public final static ClassType OBJECT = new ClassType(Object.class.getName());
+	public final static ClassType OBJECT = new ClassType(Object.class.getName()).intern();
 
 	/**
 	 * The frequently used class type for {@link java.lang.String}.
 	 */
-	public final static ClassType STRING = new ClassType(String.class.getName());
+	public final static ClassType STRING = new ClassType(String.class.getName()).intern();
 
 	/**
 	 * The frequently used class type for {@link java.math.BigInteger}.
 	 */
-	public final static ClassType BIG_INTEGER = new ClassType(BigInteger.class.getName());
+	public final static ClassType BIG_INTEGER = new ClassType(BigInteger.class.getName()).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.math.UnsignedBigInteger}.
 	 */
-	public final static ClassType UNSIGNED_BIG_INTEGER = new ClassType(Constants.UNSIGNED_BIG_INTEGER_NAME);
+	public final static ClassType UNSIGNED_BIG_INTEGER = new ClassType(Constants.UNSIGNED_BIG_INTEGER_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.tokens.ERC20}.
 	 */
-	public final static ClassType ERC20 = new ClassType(Constants.ERC20_NAME);
+	public final static ClassType ERC20 = new ClassType(Constants.ERC20_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.governance.GasPriceUpdate}.
 	 */
-	public final static ClassType GAS_PRICE_UPDATE = new ClassType(Constants.GAS_PRICE_UPDATE_NAME);
+	public final static ClassType GAS_PRICE_UPDATE = new ClassType(Constants.GAS_PRICE_UPDATE_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.ExternallyOwnedAccount}.
 	 */
-	public final static ClassType EOA = new ClassType(Constants.EOA_NAME);
+	public final static ClassType EOA = new ClassType(Constants.EOA_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.ExternallyOwnedAccountED25519}.
 	 */
-	public final static ClassType EOA_ED25519 = new ClassType(Constants.EOA_ED25519_NAME);
+	public final static ClassType EOA_ED25519 = new ClassType(Constants.EOA_ED25519_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.ExternallyOwnedAccountEHA256DSA}.
 	 */
-	public final static ClassType EOA_SHA256DSA = new ClassType(Constants.EOA_SHA256DSA_NAME);
+	public final static ClassType EOA_SHA256DSA = new ClassType(Constants.EOA_SHA256DSA_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.ExternallyOwnedAccountQTESLA1}.
 	 */
-	public final static ClassType EOA_QTESLA1 = new ClassType(Constants.EOA_QTESLA1_NAME);
+	public final static ClassType EOA_QTESLA1 = new ClassType(Constants.EOA_QTESLA1_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.ExternallyOwnedAccountQTESLA3}.
 	 */
-	public final static ClassType EOA_QTESLA3 = new ClassType(Constants.EOA_QTESLA3_NAME);
+	public final static ClassType EOA_QTESLA3 = new ClassType(Constants.EOA_QTESLA3_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.Contract}.
 	 */
-	public final static ClassType CONTRACT = new ClassType(Constants.CONTRACT_NAME);
+	public final static ClassType CONTRACT = new ClassType(Constants.CONTRACT_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.Gamete}.
 	 */
-	public final static ClassType GAMETE = new ClassType(Constants.GAMETE_NAME);
+	public final static ClassType GAMETE = new ClassType(Constants.GAMETE_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.Account}.
 	 */
-	public final static ClassType ACCOUNT = new ClassType(Constants.ACCOUNT_NAME);
+	public final static ClassType ACCOUNT = new ClassType(Constants.ACCOUNT_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.Accounts}.
 	 */
-	public final static ClassType ACCOUNTS = new ClassType(Constants.ACCOUNTS_NAME);
+	public final static ClassType ACCOUNTS = new ClassType(Constants.ACCOUNTS_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.tokens.IERC20}.
 	 */
-	public final static ClassType IERC20 = new ClassType(Constants.IERC20_NAME);
+	public final static ClassType IERC20 = new ClassType(Constants.IERC20_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.governance.Manifest}.
 	 */
-	public final static ClassType MANIFEST = new ClassType(Constants.MANIFEST_NAME);
+	public final static ClassType MANIFEST = new ClassType(Constants.MANIFEST_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.governance.Validator}.
 	 */
-	public final static ClassType VALIDATOR = new ClassType(Constants.VALIDATOR_NAME);
+	public final static ClassType VALIDATOR = new ClassType(Constants.VALIDATOR_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.governance.Validators}.
 	 */
-	public final static ClassType VALIDATORS = new ClassType(Constants.VALIDATORS_NAME);
+	public final static ClassType VALIDATORS = new ClassType(Constants.VALIDATORS_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.governance.AbstractValidators}.
 	 */
-	public final static ClassType ABSTRACT_VALIDATORS = new ClassType(Constants.ABSTRACT_VALIDATORS_NAME);
+	public final static ClassType ABSTRACT_VALIDATORS = new ClassType(Constants.ABSTRACT_VALIDATORS_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.governance.Versions}.
 	 */
-	public final static ClassType VERSIONS = new ClassType(Constants.VERSIONS_NAME);
+	public final static ClassType VERSIONS = new ClassType(Constants.VERSIONS_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.governance.AccountsLedger}.
 	 */
-	public final static ClassType ACCOUNTS_LEDGER = new ClassType(Constants.ACCOUNTS_LEDGER_NAME);
+	public final static ClassType ACCOUNTS_LEDGER = new ClassType(Constants.ACCOUNTS_LEDGER_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.governance.GasStation}.
 	 */
-	public final static ClassType GAS_STATION = new ClassType(Constants.GAS_STATION_NAME);
+	public final static ClassType GAS_STATION = new ClassType(Constants.GAS_STATION_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.governance.GenericGasStation}.
 	 */
-	public final static ClassType GENERIC_GAS_STATION = new ClassType(Constants.GENERIC_GAS_STATION_NAME);
+	public final static ClassType GENERIC_GAS_STATION = new ClassType(Constants.GENERIC_GAS_STATION_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.governance.tendermint.TendermintValidators}.
 	 */
-	public final static ClassType TENDERMINT_VALIDATORS = new ClassType(Constants.TENDERMINT_VALIDATORS_NAME);
+	public final static ClassType TENDERMINT_VALIDATORS = new ClassType(Constants.TENDERMINT_VALIDATORS_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.governance.tendermint.TendermintED25519Validator}.
 	 */
-	public final static ClassType TENDERMINT_ED25519_VALIDATOR = new ClassType(Constants.TENDERMINT_ED25519_VALIDATOR_NAME);
+	public final static ClassType TENDERMINT_ED25519_VALIDATOR = new ClassType(Constants.TENDERMINT_ED25519_VALIDATOR_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.Storage}.
 	 */
-	public final static ClassType STORAGE = new ClassType(Constants.STORAGE_NAME);
+	public final static ClassType STORAGE = new ClassType(Constants.STORAGE_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.Takamaka}.
 	 */
-	public final static ClassType TAKAMAKA = new ClassType(Constants.TAKAMAKA_NAME);
+	public final static ClassType TAKAMAKA = new ClassType(Constants.TAKAMAKA_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.Event}.
 	 */
-	public final static ClassType EVENT = new ClassType(Constants.EVENT_NAME);
+	public final static ClassType EVENT = new ClassType(Constants.EVENT_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.PayableContract}.
 	 */
-	public final static ClassType PAYABLE_CONTRACT = new ClassType(Constants.PAYABLE_CONTRACT_NAME);
+	public final static ClassType PAYABLE_CONTRACT = new ClassType(Constants.PAYABLE_CONTRACT_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@code io.takamaka.code.lang.FromContract}.
 	 */
-	public final static ClassType FROM_CONTRACT = new ClassType(Constants.FROM_CONTRACT_NAME);
+	public final static ClassType FROM_CONTRACT = new ClassType(Constants.FROM_CONTRACT_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.View}.
 	 */
-	public final static ClassType VIEW = new ClassType(Constants.VIEW_NAME);
+	public final static ClassType VIEW = new ClassType(Constants.VIEW_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.Payable}.
 	 */
-	public final static ClassType PAYABLE = new ClassType(Constants.PAYABLE_NAME);
+	public final static ClassType PAYABLE = new ClassType(Constants.PAYABLE_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.lang.ThrowsExceptions}.
 	 */
-	public final static ClassType THROWS_EXCEPTIONS = new ClassType(Constants.THROWS_EXCEPTIONS_NAME);
+	public final static ClassType THROWS_EXCEPTIONS = new ClassType(Constants.THROWS_EXCEPTIONS_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.Bytes32}.
 	 */
-	public final static ClassType BYTES32 = new ClassType("io.takamaka.code.util.Bytes32");
+	public final static ClassType BYTES32 = new ClassType("io.takamaka.code.util.Bytes32").intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.Bytes32Snapshot}.
 	 */
-	public final static ClassType BYTES32_SNAPSHOT = new ClassType("io.takamaka.code.util.Bytes32Snapshot");
+	public final static ClassType BYTES32_SNAPSHOT = new ClassType("io.takamaka.code.util.Bytes32Snapshot").intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageArray}.
 	 */
-	public final static ClassType STORAGE_ARRAY = new ClassType(Constants.STORAGE_ARRAY_NAME);
+	public final static ClassType STORAGE_ARRAY = new ClassType(Constants.STORAGE_ARRAY_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageListView}.
 	 */
-	public final static ClassType STORAGE_LIST = new ClassType(Constants.STORAGE_LIST_VIEW_NAME);
+	public final static ClassType STORAGE_LIST = new ClassType(Constants.STORAGE_LIST_VIEW_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageLinkedList}.
 	 */
-	public final static ClassType STORAGE_LINKED_LIST = new ClassType(Constants.STORAGE_LINKED_LIST_NAME);
+	public final static ClassType STORAGE_LINKED_LIST = new ClassType(Constants.STORAGE_LINKED_LIST_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageMapView}.
 	 */
-	public final static ClassType STORAGE_MAP_VIEW = new ClassType(Constants.STORAGE_MAP_VIEW_NAME);
+	public final static ClassType STORAGE_MAP_VIEW = new ClassType(Constants.STORAGE_MAP_VIEW_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageTreeMap}.
 	 */
-	public final static ClassType STORAGE_TREE_MAP = new ClassType(Constants.STORAGE_TREE_MAP_NAME);
+	public final static ClassType STORAGE_TREE_MAP = new ClassType(Constants.STORAGE_TREE_MAP_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageTreeArray}.
 	 */
-	public final static ClassType STORAGE_TREE_ARRAY = new ClassType(Constants.STORAGE_TREE_ARRAY_NAME);
+	public final static ClassType STORAGE_TREE_ARRAY = new ClassType(Constants.STORAGE_TREE_ARRAY_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageTreeArray.Node}.
 	 */
-	public final static ClassType STORAGE_TREE_ARRAY_NODE = new ClassType(Constants.STORAGE_TREE_ARRAY_NODE_NAME);
+	public final static ClassType STORAGE_TREE_ARRAY_NODE = new ClassType(Constants.STORAGE_TREE_ARRAY_NODE_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageTreeIntMap}.
 	 */
-	public final static ClassType STORAGE_TREE_INTMAP = new ClassType(Constants.STORAGE_TREE_INTMAP_NAME);
+	public final static ClassType STORAGE_TREE_INTMAP = new ClassType(Constants.STORAGE_TREE_INTMAP_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageTreeSet}.
 	 */
-	public final static ClassType STORAGE_TREE_SET = new ClassType(Constants.STORAGE_TREE_SET_NAME);
+	public final static ClassType STORAGE_TREE_SET = new ClassType(Constants.STORAGE_TREE_SET_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageTreeMap.BlackNode}.
 	 */
-	public final static ClassType STORAGE_TREE_MAP_BLACK_NODE = new ClassType(Constants.STORAGE_TREE_MAP_BLACK_NODE_NAME);
+	public final static ClassType STORAGE_TREE_MAP_BLACK_NODE = new ClassType(Constants.STORAGE_TREE_MAP_BLACK_NODE_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageTreeMap.RedNode}.
 	 */
-	public final static ClassType STORAGE_TREE_MAP_RED_NODE = new ClassType(Constants.STORAGE_TREE_MAP_RED_NODE_NAME);
+	public final static ClassType STORAGE_TREE_MAP_RED_NODE = new ClassType(Constants.STORAGE_TREE_MAP_RED_NODE_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageSetView}.
 	 */
-	public final static ClassType STORAGE_SET_VIEW = new ClassType(Constants.STORAGE_SET_VIEW_NAME);
+	public final static ClassType STORAGE_SET_VIEW = new ClassType(Constants.STORAGE_SET_VIEW_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageMap}.
 	 */
-	public final static ClassType MODIFIABLE_STORAGE_MAP = new ClassType(Constants.STORAGE_MAP_NAME);
+	public final static ClassType MODIFIABLE_STORAGE_MAP = new ClassType(Constants.STORAGE_MAP_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageLinkedList.Node}.
 	 */
-	public final static ClassType STORAGE_LINKED_LIST_NODE = new ClassType(Constants.STORAGE_LINKED_LIST_NODE_NAME);
+	public final static ClassType STORAGE_LINKED_LIST_NODE = new ClassType(Constants.STORAGE_LINKED_LIST_NODE_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageTreeMap.Node}.
 	 */
-	public final static ClassType STORAGE_TREE_MAP_NODE = new ClassType(Constants.STORAGE_TREE_MAP_NODE_NAME);
+	public final static ClassType STORAGE_TREE_MAP_NODE = new ClassType(Constants.STORAGE_TREE_MAP_NODE_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.util.StorageTreeIntMap.Node}.
 	 */
-	public final static ClassType STORAGE_TREE_INTMAP_NODE = new ClassType(Constants.STORAGE_TREE_INTMAP_NODE_NAME);
+	public final static ClassType STORAGE_TREE_INTMAP_NODE = new ClassType(Constants.STORAGE_TREE_INTMAP_NODE_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.governance.GenericValidators}.
 	 */
-	public final static ClassType GENERIC_VALIDATORS = new ClassType(Constants.GENERIC_VALIDATORS_NAME);
+	public final static ClassType GENERIC_VALIDATORS = new ClassType(Constants.GENERIC_VALIDATORS_NAME).intern();
 	
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.dao.Poll}.
 	 */
-	public final static ClassType POLL = new ClassType(Constants.POLL_NAME);
+	public final static ClassType POLL = new ClassType(Constants.POLL_NAME).intern();
 	
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.dao.SharedEntity}.
 	 */
-	public static final ClassType SHARED_ENTITY =  new ClassType(Constants.SHARED_ENTITY_NAME);
+	public static final ClassType SHARED_ENTITY =  new ClassType(Constants.SHARED_ENTITY_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.dao.SharedEntity.Offer}.
 	 */
-	public static final ClassType SHARED_ENTITY_OFFER =  new ClassType(Constants.SHARED_ENTITY_OFFER_NAME);
+	public static final ClassType SHARED_ENTITY_OFFER =  new ClassType(Constants.SHARED_ENTITY_OFFER_NAME).intern();
 
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.dao.SharedEntityView}.
 	 */
-	public static final ClassType SHARED_ENTITY_VIEW =  new ClassType(Constants.SHARED_ENTITY_VIEW_NAME);
+	public static final ClassType SHARED_ENTITY_VIEW =  new ClassType(Constants.SHARED_ENTITY_VIEW_NAME).intern();
 
 	/**
 	 * The name of the class type.
@@ -369,9 +375,20 @@ public final class ClassType implements StorageType {
 		return name;
 	}
 
+	/**
+	 * Yields the canonical instance of this class type. Equal class types
+	 * have the same canonical instance, hence they can be compared by identity
+	 * and do not waste memory.
+	 * 
+	 * @return the canonical instance, equal to this class type
+	 */
+	public ClassType intern() {
+		return interner.intern(this);
+	}
+
 	@Override
 	public boolean equals(Object other) {
-		return other instanceof ClassType && ((ClassType) other).name.equals(name);
+		return other == this || (other instanceof ClassType && ((ClassType) other).name.equals(name));
 	}
 
 	@Override
@@ -78,7 +78,7 @@ public interface StorageType {
 		byte selector = context.readByte();
 		switch (selector) {
 		case ClassType.SELECTOR:
-			return new ClassType(context.readStringShared());
+			return new ClassType(context.readStringShared()).intern();
 		case ClassType.SELECTOR_BIGINTEGER:
 			return ClassType.BIG_INTEGER;
 		case ClassType.SELECTOR_ERC20:
@@ -134,13 +134,13 @@ public interface StorageType {
 		case ClassType.SELECTOR_EVENT:
 			return ClassType.EVENT;
 		case ClassType.SELECTOR_IO_TAKAMAKA_CODE:
-			return new ClassType(Constants.IO_TAKAMAKA_CODE_PACKAGE_NAME + context.readStringShared());
+			return new ClassType(Constants.IO_TAKAMAKA_CODE_PACKAGE_NAME + context.readStringShared()).intern();
 		case ClassType.SELECTOR_IO_TAKAMAKA_CODE_LANG:
-			return new ClassType(Constants.IO_TAKAMAKA_CODE_LANG_PACKAGE_NAME + context.readStringShared());
+			return new ClassType(Constants.IO_TAKAMAKA_CODE_LANG_PACKAGE_NAME + context.readStringShared()).intern();
 		case ClassType.SELECTOR_IO_TAKAMAKA_CODE_UTIL:
-			return new ClassType(Constants.IO_TAKAMAKA_CODE_UTIL_PACKAGE_NAME + context.readStringShared());
+			return new ClassType(Constants.IO_TAKAMAKA_CODE_UTIL_PACKAGE_NAME + context.readStringShared()).intern();
 		case ClassType.SELECTOR_IO_TAKAMAKA_CODE_TOKENS:
-			return new ClassType(Constants.IO_TAKAMAKA_CODE_TOKENS_PACKAGE_NAME + context.readStringShared());
+			return new ClassType(Constants.IO_TAKAMAKA_CODE_TOKENS_PACKAGE_NAME + context.readStringShared()).intern();
 		default:
 			if (selector >= 0 && selector < 8)
 				return BasicTypes.values()[selector];
@@ -173,6 +173,6 @@ public interface StorageType {
 		else if (clazz == double.class)
 			return BasicTypes.DOUBLE;
 		else
-			return new ClassType(clazz.getName());
+			return new ClassType(clazz.getName()).intern();
 	}
 }
\ No newline at end of file
@@ -55,7 +55,7 @@ public final class ClassTag extends Update {
 	public ClassTag(StorageReference object, String className, TransactionReference jar) {
 		super(object);
 
-		this.clazz = new ClassType(className);
+		this.clazz = new ClassType(className).intern();
 		this.jar = jar;
 	}
 
@@ -22,6 +22,7 @@ import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.SignatureException;
 import java.security.spec.InvalidKeySpecException;
+import java.util.List;
 
 /**
  * An algorithm that signs values and verifies such signatures back.
@@ -62,6 +63,31 @@ public interface SignatureAlgorithm<T> {
 	 */
 	boolean verify(T what, PublicKey publicKey, byte[] signature) throws InvalidKeyException, SignatureException;
 
+	/**
+	 * Verifies, in batch, that the given signatures correspond to the given values, by using
+	 * the given public keys. This is equivalent to calling {@link #verify(Object, PublicKey, byte[])}
+	 * on each element of the lists, which is what this default implementation does,
+	 * but some algorithms can do it faster.
+	 * 
+	 * @param what the values whose signatures get verified
+	 * @param publicKeys the public keys, in the same order as {@code what}
+	 * @param signatures the signatures to verify, in the same order as {@code what}
+	 * @return an array whose {@code i}th element is true if and only if the {@code i}th signature matches
+	 * @throws InvalidKeyException if some of the provided public keys is invalid
+	 * @throws SignatureException if some value cannot be signed
+	 * @throws IllegalArgumentException if the lists have different sizes
+	 */
+	default boolean[] verify(List<? extends T> what, List<PublicKey> publicKeys, List<byte[]> signatures) throws InvalidKeyException, SignatureException {
+		if (what.size() != publicKeys.size() || what.size() != signatures.size())
+			throw new IllegalArgumentException("the values, public keys and signatures to verify must be lists of the same size");
+
+		boolean[] result = new boolean[what.size()];
+		for (int pos = 0; pos < result.length; pos++)
+			result[pos] = verify(what.get(pos), publicKeys.get(pos), signatures.get(pos));
+
+		return result;
+	}
+
 	/**
 	 * Yields a public key that can be used with this signature, from
 	 * its encoded version as a byte array.
@@ -31,7 +31,10 @@ import java.security.NoSuchProviderException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.SecureRandom;
+import java.security.SignatureException;
+import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.bouncycastle.crypto.digests.SHA512Digest;
 import org.bouncycastle.crypto.generators.PKCS5S2ParametersGenerator;
@@ -87,6 +90,66 @@ public abstract class AbstractSignatureAlgorithmImpl<T> implements SignatureAlgo
     	}
     }
 
+	/**
+	 * Verifies, in batch, the given signatures, by spreading their verification across the
+	 * threads of the common fork/join pool. This is only sensible for algorithms whose
+	 * {@link #verify(Object, PublicKey, byte[])} can be called concurrently without contention.
+	 * 
+	 * @param what the values whose signatures get verified
+	 * @param publicKeys the public keys, in the same order as {@code what}
+	 * @param signatures the signatures to verify, in the same order as {@code what}
+	 * @return an array whose {@code i}th element is true if and only if the {@code i}th signature matches
+	 * @throws InvalidKeyException if some of the provided public keys is invalid
+	 * @throws SignatureException if some value cannot be signed
+	 */
+	protected final boolean[] verifyInParallel(List<? extends T> what, List<PublicKey> publicKeys, List<byte[]> signatures) throws InvalidKeyException, SignatureException {
+		checkSameSize(what, publicKeys, signatures);
+
+		boolean[] result = new boolean[what.size()];
+
+		try {
+			IntStream.range(0, result.length).parallel().forEach(pos -> {
+				try {
+					result[pos] = verify(what.get(pos), publicKeys.get(pos), signatures.get(pos));
+				}
+				catch (InvalidKeyException | SignatureException e) {
+					throw new BatchVerificationException(e);
+				}
+			});
+		}
+		catch (BatchVerificationException e) {
+			if (e.getCause() instanceof InvalidKeyException)
+				throw (InvalidKeyException) e.getCause();
+			else
+				throw (SignatureException) e.getCause();
+		}
+
+		return result;
+	}
+
+	/**
+	 * An exception used to propagate the failure of a verification out of a parallel stream.
+	 */
+	private static class BatchVerificationException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		private BatchVerificationException(Exception cause) {
+			super(cause);
+		}
+	}
+
+	/**
+	 * Checks that the arguments of a batch verification have the same size.
+	 * 
+	 * @param what the values whose signatures get verified
+	 * @param publicKeys the public keys
+	 * @param signatures the signatures
+	 */
+	private static void checkSameSize(List<?> what, List<PublicKey> publicKeys, List<byte[]> signatures) {
+		if (what.size() != publicKeys.size() || what.size() != signatures.size())
+			throw new IllegalArgumentException("the values, public keys and signatures to verify must be lists of the same size");
+	}
+
 	@Override
 	public KeyPair getKeyPair(byte[] entropy, String password) {
 		return getKeyPair(entropy, io.hotmoka.crypto.BIP39Dictionaries.ENGLISH_DICTIONARY, password);
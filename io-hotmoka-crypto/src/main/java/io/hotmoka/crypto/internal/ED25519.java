@@ -38,6 +38,7 @@ import java.security.SignatureException;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.List;
 
 import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.ASN1OctetString;
@@ -59,9 +60,10 @@ import io.hotmoka.crypto.BytesSupplier;
 public class ED25519<T> extends AbstractSignatureAlgorithmImpl<T> {
 
     /**
-     * The actual signing algorithm.
+     * The actual signing algorithm. Each thread has its own, so that
+     * signatures can be created and verified concurrently, without contention.
      */
-    private final Signature signature;
+    private final ThreadLocal<Signature> signature;
 
     /**
      * The key pair generator.
@@ -81,7 +83,8 @@ public class ED25519<T> extends AbstractSignatureAlgorithmImpl<T> {
     public ED25519(BytesSupplier<? super T> supplier) throws NoSuchAlgorithmException {
     	try {
     		ensureProvider();
-    		this.signature = Signature.getInstance("Ed25519");
+    		Signature.getInstance("Ed25519"); // we check that the algorithm is available
+    		this.signature = ThreadLocal.withInitial(ED25519::mkSignature);
     		this.keyFactory = KeyFactory.getInstance("Ed25519", "BC");
     		this.keyPairGenerator = mkKeyPairGenerator(CryptoServicesRegistrar.getSecureRandom());
     		this.supplier = supplier;
@@ -114,11 +117,10 @@ public class ED25519<T> extends AbstractSignatureAlgorithmImpl<T> {
             throw new SignatureException("cannot transform value into bytes before signing", e);
         }
 
-        synchronized (signature) {
-            signature.initSign(privateKey);
-            signature.update(bytes);
-            return signature.sign();
-        }
+        Signature signature = this.signature.get();
+        signature.initSign(privateKey);
+        signature.update(bytes);
+        return signature.sign();
     }
 
     @Override
@@ -132,11 +134,16 @@ public class ED25519<T> extends AbstractSignatureAlgorithmImpl<T> {
             throw new SignatureException("cannot transform value into bytes before verifying the signature", e);
         }
 
-        synchronized (this.signature) {
-            this.signature.initVerify(publicKey);
-            this.signature.update(bytes);
-            return this.signature.verify(signature);
-        }
+        Signature engine = this.signature.get();
+        engine.initVerify(publicKey);
+        engine.update(bytes);
+        return engine.verify(signature);
+    }
+
+    @Override
+    public boolean[] verify(List<? extends T> what, List<PublicKey> publicKeys, List<byte[]> signatures) throws InvalidKeyException, SignatureException {
+    	// each thread uses its own engine, hence verifications proceed in parallel
+    	return verifyInParallel(what, publicKeys, signatures);
     }
 
     @Override
@@ -181,6 +188,16 @@ public class ED25519<T> extends AbstractSignatureAlgorithmImpl<T> {
     	}
     }
 
+    private static Signature mkSignature() {
+    	try {
+    		return Signature.getInstance("Ed25519");
+    	}
+    	catch (NoSuchAlgorithmException e) {
+    		// this does not happen, since the constructor checks that the algorithm is available
+    		throw new RuntimeException("unexpected exception", e);
+    	}
+    }
+
     private static void ensureProvider() {
 		if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null)
 	        Security.addProvider(new BouncyCastleProvider());
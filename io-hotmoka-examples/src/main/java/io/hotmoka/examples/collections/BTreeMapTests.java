@@ -0,0 +1,111 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.examples.collections;
+
+import java.math.BigInteger;
+
+import io.takamaka.code.lang.View;
+import io.takamaka.code.util.StorageBTreeIntMap;
+import io.takamaka.code.util.StorageBTreeMap;
+import io.takamaka.code.util.StorageIntMap;
+import io.takamaka.code.util.StorageMap;
+import io.takamaka.code.util.StorageMapView;
+import io.takamaka.code.util.StorageMapView.Entry;
+
+/**
+ * This class defines methods that test the storage maps implemented as B-trees.
+ * Keys are added in scrambled order, so that nodes get split and merged in many ways.
+ */
+public class BTreeMapTests {
+	private final static int SIZE = 200;
+
+	private static StorageMap<BigInteger, BigInteger> fill() {
+		StorageMap<BigInteger, BigInteger> map = new StorageBTreeMap<>();
+		for (int i = 0; i < SIZE; i++) {
+			BigInteger key = BigInteger.valueOf((i * 37) % SIZE);
+			map.put(key, key);
+		}
+
+		return map;
+	}
+
+	public static @View int testPutAndRemove() {
+		StorageMap<BigInteger, BigInteger> map = fill();
+		for (int i = 0; i < SIZE; i += 2)
+			map.remove(BigInteger.valueOf(i));
+
+		// the sum of the odd numbers below SIZE
+		return map.values().mapToInt(BigInteger::intValue).sum();
+	}
+
+	public static @View boolean testOrder() {
+		StorageMap<BigInteger, BigInteger> map = fill();
+		for (int i = 0; i < SIZE; i += 3)
+			map.remove(BigInteger.valueOf((i * 7) % SIZE));
+
+		int rank = 0;
+		BigInteger previous = null;
+		for (Entry<BigInteger, BigInteger> entry: map) {
+			BigInteger key = entry.getKey();
+			if ((previous != null && previous.compareTo(key) >= 0) || map.rank(key) != rank || !map.select(rank).equals(key))
+				return false;
+
+			previous = key;
+			rank++;
+		}
+
+		return rank == map.size() && map.min().equals(map.select(0)) && map.max().equals(previous);
+	}
+
+	public static @View boolean testFloorAndCeiling() {
+		StorageMap<BigInteger, BigInteger> map = new StorageBTreeMap<>();
+		for (int i = 0; i < SIZE; i++)
+			map.put(BigInteger.valueOf(((i * 37) % SIZE) * 10), BigInteger.ZERO);
+
+		for (int i = 0; i < (SIZE - 1) * 10; i++) {
+			BigInteger key = BigInteger.valueOf(i);
+			if (map.floorKey(key).intValue() != i - i % 10 || map.ceilingKey(key).intValue() != i + (10 - i % 10) % 10)
+				return false;
+		}
+
+		return true;
+	}
+
+	public static @View boolean testSnapshot() {
+		StorageMap<BigInteger, BigInteger> map = fill();
+		StorageMapView<BigInteger, BigInteger> snapshot = map.snapshot();
+		while (!map.isEmpty())
+			map.removeMax();
+
+		return snapshot.size() == SIZE && snapshot.get(BigInteger.valueOf(SIZE - 1)).intValue() == SIZE - 1;
+	}
+
+	public static @View int testIntKeys() {
+		StorageIntMap<BigInteger> map = new StorageBTreeIntMap<>();
+		for (int i = 0; i < SIZE; i++)
+			map.put((i * 37) % SIZE, BigInteger.valueOf(i));
+
+		while (map.size() > SIZE / 2)
+			map.removeMin();
+
+		for (int key = SIZE / 2; key < SIZE; key++)
+			map.update(key, BigInteger.ONE::add);
+
+		// the sum of the keys, that is the sum of the numbers from SIZE / 2 to SIZE - 1
+		return map.keys().sum();
+	}
+}
@@ -0,0 +1,90 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.examples.collections;
+
+import java.math.BigInteger;
+
+import io.takamaka.code.lang.Exported;
+import io.takamaka.code.lang.Storage;
+import io.takamaka.code.lang.View;
+import io.takamaka.code.util.StorageBTreeMap;
+import io.takamaka.code.util.StorageMap;
+import io.takamaka.code.util.StorageTreeMap;
+
+/**
+ * A map kept in storage, used to compare the cost of the storage maps
+ * implemented as binary trees and as B-trees.
+ */
+@Exported
+public class MapBenchmark extends Storage {
+	private final StorageMap<BigInteger, BigInteger> map;
+
+	public MapBenchmark(boolean btree) {
+		this.map = btree ? new StorageBTreeMap<>() : new StorageTreeMap<>();
+	}
+
+	/**
+	 * Adds the keys of the given progressive numbers.
+	 * 
+	 * @param from the first progressive number, included
+	 * @param to the last progressive number, excluded
+	 */
+	public void fill(int from, int to) {
+		for (int i = from; i < to; i++)
+			put(i);
+	}
+
+	/**
+	 * Adds the key of the given progressive number.
+	 * 
+	 * @param i the progressive number
+	 */
+	public void put(int i) {
+		map.put(keyOf(i), BigInteger.valueOf(i));
+	}
+
+	/**
+	 * Removes the key of the given progressive number.
+	 * 
+	 * @param i the progressive number
+	 */
+	public void remove(int i) {
+		map.remove(keyOf(i));
+	}
+
+	/**
+	 * Yields the value bound to the key of the given progressive number.
+	 * 
+	 * @param i the progressive number
+	 * @return the value
+	 */
+	public @View BigInteger get(int i) {
+		return map.get(keyOf(i));
+	}
+
+	public @View int size() {
+		return map.size();
+	}
+
+	/**
+	 * Yields the key of the given progressive number. Keys are scrambled,
+	 * so that they are not added in increasing order.
+	 */
+	private static BigInteger keyOf(int i) {
+		return BigInteger.valueOf((i * 2654435761L) & 0xffffffffL);
+	}
+}
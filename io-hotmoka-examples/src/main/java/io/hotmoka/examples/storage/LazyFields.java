@@ -0,0 +1,64 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+
+package io.hotmoka.examples.storage;
+
+import io.takamaka.code.lang.Exported;
+import io.takamaka.code.lang.Storage;
+import io.takamaka.code.lang.View;
+
+/**
+ * A storage object with three lazy fields, that can be updated independently.
+ */
+@Exported
+public class LazyFields extends Storage {
+	private SimpleStorage first;
+	private SimpleStorage second;
+	private SimpleStorage third;
+
+	public void setFirst(int x) {
+		first = mk(x);
+	}
+
+	public void setSecond(int x) {
+		second = mk(x);
+	}
+
+	public void setThird(int x) {
+		third = mk(x);
+	}
+
+	/**
+	 * Yields the values of the three fields, as the digits of a number.
+	 * A field that has never been set counts as 0.
+	 * 
+	 * @return the number whose hundreds, tens and units are the values of the three fields
+	 */
+	public @View int get() {
+		return 100 * valueOf(first) + 10 * valueOf(second) + valueOf(third);
+	}
+
+	private static SimpleStorage mk(int x) {
+		SimpleStorage result = new SimpleStorage();
+		result.set(x);
+		return result;
+	}
+
+	private static int valueOf(SimpleStorage storage) {
+		return storage == null ? 0 : storage.get();
+	}
+}
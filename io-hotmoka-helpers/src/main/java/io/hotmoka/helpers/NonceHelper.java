@@ -16,8 +16,12 @@ limitations under the License.
 
 package io.hotmoka.helpers;
 
+import static java.math.BigInteger.ONE;
+
 import java.math.BigInteger;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import io.hotmoka.beans.CodeExecutionException;
 import io.hotmoka.beans.TransactionException;
@@ -29,12 +33,19 @@ import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.nodes.Node;
 
 /**
- * An object that helps with nonce operations.
+ * An object that helps with nonce operations. Besides reading the nonce of an account,
+ * it can reserve its successive nonces, so that a client can send many requests
+ * from the same account without waiting for the previous ones to be delivered.
  */
 public class NonceHelper {
 	private final Node node;
 	private final static BigInteger _100_000 = BigInteger.valueOf(100_000L);
 
+	/**
+	 * The next nonce that will be reserved for each account.
+	 */
+	private final ConcurrentMap<StorageReference, BigInteger> reserved = new ConcurrentHashMap<>();
+
 	/**
 	 * Creates an object that helps with nonce operations.
 	 * 
@@ -55,4 +66,41 @@ public class NonceHelper {
 		return ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
 			(account, _100_000, node.getClassTag(account).jar, CodeSignature.NONCE, account))).value;
 	}
+
+	/**
+	 * Reserves a nonce of an account, for a request that is going to be sent to the node.
+	 * The first reservation for an account yields its nonce in the node; the subsequent
+	 * reservations yield the successive nonces, without asking the node again.
+	 * Hence requests with the reserved nonces must be sent in order of reservation
+	 * and only through this helper, or otherwise the reserved nonces must be
+	 * forgotten with {@link #forgetReservedNoncesOf(StorageReference)}.
+	 * 
+	 * @param account the account
+	 * @return the reserved nonce
+	 */
+	public BigInteger reserveNonceOf(StorageReference account) throws TransactionRejectedException, NoSuchElementException, TransactionException, CodeExecutionException {
+		if (!reserved.containsKey(account))
+			reserved.putIfAbsent(account, getNonceOf(account));
+
+		var result = new BigInteger[1];
+		reserved.computeIfPresent(account, (_account, next) -> {
+			result[0] = next;
+			return next.add(ONE);
+		});
+
+		// the reservations might have been forgotten in the meanwhile
+		return result[0] != null ? result[0] : reserveNonceOf(account);
+	}
+
+	/**
+	 * Forgets the nonces reserved for an account, so that the next reservation
+	 * yields its nonce in the node again. This is useful when a request with a
+	 * reserved nonce has been rejected, so that the subsequent reserved nonces
+	 * will never be accepted by the node.
+	 * 
+	 * @param account the account
+	 */
+	public void forgetReservedNoncesOf(StorageReference account) {
+		reserved.remove(account);
+	}
 }
\ No newline at end of file
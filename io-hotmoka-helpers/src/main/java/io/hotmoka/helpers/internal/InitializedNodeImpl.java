@@ -25,6 +25,7 @@ import java.nio.file.Path;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SignatureException;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
@@ -42,8 +43,11 @@ import io.hotmoka.beans.requests.InitializationTransactionRequest;
 import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreInitialTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreTransactionRequest;
+import io.hotmoka.beans.requests.MethodCallTransactionRequest;
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
 import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.NonInitialTransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.signatures.CodeSignature;
 import io.hotmoka.beans.signatures.ConstructorSignature;
@@ -260,6 +264,16 @@ public class InitializedNodeImpl implements InitializedNode {
 		return parent.runStaticMethodCallTransaction(request);
 	}
 
+	@Override
+	public List<StorageValue> runViewBatch(List<MethodCallTransactionRequest> requests) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+		return parent.runViewBatch(requests);
+	}
+
+	@Override
+	public NonInitialTransactionResponse estimate(NonInitialTransactionRequest<?> request) throws TransactionRejectedException {
+		return parent.estimate(request);
+	}
+
 	@Override
 	public JarSupplier postJarStoreTransaction(JarStoreTransactionRequest request) throws TransactionRejectedException {
 		return parent.postJarStoreTransaction(request);
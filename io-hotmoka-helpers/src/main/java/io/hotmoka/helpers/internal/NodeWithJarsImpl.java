@@ -26,6 +26,7 @@ import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.SignatureException;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
@@ -42,9 +43,12 @@ import io.hotmoka.beans.requests.InitializationTransactionRequest;
 import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreInitialTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreTransactionRequest;
+import io.hotmoka.beans.requests.MethodCallTransactionRequest;
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
 import io.hotmoka.beans.requests.SignedTransactionRequest;
 import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.NonInitialTransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.signatures.CodeSignature;
 import io.hotmoka.beans.updates.ClassTag;
@@ -206,6 +210,16 @@ public class NodeWithJarsImpl implements NodeWithJars {
 		return parent.runStaticMethodCallTransaction(request);
 	}
 
+	@Override
+	public List<StorageValue> runViewBatch(List<MethodCallTransactionRequest> requests) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+		return parent.runViewBatch(requests);
+	}
+
+	@Override
+	public NonInitialTransactionResponse estimate(NonInitialTransactionRequest<?> request) throws TransactionRejectedException {
+		return parent.estimate(request);
+	}
+
 	@Override
 	public JarSupplier postJarStoreTransaction(JarStoreTransactionRequest request) throws TransactionRejectedException {
 		return parent.postJarStoreTransaction(request);
@@ -24,10 +24,13 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -35,6 +38,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -48,8 +52,10 @@ import io.hotmoka.beans.CodeExecutionException;
 import io.hotmoka.beans.GasCostModel;
 import io.hotmoka.beans.TransactionException;
 import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.nodes.NodeInfo;
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.requests.AbstractInstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.CodeExecutionTransactionRequest;
 import io.hotmoka.beans.requests.ConstructorCallTransactionRequest;
 import io.hotmoka.beans.requests.GameteCreationTransactionRequest;
 import io.hotmoka.beans.requests.InitialTransactionRequest;
@@ -58,6 +64,7 @@ import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.InstanceSystemMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreInitialTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreTransactionRequest;
+import io.hotmoka.beans.requests.MethodCallTransactionRequest;
 import io.hotmoka.beans.requests.NonInitialTransactionRequest;
 import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.SystemTransactionRequest;
@@ -78,10 +85,16 @@ import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.beans.values.StorageValue;
 import io.hotmoka.beans.values.StringValue;
 import io.hotmoka.instrumentation.StandardGasCostModel;
-import io.hotmoka.local.internal.LRUCache;
+import io.hotmoka.local.internal.ConcurrentCache;
 import io.hotmoka.local.internal.NodeCachesImpl;
 import io.hotmoka.local.internal.NodeInternal;
+import io.hotmoka.local.internal.OverlayStore;
 import io.hotmoka.local.internal.StoreUtilitiesImpl;
+import io.hotmoka.local.internal.ViewBatch;
+import io.hotmoka.local.internal.profiling.CheckEvent;
+import io.hotmoka.local.internal.profiling.DeliverEvent;
+import io.hotmoka.local.internal.profiling.TransactionSizeEvent;
+import io.hotmoka.local.internal.profiling.ResponseBuilderEvent;
 import io.hotmoka.local.internal.transactions.ConstructorCallResponseBuilder;
 import io.hotmoka.local.internal.transactions.GameteCreationResponseBuilder;
 import io.hotmoka.local.internal.transactions.InitializationResponseBuilder;
@@ -93,6 +106,8 @@ import io.hotmoka.local.internal.transactions.StaticMethodCallResponseBuilder;
 import io.hotmoka.local.internal.transactions.StaticViewMethodCallResponseBuilder;
 import io.hotmoka.nodes.AbstractNode;
 import io.hotmoka.nodes.ConsensusParams;
+import io.hotmoka.nodes.metrics.Histogram;
+import io.hotmoka.nodes.metrics.Metrics;
 
 /**
  * A generic implementation of a local (ie., non-remote) node.
@@ -138,6 +153,22 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 	 */
 	private final ExecutorService executor;
 
+	/**
+	 * The number of threads that prefetch the state needed by the requests expected to be delivered soon.
+	 */
+	private final static int PREFETCHERS = 2;
+
+	/**
+	 * An executor for prefetching the state needed by the requests expected to be delivered soon.
+	 * Its queue is bounded and the tasks that do not fit are dropped, since prefetching is only an optimization.
+	 */
+	private final ExecutorService prefetcher;
+
+	/**
+	 * The references of the requests recently prefetched, that need not be prefetched again.
+	 */
+	private final ConcurrentCache<TransactionReference, Boolean> recentlyPrefetched;
+
 	/**
 	 * The time spent for checking requests.
 	 */
@@ -148,13 +179,25 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 	 */
 	private final AtomicLong deliverTime;
 
+	private final static Histogram checkLatency = Metrics.histogram("hotmoka_check_transaction_microseconds", "the time spent checking a request");
+	private final static Histogram deliverLatency = Metrics.histogram("hotmoka_deliver_transaction_microseconds", "the time spent delivering a transaction");
+	private final static Histogram transactionsPerBlock = Metrics.histogram("hotmoka_block_transactions", "the transactions delivered between two rewards of the validators");
+	private final static Histogram gasPerBlock = Metrics.histogram("hotmoka_block_gas", "the units of gas consumed between two rewards of the validators");
+
 	/**
 	 * Cached error messages of requests that failed their {@link AbstractLocalNode#checkTransaction(TransactionRequest)}.
 	 * This is useful to avoid polling for the outcome of recent requests whose
 	 * {@link #checkTransaction(TransactionRequest)} failed, hence never
 	 * got the chance to pass to {@link #deliverTransaction(TransactionRequest)}.
 	 */
-	private final LRUCache<TransactionReference, String> recentCheckTransactionErrors;
+	private final ConcurrentCache<TransactionReference, String> recentCheckTransactionErrors;
+
+	/**
+	 * The nonces that the callers of the requests being checked by
+	 * {@link #checkTransaction(TransactionRequest, BigInteger)} are expected to have,
+	 * in place of the nonces that they have in store.
+	 */
+	private final ConcurrentMap<TransactionReference, BigInteger> projectedNonces = new ConcurrentHashMap<>();
 
 	/**
 	 * True if this blockchain has been already closed. Used to avoid double-closing in the shutdown hook.
@@ -218,12 +261,15 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		this.config = config;
 		this.storeUtilities = new StoreUtilitiesImpl(internal);
 		this.caches = new NodeCachesImpl(internal, consensus);
-		this.recentCheckTransactionErrors = new LRUCache<>(100, 1000);
+		// recent errors are looked up soon after their insertion, hence there is no admission policy here
+		this.recentCheckTransactionErrors = new ConcurrentCache<>("checkErrors", 1000, 1000, _error -> 1L, 100);
 		this.gasConsumedSinceLastReward = ZERO;
 		this.coinsSinceLastReward = ZERO;
 		this.coinsSinceLastRewardWithoutInflation = ZERO;
 		this.numberOfTransactionsSinceLastReward = ZERO;
 		this.executor = Executors.newCachedThreadPool();
+		this.prefetcher = new ThreadPoolExecutor(PREFETCHERS, PREFETCHERS, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1000), new ThreadPoolExecutor.DiscardPolicy());
+		this.recentlyPrefetched = new ConcurrentCache<>(null, 1000);
 		this.semaphores = new ConcurrentHashMap<>();
 		this.checkTime = new AtomicLong();
 		this.deliverTime = new AtomicLong();
@@ -243,27 +289,28 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 	}
 
 	/**
-	 * Builds a shallow clone of the given node.
+	 * Builds a fork of the given node. It has its own store, subscriptions and pending requests.
+	 * Its caches start from those of the parent.
 	 * 
-	 * @param parent the node to clone
+	 * @param parent the node to fork
 	 */
-	protected AbstractLocalNode(AbstractLocalNode<C,S> parent) {
-		super(parent);
-
+	private AbstractLocalNode(AbstractLocalNode<C,?> parent) {
 		this.config = parent.config;
-		this.caches = new NodeCachesImpl(internal, parent.caches.getConsensusParams());
-		this.recentCheckTransactionErrors = parent.recentCheckTransactionErrors;
+		this.caches = new NodeCachesImpl(internal, parent.caches);
+		this.recentCheckTransactionErrors = new ConcurrentCache<>(null, 1000, 1000, _error -> 1L, 100);
 		this.gasConsumedSinceLastReward = parent.gasConsumedSinceLastReward;
 		this.coinsSinceLastReward = parent.coinsSinceLastReward;
 		this.coinsSinceLastRewardWithoutInflation = parent.coinsSinceLastRewardWithoutInflation;
 		this.numberOfTransactionsSinceLastReward = parent.numberOfTransactionsSinceLastReward;
 		this.executor = parent.executor;
+		this.prefetcher = parent.prefetcher;
+		this.recentlyPrefetched = new ConcurrentCache<>(null, 1000);
 		this.store = mkStore();
 		this.storeUtilities = new StoreUtilitiesImpl(internal, store);
-		this.semaphores = parent.semaphores;
-		this.checkTime = parent.checkTime;
-		this.deliverTime = parent.deliverTime;
-		this.closed = parent.closed;
+		this.semaphores = new ConcurrentHashMap<>();
+		this.checkTime = new AtomicLong();
+		this.deliverTime = new AtomicLong();
+		this.closed = new AtomicBoolean();
 	}
 
 	/**
@@ -289,6 +336,7 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		if (store != null)
 			store.close();
 
+		prefetcher.shutdownNow();
 		executor.shutdown();
 		executor.awaitTermination(10, TimeUnit.SECONDS);
 
@@ -296,6 +344,24 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		logger.info("time spent delivering requests: " + deliverTime + "ms");
 	}
 
+	/**
+	 * Yields a fork of this node. It starts from the current committed state of this node
+	 * but executes transactions on its own, without modifying this node. Its store keeps
+	 * in RAM only what the fork writes, hence forks are cheap to create and to drop,
+	 * and many forks can execute transactions concurrently. A fork executes each request
+	 * as soon as it is posted, in the thread that posts it, and never rewards the validators.
+	 * It does not see the transactions committed later by this node, since the store of this node
+	 * keeps its state at the time of the fork (see {@link AbstractStore#pinState()}) until the fork gets closed.
+	 * Closing the fork does not close this node.
+	 * 
+	 * @return the fork
+	 * @throws UnsupportedOperationException if the store of this node cannot keep its state at the time of the fork,
+	 *                                       as it happens for instance for the store of a memory blockchain
+	 */
+	public final AbstractLocalNode<C, ?> fork() {
+		return new Fork();
+	}
+
 	@Override
 	public final String getNameOfSignatureAlgorithmForRequests() {
 		return caches.getConsensusParams().signature;
@@ -420,6 +486,57 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		}
 	}
 
+	/**
+	 * Yields the root of the state of this node at the given height, that is,
+	 * after the given number of commits of its store. Historical states can only be accessed
+	 * through local nodes: this method is not part of {@link io.hotmoka.nodes.Node}, hence it is not available
+	 * through the network service nor through remote nodes.
+	 * 
+	 * @param height the height
+	 * @return the root, if the store of this node still keeps the state at that height
+	 */
+	public final Optional<byte[]> getRootAt(long height) {
+		return store.getRootAt(height);
+	}
+
+	/**
+	 * Yields the state of the given object, as it was when the store of this node had the given root.
+	 * This runs concurrently with the delivery of transactions. Like {@link #getRootAt(long)},
+	 * it is only available for local nodes.
+	 * 
+	 * @param reference the reference of the object
+	 * @param root the root of the state, for instance as yielded by {@link #getRootAt(long)}
+	 * @return the updates that describe the state of the object at that root
+	 * @throws NoSuchElementException if the store of this node does not keep the state with that root anymore,
+	 *                                or the object did not exist in that state
+	 */
+	public final Stream<Update> getState(StorageReference reference, byte[] root) throws NoSuchElementException {
+		Objects.requireNonNull(reference);
+		Objects.requireNonNull(root);
+		try {
+			AbstractStore<C> storeAtRoot = store.getStoreAt(root).orElseThrow(() -> new NoSuchElementException("the state with the given root is not available"));
+			// the state is pinned, so that it is not garbage-collected while it is being read
+			long height = storeAtRoot.pinState().orElseThrow(() -> new NoSuchElementException("the state with the given root is not available"));
+
+			try {
+				if (storeAtRoot.getResponse(reference.transaction).isEmpty())
+					throw new NoSuchElementException("unknown transaction reference " + reference.transaction);
+
+				return new ViewBatch(internal, storeAtRoot).getStoreUtilities().getStateCommitted(reference);
+			}
+			finally {
+				storeAtRoot.unpinState(height);
+			}
+		}
+		catch (NoSuchElementException e) {
+			throw e;
+		}
+		catch (RuntimeException e) {
+			logger.log(Level.WARNING, "unexpected exception", e);
+			throw e;
+		}
+	}
+
 	@Override
 	public final TransactionReference addJarStoreInitialTransaction(JarStoreInitialTransactionRequest request) throws TransactionRejectedException {
 		return wrapInCaseOfExceptionSimple(() -> {
@@ -491,6 +608,100 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		});
 	}
 
+	@Override
+	public final List<StorageValue> runViewBatch(List<MethodCallTransactionRequest> requests) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+		return wrapInCaseOfExceptionFull(() -> {
+			logger.info("running a batch of " + requests.size() + " view calls");
+			var batch = new ViewBatch(internal);
+			List<StorageValue> results = new ArrayList<>(requests.size());
+
+			synchronized (deliverTransactionLock) {
+				for (MethodCallTransactionRequest request: requests)
+					results.add(batch.run(request));
+			}
+
+			logger.info("running a batch of " + requests.size() + " view calls: success");
+			return results;
+		});
+	}
+
+	/**
+	 * Runs a call to a {@code @@View} method against the state of this node at the given height,
+	 * that is, after the given number of commits of its store. Since that state never changes,
+	 * this runs concurrently with the delivery of transactions. The state is not garbage-collected
+	 * until the call completes. Like {@link #getRootAt(long)}, this is only available for local nodes.
+	 * 
+	 * @param height the height
+	 * @param request the request of the call
+	 * @return the result of the call; this is {@code null} for a call to a {@code void} method
+	 * @throws TransactionRejectedException if the call could not be executed, for instance because
+	 *                                      the store of this node does not keep the state at that height anymore
+	 * @throws TransactionException if the call led to an exception outside the user code in blockchain,
+	 *                              or that is not allowed to be thrown by the method
+	 * @throws CodeExecutionException if the call led to an exception in the user code in blockchain,
+	 *                                that is allowed to be thrown by the method
+	 */
+	public final StorageValue runViewAt(long height, MethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+		return wrapInCaseOfExceptionFull(() -> {
+			TransactionReference reference = request.getReference();
+			logger.info(reference + ": running at height " + height + " start (" + request.getClass().getSimpleName() + " -> " + request.method.methodName + ')');
+
+			AbstractStore<C> storeAtHeight = store.getRootAt(height)
+				.flatMap(store::getStoreAt)
+				.orElseThrow(() -> new TransactionRejectedException("the state at height " + height + " is not available"));
+
+			// the state is pinned, so that it is not garbage-collected while the view runs
+			long pinned = storeAtHeight.pinState().orElseThrow(() -> new TransactionRejectedException("the state at height " + height + " is not available"));
+			StorageValue result;
+
+			try {
+				result = new ViewBatch(internal, storeAtHeight).run(request);
+			}
+			finally {
+				storeAtHeight.unpinState(pinned);
+			}
+
+			logger.info(reference + ": running at height " + height + " success");
+			return result;
+		});
+	}
+
+	@Override
+	public final NonInitialTransactionResponse estimate(NonInitialTransactionRequest<?> request) throws TransactionRejectedException {
+		return wrapInCaseOfExceptionSimple(() -> {
+			TransactionReference reference = request.getReference();
+			logger.info(reference + ": estimating start (" + request.getClass().getSimpleName() + ')');
+
+			NonInitialTransactionResponse response;
+			Fork fork;
+
+			try {
+				fork = new Fork();
+			}
+			catch (UnsupportedOperationException e) {
+				// the store of this node cannot keep its current state, hence the fork reads
+				// its live state, that must not be modified by the delivery of transactions meanwhile
+				synchronized (deliverTransactionLock) {
+					try (Fork liveFork = new LiveFork()) {
+						response = liveFork.estimate(reference, request);
+					}
+				}
+
+				logger.info(reference + ": estimating success");
+				return response;
+			}
+
+			// a fork reads the pinned state of this node and keeps its writes for itself,
+			// hence there is no need to synchronize with the delivery of transactions
+			try (fork) {
+				response = fork.estimate(reference, request);
+			}
+
+			logger.info(reference + ": estimating success");
+			return response;
+		});
+	}
+
 	@Override
 	public final JarSupplier postJarStoreTransaction(JarStoreTransactionRequest request) throws TransactionRejectedException {
 		return wrapInCaseOfExceptionSimple(() -> jarSupplierFor(post(request)));
@@ -518,7 +729,9 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 	 * @throws TransactionRejectedException if the request is not valid
 	 */
 	protected final void checkTransaction(TransactionRequest<?> request) throws TransactionRejectedException {
-		long start = System.currentTimeMillis();
+		long start = System.currentTimeMillis(), startNanos = System.nanoTime();
+		var event = new CheckEvent();
+		event.begin();
 
 		TransactionReference reference = request.getReference();
 		recentCheckTransactionErrors.put(reference, null);
@@ -551,6 +764,76 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		}
 		finally {
 			checkTime.addAndGet(System.currentTimeMillis() - start);
+			checkLatency.recordMicrosSince(startNanos);
+			event.commit(reference, request);
+		}
+	}
+
+	/**
+	 * Checks that the given transaction request is valid, assuming that its caller has the given nonce,
+	 * instead of the nonce that it has in store. This is useful for a mempool that checks requests
+	 * ahead of the delivery of the previous requests of the same caller, since it can then
+	 * accept the subsequent nonces of a caller before the store has been updated.
+	 * The request gets checked again, against the store, when it is delivered.
+	 * 
+	 * @param request the request
+	 * @param projectedNonce the nonce that the caller of {@code request} is expected to have
+	 * @throws TransactionRejectedException if the request is not valid
+	 */
+	protected final void checkTransaction(TransactionRequest<?> request, BigInteger projectedNonce) throws TransactionRejectedException {
+		TransactionReference reference = request.getReference();
+		projectedNonces.put(reference, projectedNonce);
+
+		try {
+			checkTransaction(request);
+		}
+		finally {
+			projectedNonces.remove(reference);
+		}
+	}
+
+	/**
+	 * Warms up, in background, the caches of this node for the delivery of the given
+	 * request, that is expected to occur soon. That is, it loads the class loader for the class path
+	 * of the request and the responses of the transactions that created the objects named in the request:
+	 * its caller, its receiver and its actual arguments. Only the committed state is read,
+	 * hence this can run in parallel with the delivery of other transactions. The histories of the objects
+	 * are not prefetched, since they are not cached: reading them would only contend for the store
+	 * with the delivery of transactions.
+	 * The requests recently prefetched are not prefetched again.
+	 * 
+	 * @param request the request
+	 */
+	protected final void prefetch(TransactionRequest<?> request) {
+		if (request instanceof NonInitialTransactionRequest<?>) {
+			TransactionReference reference = request.getReference();
+			if (recentlyPrefetched.get(reference) == null) {
+				recentlyPrefetched.put(reference, Boolean.TRUE);
+				prefetcher.execute(() -> prefetch((NonInitialTransactionRequest<?>) request));
+			}
+		}
+	}
+
+	private void prefetch(NonInitialTransactionRequest<?> request) {
+		try {
+			// the class path might be installed by a request that has not been committed yet
+			if (caches.getResponse(request.classpath).isPresent())
+				caches.getClassLoader(request.classpath);
+
+			Stream<StorageValue> objects = Stream.of(request.caller);
+			if (request instanceof AbstractInstanceMethodCallTransactionRequest)
+				objects = Stream.concat(objects, Stream.of(((AbstractInstanceMethodCallTransactionRequest) request).receiver));
+			if (request instanceof CodeExecutionTransactionRequest<?>)
+				objects = Stream.concat(objects, ((CodeExecutionTransactionRequest<?>) request).actuals());
+
+			objects.filter(value -> value instanceof StorageReference)
+				.map(value -> ((StorageReference) value).transaction)
+				.distinct()
+				.forEachOrdered(caches::getResponse);
+		}
+		catch (RuntimeException e) {
+			// prefetching is only an optimization: any problem will be reported when the request is delivered
+			logger.log(Level.FINE, "could not prefetch the state for a request", e);
 		}
 	}
 
@@ -567,7 +850,10 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 	 * @throws TransactionRejectedException if the response cannot be built
 	 */
 	protected final TransactionResponse deliverTransaction(TransactionRequest<?> request) throws TransactionRejectedException {
-		long start = System.currentTimeMillis();
+		long start = System.currentTimeMillis(), startNanos = System.nanoTime();
+		var event = new DeliverEvent();
+		var sizes = new TransactionSizeEvent();
+		event.begin();
 
 		TransactionReference reference = request.getReference();
 
@@ -577,6 +863,8 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 			TransactionResponse response;
 
 			synchronized (deliverTransactionLock) {
+				// a request is delivered against the nonce in store, even if it is still being checked against a projected nonce
+				projectedNonces.remove(reference);
 				ResponseBuilder<?,?> responseBuilder = responseBuilderFor(reference, request);
 				response = responseBuilder.getResponse();
 				store.push(reference, request, response);
@@ -586,6 +874,8 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 				invalidateCachesIfNeeded(response, responseBuilder.getClassLoader());
 			}
 
+			event.setResponse(response);
+			sizes.setResponse(response);
 			logger.info(reference + ": delivering success");
 			return response;
 		}
@@ -603,6 +893,9 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		finally {
 			signalSemaphore(reference);
 			deliverTime.addAndGet(System.currentTimeMillis() - start);
+			deliverLatency.recordMicrosSince(startNanos);
+			event.commit(reference, request);
+			sizes.commit(reference, request);
 		}
 	}
 
@@ -679,6 +972,8 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 					logger.info("units of gas consumed for CPU, RAM or storage since the previous reward: " + gasConsumedSinceLastReward);
 					logger.info("units of coin rewarded to the validators for their work since the previous reward: " + coinsSinceLastReward);
 					logger.info("units of coin minted since the previous reward: " + minted);
+					transactionsPerBlock.record(numberOfTransactionsSinceLastReward.longValue());
+					gasPerBlock.record(gasConsumedSinceLastReward.longValue());
 					gasConsumedSinceLastReward = ZERO;
 					coinsSinceLastReward = ZERO;
 					coinsSinceLastRewardWithoutInflation = ZERO;
@@ -795,22 +1090,30 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 	 * @throws TransactionRejectedException if the builder cannot be created
 	 */
 	protected ResponseBuilder<?,?> responseBuilderFor(TransactionReference reference, TransactionRequest<?> request) throws TransactionRejectedException {
-		if (request instanceof JarStoreInitialTransactionRequest)
-			return new JarStoreInitialResponseBuilder(reference, (JarStoreInitialTransactionRequest) request, internal);
-		else if (request instanceof GameteCreationTransactionRequest)
-			return new GameteCreationResponseBuilder(reference, (GameteCreationTransactionRequest) request, internal);
-    	else if (request instanceof JarStoreTransactionRequest)
-    		return new JarStoreResponseBuilder(reference, (JarStoreTransactionRequest) request, internal);
-    	else if (request instanceof ConstructorCallTransactionRequest)
-    		return new ConstructorCallResponseBuilder(reference, (ConstructorCallTransactionRequest) request, internal);
-    	else if (request instanceof AbstractInstanceMethodCallTransactionRequest)
-    		return new InstanceMethodCallResponseBuilder(reference, (AbstractInstanceMethodCallTransactionRequest) request, internal);
-    	else if (request instanceof StaticMethodCallTransactionRequest)
-    		return new StaticMethodCallResponseBuilder(reference, (StaticMethodCallTransactionRequest) request, internal);
-    	else if (request instanceof InitializationTransactionRequest)
-    		return new InitializationResponseBuilder(reference, (InitializationTransactionRequest) request, internal);
-    	else
-    		throw new TransactionRejectedException("unexpected transaction request of class " + request.getClass().getName());
+		var event = new ResponseBuilderEvent();
+		event.begin();
+
+		try {
+			if (request instanceof JarStoreInitialTransactionRequest)
+				return new JarStoreInitialResponseBuilder(reference, (JarStoreInitialTransactionRequest) request, internal);
+			else if (request instanceof GameteCreationTransactionRequest)
+				return new GameteCreationResponseBuilder(reference, (GameteCreationTransactionRequest) request, internal);
+			else if (request instanceof JarStoreTransactionRequest)
+				return new JarStoreResponseBuilder(reference, (JarStoreTransactionRequest) request, internal);
+			else if (request instanceof ConstructorCallTransactionRequest)
+				return new ConstructorCallResponseBuilder(reference, (ConstructorCallTransactionRequest) request, internal);
+			else if (request instanceof AbstractInstanceMethodCallTransactionRequest)
+				return new InstanceMethodCallResponseBuilder(reference, (AbstractInstanceMethodCallTransactionRequest) request, internal);
+			else if (request instanceof StaticMethodCallTransactionRequest)
+				return new StaticMethodCallResponseBuilder(reference, (StaticMethodCallTransactionRequest) request, internal);
+			else if (request instanceof InitializationTransactionRequest)
+				return new InitializationResponseBuilder(reference, (InitializationTransactionRequest) request, internal);
+			else
+				throw new TransactionRejectedException("unexpected transaction request of class " + request.getClass().getName());
+		}
+		finally {
+			event.commit(reference, request);
+		}
 	}
 
 	/**
@@ -964,6 +1267,84 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		}));
 	}
 
+	/**
+	 * A fork of this node.
+	 */
+	private class Fork extends AbstractLocalNode<C, OverlayStore<C>> {
+
+		private Fork() {
+			super(AbstractLocalNode.this);
+		}
+
+		@Override
+		protected OverlayStore<C> mkStore() {
+			// this is called by the constructor of the superclass, when the enclosing node is already set
+			return new OverlayStore<>(this, AbstractLocalNode.this.store);
+		}
+
+		/**
+		 * Builds the response that this fork yields for the given request, without adding it to its store.
+		 * 
+		 * @param reference the reference of the request
+		 * @param request the request
+		 * @return the response
+		 * @throws TransactionRejectedException if the request is rejected
+		 */
+		private NonInitialTransactionResponse estimate(TransactionReference reference, NonInitialTransactionRequest<?> request) throws TransactionRejectedException {
+			return (NonInitialTransactionResponse) responseBuilderFor(reference, request).getResponse();
+		}
+
+		@Override
+		public NodeInfo getNodeInfo() {
+			return AbstractLocalNode.this.getNodeInfo();
+		}
+
+		@Override
+		public void close() {
+			if (isNotYetClosed())
+				store.close();
+		}
+
+		@Override
+		protected void postRequest(TransactionRequest<?> request) {
+			try {
+				checkTransaction(request);
+				deliverTransaction(request);
+			}
+			catch (TransactionRejectedException | RuntimeException e) {
+				// the failure has been already recorded for whoever polls for the outcome of the request
+			}
+		}
+
+		@Override
+		protected void scheduleForNotificationOfEvents(TransactionResponseWithEvents response) {
+			// immediate notification, since there is no commit
+			notifyEventsOf(response);
+		}
+
+		@Override
+		protected BigInteger getRequestStorageCost(NonInitialTransactionRequest<?> request) {
+			return AbstractLocalNode.this.getRequestStorageCost(request);
+		}
+
+		@Override
+		protected boolean admitsAfterInitialization(InitialTransactionRequest<?> request) {
+			return AbstractLocalNode.this.admitsAfterInitialization(request);
+		}
+	}
+
+	/**
+	 * A fork of this node that reads the live committed state of this node. It can only be used
+	 * while this node does not commit anything, hence it is kept private to this class.
+	 */
+	private class LiveFork extends Fork {
+
+		@Override
+		protected OverlayStore<C> mkStore() {
+			return new OverlayStore<>(this, AbstractLocalNode.this.store, AbstractLocalNode.this.caches);
+		}
+	}
+
 	/**
 	 * The view of the node with the methods that are useful inside this module.
 	 * This avoids to export such methods as public elsewhere.
@@ -1000,6 +1381,11 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 			return AbstractLocalNode.this.getRequestStorageCost(request);
 		}
 
+		@Override
+		public Optional<BigInteger> getProjectedNonce(TransactionReference reference) {
+			return Optional.ofNullable(projectedNonces.get(reference));
+		}
+
 		@Override
 		public boolean admitsAfterInitialization(InitialTransactionRequest<?> request) {
 			return AbstractLocalNode.this.admitsAfterInitialization(request);
@@ -1025,6 +1411,11 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 			return AbstractLocalNode.this.runInstanceMethodCallTransaction(request);
 		}
 
+		@Override
+		public List<StorageValue> runViewBatch(List<MethodCallTransactionRequest> requests) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+			return AbstractLocalNode.this.runViewBatch(requests);
+		}
+
 		@Override
 		public <T> Future<T> submit(Callable<T> task) {
 			return executor.submit(task);
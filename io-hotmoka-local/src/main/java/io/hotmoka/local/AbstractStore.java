@@ -19,6 +19,7 @@ package io.hotmoka.local;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
@@ -37,6 +38,7 @@ import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponseWithUpdates;
 import io.hotmoka.beans.updates.Update;
 import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.local.internal.profiling.StorePushEvent;
 
 /**
  * Shared implementation of the store of a node. It keeps information about the state of the objects created
@@ -92,8 +94,56 @@ public abstract class AbstractStore<C extends Config> implements Store {
 		logger.info("Time spent in state procedures: " + timeSpent + "ms");
 	}
 
+	/**
+	 * Yields the root of the state of this store at the given height, that is,
+	 * after the given number of commits. By default, stores do not keep their past states,
+	 * hence this method yields an empty optional.
+	 *
+	 * @param height the height
+	 * @return the root, if the state at that height is still kept by this store
+	 */
+	public Optional<byte[]> getRootAt(long height) {
+		return Optional.empty();
+	}
+
+	/**
+	 * Yields a read-only view of this store, as it was when it had the given root.
+	 * It can be accessed concurrently with the updates of this store.
+	 * By default, stores do not keep their past states, hence this method yields an empty optional.
+	 *
+	 * @param root the root
+	 * @return the view, if the state with that root is still kept by this store
+	 */
+	public Optional<AbstractStore<C>> getStoreAt(byte[] root) {
+		return Optional.empty();
+	}
+
+	/**
+	 * Prevents the current committed state of this store from being reclaimed,
+	 * until {@link #unpinState(long)} is called for its height. Hence that state can be read
+	 * through {@link #getStoreAt(byte[])} also after this store gets updated.
+	 * Pins are counted, hence each successful call must be followed by an unpin.
+	 * By default, stores do not keep their past states, hence this method yields an empty optional.
+	 * 
+	 * @return the height of the pinned state, that is, its number of commits, if it could be pinned
+	 */
+	public OptionalLong pinState() {
+		return OptionalLong.empty();
+	}
+
+	/**
+	 * Releases a pin previously taken through {@link #pinState()}.
+	 * 
+	 * @param height the height of the pinned state, as yielded by {@link #pinState()}
+	 */
+	public void unpinState(long height) {
+	}
+
 	@Override
 	public final void push(TransactionReference reference, TransactionRequest<?> request, TransactionResponse response) {
+		var event = new StorePushEvent();
+		event.begin();
+
 		synchronized (lock) {
 			setResponse(reference, request, response);
 
@@ -110,6 +160,8 @@ public abstract class AbstractStore<C extends Config> implements Store {
 			if (response instanceof GameteCreationTransactionResponse)
 				logger.info(((GameteCreationTransactionResponse) response).gamete + ": created as gamete");
 		}
+
+		event.commit(reference, request);
 	}
 
 	@Override
@@ -60,25 +60,75 @@ public class Config {
 	 */
 	public final int responseCacheSize;
 
+	/**
+	 * The size of the cache of the requests whose signature has been already checked.
+	 * It defaults to 1,000.
+	 */
+	public final int signatureCacheSize;
+
+	/**
+	 * The approximate maximal number of bytes retained by each of the caches
+	 * of the requests, of the responses and of the class loaders.
+	 * It defaults to 64 megabytes.
+	 */
+	public final long cacheMaxBytes;
+
 	/**
 	 * The maximal amount of gas that a view transaction can consume.
 	 * It defaults to 100_000_000.
 	 */
 	public final BigInteger maxGasPerViewTransaction;
 
+	/**
+	 * True if and only if the nodes of the Merkle-Patricia tries of the store, if any,
+	 * are kept in a memory-mapped log, instead of the Xodus database. That log gets
+	 * compacted when most of its space is taken by removed nodes. It defaults to false.
+	 */
+	public final boolean usesMappedLogForTries;
+
+	/**
+	 * True if and only if the requests, the responses and the histories written
+	 * into the store, if any, are compressed. This does not affect the hashes of the store,
+	 * that are always computed over the uncompressed data, and values written
+	 * with and without compression can be freely mixed in the same store.
+	 * It defaults to false.
+	 */
+	public final boolean usesCompressionInStore;
+
+	/**
+	 * The maximal number of keys reclaimed by each chunk of the background
+	 * garbage collection of the store, if any. It defaults to 1,000.
+	 */
+	public final long keysPerGarbageCollectionChunk;
+
+	/**
+	 * The time, in milliseconds, between the starts of two successive chunks of the background
+	 * garbage collection of the store, if any. Together with {@link #keysPerGarbageCollectionChunk},
+	 * this limits the rate of garbage collection. It defaults to 100.
+	 */
+	public final long garbageCollectionPeriod;
+
 	/**
 	 * Full constructor for the builder pattern.
 	 */
 	private Config(Path dir, int maxPollingAttempts,
 			       int pollingDelay, int requestCacheSize,
-			       int responseCacheSize, BigInteger maxGasPerViewTransaction) {
+			       int responseCacheSize, int signatureCacheSize, long cacheMaxBytes,
+			       BigInteger maxGasPerViewTransaction, boolean usesMappedLogForTries, boolean usesCompressionInStore,
+			       long keysPerGarbageCollectionChunk, long garbageCollectionPeriod) {
 
 		this.dir = dir;
 		this.maxPollingAttempts = maxPollingAttempts;
 		this.pollingDelay = pollingDelay;
 		this.requestCacheSize = requestCacheSize;
 		this.responseCacheSize = responseCacheSize;
+		this.signatureCacheSize = signatureCacheSize;
+		this.cacheMaxBytes = cacheMaxBytes;
 		this.maxGasPerViewTransaction = maxGasPerViewTransaction;
+		this.usesMappedLogForTries = usesMappedLogForTries;
+		this.usesCompressionInStore = usesCompressionInStore;
+		this.keysPerGarbageCollectionChunk = keysPerGarbageCollectionChunk;
+		this.garbageCollectionPeriod = garbageCollectionPeriod;
 	}
 
 	/**
@@ -90,7 +140,13 @@ public class Config {
 		this.pollingDelay = parent.pollingDelay;
 		this.requestCacheSize = parent.requestCacheSize;
 		this.responseCacheSize = parent.responseCacheSize;
+		this.signatureCacheSize = parent.signatureCacheSize;
+		this.cacheMaxBytes = parent.cacheMaxBytes;
 		this.maxGasPerViewTransaction = parent.maxGasPerViewTransaction;
+		this.usesMappedLogForTries = parent.usesMappedLogForTries;
+		this.usesCompressionInStore = parent.usesCompressionInStore;
+		this.keysPerGarbageCollectionChunk = parent.keysPerGarbageCollectionChunk;
+		this.garbageCollectionPeriod = parent.garbageCollectionPeriod;
 	}
 
 	/**
@@ -102,7 +158,13 @@ public class Config {
 		private int pollingDelay = 10;
 		private int requestCacheSize = 1_000;
 		private int responseCacheSize = 1_000;
+		private int signatureCacheSize = 1_000;
+		private long cacheMaxBytes = 64_000_000L;
 		private BigInteger maxGasPerViewTransaction = BigInteger.valueOf(100_000_000);
+		private boolean usesMappedLogForTries;
+		private boolean usesCompressionInStore;
+		private long keysPerGarbageCollectionChunk = 1_000L;
+		private long garbageCollectionPeriod = 100L;
 
 		/**
 		 * Standard design pattern. See http://www.angelikalanger.com/GenericsFAQ/FAQSections/ProgrammingIdioms.html#FAQ205
@@ -185,13 +247,99 @@ public class Config {
 			return getThis();
 		}
 
+		/**
+		 * Sets size of the cache of the requests whose signature has been already checked.
+		 * It defaults to 1,000.
+		 * 
+		 * @param signatureCacheSize the cache size
+		 * @return this builder
+		 */
+		public T setSignatureCacheSize(int signatureCacheSize) {
+			this.signatureCacheSize = signatureCacheSize;
+			return getThis();
+		}
+
+		/**
+		 * Sets the approximate maximal number of bytes retained by each of the caches
+		 * of the requests, of the responses and of the class loaders.
+		 * Since the caches are split into up to 16 segments, each with its share of bytes,
+		 * a single request, response or class loader bigger than that share does not get cached.
+		 * It defaults to 64 megabytes.
+		 * 
+		 * @param cacheMaxBytes the number of bytes
+		 * @return this builder
+		 */
+		public T setCacheMaxBytes(long cacheMaxBytes) {
+			if (cacheMaxBytes < 1L)
+				throw new IllegalArgumentException("the maximal number of bytes of the caches must be positive");
+
+			this.cacheMaxBytes = cacheMaxBytes;
+			return getThis();
+		}
+
+		/**
+		 * Specifies to keep the nodes of the Merkle-Patricia tries of the store, if any,
+		 * in a memory-mapped log, instead of the Xodus database. That log gets
+		 * compacted when most of its space is taken by removed nodes. It defaults to false.
+		 * 
+		 * @param usesMappedLogForTries true if and only if the memory-mapped log must be used
+		 * @return this builder
+		 */
+		public T useMappedLogForTries(boolean usesMappedLogForTries) {
+			this.usesMappedLogForTries = usesMappedLogForTries;
+			return getThis();
+		}
+
+		/**
+		 * Specifies to compress the requests, the responses and the histories
+		 * written into the store, if any. It defaults to false.
+		 * 
+		 * @param usesCompressionInStore true if and only if compression must be used
+		 * @return this builder
+		 */
+		public T useCompressionInStore(boolean usesCompressionInStore) {
+			this.usesCompressionInStore = usesCompressionInStore;
+			return getThis();
+		}
+
+		/**
+		 * Sets the maximal number of keys reclaimed by each chunk of the background
+		 * garbage collection of the store, if any. It defaults to 1,000.
+		 * 
+		 * @param keysPerGarbageCollectionChunk the number of keys; it must be positive
+		 * @return this builder
+		 */
+		public T setKeysPerGarbageCollectionChunk(long keysPerGarbageCollectionChunk) {
+			if (keysPerGarbageCollectionChunk < 1L)
+				throw new IllegalArgumentException("the number of keys per garbage collection chunk must be positive");
+
+			this.keysPerGarbageCollectionChunk = keysPerGarbageCollectionChunk;
+			return getThis();
+		}
+
+		/**
+		 * Sets the time between the starts of two successive chunks of the background
+		 * garbage collection of the store, if any. It defaults to 100 milliseconds.
+		 * 
+		 * @param garbageCollectionPeriod the time, in milliseconds; it must be positive
+		 * @return this builder
+		 */
+		public T setGarbageCollectionPeriod(long garbageCollectionPeriod) {
+			if (garbageCollectionPeriod < 1L)
+				throw new IllegalArgumentException("the garbage collection period must be positive");
+
+			this.garbageCollectionPeriod = garbageCollectionPeriod;
+			return getThis();
+		}
+
 		/**
 		 * Builds the configuration.
 		 * 
 		 * @return the configuration
 		 */
 		public Config build() {
-			return new Config(dir, maxPollingAttempts, pollingDelay, requestCacheSize, responseCacheSize, maxGasPerViewTransaction);
+			return new Config(dir, maxPollingAttempts, pollingDelay, requestCacheSize, responseCacheSize, signatureCacheSize, cacheMaxBytes, maxGasPerViewTransaction, usesMappedLogForTries, usesCompressionInStore,
+				keysPerGarbageCollectionChunk, garbageCollectionPeriod);
 		}
 	}
 }
\ No newline at end of file
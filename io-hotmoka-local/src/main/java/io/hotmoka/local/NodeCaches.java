@@ -17,6 +17,8 @@ limitations under the License.
 package io.hotmoka.local;
 
 import java.math.BigInteger;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import java.util.Optional;
 
 import io.hotmoka.beans.references.TransactionReference;
@@ -97,14 +99,66 @@ public interface NodeCaches {
 
 	/**
 	 * Checks that the given request is signed with the private key of its caller.
-	 * It uses a cache to remember the last signatures already checked.
+	 * It uses a cache to remember the last signatures already checked, keyed by
+	 * the reference of their requests and by the public key of their callers in the
+	 * current state, that can be rotated, and a cache of the decoded public keys.
 	 * 
+	 * @param reference the reference of the request, that is, the hash of its signed bytes
 	 * @param request the request
 	 * @param signatureAlgorithm the algorithm that must have been used for signing the request
 	 * @return true if and only if the signature of {@code request} is valid
 	 * @throws Exception if the signature of the request could not be checked
 	 */
-	boolean signatureIsValid(SignedTransactionRequest request, SignatureAlgorithm<SignedTransactionRequest> signatureAlgorithm) throws Exception;
+	boolean signatureIsValid(TransactionReference reference, SignedTransactionRequest request, SignatureAlgorithm<SignedTransactionRequest> signatureAlgorithm) throws Exception;
+
+	/**
+	 * Verifies, in batch, the signatures of the given requests and caches the outcome,
+	 * so that a subsequent {@link #signatureIsValid(TransactionReference, SignedTransactionRequest, SignatureAlgorithm)}
+	 * for the same requests does not verify them again. Requests that are not signed,
+	 * or whose signature has been already checked, or cannot be checked, are skipped:
+	 * they will be checked one by one later.
+	 * 
+	 * @param requests the requests
+	 */
+	void verifySignatures(List<TransactionRequest<?>> requests);
+
+	/**
+	 * Yields the storage cost of a request that has already passed the checks that do
+	 * not depend on the state of the node: the bounds of its gas and its chain identifier.
+	 * This allows the delivery of a request to skip the checks already performed when the request
+	 * was checked. The class of its caller and payer and its signature depend on the state instead,
+	 * since, for instance, the caller might have rotated its public key in the meanwhile:
+	 * hence they are not covered by this cache.
+	 * 
+	 * @param reference the reference of the request, that is, the hash of its signed bytes
+	 * @param consensus the consensus parameters that the request is being executed with
+	 * @return the storage cost of the request; this is empty if the request has not passed those checks
+	 *         with exactly the same consensus parameters
+	 */
+	Optional<BigInteger> getStorageCostOfVerifiedRequest(TransactionReference reference, ConsensusParams consensus);
+
+	/**
+	 * Takes note that a request has passed the checks that do not depend on the state of the node.
+	 * 
+	 * @param reference the reference of the request, that is, the hash of its signed bytes
+	 * @param consensus the consensus parameters that the checks have been performed with;
+	 *                  if they are later replaced, the note does not hold anymore, even if it was
+	 *                  taken after their replacement
+	 * @param storageCost the storage cost of the request
+	 */
+	void takeNoteOfVerifiedRequest(TransactionReference reference, ConsensusParams consensus, BigInteger storageCost);
+
+	/**
+	 * Determines the signature algorithm that must have been used for signing the
+	 * requests of the given caller. This depends on the run-time class of the caller.
+	 * 
+	 * @param caller the caller
+	 * @param classLoader the class loader used to resolve the class of the caller
+	 * @return the signature algorithm
+	 * @throws NoSuchAlgorithmException if the needed signature algorithm is not available
+	 * @throws ClassNotFoundException if the class of the caller cannot be found
+	 */
+	SignatureAlgorithm<SignedTransactionRequest> getSignatureAlgorithmFor(StorageReference caller, EngineClassLoader classLoader) throws NoSuchAlgorithmException, ClassNotFoundException;
 
 	/**
 	 * Yields the consensus parameters of the node.
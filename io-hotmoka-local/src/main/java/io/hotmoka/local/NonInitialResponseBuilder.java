@@ -42,9 +42,10 @@ import io.hotmoka.beans.updates.UpdateOfField;
 import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.crypto.api.SignatureAlgorithm;
 import io.hotmoka.local.internal.NodeInternal;
+import io.hotmoka.local.internal.profiling.NonceCheckEvent;
+import io.hotmoka.local.internal.profiling.SignatureCheckEvent;
 import io.hotmoka.local.internal.transactions.AbstractResponseBuilder;
 import io.hotmoka.nodes.OutOfGasError;
-import io.hotmoka.nodes.SignatureAlgorithmForTransactionRequests;
 
 /**
  * The creator of the response for a non-initial transaction. Non-initial transactions consume gas,
@@ -59,6 +60,11 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 	 */
 	protected final GasCostModel gasCostModel;
 
+	/**
+	 * The cost of storage of the request of the transaction.
+	 */
+	private final BigInteger requestStorageCost;
+
 	/**
 	 * Creates a the builder of the response.
 	 * 
@@ -72,13 +78,30 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 
 		try {
 			this.gasCostModel = node.getGasCostModel();
+
+			// the caller, the payer and the signature depend on the state, that might have changed since the request was checked:
+			// for instance, an account might have rotated its public key
 			callerMustBeExternallyOwnedAccount();
 			payerMustBeContract();
-			gasLimitIsInsideBounds();
-			requestPromisesEnoughGas();
-			gasPriceIsLargeEnough();
-			requestMustHaveCorrectChainId();
+
+			// a request delivered after being checked does not need to repeat the checks that depend on the request only;
+			// views are never delivered, hence they are never considered as verified
+			Optional<BigInteger> storageCost = transactionIsView() ? Optional.empty() : node.getCaches().getStorageCostOfVerifiedRequest(reference, consensus);
+			if (storageCost.isPresent())
+				this.requestStorageCost = storageCost.get();
+			else {
+				gasLimitIsInsideBounds();
+				requestPromisesEnoughGas();
+				requestMustHaveCorrectChainId();
+				this.requestStorageCost = node.getRequestStorageCost(request);
+
+				// the note is bound to the consensus parameters used for the checks, that might be replaced in the meanwhile
+				if (!transactionIsView())
+					node.getCaches().takeNoteOfVerifiedRequest(reference, consensus, requestStorageCost);
+			}
+
 			signatureMustBeValid();
+			gasPriceIsLargeEnough();
 			callerAndRequestMustAgreeOnNonce();
 			payerCanPayForAllPromisedGas();
 		}
@@ -177,19 +200,7 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 	 * @throws ClassNotFoundException if the class of the caller cannot be found
 	 */
 	private SignatureAlgorithm<SignedTransactionRequest> determineSignatureAlgorithm() throws NoSuchAlgorithmException, ClassNotFoundException {
-		ClassTag classTag = node.getClassTag(request.caller);
-		Class<?> clazz = classLoader.loadClass(classTag.clazz.name);
-
-		if (classLoader.getAccountED25519().isAssignableFrom(clazz))
-			return SignatureAlgorithmForTransactionRequests.ed25519();
-		else if (classLoader.getAccountSHA256DSA().isAssignableFrom(clazz))
-			return SignatureAlgorithmForTransactionRequests.sha256dsa();
-		else if (classLoader.getAccountQTESLA1().isAssignableFrom(clazz))
-			return SignatureAlgorithmForTransactionRequests.qtesla1();
-		else if (classLoader.getAccountQTESLA3().isAssignableFrom(clazz))
-			return SignatureAlgorithmForTransactionRequests.qtesla3();
-		else
-			return SignatureAlgorithmForTransactionRequests.mk(consensus.signature);
+		return node.getCaches().getSignatureAlgorithmFor(request.caller, classLoader);
 	}
 
 	/**
@@ -233,10 +244,18 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 	 * @throws Exception if the signature of the request could not be checked
 	 */
 	private void signatureMustBeValid() throws Exception {
-		// if the node is not initialized yet, the signature is not checked
-		if (transactionIsSigned() && node.getStoreUtilities().nodeIsInitializedUncommitted()
-				&& !node.getCaches().signatureIsValid((SignedTransactionRequest) request, determineSignatureAlgorithm()))
-			throw new TransactionRejectedException("invalid request signature");
+		var event = new SignatureCheckEvent();
+		event.begin();
+
+		try {
+			// if the node is not initialized yet, the signature is not checked
+			if (transactionIsSigned() && node.getStoreUtilities().nodeIsInitializedUncommitted()
+					&& !node.getCaches().signatureIsValid(reference, (SignedTransactionRequest) request, determineSignatureAlgorithm()))
+				throw new TransactionRejectedException("invalid request signature");
+		}
+		finally {
+			event.commit(reference, request);
+		}
 	}
 
 	/**
@@ -263,11 +282,20 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 	private void callerAndRequestMustAgreeOnNonce() throws TransactionRejectedException {
 		// calls to @View methods do not check the nonce
 		if (!transactionIsView()) {
-			BigInteger expected = node.getStoreUtilities().getNonceUncommitted(request.caller);
+			var event = new NonceCheckEvent();
+			event.begin();
 
-			if (!expected.equals(request.nonce))
-				throw new TransactionRejectedException("incorrect nonce: the request reports " + request.nonce
-					+ " but the account " + request.caller + " contains " + expected);
+			try {
+				// the node might be checking the request ahead of the delivery of the previous requests of the caller
+				BigInteger expected = node.getProjectedNonce(reference).orElseGet(() -> node.getStoreUtilities().getNonceUncommitted(request.caller));
+
+				if (!expected.equals(request.nonce))
+					throw new TransactionRejectedException("incorrect nonce: the request reports " + request.nonce
+						+ " but the account " + request.caller + " contains " + expected);
+			}
+			finally {
+				event.commit(reference, request);
+			}
 		}
 	}
 
@@ -420,7 +448,7 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 
 			increaseNonceOfCaller();
 			chargeGasForCPU(gasCostModel.cpuBaseTransactionCost());
-			chargeGasForStorage(node.getRequestStorageCost(request));
+			chargeGasForStorage(requestStorageCost);
 			chargeGasForClassLoader();	
 			this.greenInitiallyPaidForGas = chargePayerForAllGasPromised();
 			this.greenBalanceOfPayerInCaseOfTransactionException = classLoader.getBalanceOf(deserializedPayer);
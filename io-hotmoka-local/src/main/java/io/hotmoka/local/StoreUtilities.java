@@ -17,6 +17,7 @@ limitations under the License.
 package io.hotmoka.local;
 
 import java.math.BigInteger;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -26,6 +27,7 @@ import io.hotmoka.beans.updates.ClassTag;
 import io.hotmoka.beans.updates.Update;
 import io.hotmoka.beans.updates.UpdateOfField;
 import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.nodes.ConsensusParams;
 
 /**
  * An object that provides methods for reconstructing data from the store of a node.
@@ -142,6 +144,27 @@ public interface StoreUtilities {
 	 */
 	BigInteger getCurrentSupplyUncommitted(StorageReference validators);
 
+	/**
+	 * Yields the consensus parameters of the node, read directly from the fields of the manifest
+	 * and of the objects it refers to, without running their {@code @View} methods.
+	 * 
+	 * @return the consensus parameters; this is empty if the node is not initialized yet or if
+	 *         its governance objects are not instances of the classes of the Takamaka runtime,
+	 *         whose layout is known. In that case, the parameters must be computed by running code
+	 */
+	Optional<ConsensusParams> getConsensusParamsUncommitted();
+
+	/**
+	 * Yields the shares of the given validators object, as returned by its {@code getShares()} method,
+	 * read directly from the storage map that keeps them, without running any code.
+	 * 
+	 * @param validators the validators object
+	 * @return the shares of each validator, in increasing order of validator; this is empty if
+	 *         {@code validators} does not keep its shares as expected. In that case, the shares must
+	 *         be computed by running code
+	 */
+	Optional<Map<StorageReference, BigInteger>> getSharesUncommitted(StorageReference validators);
+
 	/**
 	 * Yields the class name of the given object, whose creation might not be committed yet.
 	 * 
@@ -166,6 +189,16 @@ public interface StoreUtilities {
 	 */
 	Stream<UpdateOfField> getEagerFieldsUncommitted(StorageReference object);
 
+	/**
+	 * Yields the uncommitted lazy fields of the given object, that is, their last updates, possibly still uncommitted.
+	 * They are computed with a single scan of the history of the object, hence this is cheaper than
+	 * looking for the last update of each lazy field with {@link #getLastUpdateToFieldUncommitted(StorageReference, FieldSignature)}.
+	 * 
+	 * @param object the reference to the object
+	 * @return the last updates to the lazy fields of {@code object}
+	 */
+	Stream<UpdateOfField> getLazyFieldsUncommitted(StorageReference object);
+
 	/**
 	 * Yields the committed state of the given object, that is, the last updates committed for its fields.
 	 * 
@@ -0,0 +1,590 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import io.hotmoka.annotations.ThreadSafe;
+import io.hotmoka.nodes.metrics.Counter;
+import io.hotmoka.nodes.metrics.Metrics;
+
+/**
+ * A cache that can be accessed concurrently by many threads. Its keys are split into
+ * segments, each with its own lock, so that threads accessing distinct segments do not contend.
+ * Entries are bounded both by number and by weight, for instance their approximate size in bytes.
+ * Both bounds are split evenly among the segments, hence an entry heavier than the
+ * share of weight of a segment (see {@link #maxWeightOfEntry()}) is never cached.
+ * A small share of each segment, the window, keeps the recently inserted entries
+ * in least recently used order; when they leave the window, they are admitted into the
+ * rest of the segment only if they have been looked up more frequently than the
+ * entry that they would evict. This protects frequently used entries from
+ * being flushed by a burst of entries used only once.
+ * Values are computed at most once by the {@code computeIfAbsent*} methods:
+ * concurrent threads that miss the same key wait for the value computed by the first one.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+@ThreadSafe
+public final class ConcurrentCache<K, V> {
+
+	/**
+	 * The maximal number of segments of a cache.
+	 */
+	private final static int MAX_SEGMENTS = 16;
+
+	/**
+	 * The minimal number of entries per segment, below which the cache uses fewer segments.
+	 */
+	private final static int MIN_ENTRIES_PER_SEGMENT = 32;
+
+	/**
+	 * The percentage of the capacity reserved to the window, by default.
+	 */
+	private final static int DEFAULT_WINDOW_PERCENT = 1;
+
+	private final Segment[] segments;
+
+	/**
+	 * The function that computes the weight of the values.
+	 */
+	private final ToLongFunction<? super V> weigher;
+
+	/**
+	 * The computations of values currently in progress, for the {@code computeIfAbsent*} methods.
+	 */
+	private final ConcurrentMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+	/**
+	 * Incremented at each {@link #clear()}, so that values computed
+	 * before clearing the cache are not added to the cache afterwards.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * The statistics about the use of this cache. They are {@code null}
+	 * if this cache has no name, hence does not report its statistics in the metrics.
+	 */
+	private final Counter hits, misses, evictions, sharedLoads;
+
+	/**
+	 * The computation of a value of the cache, from its key, that might throw an exception.
+	 *
+	 * @param <K> the type of the keys
+	 * @param <V> the type of the values
+	 */
+	public interface ValueSupplier<K,V> {
+
+		/**
+		 * Computes the value for the given key.
+		 *
+		 * @param key the key
+		 * @return the value
+		 * @throws Exception if the value could not be computed
+		 */
+		V supply(K key) throws Exception;
+	}
+
+	/**
+	 * Builds a cache whose entries weigh one each.
+	 *
+	 * @param name the name of the cache, used to label its statistics in the metrics of the process;
+	 *             caches with the same name share their statistics. If this is {@code null}, no statistics are reported
+	 * @param maxSize the maximal number of entries in the cache
+	 */
+	public ConcurrentCache(String name, int maxSize) {
+		this(name, maxSize, maxSize, _value -> 1L, DEFAULT_WINDOW_PERCENT);
+	}
+
+	/**
+	 * Builds a cache whose entries are weighed by the given function.
+	 *
+	 * @param name the name of the cache, used to label its statistics in the metrics of the process;
+	 *             caches with the same name share their statistics. If this is {@code null}, no statistics are reported
+	 * @param maxSize the maximal number of entries in the cache
+	 * @param maxWeight the maximal total weight of the entries in the cache; entries heavier
+	 *                  than its share per segment are not cached (see {@link #maxWeightOfEntry()})
+	 * @param weigher the function that computes the weight of a value; it must be non-negative
+	 */
+	public ConcurrentCache(String name, int maxSize, long maxWeight, ToLongFunction<? super V> weigher) {
+		this(name, maxSize, maxWeight, weigher, DEFAULT_WINDOW_PERCENT);
+	}
+
+	/**
+	 * Builds a cache whose entries are weighed by the given function.
+	 *
+	 * @param name the name of the cache, used to label its statistics in the metrics of the process;
+	 *             caches with the same name share their statistics. If this is {@code null}, no statistics are reported
+	 * @param maxSize the maximal number of entries in the cache
+	 * @param maxWeight the maximal total weight of the entries in the cache; entries heavier
+	 *                  than its share per segment are not cached (see {@link #maxWeightOfEntry()})
+	 * @param weigher the function that computes the weight of a value; it must be non-negative
+	 * @param windowPercent the percentage of the capacity reserved to the recently inserted entries,
+	 *                      between 0 and 100; with 100, the cache is a plain least recently used cache
+	 */
+	public ConcurrentCache(String name, int maxSize, long maxWeight, ToLongFunction<? super V> weigher, int windowPercent) {
+		if (maxSize < 1 || maxWeight < 1)
+			throw new IllegalArgumentException("a cache must be able to contain at least an entry");
+
+		if (windowPercent < 0 || windowPercent > 100)
+			throw new IllegalArgumentException("the percentage of the window must be between 0 and 100");
+
+		this.weigher = weigher;
+
+		int howManySegments = 1;
+		while (howManySegments < MAX_SEGMENTS && maxSize / (howManySegments * 2) >= MIN_ENTRIES_PER_SEGMENT)
+			howManySegments *= 2;
+
+		@SuppressWarnings("unchecked")
+		Segment[] segments = new ConcurrentCache.Segment[howManySegments];
+		this.segments = segments;
+		int maxSizeOfSegment = (maxSize + howManySegments - 1) / howManySegments;
+		long maxWeightOfSegment = (maxWeight + howManySegments - 1) / howManySegments;
+		for (int pos = 0; pos < howManySegments; pos++)
+			segments[pos] = new Segment(maxSizeOfSegment, maxWeightOfSegment, windowPercent);
+
+		if (name != null) {
+			String labels = "cache=\"" + name + '"';
+			Counter hits = Metrics.counter("hotmoka_cache_hits_total", labels, "lookups that found their key in the cache");
+			Counter misses = Metrics.counter("hotmoka_cache_misses_total", labels, "lookups that did not find their key in the cache");
+			this.evictions = Metrics.counter("hotmoka_cache_evictions_total", labels, "entries evicted from the cache, or not admitted into it");
+			this.sharedLoads = Metrics.counter("hotmoka_cache_shared_loads_total", labels, "misses that waited for the value computed by another thread");
+			// the gauge must not refer to this cache, or otherwise it would keep it alive forever
+			Metrics.gauge("hotmoka_cache_hit_ratio", labels, "the ratio of the lookups that found their key in the cache", () -> {
+				long h = hits.get(), total = h + misses.get();
+				return total == 0L ? 0.0 : (double) h / total;
+			});
+
+			this.hits = hits;
+			this.misses = misses;
+		}
+		else
+			this.hits = this.misses = this.evictions = this.sharedLoads = null;
+	}
+
+	/**
+	 * Yields the value bound to the given key.
+	 *
+	 * @param key the key
+	 * @return the value bound to {@code key}, or {@code null} if there is none
+	 */
+	public V get(K key) {
+		V value = segmentFor(key).get(key);
+
+		if (value == null) {
+			if (misses != null)
+				misses.inc();
+		}
+		else if (hits != null)
+			hits.inc();
+
+		return value;
+	}
+
+	/**
+	 * Binds the given key to the given value. It might evict other entries.
+	 *
+	 * @param key the key to bind
+	 * @param value the value to bind to the {@code key}; if this is {@code null}, the key gets unbound
+	 */
+	public void put(K key, V value) {
+		Segment segment = segmentFor(key);
+
+		if (value == null)
+			segment.remove(key);
+		else
+			segment.put(key, value, weigher.applyAsLong(value), generation.get(), true);
+	}
+
+	/**
+	 * Clears this cache.
+	 */
+	public void clear() {
+		generation.incrementAndGet();
+
+		for (Segment segment: segments)
+			segment.clear();
+	}
+
+	/**
+	 * Yields the number of entries in this cache.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment: segments)
+			size += segment.size();
+
+		return size;
+	}
+
+	/**
+	 * Yields the total weight of the entries in this cache.
+	 *
+	 * @return the total weight
+	 */
+	public long weight() {
+		long weight = 0L;
+		for (Segment segment: segments)
+			weight += segment.weight();
+
+		return weight;
+	}
+
+	/**
+	 * Yields the maximal weight of an entry that this cache can contain. It is the
+	 * share of the maximal weight of the cache reserved to each of its segments:
+	 * heavier entries are evicted as soon as they are put in the cache.
+	 *
+	 * @return the maximal weight of an entry
+	 */
+	public long maxWeightOfEntry() {
+		return segments[0].maxWeightOfEntry();
+	}
+
+	/**
+	 * Adds a new object to the cache, if its key was unbound.
+	 * In that case, it calls a supplier to provide the new object to add.
+	 * If other threads are already computing the value for the same key, this method
+	 * waits for their result instead.
+	 *
+	 * @param key the key of the cached value
+	 * @param supplier the supplier that produces the value to put in cache
+	 * @return the current (old or computed) value in cache for {@code key} at the end of the method
+	 */
+	public V computeIfAbsent(K key, ValueSupplier<K,V> supplier) throws Exception {
+		V old = get(key);
+		return old != null ? old : load(key, supplier);
+	}
+
+	/**
+	 * Adds a new object to the cache, if its key was unbound.
+	 * In that case, it calls a supplier to provide the new object to add.
+	 * If other threads are already computing the value for the same key, this method
+	 * waits for their result instead.
+	 *
+	 * @param key the key of the cached value
+	 * @param supplier the supplier that produces the value to put in cache
+	 * @return the current (old or computed) value in cache for {@code key} at the end of the method
+	 */
+	public V computeIfAbsentNoException(K key, Function<K,V> supplier) {
+		V old = get(key);
+		if (old != null)
+			return old;
+
+		try {
+			return load(key, supplier::apply);
+		}
+		catch (RuntimeException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new RuntimeException("unexpected exception", e);
+		}
+	}
+
+	/**
+	 * Adds a new object to the cache, if its key was unbound.
+	 * In that case, it calls a supplier to provide the new object to add.
+	 * If the supplier yields an empty optional, nothing is added to the map.
+	 * If other threads are already computing the value for the same key, this method
+	 * waits for their result instead.
+	 *
+	 * @param key the key of the cached value
+	 * @param supplier the supplier that produces the value to put in cache
+	 * @return the current (old or computed) value in cache for {@code key} at the end of the method;
+	 *         if the cache did not contain a value for the key and the supplier returns
+	 *         an empty optional, then an empty optional is returned
+	 */
+	public Optional<V> computeIfAbsentOptional(K key, Function<K, Optional<V>> supplier) {
+		return Optional.ofNullable(computeIfAbsentNoException(key, _key -> supplier.apply(_key).orElse(null)));
+	}
+
+	/**
+	 * Computes the value for the given key and adds it to this cache, unless another
+	 * thread is already doing the same: in that case, it waits for the value computed by that thread.
+	 *
+	 * @param key the key
+	 * @param supplier the supplier of the value
+	 * @return the value, possibly {@code null} if the supplier provided no value
+	 * @throws Exception if the supplier failed
+	 */
+	private V load(K key, ValueSupplier<K,V> supplier) throws Exception {
+		var future = new CompletableFuture<V>();
+		CompletableFuture<V> other = loading.putIfAbsent(key, future);
+		if (other != null) {
+			if (sharedLoads != null)
+				sharedLoads.inc();
+
+			try {
+				return other.join();
+			}
+			catch (CompletionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof Exception)
+					throw (Exception) cause;
+				else if (cause instanceof Error)
+					throw (Error) cause;
+				else
+					throw e;
+			}
+		}
+
+		try {
+			long generation = this.generation.get();
+			Segment segment = segmentFor(key);
+			// another thread might have added the value after our lookup but before our registration in loading
+			V value = segment.get(key);
+			if (value == null) {
+				value = supplier.supply(key);
+				if (value != null)
+					segment.put(key, value, weigher.applyAsLong(value), generation, false);
+			}
+
+			future.complete(value);
+			return value;
+		}
+		catch (Throwable t) {
+			future.completeExceptionally(t);
+			throw t;
+		}
+		finally {
+			loading.remove(key, future);
+		}
+	}
+
+	private Segment segmentFor(K key) {
+		// the highest bits select the segment, the lowest bits are used by the frequency sketch
+		return segments[(spread(key) >>> 24) & (segments.length - 1)];
+	}
+
+	private static int spread(Object key) {
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * An entry of the cache.
+	 */
+	private static class Entry<V> {
+		private final V value;
+		private final long weight;
+
+		private Entry(V value, long weight) {
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * A segment of the cache, with its own lock.
+	 */
+	private class Segment {
+
+		/**
+		 * The recently inserted entries, in least recently used order.
+		 */
+		private final LinkedHashMap<K, Entry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+
+		/**
+		 * The entries admitted after leaving the window, in least recently used order.
+		 */
+		private final LinkedHashMap<K, Entry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+
+		private final FrequencySketch sketch;
+		private final int maxWindowSize, maxMainSize;
+		private final long maxWindowWeight, maxMainWeight;
+		private long windowWeight, mainWeight;
+
+		private Segment(int maxSize, long maxWeight, int windowPercent) {
+			this.maxWindowSize = Math.max(1, (int) ((long) maxSize * windowPercent / 100));
+			this.maxMainSize = Math.max(0, maxSize - maxWindowSize);
+			this.maxWindowWeight = Math.max(1L, (long) (maxWeight * (windowPercent / 100.0)));
+			this.maxMainWeight = Math.max(0L, maxWeight - maxWindowWeight);
+			this.sketch = new FrequencySketch(maxSize);
+		}
+
+		private long maxWeightOfEntry() {
+			return Math.max(maxWindowWeight, maxMainWeight);
+		}
+
+		private synchronized V get(K key) {
+			sketch.increment(spread(key));
+
+			Entry<V> entry = window.get(key);
+			if (entry == null)
+				entry = main.get(key);
+
+			return entry == null ? null : entry.value;
+		}
+
+		private synchronized void put(K key, V value, long weight, long generation, boolean isAccess) {
+			// values computed before a clear() might be stale
+			if (generation != ConcurrentCache.this.generation.get())
+				return;
+
+			if (isAccess)
+				sketch.increment(spread(key));
+
+			remove(key);
+
+			if (weight > maxWeightOfEntry()) {
+				// it would not fit anyway
+				evicted();
+				return;
+			}
+
+			window.put(key, new Entry<>(value, weight));
+			windowWeight += weight;
+
+			while (window.size() > maxWindowSize || windowWeight > maxWindowWeight) {
+				Iterator<Map.Entry<K, Entry<V>>> it = window.entrySet().iterator();
+				Map.Entry<K, Entry<V>> eldest = it.next();
+				it.remove();
+				windowWeight -= eldest.getValue().weight;
+				admit(eldest.getKey(), eldest.getValue());
+			}
+		}
+
+		/**
+		 * Tries to move into the main area an entry that left the window.
+		 *
+		 * @param candidate the key of the entry
+		 * @param entry the entry
+		 */
+		private void admit(K candidate, Entry<V> entry) {
+			if (entry.weight > maxMainWeight || maxMainSize == 0) {
+				evicted();
+				return;
+			}
+
+			Iterator<Map.Entry<K, Entry<V>>> it = main.entrySet().iterator();
+			boolean comparedWithVictim = false;
+
+			while (main.size() >= maxMainSize || mainWeight + entry.weight > maxMainWeight) {
+				Map.Entry<K, Entry<V>> victim = it.next();
+
+				// the candidate competes with the least recently used entry only
+				if (!comparedWithVictim && sketch.frequency(spread(candidate)) <= sketch.frequency(spread(victim.getKey()))) {
+					evicted();
+					return;
+				}
+
+				comparedWithVictim = true;
+				it.remove();
+				mainWeight -= victim.getValue().weight;
+				evicted();
+			}
+
+			main.put(candidate, entry);
+			mainWeight += entry.weight;
+		}
+
+		private void evicted() {
+			if (evictions != null)
+				evictions.inc();
+		}
+
+		private synchronized void remove(K key) {
+			Entry<V> entry = window.remove(key);
+			if (entry != null)
+				windowWeight -= entry.weight;
+			else if ((entry = main.remove(key)) != null)
+				mainWeight -= entry.weight;
+		}
+
+		private synchronized void clear() {
+			window.clear();
+			main.clear();
+			windowWeight = mainWeight = 0L;
+		}
+
+		private synchronized int size() {
+			return window.size() + main.size();
+		}
+
+		private synchronized long weight() {
+			return windowWeight + mainWeight;
+		}
+	}
+
+	/**
+	 * An approximation of the frequency of the recent lookups of the keys, through
+	 * four rows of small counters, saturating at 15. Counters get halved periodically,
+	 * so that keys that were popular long ago lose their advantage.
+	 * It is not thread-safe: its users must synchronize.
+	 */
+	private static class FrequencySketch {
+		private final static int ROWS = 4;
+		private final static int[] SEEDS = { 0x97CB3127, 0xB8A1F8E5, 0x2D2D2D2B, 0x5BD1E995 };
+		private final static int MAX_COUNT = 15;
+
+		private final byte[][] counters;
+		private final int shift;
+		private final int sampleSize;
+		private int increments;
+
+		private FrequencySketch(int maxSize) {
+			int width = Integer.highestOneBit(Math.max(16, maxSize * 4 - 1)) << 1;
+			this.counters = new byte[ROWS][width];
+			this.shift = 32 - Integer.numberOfTrailingZeros(width);
+			this.sampleSize = 10 * width;
+		}
+
+		private int indexOf(int hash, int row) {
+			return (hash * SEEDS[row]) >>> shift;
+		}
+
+		private void increment(int hash) {
+			for (int row = 0; row < ROWS; row++) {
+				int index = indexOf(hash, row);
+				if (counters[row][index] < MAX_COUNT)
+					counters[row][index]++;
+			}
+
+			if (++increments == sampleSize)
+				age();
+		}
+
+		private int frequency(int hash) {
+			int min = MAX_COUNT;
+			for (int row = 0; row < ROWS; row++)
+				min = Math.min(min, counters[row][indexOf(hash, row)]);
+
+			return min;
+		}
+
+		private void age() {
+			for (byte[] row: counters)
+				for (int pos = 0; pos < row.length; pos++)
+					row[pos] >>= 1;
+
+			increments /= 2;
+		}
+	}
+}
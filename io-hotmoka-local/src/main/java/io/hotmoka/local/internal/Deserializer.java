@@ -29,6 +29,7 @@ import java.util.Optional;
 import java.util.stream.Stream;
 
 import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.beans.signatures.FieldSignature;
 import io.hotmoka.beans.updates.ClassTag;
 import io.hotmoka.beans.updates.Update;
@@ -49,6 +50,7 @@ import io.hotmoka.beans.values.StorageValue;
 import io.hotmoka.beans.values.StringValue;
 import io.hotmoka.local.EngineClassLoader;
 import io.hotmoka.local.StoreUtilities;
+import io.hotmoka.local.internal.profiling.DeserializationEvent;
 import io.hotmoka.local.internal.transactions.AbstractResponseBuilder;
 import io.hotmoka.nodes.DeserializationError;
 import io.hotmoka.verification.Dummy;
@@ -80,6 +82,16 @@ public class Deserializer {
 	 */
 	private final Map<StorageReference, Object> cache = new HashMap<>();
 
+	/**
+	 * The reference of the transaction for which deserialization is performed.
+	 */
+	private final TransactionReference transaction;
+
+	/**
+	 * The request of the transaction for which deserialization is performed.
+	 */
+	private final TransactionRequest<?> request;
+
 	/**
 	 * A comparator that puts updates in the order required for the parameter
 	 * of the deserialization constructor of storage objects: fields of superclasses first;
@@ -134,6 +146,8 @@ public class Deserializer {
 		this.storeUtilities = storeUtilities;
 		this.storageTypeToClass = builder.storageTypeToClass;
 		this.classLoader = builder.classLoader;
+		this.transaction = builder.getReference();
+		this.request = builder.getRequest();
 	}
 
 	/**
@@ -201,13 +215,32 @@ public class Deserializer {
 	}
 
 	/**
-	 * Creates a storage object in RAM.
+	 * Creates a storage object in RAM, taking note of the time spent for that.
 	 * 
 	 * @param reference the reference of the object inside the node's store
 	 * @return the object
 	 * @throws DeserializationError if the object could not be created
 	 */
 	private Object createStorageObject(StorageReference reference) {
+		var event = new DeserializationEvent();
+		event.begin();
+
+		try {
+			return instantiate(reference);
+		}
+		finally {
+			event.commit(transaction, request);
+		}
+	}
+
+	/**
+	 * Creates a storage object in RAM, by calling its deserialization constructor.
+	 * 
+	 * @param reference the reference of the object inside the node's store
+	 * @return the object
+	 * @throws DeserializationError if the object could not be created
+	 */
+	private Object instantiate(StorageReference reference) {
 		try {
 			List<Class<?>> formals = new ArrayList<>();
 			List<Object> actuals = new ArrayList<>();
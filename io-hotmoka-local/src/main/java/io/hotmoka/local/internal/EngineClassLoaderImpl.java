@@ -41,6 +41,9 @@ import java.util.zip.ZipInputStream;
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponseWithInstrumentedJar;
+import io.hotmoka.beans.signatures.FieldSignature;
+import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.types.StorageType;
 import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.instrumentation.InstrumentationConstants;
 import io.hotmoka.local.EngineClassLoader;
@@ -141,6 +144,13 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 	 */
 	private final ConcurrentMap<String, TransactionReference> transactionsThatInstalledJarForClasses = new ConcurrentHashMap<>();
 
+	/**
+	 * The signatures of the fields of the classes of this class loader, by name of their defining class
+	 * and then by name of the field. Since a class loader defines each class only once,
+	 * these two names determine the field.
+	 */
+	private final ConcurrentMap<String, ConcurrentMap<String, FieldSignature>> fieldSignatures = new ConcurrentHashMap<>();
+
 	/**
 	 * List of reverification that has been performed on the responses of the transactions that installed
 	 * the jars in this class loader. This occurs if the verification version of the node changed
@@ -356,6 +366,51 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 		return transactionsThatInstalledJarForClasses.get(clazz.getName());
 	}
 
+	/**
+	 * Yields the signature of the given field of a class of this class loader. The signature is built
+	 * at the first request and then shared among all subsequent requests, that do not allocate anything.
+	 * It is the canonical instance of the signature, see {@link FieldSignature#intern()}.
+	 * 
+	 * @param definingClass the name of the class defining the field
+	 * @param name the name of the field
+	 * @param fieldClassName the name of the type of the field
+	 * @return the signature of the field
+	 */
+	public final FieldSignature getFieldSignature(String definingClass, String name, String fieldClassName) {
+		ConcurrentMap<String, FieldSignature> fields = fieldSignaturesOf(definingClass);
+		FieldSignature field = fields.get(name);
+		if (field == null)
+			field = fields.computeIfAbsent(name, _name -> new FieldSignature(definingClass, name, new ClassType(fieldClassName).intern()).intern());
+
+		return field;
+	}
+
+	/**
+	 * Yields the signature of the given field of a class of this class loader. This is like
+	 * {@link #getFieldSignature(String, String, String)}, but for fields whose type is already known.
+	 * 
+	 * @param definingClass the name of the class defining the field
+	 * @param name the name of the field
+	 * @param type the type of the field
+	 * @return the signature of the field
+	 */
+	public final FieldSignature getFieldSignature(String definingClass, String name, StorageType type) {
+		ConcurrentMap<String, FieldSignature> fields = fieldSignaturesOf(definingClass);
+		FieldSignature field = fields.get(name);
+		if (field == null)
+			field = fields.computeIfAbsent(name, _name -> new FieldSignature(definingClass, name, type).intern());
+
+		return field;
+	}
+
+	private ConcurrentMap<String, FieldSignature> fieldSignaturesOf(String definingClass) {
+		ConcurrentMap<String, FieldSignature> fields = fieldSignatures.get(definingClass);
+		if (fields == null)
+			fields = fieldSignatures.computeIfAbsent(definingClass, _definingClass -> new ConcurrentHashMap<>());
+
+		return fields;
+	}
+
 	@Override
 	public final StorageReference getStorageReferenceOf(Object object) {
 		try {
@@ -654,6 +709,16 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 		reverification.replace();
 	}
 
+	/**
+	 * Determines if this class loader has reverified responses that
+	 * have not been replaced yet into the store of the node.
+	 * 
+	 * @return true if and only if that occurs
+	 */
+	public boolean hasReverifiedResponses() {
+		return reverification.hasReverifiedResponses();
+	}
+
 	@Override
 	public Class<?> loadClass(String className) throws ClassNotFoundException {
 		return parent.loadClass(className);
@@ -0,0 +1,230 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import io.hotmoka.beans.signatures.FieldSignature;
+import io.hotmoka.beans.types.BasicTypes;
+import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.values.BigIntegerValue;
+import io.hotmoka.beans.values.BooleanValue;
+import io.hotmoka.beans.values.IntValue;
+import io.hotmoka.beans.values.LongValue;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.beans.values.StringValue;
+import io.hotmoka.constants.Constants;
+import io.hotmoka.local.StoreUtilities;
+import io.hotmoka.nodes.ConsensusParams;
+
+/**
+ * An object that reads the governance data of a node directly from the fields of the
+ * objects in its store, without running any code. It relies on the layout of the classes
+ * of the Takamaka runtime that a node installs at its initialization: the manifest,
+ * the gas station, the validators and the versions objects, as well as the
+ * storage tree map that holds the shares of the validators. If an object has not the expected
+ * layout, for instance because it is an instance of an alternative implementation,
+ * nothing is read and the caller should fall back to running the {@code @View} methods of the object.
+ */
+public class GovernanceReader {
+
+	private final static ClassType MANIFEST = ClassType.MANIFEST;
+	private final static ClassType SHARED_ENTITY = new ClassType("io.takamaka.code.dao.SimpleSharedEntity");
+	private final static ClassType STORAGE_TREE_MAP_VIEW = new ClassType(Constants.STORAGE_TREE_MAP_NAME + "$1StorageMapViewImpl");
+
+	private final static FieldSignature GENESIS_TIME = new FieldSignature(MANIFEST, "genesisTime", ClassType.STRING);
+	private final static FieldSignature CHAIN_ID = new FieldSignature(MANIFEST, "chainId", ClassType.STRING);
+	private final static FieldSignature MAX_ERROR_LENGTH = new FieldSignature(MANIFEST, "maxErrorLength", BasicTypes.INT);
+	private final static FieldSignature MAX_DEPENDENCIES = new FieldSignature(MANIFEST, "maxDependencies", BasicTypes.INT);
+	private final static FieldSignature MAX_CUMULATIVE_SIZE_OF_DEPENDENCIES = new FieldSignature(MANIFEST, "maxCumulativeSizeOfDependencies", BasicTypes.LONG);
+	private final static FieldSignature ALLOWS_SELF_CHARGED = new FieldSignature(MANIFEST, "allowsSelfCharged", BasicTypes.BOOLEAN);
+	private final static FieldSignature ALLOWS_UNSIGNED_FAUCET = new FieldSignature(MANIFEST, "allowsUnsignedFaucet", BasicTypes.BOOLEAN);
+	private final static FieldSignature ALLOWS_MINT_BURN_FROM_GAMETE = new FieldSignature(MANIFEST, "allowsMintBurnFromGamete", BasicTypes.BOOLEAN);
+	private final static FieldSignature SKIPS_VERIFICATION = new FieldSignature(MANIFEST, "skipsVerification", BasicTypes.BOOLEAN);
+	private final static FieldSignature SIGNATURE = new FieldSignature(MANIFEST, "signature", ClassType.STRING);
+
+	private final static FieldSignature INITIAL_GAS_PRICE = new FieldSignature(ClassType.GENERIC_GAS_STATION, "initialGasPrice", ClassType.BIG_INTEGER);
+	private final static FieldSignature MAX_GAS_PER_TRANSACTION = new FieldSignature(ClassType.GENERIC_GAS_STATION, "maxGasPerTransaction", ClassType.BIG_INTEGER);
+	private final static FieldSignature IGNORES_GAS_PRICE = new FieldSignature(ClassType.GENERIC_GAS_STATION, "ignoresGasPrice", BasicTypes.BOOLEAN);
+	private final static FieldSignature TARGET_GAS_AT_REWARD = new FieldSignature(ClassType.GENERIC_GAS_STATION, "targetGasAtReward", ClassType.BIG_INTEGER);
+	private final static FieldSignature OBLIVION = new FieldSignature(ClassType.GENERIC_GAS_STATION, "oblivion", ClassType.BIG_INTEGER);
+
+	private final static FieldSignature TICKET_FOR_NEW_POLL = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "ticketForNewPoll", ClassType.BIG_INTEGER);
+	private final static FieldSignature INITIAL_INFLATION = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "initialInflation", BasicTypes.LONG);
+	private final static FieldSignature INITIAL_SUPPLY = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "initialSupply", ClassType.BIG_INTEGER);
+	private final static FieldSignature INITIAL_RED_SUPPLY = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "initialRedSupply", ClassType.BIG_INTEGER);
+	private final static FieldSignature FINAL_SUPPLY = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "finalSupply", ClassType.BIG_INTEGER);
+	private final static FieldSignature BUYER_SURCHARGE = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "buyerSurcharge", BasicTypes.INT);
+	private final static FieldSignature SLASHING_FOR_MISBEHAVING = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "slashingForMisbehaving", BasicTypes.INT);
+	private final static FieldSignature SLASHING_FOR_NOT_BEHAVING = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "slashingForNotBehaving", BasicTypes.INT);
+	private final static FieldSignature PERCENT_STAKED = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "percentStaked", BasicTypes.INT);
+
+	private final static FieldSignature VERIFICATION_VERSION = new FieldSignature(ClassType.VERSIONS, "verificationVersion", BasicTypes.INT);
+
+	private final static FieldSignature SNAPSHOT_OF_SHARES = new FieldSignature(SHARED_ENTITY, "snapshotOfShares", ClassType.STORAGE_MAP_VIEW);
+	private final static FieldSignature PARENT_OF_VIEW = new FieldSignature(STORAGE_TREE_MAP_VIEW, "this$0", ClassType.STORAGE_TREE_MAP);
+
+	/**
+	 * The utilities used to access the store.
+	 */
+	private final StoreUtilities storeUtilities;
+
+	/**
+	 * Builds an object that reads the governance data of a node directly from its store.
+	 *
+	 * @param storeUtilities the utilities used to access the store
+	 */
+	public GovernanceReader(StoreUtilities storeUtilities) {
+		this.storeUtilities = storeUtilities;
+	}
+
+	/**
+	 * Yields the consensus parameters of the node.
+	 *
+	 * @return the consensus parameters; this is empty if the node is not initialized yet
+	 *         or its governance objects have not the expected layout
+	 */
+	public Optional<ConsensusParams> getConsensusParams() {
+		Optional<StorageReference> manifest = storeUtilities.getManifestUncommitted();
+		if (manifest.isEmpty())
+			return Optional.empty();
+
+		StorageReference gasStation = storeUtilities.getGasStationUncommitted().get();
+		// getOblivion() is not final in the generic gas station, hence subclasses might redefine it
+		if (!Constants.GENERIC_GAS_STATION_NAME.equals(storeUtilities.getClassNameUncommitted(gasStation)))
+			return Optional.empty();
+
+		StorageReference validators = storeUtilities.getValidatorsUncommitted().get();
+		StorageReference versions = storeUtilities.getVersionsUncommitted().get();
+		StorageReference gamete = storeUtilities.getGameteUncommitted().get();
+
+		try {
+			return Optional.of(new ConsensusParams.Builder()
+				.setGenesisTime(stringOf(manifest.get(), GENESIS_TIME))
+				.setChainId(stringOf(manifest.get(), CHAIN_ID))
+				.setMaxGasPerTransaction(bigIntegerOf(gasStation, MAX_GAS_PER_TRANSACTION))
+				.ignoreGasPrice(booleanOf(gasStation, IGNORES_GAS_PRICE))
+				.signRequestsWith(stringOf(manifest.get(), SIGNATURE))
+				.setInitialGasPrice(bigIntegerOf(gasStation, INITIAL_GAS_PRICE))
+				.setTargetGasAtReward(bigIntegerOf(gasStation, TARGET_GAS_AT_REWARD))
+				.setOblivion(bigIntegerOf(gasStation, OBLIVION).longValue())
+				.setInitialInflation(longOf(validators, INITIAL_INFLATION))
+				.setMaxErrorLength(intOf(manifest.get(), MAX_ERROR_LENGTH))
+				.setMaxDependencies(intOf(manifest.get(), MAX_DEPENDENCIES))
+				.setMaxCumulativeSizeOfDependencies(longOf(manifest.get(), MAX_CUMULATIVE_SIZE_OF_DEPENDENCIES))
+				.allowSelfCharged(booleanOf(manifest.get(), ALLOWS_SELF_CHARGED))
+				.allowUnsignedFaucet(booleanOf(manifest.get(), ALLOWS_UNSIGNED_FAUCET))
+				.allowMintBurnFromGamete(booleanOf(manifest.get(), ALLOWS_MINT_BURN_FROM_GAMETE))
+				.skipVerification(booleanOf(manifest.get(), SKIPS_VERIFICATION))
+				// the verification version is the only parameter that can change after initialization
+				.setVerificationVersion(((IntValue) storeUtilities.getLastUpdateToFieldUncommitted(versions, VERIFICATION_VERSION).get().getValue()).value)
+				.setTicketForNewPoll(bigIntegerOf(validators, TICKET_FOR_NEW_POLL))
+				.setInitialSupply(bigIntegerOf(validators, INITIAL_SUPPLY))
+				.setFinalSupply(bigIntegerOf(validators, FINAL_SUPPLY))
+				.setInitialRedSupply(bigIntegerOf(validators, INITIAL_RED_SUPPLY))
+				.setPublicKeyOfGamete(storeUtilities.getPublicKeyUncommitted(gamete))
+				.setPercentStaked(intOf(validators, PERCENT_STAKED))
+				.setBuyerSurcharge(intOf(validators, BUYER_SURCHARGE))
+				.setSlashingForMisbehaving(intOf(validators, SLASHING_FOR_MISBEHAVING))
+				.setSlashingForNotBehaving(intOf(validators, SLASHING_FOR_NOT_BEHAVING))
+				.build());
+		}
+		catch (NoSuchElementException | ClassCastException e) {
+			// some field is missing or has an unexpected value
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Yields the current shares of the given validators object, that is, the bindings
+	 * of the snapshot returned by its {@code getShares()} method.
+	 *
+	 * @param validators the validators object
+	 * @return the shares of each validator, in the same order as they are selected from the snapshot;
+	 *         this is empty if {@code validators} has not the expected layout
+	 */
+	public Optional<Map<StorageReference, BigInteger>> getShares(StorageReference validators) {
+		try {
+			StorageReference view = referenceOf(storeUtilities.getLastUpdateToFieldUncommitted(validators, SNAPSHOT_OF_SHARES).get().getValue());
+			if (!STORAGE_TREE_MAP_VIEW.name.equals(storeUtilities.getClassNameUncommitted(view)))
+				return Optional.empty();
+
+			StorageReference map = referenceOf(finalFieldOf(view, PARENT_OF_VIEW));
+			StorageValue root = storeUtilities.getLastUpdateToFieldUncommitted(map, FieldSignature.STORAGE_TREE_MAP_ROOT_FIELD).get().getValue();
+
+			// the nodes of the tree are immutable; they are visited in order of key, iteratively
+			Map<StorageReference, BigInteger> result = new LinkedHashMap<>();
+			List<StorageReference> stack = new ArrayList<>();
+			StorageValue cursor = root;
+
+			while (cursor instanceof StorageReference || !stack.isEmpty()) {
+				if (cursor instanceof StorageReference) {
+					StorageReference node = (StorageReference) cursor;
+					stack.add(node);
+					cursor = finalFieldOf(node, FieldSignature.STORAGE_TREE_MAP_NODE_LEFT_FIELD);
+				}
+				else {
+					StorageReference node = stack.remove(stack.size() - 1);
+					result.put(referenceOf(finalFieldOf(node, FieldSignature.STORAGE_TREE_MAP_NODE_KEY_FIELD)),
+						((BigIntegerValue) finalFieldOf(node, FieldSignature.STORAGE_TREE_MAP_NODE_VALUE_FIELD)).value);
+					cursor = finalFieldOf(node, FieldSignature.STORAGE_TREE_MAP_NODE_RIGHT_FIELD);
+				}
+			}
+
+			return Optional.of(result);
+		}
+		catch (NoSuchElementException | ClassCastException e) {
+			// some field is missing or has an unexpected value
+			return Optional.empty();
+		}
+	}
+
+	private StorageValue finalFieldOf(StorageReference object, FieldSignature field) {
+		return storeUtilities.getLastUpdateToFinalFieldUncommitted(object, field).get().getValue();
+	}
+
+	private static StorageReference referenceOf(StorageValue value) {
+		return (StorageReference) value;
+	}
+
+	private String stringOf(StorageReference object, FieldSignature field) {
+		return ((StringValue) finalFieldOf(object, field)).value;
+	}
+
+	private BigInteger bigIntegerOf(StorageReference object, FieldSignature field) {
+		return ((BigIntegerValue) finalFieldOf(object, field)).value;
+	}
+
+	private int intOf(StorageReference object, FieldSignature field) {
+		return ((IntValue) finalFieldOf(object, field)).value;
+	}
+
+	private long longOf(StorageReference object, FieldSignature field) {
+		return ((LongValue) finalFieldOf(object, field)).value;
+	}
+
+	private boolean booleanOf(StorageReference object, FieldSignature field) {
+		return ((BooleanValue) finalFieldOf(object, field)).value;
+	}
+}
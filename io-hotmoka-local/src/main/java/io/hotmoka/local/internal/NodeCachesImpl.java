@@ -18,10 +18,13 @@ package io.hotmoka.local.internal;
 
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
-import java.security.NoSuchProviderException;
 import java.security.PublicKey;
-import java.security.spec.InvalidKeySpecException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.logging.Level;
@@ -33,26 +36,32 @@ import io.hotmoka.beans.TransactionException;
 import io.hotmoka.beans.TransactionRejectedException;
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.JarStoreInitialTransactionRequest;
+import io.hotmoka.beans.requests.JarStoreTransactionRequest;
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
 import io.hotmoka.beans.requests.SignedTransactionRequest;
 import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.beans.responses.InitializationTransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponseWithEvents;
+import io.hotmoka.beans.responses.TransactionResponseWithInstrumentedJar;
+import io.hotmoka.beans.responses.TransactionResponseWithUpdates;
 import io.hotmoka.beans.signatures.CodeSignature;
-import io.hotmoka.beans.signatures.NonVoidMethodSignature;
-import io.hotmoka.beans.types.BasicTypes;
-import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.updates.ClassTag;
 import io.hotmoka.beans.values.BigIntegerValue;
 import io.hotmoka.beans.values.BooleanValue;
 import io.hotmoka.beans.values.IntValue;
 import io.hotmoka.beans.values.LongValue;
 import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StorageValue;
 import io.hotmoka.beans.values.StringValue;
 import io.hotmoka.crypto.api.SignatureAlgorithm;
 import io.hotmoka.local.AbstractLocalNode;
+import io.hotmoka.local.Config;
 import io.hotmoka.local.EngineClassLoader;
 import io.hotmoka.local.NodeCaches;
 import io.hotmoka.nodes.ConsensusParams;
+import io.hotmoka.nodes.SignatureAlgorithmForTransactionRequests;
 
 /**
  * An implementation of the caches of a local node.
@@ -65,24 +74,39 @@ public class NodeCachesImpl implements NodeCaches {
 	/**
 	 * The cache for the requests.
 	 */
-	private final LRUCache<TransactionReference, TransactionRequest<?>> requests;
+	private final ConcurrentCache<TransactionReference, TransactionRequest<?>> requests;
 
 	/**
 	 * The cache for the committed responses.
 	 */
-	private final LRUCache<TransactionReference, TransactionResponse> responses;
+	private final ConcurrentCache<TransactionReference, TransactionResponse> responses;
 
 	/**
-	 * Cached recent requests that have had their signature checked.
-	 * This avoids repeated signature checking in {@link AbstractLocalNode#checkTransaction(TransactionRequest)}
-	 * and {@link AbstractLocalNode#deliverTransaction(TransactionRequest)}.
+	 * Cached recent requests that have had their signature checked, keyed by their reference
+	 * and by the public key of their caller used for the check. This avoids repeated signature checking in
+	 * {@link AbstractLocalNode#checkTransaction(TransactionRequest)} and {@link AbstractLocalNode#deliverTransaction(TransactionRequest)}.
+	 * Since an account can rotate its public key, the outcome of a check does not apply anymore after a rotation.
 	 */
-	private final LRUCache<SignedTransactionRequest, Boolean> checkedSignatures;
+	private final ConcurrentCache<SignatureCheck, Boolean> checkedSignatures;
+
+	/**
+	 * The requests that passed the checks that do not depend on the state of the node.
+	 * Some of those checks depend on the consensus parameters, hence each entry is bound to
+	 * the parameters used for the checks and is ignored once they get replaced.
+	 */
+	private final ConcurrentCache<TransactionReference, VerifiedRequest> verifiedRequests;
+
+	/**
+	 * Cached decoded public keys, keyed by the name of their signature algorithm and by their
+	 * Base64 encoding. The encoding is read from the current state of the callers at each check,
+	 * since an account can rotate its public key: only its decoding is cached.
+	 */
+	private final ConcurrentCache<String, PublicKey> publicKeys;
 
 	/**
 	 * The cache for the class loaders.
 	 */
-	private final LRUCache<TransactionReference, EngineClassLoader> classLoaders = new LRUCache<>(100, 1000);
+	private final ConcurrentCache<TransactionReference, EngineClassLoader> classLoaders;
 
 	/**
 	 * The consensus parameters of the node.
@@ -121,6 +145,13 @@ public class NodeCachesImpl implements NodeCaches {
 	 */
 	private volatile Long inflation;
 
+	/**
+	 * The caches of the node this node has been forked from, if any. They provide the
+	 * class loaders for the jars installed before the fork. This becomes {@code null}
+	 * if the class loaders of this node get cleared, since then those of the parent might be stale.
+	 */
+	private volatile NodeCaches parent;
+
 	/**
 	 * Enough gas for a simple get method.
 	 */
@@ -134,9 +165,13 @@ public class NodeCachesImpl implements NodeCaches {
 	 */
 	public NodeCachesImpl(NodeInternal node, ConsensusParams consensus) {
 		this.node = node;
-		this.requests = new LRUCache<>(100, node.getConfig().requestCacheSize);
-		this.responses = new LRUCache<>(100, node.getConfig().responseCacheSize);
-		this.checkedSignatures = new LRUCache<>(100, 1000);
+		Config config = node.getConfig();
+		this.requests = new ConcurrentCache<>("requests", config.requestCacheSize, config.cacheMaxBytes, NodeCachesImpl::weightOf);
+		this.responses = new ConcurrentCache<>("responses", config.responseCacheSize, config.cacheMaxBytes, NodeCachesImpl::weightOf);
+		this.checkedSignatures = new ConcurrentCache<>("checkedSignatures", config.signatureCacheSize);
+		this.verifiedRequests = new ConcurrentCache<>("verifiedRequests", config.signatureCacheSize);
+		this.publicKeys = new ConcurrentCache<>("publicKeys", 1000);
+		this.classLoaders = new ConcurrentCache<>("classLoaders", 1000, config.cacheMaxBytes, NodeCachesImpl::weightOf);
 		this.validators = Optional.empty();
 		this.versions = Optional.empty();
 		this.gasStation = Optional.empty();
@@ -144,12 +179,72 @@ public class NodeCachesImpl implements NodeCaches {
 		this.consensus = consensus;
 	}
 
+	/**
+	 * The approximate size of the fixed part of requests, responses and class loaders,
+	 * in bytes, to which the size of their jars and updates gets added.
+	 */
+	private final static long BASE_WEIGHT = 256L;
+
+	/**
+	 * The approximate size of an update in a response, in bytes.
+	 */
+	private final static long UPDATE_WEIGHT = 64L;
+
+	private static long weightOf(TransactionRequest<?> request) {
+		if (request instanceof JarStoreTransactionRequest)
+			return BASE_WEIGHT + ((JarStoreTransactionRequest) request).getJarLength();
+		else if (request instanceof JarStoreInitialTransactionRequest)
+			return BASE_WEIGHT + ((JarStoreInitialTransactionRequest) request).getJarLength();
+		else
+			return BASE_WEIGHT;
+	}
+
+	private static long weightOf(TransactionResponse response) {
+		long weight = BASE_WEIGHT;
+
+		if (response instanceof TransactionResponseWithInstrumentedJar)
+			weight += ((TransactionResponseWithInstrumentedJar) response).getInstrumentedJarLength();
+
+		if (response instanceof TransactionResponseWithUpdates)
+			weight += UPDATE_WEIGHT * ((TransactionResponseWithUpdates) response).getUpdates().count();
+
+		return weight;
+	}
+
+	private static long weightOf(EngineClassLoader classLoader) {
+		// the classes loaded from the jars occupy more than the jars themselves
+		return BASE_WEIGHT + 2L * classLoader.getLengthsOfJars().asLongStream().sum();
+	}
+
+	/**
+	 * Builds the caches for a fork of a node. They start from the consensus parameters
+	 * and from the references known to the caches of the parent, and reuse its class loaders
+	 * for the jars installed before the fork.
+	 * 
+	 * @param node the fork
+	 * @param parent the caches of the node that has been forked
+	 */
+	public NodeCachesImpl(NodeInternal node, NodeCaches parent) {
+		this(node, parent.getConsensusParams());
+
+		this.parent = parent;
+		this.gamete = parent.getGamete();
+		this.validators = parent.getValidators();
+		this.versions = parent.getVersions();
+		this.gasStation = parent.getGasStation();
+		this.gasPrice = parent.getGasPrice().orElse(null);
+		this.inflation = parent.getCurrentInflation().orElse(null);
+	}
+
 	@Override
 	public final void invalidate() {
 		requests.clear();
 		responses.clear();
 		checkedSignatures.clear();
+		verifiedRequests.clear();
+		publicKeys.clear();
 		classLoaders.clear();
+		parent = null;
 		consensus = null;
 		validators = Optional.empty();
 		versions = Optional.empty();
@@ -167,6 +262,8 @@ public class NodeCachesImpl implements NodeCaches {
 			recomputeConsensus();
 			logger.info("the consensus cache has been recomputed");
 			classLoaders.clear();
+			verifiedRequests.clear();
+			parent = null;
 			if (versionBefore != consensus.verificationVersion)
 				logger.info("the version of the verification module has changed from " + versionBefore + " to " + consensus.verificationVersion);
 		}
@@ -188,95 +285,84 @@ public class NodeCachesImpl implements NodeCaches {
 
 	@Override
 	public final void recomputeConsensus() {
+		// the parameters are normally read from the fields of the governance objects, without running any code
+		consensus = node.getStoreUtilities().getConsensusParamsUncommitted().orElseGet(this::getConsensusParamsWithViews);
+	}
+
+	/**
+	 * Yields the consensus parameters of the node, by running the {@code @View} methods
+	 * of its governance objects. This is used when the parameters cannot be read
+	 * directly from the fields of those objects.
+	 * 
+	 * @return the consensus parameters
+	 */
+	public final ConsensusParams getConsensusParamsWithViews() {
 		try {
 			StorageReference gasStation = getGasStation().get();
 			StorageReference validators = getValidators().get();
 			StorageReference versions = getVersions().get();
 			TransactionReference takamakaCode = node.getStoreUtilities().getTakamakaCodeUncommitted().get();
 			StorageReference manifest = node.getStore().getManifestUncommitted().get();
-	
-			String genesisTime = ((StringValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_GENESIS_TIME, manifest))).value;
-
-			String chainId = ((StringValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_CHAIN_ID, manifest))).value;
-	
-			StorageReference gamete = (StorageReference) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_GAMETE, manifest));
-
-			String publicKeyOfGamete = ((StringValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.PUBLIC_KEY, gamete))).value;
-
-			int maxErrorLength = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_MAX_ERROR_LENGTH, manifest))).value;
-
-			int maxDependencies = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_MAX_DEPENDENCIES, manifest))).value;
-
-			long maxCumulativeSizeOfDependencies = ((LongValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_MAX_CUMULATIVE_SIZE_OF_DEPENDENCIES, manifest))).value;
-
-			boolean allowsSelfCharged = ((BooleanValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.ALLOWS_SELF_CHARGED, manifest))).value;
-	
-			boolean allowsFaucet = ((BooleanValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.ALLOWS_UNSIGNED_FAUCET, manifest))).value;
-
-			boolean allowsMintBurnFromGamete = ((BooleanValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.ALLOWS_MINT_BURN_FROM_GAMETE, manifest))).value;
-
-			boolean skipsVerification = ((BooleanValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.SKIPS_VERIFICATION, manifest))).value;
-
-			String signature = ((StringValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_SIGNATURE, manifest))).value;
-
-			BigInteger ticketForNewPoll = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_TICKET_FOR_NEW_POLL, validators))).value;
-
-			BigInteger initialGasPrice = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_INITIAL_GAS_PRICE, gasStation))).value;
-
-			BigInteger maxGasPerTransaction = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_MAX_GAS_PER_TRANSACTION, gasStation))).value;
-	
-			boolean ignoresGasPrice = ((BooleanValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.IGNORES_GAS_PRICE, gasStation))).value;
-	
-			BigInteger targetGasAtReward = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_TARGET_GAS_AT_REWARD, gasStation))).value;
-	
-			long oblivion = ((LongValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_OBLIVION, gasStation))).value;
-	
-			long initialInflation = ((LongValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_INITIAL_INFLATION, validators))).value;
-
-			int verificationVersion = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_VERIFICATION_VERSION, versions))).value;
-
-			BigInteger initialSupply = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_INITIAL_SUPPLY, validators))).value;
-
-			BigInteger initialRedSupply = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_INITIAL_RED_SUPPLY, validators))).value;
-
-			BigInteger finalSupply = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_FINAL_SUPPLY, validators))).value;
-
-			int buyerSurcharge = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, new NonVoidMethodSignature(ClassType.VALIDATORS, "getBuyerSurcharge", BasicTypes.INT), validators))).value;
-
-			int slashingForMisbehaving = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, new NonVoidMethodSignature(ClassType.VALIDATORS, "getSlashingForMisbehaving", BasicTypes.INT), validators))).value;
-
-			int slashingForNotBehaving = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, new NonVoidMethodSignature(ClassType.VALIDATORS, "getSlashingForNotBehaving", BasicTypes.INT), validators))).value;
-
-			int percentStaked = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, new NonVoidMethodSignature(ClassType.VALIDATORS, "getPercentStaked", BasicTypes.INT), validators))).value;
-
-			consensus = new ConsensusParams.Builder()
+			StorageReference gamete = getGamete().get();
+
+			// the calls run against the same state of the store and share the objects that they read from it
+			Iterator<StorageValue> results = node.runViewBatch(List.of(
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_GENESIS_TIME, manifest),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_CHAIN_ID, manifest),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.PUBLIC_KEY, gamete),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_MAX_ERROR_LENGTH, manifest),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_MAX_DEPENDENCIES, manifest),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_MAX_CUMULATIVE_SIZE_OF_DEPENDENCIES, manifest),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.ALLOWS_SELF_CHARGED, manifest),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.ALLOWS_UNSIGNED_FAUCET, manifest),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.ALLOWS_MINT_BURN_FROM_GAMETE, manifest),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.SKIPS_VERIFICATION, manifest),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_SIGNATURE, manifest),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_TICKET_FOR_NEW_POLL, validators),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_INITIAL_GAS_PRICE, gasStation),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_MAX_GAS_PER_TRANSACTION, gasStation),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.IGNORES_GAS_PRICE, gasStation),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_TARGET_GAS_AT_REWARD, gasStation),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_OBLIVION, gasStation),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_INITIAL_INFLATION, validators),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_VERIFICATION_VERSION, versions),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_INITIAL_SUPPLY, validators),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_INITIAL_RED_SUPPLY, validators),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_FINAL_SUPPLY, validators),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_BUYER_SURCHARGE, validators),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_SLASHING_FOR_MISBEHAVING, validators),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_SLASHING_FOR_NOT_BEHAVING, validators),
+				new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, CodeSignature.GET_PERCENT_STAKED, validators)
+			)).iterator();
+
+			String genesisTime = ((StringValue) results.next()).value;
+			String chainId = ((StringValue) results.next()).value;
+			String publicKeyOfGamete = ((StringValue) results.next()).value;
+			int maxErrorLength = ((IntValue) results.next()).value;
+			int maxDependencies = ((IntValue) results.next()).value;
+			long maxCumulativeSizeOfDependencies = ((LongValue) results.next()).value;
+			boolean allowsSelfCharged = ((BooleanValue) results.next()).value;
+			boolean allowsFaucet = ((BooleanValue) results.next()).value;
+			boolean allowsMintBurnFromGamete = ((BooleanValue) results.next()).value;
+			boolean skipsVerification = ((BooleanValue) results.next()).value;
+			String signature = ((StringValue) results.next()).value;
+			BigInteger ticketForNewPoll = ((BigIntegerValue) results.next()).value;
+			BigInteger initialGasPrice = ((BigIntegerValue) results.next()).value;
+			BigInteger maxGasPerTransaction = ((BigIntegerValue) results.next()).value;
+			boolean ignoresGasPrice = ((BooleanValue) results.next()).value;
+			BigInteger targetGasAtReward = ((BigIntegerValue) results.next()).value;
+			long oblivion = ((LongValue) results.next()).value;
+			long initialInflation = ((LongValue) results.next()).value;
+			int verificationVersion = ((IntValue) results.next()).value;
+			BigInteger initialSupply = ((BigIntegerValue) results.next()).value;
+			BigInteger initialRedSupply = ((BigIntegerValue) results.next()).value;
+			BigInteger finalSupply = ((BigIntegerValue) results.next()).value;
+			int buyerSurcharge = ((IntValue) results.next()).value;
+			int slashingForMisbehaving = ((IntValue) results.next()).value;
+			int slashingForNotBehaving = ((IntValue) results.next()).value;
+			int percentStaked = ((IntValue) results.next()).value;
+
+			return new ConsensusParams.Builder()
 				.setGenesisTime(genesisTime)
 				.setChainId(chainId)
 				.setMaxGasPerTransaction(maxGasPerTransaction)
@@ -332,12 +418,178 @@ public class NodeCachesImpl implements NodeCaches {
 
 	@Override
 	public final EngineClassLoader getClassLoader(TransactionReference classpath) {
-		return classLoaders.computeIfAbsentNoException(classpath, _classpath -> new EngineClassLoaderImpl(null, Stream.of(_classpath), node, true, consensus));
+		return classLoaders.computeIfAbsentNoException(classpath, this::mkClassLoader);
+	}
+
+	private EngineClassLoader mkClassLoader(TransactionReference classpath) {
+		NodeCaches parent = this.parent;
+
+		// a fork can reuse the class loaders of its parent for the jars installed before the fork,
+		// unless they still have to write reverified responses, that would end up in the store of the parent
+		if (parent != null && parent.getResponse(classpath).isPresent()) {
+			EngineClassLoader inherited = parent.getClassLoader(classpath);
+			if (!((EngineClassLoaderImpl) inherited).hasReverifiedResponses())
+				return inherited;
+		}
+
+		return new EngineClassLoaderImpl(null, Stream.of(classpath), node, true, consensus);
+	}
+
+	@Override
+	public final boolean signatureIsValid(TransactionReference reference, SignedTransactionRequest request, SignatureAlgorithm<SignedTransactionRequest> signatureAlgorithm) throws Exception {
+		String publicKey = node.getStoreUtilities().getPublicKeyUncommitted(request.getCaller());
+		return checkedSignatures.computeIfAbsent(new SignatureCheck(reference, publicKey),
+			_check -> signatureAlgorithm.verify(request, getPublicKey(publicKey, signatureAlgorithm), request.getSignature()));
+	}
+
+	@Override
+	public final void verifySignatures(List<TransactionRequest<?>> requests) {
+		// if the node is not initialized yet, signatures are not checked
+		if (!node.getStoreUtilities().nodeIsInitializedUncommitted())
+			return;
+
+		// the requests get grouped by signature algorithm, since each algorithm verifies its own batch
+		Map<String, BatchOfSignatures> batches = new HashMap<>();
+
+		for (TransactionRequest<?> request: requests)
+			if (request instanceof SignedTransactionRequest && request instanceof NonInitialTransactionRequest<?>) {
+				TransactionReference reference = request.getReference();
+				try {
+					SignedTransactionRequest signedRequest = (SignedTransactionRequest) request;
+					StorageReference caller = signedRequest.getCaller();
+					var check = new SignatureCheck(reference, node.getStoreUtilities().getPublicKeyUncommitted(caller));
+					if (checkedSignatures.get(check) == null) {
+						SignatureAlgorithm<SignedTransactionRequest> algorithm = getSignatureAlgorithmFor(caller, getClassLoader(((NonInitialTransactionRequest<?>) request).classpath));
+						batches.computeIfAbsent(algorithm.getName(), _name -> new BatchOfSignatures(algorithm))
+							.add(check, signedRequest, getPublicKey(check.publicKey, algorithm));
+					}
+				}
+				catch (Exception e) {
+					// the signature will be checked again later, where the problem gets reported
+				}
+			}
+
+		for (BatchOfSignatures batch: batches.values())
+			batch.verify();
+	}
+
+	@Override
+	public final Optional<BigInteger> getStorageCostOfVerifiedRequest(TransactionReference reference, ConsensusParams consensus) {
+		VerifiedRequest verified = verifiedRequests.get(reference);
+		// consensus parameters are recomputed into a new object whenever they might have changed
+		return verified != null && verified.consensus == consensus ? Optional.of(verified.storageCost) : Optional.empty();
+	}
+
+	@Override
+	public final void takeNoteOfVerifiedRequest(TransactionReference reference, ConsensusParams consensus, BigInteger storageCost) {
+		verifiedRequests.put(reference, new VerifiedRequest(consensus, storageCost));
+	}
+
+	/**
+	 * A request that passed the checks that do not depend on the state of the node.
+	 */
+	private static class VerifiedRequest {
+
+		/**
+		 * The consensus parameters used for the checks.
+		 */
+		private final ConsensusParams consensus;
+
+		/**
+		 * The storage cost of the request.
+		 */
+		private final BigInteger storageCost;
+
+		private VerifiedRequest(ConsensusParams consensus, BigInteger storageCost) {
+			this.consensus = consensus;
+			this.storageCost = storageCost;
+		}
 	}
 
 	@Override
-	public final boolean signatureIsValid(SignedTransactionRequest request, SignatureAlgorithm<SignedTransactionRequest> signatureAlgorithm) throws Exception {
-		return checkedSignatures.computeIfAbsent(request, _request -> signatureAlgorithm.verify(_request, getPublicKey(_request.getCaller(), signatureAlgorithm), _request.getSignature()));
+	public final SignatureAlgorithm<SignedTransactionRequest> getSignatureAlgorithmFor(StorageReference caller, EngineClassLoader classLoader) throws NoSuchAlgorithmException, ClassNotFoundException {
+		ClassTag classTag = node.getClassTag(caller);
+		Class<?> clazz = classLoader.loadClass(classTag.clazz.name);
+
+		if (classLoader.getAccountED25519().isAssignableFrom(clazz))
+			return SignatureAlgorithmForTransactionRequests.ed25519();
+		else if (classLoader.getAccountSHA256DSA().isAssignableFrom(clazz))
+			return SignatureAlgorithmForTransactionRequests.sha256dsa();
+		else if (classLoader.getAccountQTESLA1().isAssignableFrom(clazz))
+			return SignatureAlgorithmForTransactionRequests.qtesla1();
+		else if (classLoader.getAccountQTESLA3().isAssignableFrom(clazz))
+			return SignatureAlgorithmForTransactionRequests.qtesla3();
+		else
+			return SignatureAlgorithmForTransactionRequests.mk(consensus.signature);
+	}
+
+	/**
+	 * The check of the signature of a request against a public key of its caller.
+	 */
+	private static class SignatureCheck {
+
+		/**
+		 * The reference of the request.
+		 */
+		private final TransactionReference reference;
+
+		/**
+		 * The Base64-encoded public key of the caller of the request, used for the check.
+		 */
+		private final String publicKey;
+
+		private SignatureCheck(TransactionReference reference, String publicKey) {
+			this.reference = reference;
+			this.publicKey = publicKey;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof SignatureCheck && reference.equals(((SignatureCheck) other).reference)
+				&& publicKey.equals(((SignatureCheck) other).publicKey);
+		}
+
+		@Override
+		public int hashCode() {
+			return reference.hashCode() ^ publicKey.hashCode();
+		}
+	}
+
+	/**
+	 * A batch of requests whose signature must be verified with the same algorithm.
+	 */
+	private class BatchOfSignatures {
+		private final SignatureAlgorithm<SignedTransactionRequest> algorithm;
+		private final List<SignatureCheck> checks = new ArrayList<>();
+		private final List<SignedTransactionRequest> requests = new ArrayList<>();
+		private final List<PublicKey> publicKeys = new ArrayList<>();
+		private final List<byte[]> signatures = new ArrayList<>();
+
+		private BatchOfSignatures(SignatureAlgorithm<SignedTransactionRequest> algorithm) {
+			this.algorithm = algorithm;
+		}
+
+		private void add(SignatureCheck check, SignedTransactionRequest request, PublicKey publicKey) {
+			checks.add(check);
+			requests.add(request);
+			publicKeys.add(publicKey);
+			signatures.add(request.getSignature());
+		}
+
+		/**
+		 * Verifies the signatures of the batch and caches the outcome.
+		 */
+		private void verify() {
+			try {
+				boolean[] outcomes = algorithm.verify(requests, publicKeys, signatures);
+				for (int pos = 0; pos < outcomes.length; pos++)
+					checkedSignatures.put(checks.get(pos), outcomes[pos]);
+			}
+			catch (Exception e) {
+				// the signatures will be checked again later, one by one, where the problem gets reported
+				logger.log(Level.WARNING, "the batch verification of " + requests.size() + " signatures failed", e);
+			}
+		}
 	}
 
 	@Override
@@ -394,20 +646,16 @@ public class NodeCachesImpl implements NodeCaches {
 	}
 
 	/**
-	 * Yields the public key of the given externally owned account.
+	 * Decodes the given public key.
 	 * 
-	 * @param reference the account
+	 * @param publicKeyEncodedBase64 the Base64-encoded public key, as found in the state of an account
 	 * @param signatureAlgorithm the signing algorithm used for the request
 	 * @return the public key
-	 * @throws NoSuchAlgorithmException if the signing algorithm is unknown
-	 * @throws NoSuchProviderException of the signing provider is unknown
-	 * @throws InvalidKeySpecException of the key specification is invalid
+	 * @throws Exception if the public key cannot be decoded, for instance because the signing algorithm is unknown
 	 */
-	private PublicKey getPublicKey(StorageReference reference, SignatureAlgorithm<SignedTransactionRequest> signatureAlgorithm) throws NoSuchAlgorithmException, NoSuchProviderException, InvalidKeySpecException {
-		// we go straight to the transaction that created the object
-		String publicKeyEncodedBase64 = node.getStoreUtilities().getPublicKeyUncommitted(reference);
-		byte[] publicKeyEncoded = Base64.getDecoder().decode(publicKeyEncodedBase64);
-		return signatureAlgorithm.publicKeyFromEncoding(publicKeyEncoded);
+	private PublicKey getPublicKey(String publicKeyEncodedBase64, SignatureAlgorithm<SignedTransactionRequest> signatureAlgorithm) throws Exception {
+		return publicKeys.computeIfAbsent(signatureAlgorithm.getName() + ' ' + publicKeyEncodedBase64,
+			_key -> signatureAlgorithm.publicKeyFromEncoding(Base64.getDecoder().decode(publicKeyEncodedBase64)));
 	}
 
 	private void recomputeGasPrice() {
@@ -17,7 +17,9 @@ limitations under the License.
 package io.hotmoka.local.internal;
 
 import java.math.BigInteger;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
@@ -28,6 +30,7 @@ import io.hotmoka.beans.TransactionRejectedException;
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.requests.InitialTransactionRequest;
 import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.MethodCallTransactionRequest;
 import io.hotmoka.beans.requests.NonInitialTransactionRequest;
 import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.beans.responses.TransactionResponse;
@@ -91,6 +94,17 @@ public interface NodeInternal {
 	 */
 	BigInteger getRequestStorageCost(NonInitialTransactionRequest<?> request);
 
+	/**
+	 * Yields the nonce that the caller of a request is expected to have while the
+	 * request is checked, if it is checked ahead of the delivery of the previous
+	 * requests of the same caller.
+	 * 
+	 * @param reference the reference of the transaction of the request
+	 * @return the expected nonce; this is empty if the request must be checked
+	 *         against the nonce of its caller in store
+	 */
+	Optional<BigInteger> getProjectedNonce(TransactionReference reference);
+
 	/**
 	 * Determines if the given initial transaction can still be run after the
 	 * initialization of the node. Normally, this is false. However, specific
@@ -159,6 +173,19 @@ public interface NodeInternal {
 	 */
 	StorageValue runInstanceMethodCallTransaction(InstanceMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException;
 
+	/**
+	 * Runs a sequence of {@code @@View} methods against the same state of this node's store.
+	 * 
+	 * @param requests the requests of the calls
+	 * @return the results of the calls, in order
+	 * @throws TransactionRejectedException if some call could not be executed
+	 * @throws CodeExecutionException if some call led to an exception in the user code in blockchain,
+	 *                                that is allowed to be thrown by the method
+	 * @throws TransactionException if some call led to an exception outside the user code in blockchain,
+	 *                              or that is not allowed to be thrown by the method
+	 */
+	List<StorageValue> runViewBatch(List<MethodCallTransactionRequest> requests) throws TransactionRejectedException, TransactionException, CodeExecutionException;
+
 	/**
 	 * Runs the given task with the executor service of this node.
 	 * 
@@ -0,0 +1,219 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import io.hotmoka.annotations.ThreadSafe;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.local.AbstractLocalNode;
+import io.hotmoka.local.AbstractStore;
+import io.hotmoka.local.Config;
+import io.hotmoka.local.NodeCaches;
+import io.hotmoka.local.Store;
+
+/**
+ * The store of a fork of a node. It keeps in RAM only what the fork writes
+ * and reads everything else from the committed state of the store of the forked node,
+ * which is never modified. Hence a fork is cheap to create and to drop.
+ * That state is pinned when the fork is created (see {@link AbstractStore#pinState()}),
+ * so that the fork does not see the transactions committed later by the forked node.
+ * A fork can also read the live committed state of the forked node, but only if the caller
+ * guarantees that the forked node does not commit anything while the fork is in use.
+ *
+ * @param <C> the type of the configuration of the node
+ */
+@ThreadSafe
+public class OverlayStore<C extends Config> extends AbstractStore<C> {
+
+	/**
+	 * The store of the forked node.
+	 */
+	private final AbstractStore<? extends C> forked;
+
+	/**
+	 * The height of the state of {@link #forked} pinned for this fork, if any.
+	 */
+	private final OptionalLong pinnedHeight;
+
+	/**
+	 * The store where the fork reads what it has not written: this is the pinned state
+	 * of {@link #forked} or {@link #forked} itself.
+	 */
+	private final Store base;
+
+	/**
+	 * The caches of the forked node, used to access the requests and responses in {@link #base}
+	 * if it is the live store of the forked node. It is {@code null} if {@link #base} is a pinned state,
+	 * since the caches might contain the requests and responses committed later.
+	 */
+	private final NodeCaches baseCaches;
+
+	private final ConcurrentMap<TransactionReference, TransactionRequest<?>> requests = new ConcurrentHashMap<>();
+	private final ConcurrentMap<TransactionReference, TransactionResponse> responses = new ConcurrentHashMap<>();
+	private final ConcurrentMap<TransactionReference, String> errors = new ConcurrentHashMap<>();
+	private final ConcurrentMap<StorageReference, TransactionReference[]> histories = new ConcurrentHashMap<>();
+
+	/**
+	 * The manifest set by the fork, if any.
+	 */
+	private volatile StorageReference manifest;
+
+	/**
+	 * Builds the store of a fork, that reads the state of the forked node at the time of the fork.
+	 *
+	 * @param node the fork
+	 * @param forked the store of the forked node
+	 * @throws UnsupportedOperationException if the store of the forked node cannot keep its state
+	 *                                       at the time of the fork, as it happens for instance
+	 *                                       for the store of a memory blockchain
+	 */
+	public OverlayStore(AbstractLocalNode<? extends C, ? extends AbstractStore<? extends C>> node, AbstractStore<? extends C> forked) {
+		super(node);
+
+		this.forked = forked;
+		this.pinnedHeight = forked.pinState();
+		if (pinnedHeight.isEmpty())
+			throw new UnsupportedOperationException("the store of the forked node cannot keep its state at the time of the fork");
+
+		Optional<? extends Store> pinned = forked.getRootAt(pinnedHeight.getAsLong()).flatMap(forked::getStoreAt);
+		if (pinned.isEmpty()) {
+			forked.unpinState(pinnedHeight.getAsLong());
+			throw new UnsupportedOperationException("the store of the forked node cannot keep its state at the time of the fork");
+		}
+
+		this.base = pinned.get();
+		this.baseCaches = null;
+	}
+
+	/**
+	 * Builds the store of a fork, that reads the live committed state of the forked node.
+	 * The caller must guarantee that the forked node does not commit anything
+	 * while the fork is in use, since otherwise the fork would see those commits.
+	 *
+	 * @param node the fork
+	 * @param forked the store of the forked node
+	 * @param forkedCaches the caches of the forked node
+	 */
+	public OverlayStore(AbstractLocalNode<? extends C, ? extends AbstractStore<? extends C>> node, AbstractStore<? extends C> forked, NodeCaches forkedCaches) {
+		super(node);
+
+		this.forked = forked;
+		this.pinnedHeight = OptionalLong.empty();
+		this.base = forked;
+		this.baseCaches = forkedCaches;
+	}
+
+	@Override
+	public void close() {
+		pinnedHeight.ifPresent(forked::unpinState);
+		super.close();
+	}
+
+	@Override
+	public long getNow() {
+		return base.getNow();
+	}
+
+	@Override
+	public Optional<TransactionResponse> getResponse(TransactionReference reference) {
+		return recordTime(() -> {
+			TransactionResponse response = responses.get(reference);
+			if (response != null)
+				return Optional.of(response);
+			else
+				return baseCaches != null ? baseCaches.getResponse(reference) : base.getResponse(reference);
+		});
+	}
+
+	@Override
+	public Optional<TransactionResponse> getResponseUncommitted(TransactionReference reference) {
+		return getResponse(reference);
+	}
+
+	@Override
+	public Optional<String> getError(TransactionReference reference) {
+		String error = errors.get(reference);
+		return error != null ? Optional.of(error) : base.getError(reference);
+	}
+
+	@Override
+	public Stream<TransactionReference> getHistory(StorageReference object) {
+		return recordTime(() -> {
+			TransactionReference[] history = histories.get(object);
+			return history != null ? Stream.of(history) : base.getHistory(object);
+		});
+	}
+
+	@Override
+	public Stream<TransactionReference> getHistoryUncommitted(StorageReference object) {
+		return getHistory(object);
+	}
+
+	@Override
+	public Optional<StorageReference> getManifest() {
+		StorageReference manifest = this.manifest;
+		return manifest != null ? Optional.of(manifest) : base.getManifest();
+	}
+
+	@Override
+	public Optional<StorageReference> getManifestUncommitted() {
+		return getManifest();
+	}
+
+	@Override
+	public Optional<TransactionRequest<?>> getRequest(TransactionReference reference) {
+		TransactionRequest<?> request = requests.get(reference);
+		if (request != null)
+			return Optional.of(request);
+		else
+			return baseCaches != null ? baseCaches.getRequest(reference) : base.getRequest(reference);
+	}
+
+	@Override
+	public void push(TransactionReference reference, TransactionRequest<?> request, String errorMessage) {
+		recordTime(() -> {
+			requests.put(reference, request);
+			errors.put(reference, errorMessage);
+		});
+	}
+
+	@Override
+	protected void setResponse(TransactionReference reference, TransactionRequest<?> request, TransactionResponse response) {
+		recordTime(() -> {
+			requests.put(reference, request);
+			responses.put(reference, response);
+		});
+	}
+
+	@Override
+	protected void setHistory(StorageReference object, Stream<TransactionReference> history) {
+		recordTime(() -> histories.put(object, history.toArray(TransactionReference[]::new)));
+	}
+
+	@Override
+	protected void setManifest(StorageReference manifest) {
+		this.manifest = manifest;
+	}
+}
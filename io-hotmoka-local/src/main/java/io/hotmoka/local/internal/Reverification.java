@@ -92,6 +92,15 @@ public class Reverification {
 		return Optional.ofNullable(reverified.get(transaction));
 	}
 
+	/**
+	 * Determines if some responses have been reverified and not yet replaced into the store.
+	 * 
+	 * @return true if and only if that occurs
+	 */
+	public boolean hasReverifiedResponses() {
+		return !reverified.isEmpty();
+	}
+
 	/**
 	 * Replaces all reverified responses into the store of the node whose jars have been reverified.
 	 */
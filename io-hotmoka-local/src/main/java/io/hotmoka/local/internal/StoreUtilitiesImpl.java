@@ -18,6 +18,7 @@ package io.hotmoka.local.internal;
 
 import java.math.BigInteger;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Level;
@@ -38,6 +39,7 @@ import io.hotmoka.beans.values.StringValue;
 import io.hotmoka.local.NodeCaches;
 import io.hotmoka.local.Store;
 import io.hotmoka.local.StoreUtilities;
+import io.hotmoka.nodes.ConsensusParams;
 
 /**
  * The implementation of an object that provides methods for reconstructing data from the store of a node.
@@ -132,6 +134,16 @@ public class StoreUtilitiesImpl implements StoreUtilities {
 		return getBigIntegerFieldUncommitted(validators, FieldSignature.ABSTRACT_VALIDATORS_CURRENT_SUPPLY_FIELD);
 	}
 
+	@Override
+	public Optional<ConsensusParams> getConsensusParamsUncommitted() {
+		return new GovernanceReader(this).getConsensusParams();
+	}
+
+	@Override
+	public Optional<Map<StorageReference, BigInteger>> getSharesUncommitted(StorageReference validators) {
+		return new GovernanceReader(this).getShares(validators);
+	}
+
 	@Override
 	public String getPublicKeyUncommitted(StorageReference account) {
 		return getStringFieldUncommitted(account, FieldSignature.EOA_PUBLIC_KEY_FIELD);
@@ -190,6 +202,18 @@ public class StoreUtilitiesImpl implements StoreUtilities {
 			.map(update -> (UpdateOfField) update);
 	}
 
+	@Override
+	public Stream<UpdateOfField> getLazyFieldsUncommitted(StorageReference object) {
+		Set<FieldSignature> fieldsAlreadySeen = new HashSet<>();
+		NodeCaches caches = node.getCaches();
+
+		return getStore().getHistoryUncommitted(object)
+			.flatMap(transaction -> enforceHasUpdates(caches.getResponseUncommitted(transaction).get()).getUpdates())
+			.filter(update -> !update.isEager() && update instanceof UpdateOfField && update.object.equals(object) &&
+					fieldsAlreadySeen.add(((UpdateOfField) update).getField()))
+			.map(update -> (UpdateOfField) update);
+	}
+
 	@Override
 	public Optional<UpdateOfField> getLastUpdateToFieldUncommitted(StorageReference object, FieldSignature field) {
 		return getStore().getHistoryUncommitted(object)
@@ -50,7 +50,7 @@ import io.hotmoka.beans.updates.UpdateToNullEager;
 import io.hotmoka.beans.updates.UpdateToNullLazy;
 import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.instrumentation.InstrumentationConstants;
-import io.hotmoka.local.EngineClassLoader;
+import io.hotmoka.local.internal.profiling.UpdatesExtractionEvent;
 import io.hotmoka.local.internal.transactions.AbstractResponseBuilder;
 import io.hotmoka.nodes.DeserializationError;
 
@@ -84,7 +84,15 @@ public class UpdatesExtractorFromRAM {
 	 * @return the updates, sorted
 	 */
 	public Stream<Update> extractUpdatesFrom(Stream<Object> objects) {
-		return new Processor(objects).updates.stream();
+		var event = new UpdatesExtractionEvent();
+		event.begin();
+
+		SortedSet<Update> updates = new Processor(objects).updates;
+
+		event.updates = updates.size();
+		event.commit(builder.getReference(), builder.getRequest());
+
+		return updates.stream();
 	}
 
 	/**
@@ -95,7 +103,7 @@ public class UpdatesExtractorFromRAM {
 		/**
 		 * The class loader for the transaction that uses this extractor.
 		 */
-		private final EngineClassLoader classLoader;
+		private final EngineClassLoaderImpl classLoader;
 
 		/**
 		 * The set of objects to process. This gets expanded as soon as new objects are found to be reachable.
@@ -120,7 +128,7 @@ public class UpdatesExtractorFromRAM {
 		 *                for the objects recursively reachable from them)
 		 */
 		private Processor(Stream<Object> objects) {
-			this.classLoader = builder.classLoader;
+			this.classLoader = (EngineClassLoaderImpl) builder.classLoader;
 			this.workingSet = objects
 				.filter(object -> seen.add(classLoader.getStorageReferenceOf(object)))
 				.collect(Collectors.toList());
@@ -195,7 +203,7 @@ public class UpdatesExtractorFromRAM {
 			 * @param s the value set to the field
 			 */
 			private void addUpdateFor(String fieldDefiningClass, String fieldName, String fieldClassName, Object s) {
-				FieldSignature field = new FieldSignature(fieldDefiningClass, fieldName, new ClassType(fieldClassName));
+				FieldSignature field = classLoader.getFieldSignature(fieldDefiningClass, fieldName, fieldClassName);
 
 				if (s == null)
 					// the field has been set to null
@@ -245,7 +253,7 @@ public class UpdatesExtractorFromRAM {
 			 * @param s the value set to the field
 			 */
 			private void addUpdateFor(String fieldDefiningClass, String fieldName, boolean s) {
-				updates.add(new UpdateOfBoolean(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.BOOLEAN), s));
+				updates.add(new UpdateOfBoolean(storageReference, classLoader.getFieldSignature(fieldDefiningClass, fieldName, BasicTypes.BOOLEAN), s));
 			}
 
 			/**
@@ -256,7 +264,7 @@ public class UpdatesExtractorFromRAM {
 			 * @param s the value set to the field
 			 */
 			private void addUpdateFor(String fieldDefiningClass, String fieldName, byte s) {
-				updates.add(new UpdateOfByte(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.BYTE), s));
+				updates.add(new UpdateOfByte(storageReference, classLoader.getFieldSignature(fieldDefiningClass, fieldName, BasicTypes.BYTE), s));
 			}
 
 			/**
@@ -267,7 +275,7 @@ public class UpdatesExtractorFromRAM {
 			 * @param s the value set to the field
 			 */
 			private void addUpdateFor(String fieldDefiningClass, String fieldName, char s) {
-				updates.add(new UpdateOfChar(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.CHAR), s));
+				updates.add(new UpdateOfChar(storageReference, classLoader.getFieldSignature(fieldDefiningClass, fieldName, BasicTypes.CHAR), s));
 			}
 
 			/**
@@ -278,7 +286,7 @@ public class UpdatesExtractorFromRAM {
 			 * @param s the value set to the field
 			 */
 			private void addUpdateFor(String fieldDefiningClass, String fieldName, double s) {
-				updates.add(new UpdateOfDouble(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.DOUBLE), s));
+				updates.add(new UpdateOfDouble(storageReference, classLoader.getFieldSignature(fieldDefiningClass, fieldName, BasicTypes.DOUBLE), s));
 			}
 
 			/**
@@ -289,7 +297,7 @@ public class UpdatesExtractorFromRAM {
 			 * @param s the value set to the field
 			 */
 			private void addUpdateFor(String fieldDefiningClass, String fieldName, float s) {
-				updates.add(new UpdateOfFloat(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.FLOAT), s));
+				updates.add(new UpdateOfFloat(storageReference, classLoader.getFieldSignature(fieldDefiningClass, fieldName, BasicTypes.FLOAT), s));
 			}
 
 			/**
@@ -300,7 +308,7 @@ public class UpdatesExtractorFromRAM {
 			 * @param s the value set to the field
 			 */
 			private void addUpdateFor(String fieldDefiningClass, String fieldName, int s) {
-				updates.add(new UpdateOfInt(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.INT), s));
+				updates.add(new UpdateOfInt(storageReference, classLoader.getFieldSignature(fieldDefiningClass, fieldName, BasicTypes.INT), s));
 			}
 
 			/**
@@ -311,7 +319,7 @@ public class UpdatesExtractorFromRAM {
 			 * @param s the value set to the field
 			 */
 			private void addUpdateFor(String fieldDefiningClass, String fieldName, long s) {
-				updates.add(new UpdateOfLong(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.LONG), s));
+				updates.add(new UpdateOfLong(storageReference, classLoader.getFieldSignature(fieldDefiningClass, fieldName, BasicTypes.LONG), s));
 			}
 
 			/**
@@ -322,7 +330,7 @@ public class UpdatesExtractorFromRAM {
 			 * @param s the value set to the field
 			 */
 			private void addUpdateFor(String fieldDefiningClass, String fieldName, short s) {
-				updates.add(new UpdateOfShort(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.SHORT), s));
+				updates.add(new UpdateOfShort(storageReference, classLoader.getFieldSignature(fieldDefiningClass, fieldName, BasicTypes.SHORT), s));
 			}
 
 			/**
@@ -334,9 +342,9 @@ public class UpdatesExtractorFromRAM {
 			 */
 			private void addUpdateFor(String fieldDefiningClass, String fieldName, String s) {
 				if (s == null)
-					updates.add(new UpdateToNullEager(storageReference, new FieldSignature(fieldDefiningClass, fieldName, ClassType.STRING)));
+					updates.add(new UpdateToNullEager(storageReference, classLoader.getFieldSignature(fieldDefiningClass, fieldName, ClassType.STRING)));
 				else
-					updates.add(new UpdateOfString(storageReference, new FieldSignature(fieldDefiningClass, fieldName, ClassType.STRING), s));
+					updates.add(new UpdateOfString(storageReference, classLoader.getFieldSignature(fieldDefiningClass, fieldName, ClassType.STRING), s));
 			}
 
 			/**
@@ -347,7 +355,7 @@ public class UpdatesExtractorFromRAM {
 			 * @param bi the value set to the field
 			 */
 			private void addUpdateFor(String fieldDefiningClass, String fieldName, BigInteger bi) {
-				FieldSignature field = new FieldSignature(fieldDefiningClass, fieldName, ClassType.BIG_INTEGER);
+				FieldSignature field = classLoader.getFieldSignature(fieldDefiningClass, fieldName, ClassType.BIG_INTEGER);
 				if (bi == null)
 					updates.add(new UpdateToNullEager(storageReference, field));
 				else
@@ -363,7 +371,7 @@ public class UpdatesExtractorFromRAM {
 			 * @param element the value set to the field
 			 */
 			private void addUpdateFor(String fieldDefiningClass, String fieldName, String fieldClassName, Enum<?> element) {
-				FieldSignature field = new FieldSignature(fieldDefiningClass, fieldName, new ClassType(fieldClassName));
+				FieldSignature field = classLoader.getFieldSignature(fieldDefiningClass, fieldName, fieldClassName);
 				if (element == null)
 					updates.add(new UpdateToNullEager(storageReference, field));
 				else
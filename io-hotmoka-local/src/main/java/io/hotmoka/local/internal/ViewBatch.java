@@ -0,0 +1,357 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import io.hotmoka.beans.CodeExecutionException;
+import io.hotmoka.beans.GasCostModel;
+import io.hotmoka.beans.TransactionException;
+import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.InitialTransactionRequest;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.MethodCallTransactionRequest;
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
+import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.signatures.FieldSignature;
+import io.hotmoka.beans.updates.ClassTag;
+import io.hotmoka.beans.updates.Update;
+import io.hotmoka.beans.updates.UpdateOfField;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.local.Config;
+import io.hotmoka.local.NodeCaches;
+import io.hotmoka.local.Store;
+import io.hotmoka.local.StoreUtilities;
+import io.hotmoka.local.internal.transactions.InstanceViewMethodCallResponseBuilder;
+import io.hotmoka.local.internal.transactions.StaticViewMethodCallResponseBuilder;
+import io.hotmoka.nodes.ConsensusParams;
+
+/**
+ * The context where a batch of calls to {@code @@View} methods is run. It is a view of a node
+ * whose store is assumed not to change while the batch runs: hence the class tags and the fields
+ * of the objects read from the store by a call are kept and given back to the subsequent calls,
+ * that do not need to look for them in the store again. Each call still reconstructs
+ * its own objects in RAM, since calls to {@code @@View} methods modify at least the balance of their payer.
+ * The batch can also run against a past state of the store, that never changes.
+ */
+public class ViewBatch implements NodeInternal {
+
+	/**
+	 * The node where the calls are run.
+	 */
+	private final NodeInternal parent;
+
+	/**
+	 * The store read by the calls.
+	 */
+	private final Store store;
+
+	/**
+	 * The store utilities of {@link #store}, that remember what they read from the store.
+	 */
+	private final StoreUtilities storeUtilities;
+
+	/**
+	 * Builds the context for a batch of calls.
+	 * 
+	 * @param parent the node where the calls are run
+	 */
+	public ViewBatch(NodeInternal parent) {
+		this.parent = parent;
+		this.store = parent.getStore();
+		this.storeUtilities = new MemoizingStoreUtilities(parent.getStoreUtilities());
+	}
+
+	/**
+	 * Builds the context for a batch of calls that read the given store instead of that of the node.
+	 * 
+	 * @param parent the node where the calls are run
+	 * @param store the store read by the calls, for instance a past state of the store of {@code parent}
+	 */
+	public ViewBatch(NodeInternal parent, Store store) {
+		this.parent = parent;
+		this.store = store;
+		this.storeUtilities = new MemoizingStoreUtilities(new StoreUtilitiesImpl(this, store));
+	}
+
+	/**
+	 * Runs a call in this batch.
+	 * 
+	 * @param request the request of the call
+	 * @return the result of the call; this is {@code null} for a call to a {@code void} method
+	 * @throws TransactionRejectedException if the call could not be executed
+	 * @throws TransactionException if the call led to an exception outside the user code in blockchain,
+	 *                              or that is not allowed to be thrown by the method
+	 * @throws CodeExecutionException if the call led to an exception in the user code in blockchain,
+	 *                                that is allowed to be thrown by the method
+	 */
+	public StorageValue run(MethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+		TransactionReference reference = request.getReference();
+
+		if (request instanceof InstanceMethodCallTransactionRequest)
+			return new InstanceViewMethodCallResponseBuilder(reference, (InstanceMethodCallTransactionRequest) request, this).getResponse().getOutcome();
+		else if (request instanceof StaticMethodCallTransactionRequest)
+			return new StaticViewMethodCallResponseBuilder(reference, (StaticMethodCallTransactionRequest) request, this).getResponse().getOutcome();
+		else
+			throw new TransactionRejectedException("unexpected view request of class " + request.getClass().getName());
+	}
+
+	@Override
+	public Config getConfig() {
+		return parent.getConfig();
+	}
+
+	@Override
+	public NodeCaches getCaches() {
+		return parent.getCaches();
+	}
+
+	@Override
+	public GasCostModel getGasCostModel() {
+		return parent.getGasCostModel();
+	}
+
+	@Override
+	public Store getStore() {
+		return store;
+	}
+
+	@Override
+	public StoreUtilities getStoreUtilities() {
+		return storeUtilities;
+	}
+
+	@Override
+	public BigInteger getRequestStorageCost(NonInitialTransactionRequest<?> request) {
+		return parent.getRequestStorageCost(request);
+	}
+
+	@Override
+	public Optional<BigInteger> getProjectedNonce(TransactionReference reference) {
+		return parent.getProjectedNonce(reference);
+	}
+
+	@Override
+	public boolean admitsAfterInitialization(InitialTransactionRequest<?> request) {
+		return parent.admitsAfterInitialization(request);
+	}
+
+	@Override
+	public TransactionRequest<?> getRequest(TransactionReference reference) throws NoSuchElementException {
+		return parent.getRequest(reference);
+	}
+
+	@Override
+	public TransactionResponse getResponse(TransactionReference reference) throws TransactionRejectedException, NoSuchElementException {
+		return parent.getResponse(reference);
+	}
+
+	@Override
+	public ClassTag getClassTag(StorageReference object) throws NoSuchElementException {
+		return parent.getClassTag(object);
+	}
+
+	@Override
+	public StorageValue runInstanceMethodCallTransaction(InstanceMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+		return parent.runInstanceMethodCallTransaction(request);
+	}
+
+	@Override
+	public List<StorageValue> runViewBatch(List<MethodCallTransactionRequest> requests) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+		return parent.runViewBatch(requests);
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		return parent.submit(task);
+	}
+
+	@Override
+	public void submit(Runnable task) {
+		parent.submit(task);
+	}
+
+	/**
+	 * Store utilities that remember the class tags and the fields of the objects that they read.
+	 * The calls of a batch run one after the other, but each in a thread of the executor of the node.
+	 */
+	private static class MemoizingStoreUtilities implements StoreUtilities {
+		private final StoreUtilities parent;
+		private final ConcurrentMap<StorageReference, ClassTag> classTags = new ConcurrentHashMap<>();
+		private final ConcurrentMap<StorageReference, UpdateOfField[]> eagerFields = new ConcurrentHashMap<>();
+		private final ConcurrentMap<StorageReference, UpdateOfField[]> lazyFields = new ConcurrentHashMap<>();
+		private final ConcurrentMap<FieldOfObject, Optional<UpdateOfField>> lastUpdates = new ConcurrentHashMap<>();
+		private final ConcurrentMap<FieldOfObject, Optional<UpdateOfField>> lastUpdatesToFinal = new ConcurrentHashMap<>();
+
+		private MemoizingStoreUtilities(StoreUtilities parent) {
+			this.parent = parent;
+		}
+
+		@Override
+		public boolean nodeIsInitializedUncommitted() {
+			return parent.nodeIsInitializedUncommitted();
+		}
+
+		@Override
+		public Optional<TransactionReference> getTakamakaCodeUncommitted() {
+			return parent.getTakamakaCodeUncommitted();
+		}
+
+		@Override
+		public Optional<StorageReference> getManifestUncommitted() {
+			return parent.getManifestUncommitted();
+		}
+
+		@Override
+		public Optional<StorageReference> getGasStationUncommitted() {
+			return parent.getGasStationUncommitted();
+		}
+
+		@Override
+		public Optional<StorageReference> getValidatorsUncommitted() {
+			return parent.getValidatorsUncommitted();
+		}
+
+		@Override
+		public Optional<StorageReference> getVersionsUncommitted() {
+			return parent.getVersionsUncommitted();
+		}
+
+		@Override
+		public Optional<StorageReference> getGameteUncommitted() {
+			return parent.getGameteUncommitted();
+		}
+
+		@Override
+		public BigInteger getBalanceUncommitted(StorageReference contract) {
+			return parent.getBalanceUncommitted(contract);
+		}
+
+		@Override
+		public BigInteger getRedBalanceUncommitted(StorageReference contract) {
+			return parent.getRedBalanceUncommitted(contract);
+		}
+
+		@Override
+		public BigInteger getTotalBalanceUncommitted(StorageReference contract) {
+			return parent.getTotalBalanceUncommitted(contract);
+		}
+
+		@Override
+		public String getPublicKeyUncommitted(StorageReference account) {
+			return parent.getPublicKeyUncommitted(account);
+		}
+
+		@Override
+		public StorageReference getCreatorUncommitted(StorageReference event) {
+			return parent.getCreatorUncommitted(event);
+		}
+
+		@Override
+		public BigInteger getNonceUncommitted(StorageReference account) {
+			return parent.getNonceUncommitted(account);
+		}
+
+		@Override
+		public BigInteger getCurrentSupplyUncommitted(StorageReference validators) {
+			return parent.getCurrentSupplyUncommitted(validators);
+		}
+
+		@Override
+		public Optional<ConsensusParams> getConsensusParamsUncommitted() {
+			// the fields are read through this object, hence they get memoized
+			return new GovernanceReader(this).getConsensusParams();
+		}
+
+		@Override
+		public Optional<Map<StorageReference, BigInteger>> getSharesUncommitted(StorageReference validators) {
+			return new GovernanceReader(this).getShares(validators);
+		}
+
+		@Override
+		public String getClassNameUncommitted(StorageReference object) {
+			return getClassTagUncommitted(object).clazz.name;
+		}
+
+		@Override
+		public ClassTag getClassTagUncommitted(StorageReference object) {
+			return classTags.computeIfAbsent(object, parent::getClassTagUncommitted);
+		}
+
+		@Override
+		public Stream<UpdateOfField> getEagerFieldsUncommitted(StorageReference object) {
+			return Stream.of(eagerFields.computeIfAbsent(object, _object -> parent.getEagerFieldsUncommitted(_object).toArray(UpdateOfField[]::new)));
+		}
+
+		@Override
+		public Stream<UpdateOfField> getLazyFieldsUncommitted(StorageReference object) {
+			return Stream.of(lazyFields.computeIfAbsent(object, _object -> parent.getLazyFieldsUncommitted(_object).toArray(UpdateOfField[]::new)));
+		}
+
+		@Override
+		public Stream<Update> getStateCommitted(StorageReference object) {
+			return parent.getStateCommitted(object);
+		}
+
+		@Override
+		public Optional<UpdateOfField> getLastUpdateToFieldUncommitted(StorageReference object, FieldSignature field) {
+			return lastUpdates.computeIfAbsent(new FieldOfObject(object, field), _key -> parent.getLastUpdateToFieldUncommitted(object, field));
+		}
+
+		@Override
+		public Optional<UpdateOfField> getLastUpdateToFinalFieldUncommitted(StorageReference object, FieldSignature field) {
+			return lastUpdatesToFinal.computeIfAbsent(new FieldOfObject(object, field), _key -> parent.getLastUpdateToFinalFieldUncommitted(object, field));
+		}
+	}
+
+	/**
+	 * A field of a storage object, used as key of the memoization of the last updates.
+	 */
+	private static class FieldOfObject {
+		private final StorageReference object;
+		private final FieldSignature field;
+
+		private FieldOfObject(StorageReference object, FieldSignature field) {
+			this.object = object;
+			this.field = field;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof FieldOfObject && ((FieldOfObject) other).object.equals(object) && ((FieldOfObject) other).field.equals(field);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(object, field);
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal.profiling;
+
+import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.signatures.CodeSignature;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The flight recorder event for the execution of the Takamaka code called by a transaction,
+ * that is, of a constructor or method of a contract.
+ */
+@Name("io.hotmoka.CodeExecution")
+@Label("Code Execution")
+@Description("Execution of the constructor or method called by a transaction")
+public final class CodeExecutionEvent extends TransactionEvent {
+
+	@Label("Code")
+	@Description("The constructor or method called by the transaction")
+	public String code;
+
+	/**
+	 * The signature of the called code, kept until the event is recorded.
+	 */
+	private final transient CodeSignature signature;
+
+	/**
+	 * Creates the event for the execution of the given code.
+	 * 
+	 * @param signature the signature of the constructor or method being called
+	 */
+	public CodeExecutionEvent(CodeSignature signature) {
+		this.signature = signature;
+	}
+
+	@Override
+	protected void fill(TransactionRequest<?> request) {
+		code = signature.toString();
+	}
+}
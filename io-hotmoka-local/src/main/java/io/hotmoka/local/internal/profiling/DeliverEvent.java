@@ -0,0 +1,62 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal.profiling;
+
+import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.NonInitialTransactionResponse;
+import io.hotmoka.beans.responses.TransactionResponse;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The flight recorder event for the delivery of a transaction: its execution
+ * and the expansion of the store with its response. It reports the gas consumed.
+ * The sizes of the request and of the response are reported by the
+ * {@link TransactionSizeEvent}, that is disabled by default.
+ */
+@Name("io.hotmoka.Deliver")
+@Label("Deliver")
+@Description("Execution of a transaction and expansion of the store with its response")
+public final class DeliverEvent extends TransactionEvent {
+
+	@Label("Gas")
+	@Description("The units of gas consumed for CPU, RAM and storage, or -1 for transactions that do not consume gas")
+	public long gas = -1L;
+
+	/**
+	 * The response of the transaction, kept until the event is recorded.
+	 */
+	private transient TransactionResponse response;
+
+	/**
+	 * Takes note of the response of the delivered transaction.
+	 * 
+	 * @param response the response
+	 */
+	public void setResponse(TransactionResponse response) {
+		this.response = response;
+	}
+
+	@Override
+	protected void fill(TransactionRequest<?> request) {
+		if (response instanceof NonInitialTransactionResponse) {
+			var nonInitial = (NonInitialTransactionResponse) response;
+			gas = nonInitial.gasConsumedForCPU.add(nonInitial.gasConsumedForRAM).add(nonInitial.gasConsumedForStorage).longValue();
+		}
+	}
+}
@@ -0,0 +1,68 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal.profiling;
+
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.TransactionRequest;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event about a phase of the execution of a transaction.
+ * Subclasses are started with {@link #begin()} at the beginning of the phase
+ * and committed with {@link #commit(TransactionReference, TransactionRequest)} at its end.
+ * Their fields are filled only if the event is actually recorded, hence they cost
+ * almost nothing when the flight recorder is off or the event is disabled.
+ */
+@Category({ "Hotmoka", "Transactions" })
+@StackTrace(false)
+public abstract class TransactionEvent extends Event {
+
+	@Label("Transaction")
+	@Description("The hash of the reference of the transaction")
+	public String transaction;
+
+	@Label("Request")
+	@Description("The simple name of the class of the request of the transaction")
+	public String request;
+
+	/**
+	 * Ends and records this event, if it must be recorded.
+	 * 
+	 * @param reference the reference of the transaction
+	 * @param request the request of the transaction
+	 */
+	public final void commit(TransactionReference reference, TransactionRequest<?> request) {
+		if (shouldCommit()) {
+			this.transaction = reference.getHash();
+			this.request = request.getClass().getSimpleName();
+			fill(request);
+			commit();
+		}
+	}
+
+	/**
+	 * Fills the fields specific to this event, just before it gets recorded.
+	 * By default, it does nothing.
+	 * 
+	 * @param request the request of the transaction
+	 */
+	protected void fill(TransactionRequest<?> request) {}
+}
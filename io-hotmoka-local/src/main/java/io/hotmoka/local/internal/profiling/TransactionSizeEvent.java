@@ -0,0 +1,77 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal.profiling;
+
+import java.io.IOException;
+
+import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.TransactionResponse;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The flight recorder event that reports the size of the request and of the response
+ * of a delivered transaction. Computing them requires to marshal both again,
+ * hence this event is disabled by default and must be enabled explicitly in the recording.
+ */
+@Name("io.hotmoka.TransactionSize")
+@Label("Transaction Size")
+@Description("Size of the request and of the response of a delivered transaction")
+@Enabled(false)
+public final class TransactionSizeEvent extends TransactionEvent {
+
+	@Label("Request Size")
+	@DataAmount
+	public long requestSize;
+
+	@Label("Response Size")
+	@DataAmount
+	@Description("The size of the response, or -1 if the transaction was rejected")
+	public long responseSize = -1L;
+
+	/**
+	 * The response of the transaction, kept until the event is recorded.
+	 */
+	private transient TransactionResponse response;
+
+	/**
+	 * Takes note of the response of the delivered transaction.
+	 * Its size is computed only if this event gets recorded.
+	 * 
+	 * @param response the response
+	 */
+	public void setResponse(TransactionResponse response) {
+		this.response = response;
+	}
+
+	@Override
+	protected void fill(TransactionRequest<?> request) {
+		try {
+			requestSize = request.toByteArray().length;
+
+			if (response != null)
+				responseSize = response.toByteArray().length;
+		}
+		catch (IOException e) {
+			// this does not happen since requests and responses are marshalled into memory
+			throw new RuntimeException("unexpected exception", e);
+		}
+	}
+}
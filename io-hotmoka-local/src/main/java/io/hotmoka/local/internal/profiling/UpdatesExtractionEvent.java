@@ -0,0 +1,35 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The flight recorder event for the extraction of the updates to the objects
+ * reachable from some storage objects, at the end of a transaction.
+ */
+@Name("io.hotmoka.UpdatesExtraction")
+@Label("Updates Extraction")
+@Description("Extraction of the updates to the storage objects modified by a transaction")
+public final class UpdatesExtractionEvent extends TransactionEvent {
+
+	@Label("Updates")
+	@Description("The number of updates extracted")
+	public int updates;
+}
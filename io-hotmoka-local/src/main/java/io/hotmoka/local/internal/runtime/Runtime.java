@@ -20,8 +20,6 @@ import java.lang.reflect.InvocationTargetException;
 import java.math.BigInteger;
 import java.util.concurrent.Callable;
 
-import io.hotmoka.beans.signatures.FieldSignature;
-import io.hotmoka.beans.types.ClassType;
 import io.hotmoka.local.EngineClassLoader;
 import io.hotmoka.local.internal.EngineClassLoaderImpl;
 import io.hotmoka.local.internal.transactions.AbstractResponseBuilder;
@@ -69,7 +67,8 @@ public abstract class Runtime {
      */
 	public static Object deserializeLastLazyUpdateFor(Object object, String definingClass, String name, String fieldClassName) {
 		AbstractResponseBuilder<?, ?>.ResponseCreator responseCreator = getResponseCreator();
-		return responseCreator.deserializeLastUpdateFor(responseCreator.getClassLoader().getStorageReferenceOf(object), new FieldSignature(definingClass, name, new ClassType(fieldClassName)));
+		EngineClassLoaderImpl classLoader = responseCreator.getClassLoader();
+		return responseCreator.deserializeLastUpdateFor(classLoader.getStorageReferenceOf(object), classLoader.getFieldSignature(definingClass, name, fieldClassName));
 	}
 
 	/**
@@ -84,7 +83,8 @@ public abstract class Runtime {
      */
 	public static Object deserializeLastLazyUpdateForFinal(Object object, String definingClass, String name, String fieldClassName) {
 		AbstractResponseBuilder<?,?>.ResponseCreator responseCreator = getResponseCreator();
-		return responseCreator.deserializeLastUpdateForFinal(responseCreator.getClassLoader().getStorageReferenceOf(object), new FieldSignature(definingClass, name, new ClassType(fieldClassName)));
+		EngineClassLoaderImpl classLoader = responseCreator.getClassLoader();
+		return responseCreator.deserializeLastUpdateForFinal(classLoader.getStorageReferenceOf(object), classLoader.getFieldSignature(definingClass, name, fieldClassName));
 	}
 
 	/**
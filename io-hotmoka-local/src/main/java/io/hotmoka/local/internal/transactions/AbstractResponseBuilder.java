@@ -18,7 +18,12 @@ package io.hotmoka.local.internal.transactions;
 
 import static io.hotmoka.local.internal.runtime.Runtime.responseCreators;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
@@ -28,6 +33,7 @@ import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.requests.SystemTransactionRequest;
 import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.signatures.CodeSignature;
 import io.hotmoka.beans.signatures.FieldSignature;
 import io.hotmoka.beans.updates.Update;
 import io.hotmoka.beans.updates.UpdateOfField;
@@ -39,6 +45,8 @@ import io.hotmoka.local.internal.EngineClassLoaderImpl;
 import io.hotmoka.local.internal.NodeInternal;
 import io.hotmoka.local.internal.StorageTypeToClass;
 import io.hotmoka.local.internal.UpdatesExtractorFromRAM;
+import io.hotmoka.local.internal.profiling.ClassLoaderEvent;
+import io.hotmoka.local.internal.profiling.CodeExecutionEvent;
 import io.hotmoka.nodes.ConsensusParams;
 import io.hotmoka.nodes.DeserializationError;
 import io.hotmoka.nodes.OutOfGasError;
@@ -95,7 +103,16 @@ public abstract class AbstractResponseBuilder<Request extends TransactionRequest
 			this.reference = reference;
 			this.node = node;
 			this.consensus = node.getCaches().getConsensusParams();
-			this.classLoader = mkClassLoader();
+
+			var event = new ClassLoaderEvent();
+			event.begin();
+			try {
+				this.classLoader = mkClassLoader();
+			}
+			finally {
+				event.commit(reference, request);
+			}
+
 			this.storageTypeToClass = new StorageTypeToClass(this);
 		}
 		catch (Throwable t) {
@@ -108,6 +125,15 @@ public abstract class AbstractResponseBuilder<Request extends TransactionRequest
 		return request;
 	}
 
+	/**
+	 * Yields the reference of the transaction whose response is being built.
+	 * 
+	 * @return the reference
+	 */
+	public final TransactionReference getReference() {
+		return reference;
+	}
+
 	@Override
 	public final EngineClassLoader getClassLoader() {
 		return classLoader;
@@ -164,6 +190,13 @@ public abstract class AbstractResponseBuilder<Request extends TransactionRequest
 		 */
 		private BigInteger nextProgressive = BigInteger.ZERO;
 
+		/**
+		 * The last updates to the lazy fields of the storage objects whose lazy fields
+		 * have been accessed during the transaction. All lazy fields of an object are fetched
+		 * together, at the first access to any of them, with a single scan of the history of the object.
+		 */
+		private final Map<StorageReference, Map<FieldSignature, UpdateOfField>> lazyFields = new HashMap<>();
+
 		protected ResponseCreator() throws TransactionRejectedException {
 			try {
 				this.deserializer = new Deserializer(AbstractResponseBuilder.this, node.getStoreUtilities());
@@ -282,12 +315,19 @@ public abstract class AbstractResponseBuilder<Request extends TransactionRequest
 		 * @return the value of the field
 		 */
 		public final Object deserializeLastUpdateFor(StorageReference object, FieldSignature field) {
-			UpdateOfField update = node.getStoreUtilities().getLastUpdateToFieldUncommitted(object, field)
-				.orElseThrow(() -> new DeserializationError("did not find the last update for " + field + " of " + object));
+			UpdateOfField update = lazyFields.computeIfAbsent(object, this::getLazyFieldsOf).get(field);
+			if (update == null)
+				throw new DeserializationError("did not find the last update for " + field + " of " + object);
 
 			return deserializer.deserialize(update.getValue());
 		}
 
+		private Map<FieldSignature, UpdateOfField> getLazyFieldsOf(StorageReference object) {
+			Map<FieldSignature, UpdateOfField> result = new HashMap<>();
+			node.getStoreUtilities().getLazyFieldsUncommitted(object).forEach(update -> result.put(update.getField(), update));
+			return result;
+		}
+
 		/**
 		 * Yields the latest value for the given field of the object with the given storage reference.
 		 * The field is {@code final}. Conceptually, this method looks for the value of the field
@@ -298,8 +338,12 @@ public abstract class AbstractResponseBuilder<Request extends TransactionRequest
 		 * @return the value of the field
 		 */
 		public final Object deserializeLastUpdateForFinal(StorageReference object, FieldSignature field) {
-			UpdateOfField update = node.getStoreUtilities().getLastUpdateToFinalFieldUncommitted(object, field)
-				.orElseThrow(() -> new DeserializationError("did not find the last update for " + field + " of " + object));
+			// if the lazy fields of the object have been already fetched, the final field is among them
+			Map<FieldSignature, UpdateOfField> fields = lazyFields.get(object);
+			UpdateOfField update = fields != null ? fields.get(field) : null;
+			if (update == null)
+				update = node.getStoreUtilities().getLastUpdateToFinalFieldUncommitted(object, field)
+					.orElseThrow(() -> new DeserializationError("did not find the last update for " + field + " of " + object));
 
 			return deserializer.deserialize(update.getValue());
 		}
@@ -338,6 +382,52 @@ public abstract class AbstractResponseBuilder<Request extends TransactionRequest
 			return updatesExtractor.extractUpdatesFrom(objects);
 		}
 
+		/**
+		 * Calls the given method of Takamaka code, taking note of the time spent in its execution.
+		 * 
+		 * @param signature the signature of the method, as reported in the request
+		 * @param method the method
+		 * @param receiver the receiver of the call, if any
+		 * @param actuals the actual arguments of the call
+		 * @return the result of the call
+		 * @throws IllegalAccessException if the method cannot be accessed
+		 * @throws InvocationTargetException if the method throws an exception
+		 */
+		protected final Object invoke(CodeSignature signature, Method method, Object receiver, Object[] actuals) throws IllegalAccessException, InvocationTargetException {
+			var event = new CodeExecutionEvent(signature);
+			event.begin();
+
+			try {
+				return method.invoke(receiver, actuals);
+			}
+			finally {
+				event.commit(reference, request);
+			}
+		}
+
+		/**
+		 * Calls the given constructor of Takamaka code, taking note of the time spent in its execution.
+		 * 
+		 * @param signature the signature of the constructor, as reported in the request
+		 * @param constructor the constructor
+		 * @param actuals the actual arguments of the call
+		 * @return the object created by the constructor
+		 * @throws InstantiationException if the class of the constructor is abstract
+		 * @throws IllegalAccessException if the constructor cannot be accessed
+		 * @throws InvocationTargetException if the constructor throws an exception
+		 */
+		protected final Object newInstance(CodeSignature signature, Constructor<?> constructor, Object[] actuals) throws InstantiationException, IllegalAccessException, InvocationTargetException {
+			var event = new CodeExecutionEvent(signature);
+			event.begin();
+
+			try {
+				return constructor.newInstance(actuals);
+			}
+			finally {
+				event.commit(reference, request);
+			}
+		}
+
 		/**
 		 * A task that executes Takamaka code as part of this transaction.
 		 * It sets the response creator in the thread-local of the runtime.
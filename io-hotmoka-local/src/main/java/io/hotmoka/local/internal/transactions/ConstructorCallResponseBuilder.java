@@ -105,7 +105,7 @@ public class ConstructorCallResponseBuilder extends CodeCallResponseBuilder<Cons
 		
 				Object result;
 				try {
-					result = constructorJVM.newInstance(deserializedActuals);
+					result = newInstance(request.constructor, constructorJVM, deserializedActuals);
 				}
 				catch (InvocationTargetException e) {
 					Throwable cause = e.getCause();
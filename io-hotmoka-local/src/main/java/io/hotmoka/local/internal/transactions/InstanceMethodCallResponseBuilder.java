@@ -211,7 +211,7 @@ public class InstanceMethodCallResponseBuilder extends MethodCallResponseBuilder
 
 				Object result;
 				try {
-					result = methodJVM.invoke(deserializedReceiver, deserializedActuals);
+					result = invoke(request.method, methodJVM, deserializedReceiver, deserializedActuals);
 				}
 				catch (InvocationTargetException e) {
 					Throwable cause = e.getCause();
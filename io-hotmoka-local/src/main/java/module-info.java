@@ -31,4 +31,5 @@ module io.hotmoka.local {
 	requires io.hotmoka.constants;
 	requires io.hotmoka.whitelisting;
 	requires java.logging;
+	requires jdk.jfr;
 }
\ No newline at end of file
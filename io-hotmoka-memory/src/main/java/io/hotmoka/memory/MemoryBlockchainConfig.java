@@ -31,16 +31,26 @@ public class MemoryBlockchainConfig extends Config {
 	 */
 	public final int transactionsPerBlock;
 
+	/**
+	 * True if and only if a textual representation of the request and response of each
+	 * transaction gets written into a directory for each transaction, for debugging.
+	 * It defaults to false.
+	 */
+	public final boolean dumpsTransactions;
+
 	/**
 	 * Full constructor for the builder pattern.
 	 * 
 	 * @param transactionsPerBlock the number of transactions that fit inside a block.
 	 *                             It defaults to 5.
+	 * @param dumpsTransactions true if and only if a textual representation of each transaction
+	 *                          gets written to disk. It defaults to false
 	 */
-	protected MemoryBlockchainConfig(io.hotmoka.local.Config superConfig, int transactionsPerBlock) {
+	protected MemoryBlockchainConfig(io.hotmoka.local.Config superConfig, int transactionsPerBlock, boolean dumpsTransactions) {
 		super(superConfig);
 
 		this.transactionsPerBlock = transactionsPerBlock;
+		this.dumpsTransactions = dumpsTransactions;
 	}
 
 	/**
@@ -53,9 +63,14 @@ public class MemoryBlockchainConfig extends Config {
 		 */
 		private int transactionsPerBlock = 5;
 
+		/**
+		 * True if and only if a textual representation of each transaction gets written to disk.
+		 */
+		private boolean dumpsTransactions;
+
 		@Override
 		public MemoryBlockchainConfig build() {
-			return new MemoryBlockchainConfig(super.build(), transactionsPerBlock);
+			return new MemoryBlockchainConfig(super.build(), transactionsPerBlock, dumpsTransactions);
 		}
 
 		/**
@@ -70,6 +85,19 @@ public class MemoryBlockchainConfig extends Config {
 			return this;
 		}
 
+		/**
+		 * Specifies to write a textual representation of the request and response of each
+		 * transaction into a directory for each transaction, for debugging.
+		 * It defaults to false.
+		 * 
+		 * @param dumpsTransactions true if and only if transactions must be dumped
+		 * @return this builder
+		 */
+		public Builder setDumpsTransactions(boolean dumpsTransactions) {
+			this.dumpsTransactions = dumpsTransactions;
+			return this;
+		}
+
 		@Override
 		protected Builder getThis() {
 			return this;
@@ -17,6 +17,8 @@ limitations under the License.
 package io.hotmoka.memory.internal;
 
 import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -26,6 +28,7 @@ import io.hotmoka.beans.nodes.NodeInfo;
 import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponseWithEvents;
+import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.constants.Constants;
 import io.hotmoka.local.AbstractLocalNode;
 import io.hotmoka.memory.MemoryBlockchain;
@@ -115,6 +118,26 @@ public class MemoryBlockchainImpl extends AbstractLocalNode<MemoryBlockchainConf
 			MemoryBlockchainImpl.this.checkTransaction(request);
 		}
 
+		@Override
+		public void checkTransaction(TransactionRequest<?> request, BigInteger projectedNonce) throws TransactionRejectedException {
+			MemoryBlockchainImpl.this.checkTransaction(request, projectedNonce);
+		}
+
+		@Override
+		public BigInteger getNonce(StorageReference account) {
+			return storeUtilities.getNonceUncommitted(account);
+		}
+
+		@Override
+		public void verifySignatures(List<TransactionRequest<?>> requests) {
+			caches.verifySignatures(requests);
+		}
+
+		@Override
+		public void prefetch(TransactionRequest<?> request) {
+			MemoryBlockchainImpl.this.prefetch(request);
+		}
+
 		@Override
 		public TransactionResponse deliverTransaction(TransactionRequest<?> request) throws TransactionRejectedException {
 			return MemoryBlockchainImpl.this.deliverTransaction(request);
@@ -16,9 +16,13 @@ limitations under the License.
 
 package io.hotmoka.memory.internal;
 
+import java.math.BigInteger;
+import java.util.List;
+
 import io.hotmoka.beans.TransactionRejectedException;
 import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.memory.MemoryBlockchainConfig;
 
 /**
@@ -42,6 +46,40 @@ public interface MemoryBlockchainInternal {
 	 */
 	void checkTransaction(TransactionRequest<?> request) throws TransactionRejectedException;
 
+	/**
+	 * Checks that the given transaction request is valid, assuming that its
+	 * caller has the given nonce, instead of the nonce that it has in store.
+	 * 
+	 * @param request the request
+	 * @param projectedNonce the nonce that the caller of {@code request} is expected to have
+	 * @throws TransactionRejectedException if the request is not valid
+	 */
+	void checkTransaction(TransactionRequest<?> request, BigInteger projectedNonce) throws TransactionRejectedException;
+
+	/**
+	 * Yields the nonce of the given account in the store of the node.
+	 * 
+	 * @param account the account
+	 * @return the nonce
+	 */
+	BigInteger getNonce(StorageReference account);
+
+	/**
+	 * Verifies, in batch, the signatures of the given requests, so that their
+	 * subsequent checking does not need to verify them again.
+	 * 
+	 * @param requests the requests
+	 */
+	void verifySignatures(List<TransactionRequest<?>> requests);
+
+	/**
+	 * Warms up, in background, the caches of the node for the delivery of the given request,
+	 * that is expected to occur soon.
+	 * 
+	 * @param request the request
+	 */
+	void prefetch(TransactionRequest<?> request);
+
 	/**
 	 * Builds a response for the given request and adds it to the store of the node.
 	 * 
@@ -16,20 +16,69 @@ limitations under the License.
 
 package io.hotmoka.memory.internal;
 
+import static java.math.BigInteger.ONE;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
 import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.nodes.metrics.Metrics;
 
 /**
  * A mempool receives transaction requests and schedules them for execution,
- * respecting the order in which they have been proposed.
+ * respecting the order in which they have been proposed. Requests of the same caller
+ * are moreover scheduled in increasing order of nonce: a request whose nonce is
+ * ahead of the next nonce of its caller waits in a queue of the caller, until the requests
+ * with the missing nonces arrive or until it expires. The next nonce of a caller is
+ * projected from the requests that have been checked but not yet delivered, so that
+ * a caller can send many requests, with consecutive nonces, without waiting for their delivery.
  */
 class Mempool {
 	public final static int MAX_CAPACITY = 200_000;
+
+	/**
+	 * The maximal number of requests whose signatures are verified together.
+	 */
+	private final static int MAX_BATCH_SIZE = 500;
+
+	/**
+	 * The number of checked requests, waiting for delivery, whose state gets prefetched.
+	 */
+	private final static int LOOKAHEAD = 16;
+
+	/**
+	 * The milliseconds after which a request waiting for the missing nonces of its caller gets rejected.
+	 */
+	private final static long PENDING_TIMEOUT = 30_000L;
+
+	/**
+	 * The milliseconds between two successive looks for expired waiting requests.
+	 */
+	private final static long SWEEP_INTERVAL = 1_000L;
+
+	/**
+	 * The names of the queues whose size is reported, in the order of {@link #gauges}.
+	 */
+	private final static String[] QUEUES = { "unchecked", "checked", "pending" };
+
 	private final static Logger logger = Logger.getLogger(Mempool.class.getName());
 
 	/**
@@ -42,6 +91,23 @@ class Mempool {
 	 */
 	private final BlockingQueue<TransactionRequest<?>> checkedMempool = new LinkedBlockingDeque<>(MAX_CAPACITY);
 
+	/**
+	 * The requests that wait for the missing nonces of their caller, for each caller,
+	 * in increasing order of nonce. This is only accessed by the checking thread.
+	 */
+	private final Map<StorageReference, TreeMap<BigInteger, Pending>> pending = new HashMap<>();
+
+	/**
+	 * The number of requests in {@link #pending}.
+	 */
+	private final AtomicInteger pendingSize = new AtomicInteger();
+
+	/**
+	 * The next nonce of the callers that have requests checked but not yet delivered.
+	 * The other callers must be looked for in the store of the node.
+	 */
+	private final ConcurrentMap<StorageReference, BigInteger> projectedNonces = new ConcurrentHashMap<>();
+
 	/**
 	 * The node for which requests are executed.
 	 */
@@ -57,6 +123,28 @@ class Mempool {
 	 */
 	private final Thread deliverer;
 
+	/**
+	 * The suppliers of the sizes of the queues of this mempool, reported as gauges.
+	 */
+	private final DoubleSupplier[] gauges;
+
+	/**
+	 * A request that waits for the missing nonces of its caller.
+	 */
+	private static class Pending {
+		private final NonInitialTransactionRequest<?> request;
+
+		/**
+		 * The time when the request started waiting.
+		 */
+		private final long since;
+
+		private Pending(NonInitialTransactionRequest<?> request) {
+			this.request = request;
+			this.since = System.currentTimeMillis();
+		}
+	}
+
 	/**
 	 * Builds a mempool.
 	 * 
@@ -64,6 +152,15 @@ class Mempool {
 	 */
 	Mempool(MemoryBlockchainInternal node) {
 		this.node = node;
+
+		// the last mempool created in the process is the one that gets reported
+		var mempool = this.mempool;
+		var checkedMempool = this.checkedMempool;
+		var pendingSize = this.pendingSize;
+		this.gauges = new DoubleSupplier[] { mempool::size, checkedMempool::size, pendingSize::get };
+		for (int pos = 0; pos < QUEUES.length; pos++)
+			Metrics.gauge("hotmoka_mempool_size", "queue=\"" + QUEUES[pos] + "\"", "the requests waiting in the mempool", gauges[pos]);
+
 		this.checker = new Thread(this::check);
 		this.checker.start();
 		this.deliverer = new Thread(this::deliver);
@@ -86,29 +183,48 @@ class Mempool {
 	public void stop() {
 		checker.interrupt();
 		deliverer.interrupt();
+
+		// the gauges must not keep this mempool alive nor report it after it has been stopped
+		for (int pos = 0; pos < QUEUES.length; pos++)
+			Metrics.unregisterGauge("hotmoka_mempool_size", "queue=\"" + QUEUES[pos] + "\"", gauges[pos]);
 	}
 
 	/**
-	 * The body of the checking thread. Its pops a request from the mempool and checks it.
+	 * The body of the checking thread. Its pops the available requests from the mempool,
+	 * verifies their signatures together and then checks them, in order, or lets them
+	 * wait for the missing nonces of their caller.
 	 */
 	private void check() {
+		List<TransactionRequest<?>> batch = new ArrayList<>();
+		long lastSweep = System.currentTimeMillis();
+
 		while (!Thread.currentThread().isInterrupted()) {
 			try {
-				TransactionRequest<?> current = mempool.take();
+				TransactionRequest<?> first = mempool.poll(SWEEP_INTERVAL, TimeUnit.MILLISECONDS);
+				if (first != null) {
+					batch.add(first);
+					mempool.drainTo(batch, MAX_BATCH_SIZE - 1);
 
-				try {
-					node.checkTransaction(current);
-					if (!checkedMempool.offer(current)) {
-						deliverer.interrupt();
-						throw new IllegalStateException("mempool overflow");
+					if (batch.size() > 1) {
+						try {
+							node.verifySignatures(batch);
+						}
+						catch (Throwable t) {
+							logger.log(Level.WARNING, "Failed to verify the signatures of a batch of transaction requests", t);
+						}
 					}
+
+					for (TransactionRequest<?> current: batch)
+						schedule(current);
+
+					batch.clear();
 				}
-				catch (TransactionRejectedException e) {
-					// already logged
+
+				long now = System.currentTimeMillis();
+				if (now - lastSweep >= SWEEP_INTERVAL) {
+					sweep(now);
+					lastSweep = now;
 				}
-	            catch (Throwable t) {
-	            	logger.log(Level.WARNING, "Failed to check transaction request", t);
-	    		}
 			}
 			catch (InterruptedException e) {
 				return;
@@ -116,6 +232,152 @@ class Mempool {
 		}
 	}
 
+	/**
+	 * Checks the given request, if its nonce is not ahead of the next nonce of its caller,
+	 * or otherwise lets it wait for the missing nonces.
+	 * 
+	 * @param request the request
+	 * @throws InterruptedException if the checking thread has been interrupted
+	 */
+	private void schedule(TransactionRequest<?> request) throws InterruptedException {
+		if (request instanceof NonInitialTransactionRequest<?>) {
+			var nonInitial = (NonInitialTransactionRequest<?>) request;
+			StorageReference caller = nonInitial.caller;
+			Optional<BigInteger> expected = projectedNonceOf(caller);
+
+			if (expected.isPresent() && nonInitial.nonce.compareTo(expected.get()) > 0)
+				waitForMissingNonces(nonInitial);
+			else {
+				checkAndForward(request, expected);
+				release(caller);
+			}
+		}
+		else
+			checkAndForward(request, Optional.empty());
+	}
+
+	/**
+	 * Lets the given request wait for the missing nonces of its caller.
+	 * A request with the same nonce of another waiting request, or that cannot
+	 * wait since there are too many waiting requests, is checked immediately,
+	 * which will reject it.
+	 * 
+	 * @param request the request
+	 * @throws InterruptedException if the checking thread has been interrupted
+	 */
+	private void waitForMissingNonces(NonInitialTransactionRequest<?> request) throws InterruptedException {
+		if (pendingSize.get() < MAX_CAPACITY
+				&& pending.computeIfAbsent(request.caller, _caller -> new TreeMap<>()).putIfAbsent(request.nonce, new Pending(request)) == null)
+			pendingSize.incrementAndGet();
+		else
+			checkAndForward(request, Optional.empty());
+	}
+
+	/**
+	 * Checks, in order of nonce, the waiting requests of the given caller
+	 * that are no more ahead of its next nonce.
+	 * 
+	 * @param caller the caller
+	 * @throws InterruptedException if the checking thread has been interrupted
+	 */
+	private void release(StorageReference caller) throws InterruptedException {
+		TreeMap<BigInteger, Pending> queue = pending.get(caller);
+		if (queue == null)
+			return;
+
+		while (!queue.isEmpty()) {
+			Optional<BigInteger> expected = projectedNonceOf(caller);
+			if (expected.isPresent() && queue.firstKey().compareTo(expected.get()) > 0)
+				break;
+
+			pendingSize.decrementAndGet();
+			checkAndForward(queue.pollFirstEntry().getValue().request, expected);
+		}
+
+		if (queue.isEmpty())
+			pending.remove(caller);
+	}
+
+	/**
+	 * Releases the waiting requests whose missing nonces have been provided
+	 * in the meanwhile and rejects those that have been waiting for too long.
+	 * 
+	 * @param now the current time
+	 * @throws InterruptedException if the checking thread has been interrupted
+	 */
+	private void sweep(long now) throws InterruptedException {
+		for (StorageReference caller: new ArrayList<>(pending.keySet())) {
+			release(caller);
+
+			TreeMap<BigInteger, Pending> queue = pending.get(caller);
+			if (queue != null) {
+				for (Iterator<Pending> it = queue.values().iterator(); it.hasNext(); ) {
+					Pending next = it.next();
+					if (now - next.since >= PENDING_TIMEOUT) {
+						it.remove();
+						pendingSize.decrementAndGet();
+						// the request is checked against the store, which rejects it and wakes up who is waiting for its outcome
+						checkAndForward(next.request, Optional.empty());
+					}
+				}
+
+				if (queue.isEmpty())
+					pending.remove(caller);
+			}
+		}
+	}
+
+	/**
+	 * Checks the given request and, if it is valid, forwards it to the delivering thread.
+	 * 
+	 * @param request the request
+	 * @param expected the nonce that the caller of the request is expected to have, if it is known
+	 * @throws InterruptedException if the checking thread has been interrupted
+	 */
+	private void checkAndForward(TransactionRequest<?> request, Optional<BigInteger> expected) throws InterruptedException {
+		try {
+			if (expected.isPresent()) {
+				node.checkTransaction(request, expected.get());
+				var nonInitial = (NonInitialTransactionRequest<?>) request;
+				projectedNonces.put(nonInitial.caller, nonInitial.nonce.add(ONE));
+			}
+			else
+				node.checkTransaction(request);
+
+			if (!checkedMempool.offer(request)) {
+				deliverer.interrupt();
+				throw new IllegalStateException("mempool overflow");
+			}
+		}
+		catch (TransactionRejectedException e) {
+			// already logged
+		}
+		catch (Throwable t) {
+			logger.log(Level.WARNING, "Failed to check transaction request", t);
+		}
+	}
+
+	/**
+	 * Yields the next nonce of the given caller, taking into account
+	 * the requests that have been checked but not yet delivered.
+	 * 
+	 * @param caller the caller
+	 * @return the next nonce; this is empty if it cannot be determined, for instance
+	 *         because {@code caller} is not an account
+	 */
+	private Optional<BigInteger> projectedNonceOf(StorageReference caller) {
+		BigInteger projected = projectedNonces.get(caller);
+		if (projected != null)
+			return Optional.of(projected);
+
+		try {
+			return Optional.of(node.getNonce(caller));
+		}
+		catch (RuntimeException e) {
+			return Optional.empty();
+		}
+	}
+
 	/**
 	 * The body of the thread that executes requests. Its pops a request from the checked mempool and executes it.
 	 */
@@ -126,15 +388,21 @@ class Mempool {
 		while (!Thread.currentThread().isInterrupted()) {
 			try {
 				TransactionRequest<?> current = checkedMempool.take();
+				prefetchNext();
 
 				try {
 					node.deliverTransaction(current);
+					delivered(current);
 					counter = (counter + 1) % transactionsPerBlock;
 					// the last transaction of a block is for rewarding the validators and updating the gas price
 					if (counter == transactionsPerBlock - 1 && node.rewardValidators("", ""))
 						counter = 0;
 				}
 	            catch (Throwable t) {
+	            	// the nonce of the caller has not been increased: its next requests will be checked against the store
+	            	if (current instanceof NonInitialTransactionRequest<?>)
+	            		projectedNonces.remove(((NonInitialTransactionRequest<?>) current).caller);
+
 	            	logger.log(Level.WARNING, "Failed to deliver transaction request", t);
 	    		}
 			}
@@ -143,4 +411,31 @@ class Mempool {
 			}
 		}
 	}
+
+	/**
+	 * Prefetches the state needed by the next checked requests, while the current request gets delivered.
+	 */
+	private void prefetchNext() {
+		int count = 0;
+		for (TransactionRequest<?> next: checkedMempool) {
+			if (count++ == LOOKAHEAD)
+				break;
+
+			node.prefetch(next);
+		}
+	}
+
+	/**
+	 * Takes note that the given request has been delivered. If it was the last
+	 * checked request of its caller, the store has caught up with the projected
+	 * nonce of the caller, that is consequently forgotten.
+	 * 
+	 * @param request the request
+	 */
+	private void delivered(TransactionRequest<?> request) {
+		if (request instanceof NonInitialTransactionRequest<?>) {
+			var nonInitial = (NonInitialTransactionRequest<?>) request;
+			projectedNonces.remove(nonInitial.caller, nonInitial.nonce.add(ONE));
+		}
+	}
 }
\ No newline at end of file
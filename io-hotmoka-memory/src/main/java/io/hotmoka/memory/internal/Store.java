@@ -32,8 +32,6 @@ import java.util.logging.Level;
 import java.util.stream.Stream;
 
 import io.hotmoka.annotations.ThreadSafe;
-import io.hotmoka.beans.marshalling.BeanMarshallingContext;
-import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.beans.responses.TransactionResponse;
@@ -42,13 +40,25 @@ import io.hotmoka.local.AbstractStore;
 import io.hotmoka.memory.MemoryBlockchainConfig;
 
 /**
- * The store of the memory blockchain. It is not transactional and just writes
- * everything immediately into files. It keeps responses into persistent memory,
- * while the histories are kept in RAM.
+ * The store of the memory blockchain. It is not transactional and just appends
+ * requests and responses to a log on disk, immediately. It keeps responses into persistent memory,
+ * while the histories are kept in RAM. If required by the configuration, it also
+ * dumps a textual representation of requests and responses into a directory for each transaction.
  */
 @ThreadSafe
 class Store extends AbstractStore<MemoryBlockchainConfig> {
 
+	/**
+	 * The log where requests and responses are appended.
+	 */
+	private final TransactionLog log;
+
+	/**
+	 * True if and only if this store is a clone of another store. Clones share
+	 * the log of their parent, hence they do not close it.
+	 */
+	private final boolean isClone;
+
 	/**
 	 * The histories of the objects created in blockchain. In a real implementation, this must
 	 * be stored in a persistent state.
@@ -75,7 +85,7 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 	/**
 	 * A map from the transactions added to the store to their progressive number.
 	 * This is needed in order to give a nice presentation of transactions, inside a
-	 * directory for its block.
+	 * directory for its block. It is only used if transactions get dumped.
 	 */
 	private final ConcurrentMap<TransactionReference, Integer> progressive;
 
@@ -87,6 +97,16 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
     Store(MemoryBlockchainImpl node) {
     	super(node);
 
+    	try {
+    		this.log = new TransactionLog(config.dir.resolve("log"));
+    	}
+    	catch (IOException e) {
+    		logger.log(Level.SEVERE, "cannot create the transaction log", e);
+    		throw new RuntimeException("cannot create the transaction log", e);
+    	}
+
+    	this.isClone = false;
+
     	this.histories = new ConcurrentHashMap<>();
     	this.errors = new ConcurrentHashMap<>();
     	this.progressive = new ConcurrentHashMap<>();
@@ -100,6 +120,8 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
     Store(Store parent) {
     	super(parent);
 
+    	this.log = parent.log;
+    	this.isClone = true;
     	this.histories = parent.histories;
     	this.errors = parent.errors;
     	this.manifest.set(parent.manifest.get());
@@ -107,6 +129,21 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
     	this.progressive = parent.progressive;
     }
 
+    @Override
+    public void close() {
+    	// the log is owned by the parent of a clone
+    	if (!isClone) {
+    		try {
+    			log.close();
+    		}
+    		catch (IOException e) {
+    			logger.log(Level.WARNING, "cannot close the transaction log", e);
+    		}
+    	}
+
+    	super.close();
+    }
+
     @Override
 	public long getNow() {
 		return System.currentTimeMillis();
@@ -114,17 +151,11 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 
 	@Override
     public Optional<TransactionResponse> getResponse(TransactionReference reference) {
-    	return recordTimeSynchronized(() -> {
+    	return recordTime(() -> {
     		try {
-    			Path response = getPathFor(reference, "response");
-    			try (var context = new BeanUnmarshallingContext(Files.newInputStream(response))) {
-    				return Optional.of(TransactionResponse.from(context));
-    			}
+    			return log.getResponse(reference);
     		}
-    		catch (IOException e) {
-    			return Optional.empty();
-    		}
-    		catch (ClassNotFoundException e) {
+    		catch (IOException | ClassNotFoundException e) {
     			logger.warning("unexpected exception " + e);
     			throw new RuntimeException("cannot get the response of transaction " + reference, e);
     		}
@@ -167,17 +198,11 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 	@Override
 	public Optional<TransactionRequest<?>> getRequest(TransactionReference reference) {
 		try {
-			Path response = getPathFor(reference, "request");
-			try (var context = new BeanUnmarshallingContext(Files.newInputStream(response))) {
-				return Optional.of(TransactionRequest.from(context));
-			}
-		}
-		catch (IOException e) {
-			return Optional.empty();
+			return log.getRequest(reference);
 		}
-		catch (ClassNotFoundException e) {
+		catch (IOException | ClassNotFoundException e) {
 			logger.warning("unexpected exception " + e);
-			throw new RuntimeException("cannot find the response of transaction " + reference, e);
+			throw new RuntimeException("cannot find the request of transaction " + reference, e);
 		}
 	}
 
@@ -185,27 +210,11 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 	protected void setResponse(TransactionReference reference, TransactionRequest<?> request, TransactionResponse response) {
 		recordTime(() -> {
 			try {
-				progressive.computeIfAbsent(reference, _reference -> transactionsCount.getAndIncrement());
-				Path requestPath = getPathFor(reference, "request");
-				Path parent = requestPath.getParent();
-				ensureDeleted(parent);
-				Files.createDirectories(parent);
-
-				try (var output = new PrintWriter(Files.newBufferedWriter(getPathFor(reference, "response.txt")))) {
-					output.print(response);
-				}
-
-				try (var output = new PrintWriter(Files.newBufferedWriter(getPathFor(reference, "request.txt")))) {
-					output.print(request);
-				}
-
-				try (var context = new BeanMarshallingContext(Files.newOutputStream(requestPath))) {
-					request.into(context);
-				}
-
-				try (var context = new BeanMarshallingContext(Files.newOutputStream(getPathFor(reference, "response")))) {
-					response.into(context);
-				}
+				log.add(reference, request);
+				log.add(reference, response);
+
+				if (config.dumpsTransactions)
+					dump(reference, request, response);
 			}
 			catch (IOException e) {
 				logger.log(Level.WARNING, "unexpected exception", e);
@@ -228,19 +237,10 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 	public void push(TransactionReference reference, TransactionRequest<?> request, String errorMessage) {
 		recordTime(() -> {
 			try {
-				progressive.computeIfAbsent(reference, _reference -> transactionsCount.getAndIncrement());
-				Path requestPath = getPathFor(reference, "request");
-				Path parent = requestPath.getParent();
-				ensureDeleted(parent);
-				Files.createDirectories(parent);
-
-				try (var output = new PrintWriter(Files.newBufferedWriter(getPathFor(reference, "request.txt")))) {
-					output.print(request);
-				}
-
-				try (var context = new BeanMarshallingContext(Files.newOutputStream(requestPath))) {
-					request.into(context);
-				}
+				log.add(reference, request);
+
+				if (config.dumpsTransactions)
+					dump(reference, request, null);
 			}
 			catch (IOException e) {
 				logger.log(Level.WARNING, "unexpected exception", e);
@@ -251,6 +251,32 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 		errors.put(reference, errorMessage);
 	}
 
+	/**
+	 * Writes the textual representation of the given request and response inside
+	 * the directory for the given transaction.
+	 * 
+	 * @param reference the reference of the transaction
+	 * @param request the request of the transaction
+	 * @param response the response of the transaction; this is {@code null} if the transaction failed
+	 * @throws IOException if a disk error occurs
+	 */
+	private void dump(TransactionReference reference, TransactionRequest<?> request, TransactionResponse response) throws IOException {
+		progressive.computeIfAbsent(reference, _reference -> transactionsCount.getAndIncrement());
+		Path requestPath = getPathFor(reference, "request.txt");
+		Path parent = requestPath.getParent();
+		ensureDeleted(parent);
+		Files.createDirectories(parent);
+
+		if (response != null)
+			try (var output = new PrintWriter(Files.newBufferedWriter(getPathFor(reference, "response.txt")))) {
+				output.print(response);
+			}
+
+		try (var output = new PrintWriter(Files.newBufferedWriter(requestPath))) {
+			output.print(request);
+		}
+	}
+
 	/**
 	 * Yields the path for a file inside the directory for the given transaction.
 	 * 
@@ -0,0 +1,251 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.memory.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.hotmoka.annotations.ThreadSafe;
+import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.TransactionResponse;
+
+/**
+ * An append-only log of the requests and responses of the transactions of a memory blockchain.
+ * Records are appended at the end of the last of a sequence of segment files,
+ * and a new segment is started when the last one is full. An index in RAM
+ * maps each transaction to the position of its request and of its response in the log.
+ * Records are never modified: a response replaced later is just appended again,
+ * and the index is updated to point to the new copy. Reads use positional I/O,
+ * hence they do not contend with appends.
+ */
+@ThreadSafe
+public class TransactionLog implements AutoCloseable {
+
+	/**
+	 * The size of the segments, after which a new segment is started, by default.
+	 */
+	private final static long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+	/**
+	 * The kinds of the records, written in their header.
+	 */
+	private final static byte REQUEST = 0, RESPONSE = 1;
+
+	/**
+	 * The size of the header of each record: its kind and its length.
+	 */
+	private final static int HEADER_SIZE = 1 + 4;
+
+	/**
+	 * The directory where the segments are kept.
+	 */
+	private final Path dir;
+
+	/**
+	 * The size of the segments, after which a new segment is started.
+	 */
+	private final long segmentSize;
+
+	/**
+	 * The segments of the log, in order of creation. Only the last one is appended to.
+	 */
+	private final List<FileChannel> segments = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The position in the log of the request of each transaction.
+	 */
+	private final ConcurrentMap<TransactionReference, Location> requests = new ConcurrentHashMap<>();
+
+	/**
+	 * The position in the log of the response of each transaction.
+	 */
+	private final ConcurrentMap<TransactionReference, Location> responses = new ConcurrentHashMap<>();
+
+	/**
+	 * The size of the last segment. Guarded by {@code this}.
+	 */
+	private long sizeOfLastSegment;
+
+	/**
+	 * The position of a record in the log.
+	 */
+	private static class Location {
+		private final int segment;
+		private final long offset;
+		private final int length;
+
+		private Location(int segment, long offset, int length) {
+			this.segment = segment;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * Creates an empty log in the given directory.
+	 *
+	 * @param dir the directory, that gets created if missing
+	 * @throws IOException if the log cannot be created
+	 */
+	public TransactionLog(Path dir) throws IOException {
+		this(dir, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Creates an empty log in the given directory, with segments of the given size.
+	 * Records larger than a segment get a segment of their own.
+	 *
+	 * @param dir the directory, that gets created if missing
+	 * @param segmentSize the size of the segments, after which a new segment is started
+	 * @throws IOException if the log cannot be created
+	 */
+	public TransactionLog(Path dir, long segmentSize) throws IOException {
+		if (segmentSize < 1L)
+			throw new IllegalArgumentException("the size of the segments must be positive");
+
+		this.dir = dir;
+		this.segmentSize = segmentSize;
+		Files.createDirectories(dir);
+		startNewSegment();
+	}
+
+	/**
+	 * Appends the given request to this log.
+	 *
+	 * @param reference the reference of the transaction of the request
+	 * @param request the request
+	 * @throws IOException if the log cannot be written
+	 */
+	public void add(TransactionReference reference, TransactionRequest<?> request) throws IOException {
+		requests.put(reference, append(REQUEST, request.toByteArray()));
+	}
+
+	/**
+	 * Appends the given response to this log. It replaces the response
+	 * of the same transaction, if it was already in this log.
+	 *
+	 * @param reference the reference of the transaction of the response
+	 * @param response the response
+	 * @throws IOException if the log cannot be written
+	 */
+	public void add(TransactionReference reference, TransactionResponse response) throws IOException {
+		responses.put(reference, append(RESPONSE, response.toByteArray()));
+	}
+
+	/**
+	 * Yields the request of the given transaction.
+	 *
+	 * @param reference the reference of the transaction
+	 * @return the request, if any
+	 * @throws IOException if the log cannot be read
+	 * @throws ClassNotFoundException if the request refers to an unknown class
+	 */
+	public Optional<TransactionRequest<?>> getRequest(TransactionReference reference) throws IOException, ClassNotFoundException {
+		Location location = requests.get(reference);
+		if (location == null)
+			return Optional.empty();
+
+		try (var context = new BeanUnmarshallingContext(new ByteArrayInputStream(read(location)))) {
+			return Optional.of(TransactionRequest.from(context));
+		}
+	}
+
+	/**
+	 * Yields the response of the given transaction.
+	 *
+	 * @param reference the reference of the transaction
+	 * @return the response, if any
+	 * @throws IOException if the log cannot be read
+	 * @throws ClassNotFoundException if the response refers to an unknown class
+	 */
+	public Optional<TransactionResponse> getResponse(TransactionReference reference) throws IOException, ClassNotFoundException {
+		Location location = responses.get(reference);
+		if (location == null)
+			return Optional.empty();
+
+		try (var context = new BeanUnmarshallingContext(new ByteArrayInputStream(read(location)))) {
+			return Optional.of(TransactionResponse.from(context));
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		IOException exception = null;
+
+		for (FileChannel segment: segments) {
+			try {
+				segment.close();
+			}
+			catch (IOException e) {
+				exception = e;
+			}
+		}
+
+		if (exception != null)
+			throw exception;
+	}
+
+	private synchronized Location append(byte kind, byte[] bytes) throws IOException {
+		if (sizeOfLastSegment > 0L && sizeOfLastSegment + HEADER_SIZE + bytes.length > segmentSize)
+			startNewSegment();
+
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + bytes.length);
+		buffer.put(kind).putInt(bytes.length).put(bytes).flip();
+
+		int last = segments.size() - 1;
+		FileChannel segment = segments.get(last);
+		long offset = sizeOfLastSegment;
+		while (buffer.hasRemaining())
+			sizeOfLastSegment += segment.write(buffer, sizeOfLastSegment);
+
+		return new Location(last, offset + HEADER_SIZE, bytes.length);
+	}
+
+	private byte[] read(Location location) throws IOException {
+		FileChannel segment = segments.get(location.segment);
+		ByteBuffer buffer = ByteBuffer.allocate(location.length);
+		long position = location.offset;
+
+		while (buffer.hasRemaining()) {
+			int read = segment.read(buffer, position);
+			if (read < 0)
+				throw new IOException("truncated record in segment " + location.segment + " of the transaction log");
+
+			position += read;
+		}
+
+		return buffer.array();
+	}
+
+	private void startNewSegment() throws IOException {
+		Path path = dir.resolve(String.format("segment-%06d.log", segments.size()));
+		segments.add(FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE));
+		sizeOfLastSegment = 0L;
+	}
+}
@@ -0,0 +1,101 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.function.Function;
+
+import io.hotmoka.beans.marshalling.BeanMarshallingContext;
+import io.hotmoka.beans.marshalling.BeanUnmarshaller;
+import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
+import io.hotmoka.marshalling.Marshallable;
+
+/**
+ * The binary protocol between a remote node and a node service. Instead of the
+ * JSON representation of the models, requests and results travel in their native
+ * marshalled representation, that is much more compact, in particular for
+ * big integers, signatures and jars. It is negotiated through the content type
+ * of the messages. Errors are still reported as JSON {@link io.hotmoka.network.errors.ErrorModel}s.
+ */
+public final class BinaryProtocol {
+
+	/**
+	 * The content type of the messages of the binary protocol.
+	 */
+	public final static String MEDIA_TYPE = "application/x-hotmoka";
+
+	private BinaryProtocol() {}
+
+	/**
+	 * Marshals the given value.
+	 * 
+	 * @param value the value; this might be {@code null}
+	 * @return the marshalled value; this is empty if {@code value} is {@code null}
+	 * @throws IOException if the value cannot be marshalled
+	 */
+	public static byte[] toBytes(Marshallable value) throws IOException {
+		return value == null ? new byte[0] : value.toByteArray();
+	}
+
+	/**
+	 * Marshals the given array of values.
+	 * 
+	 * @param values the values
+	 * @return the marshalled values
+	 * @throws IOException if some value cannot be marshalled
+	 */
+	public static byte[] toBytes(Marshallable[] values) throws IOException {
+		return Marshallable.toByteArray(values, BeanMarshallingContext::new);
+	}
+
+	/**
+	 * Unmarshals a value from the given bytes.
+	 * 
+	 * @param <T> the type of the value
+	 * @param bytes the bytes, as computed by {@link #toBytes(Marshallable)}
+	 * @param unmarshaller the function that unmarshals the value
+	 * @return the value; this is {@code null} if {@code bytes} is empty
+	 * @throws IOException if the value cannot be unmarshalled
+	 * @throws ClassNotFoundException if the value cannot be unmarshalled
+	 */
+	public static <T extends Marshallable> T fromBytes(byte[] bytes, BeanUnmarshaller<T> unmarshaller) throws IOException, ClassNotFoundException {
+		if (bytes.length == 0)
+			return null;
+
+		try (var context = new BeanUnmarshallingContext(new ByteArrayInputStream(bytes))) {
+			return unmarshaller.from(context);
+		}
+	}
+
+	/**
+	 * Unmarshals an array of values from the given bytes.
+	 * 
+	 * @param <T> the type of the values
+	 * @param bytes the bytes, as computed by {@link #toBytes(Marshallable[])}
+	 * @param unmarshaller the function that unmarshals each value
+	 * @param supplier the creator of the resulting array, given its length
+	 * @return the values
+	 * @throws IOException if the values cannot be unmarshalled
+	 * @throws ClassNotFoundException if the values cannot be unmarshalled
+	 */
+	public static <T extends Marshallable> T[] arrayFromBytes(byte[] bytes, BeanUnmarshaller<T> unmarshaller, Function<Integer, T[]> supplier) throws IOException, ClassNotFoundException {
+		try (var context = new BeanUnmarshallingContext(new ByteArrayInputStream(bytes))) {
+			return context.readArray(unmarshaller, supplier);
+		}
+	}
+}
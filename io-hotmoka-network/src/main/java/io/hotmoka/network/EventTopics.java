@@ -0,0 +1,64 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.network;
+
+import io.hotmoka.beans.values.StorageReference;
+
+/**
+ * The websockets topics where a node service publishes the events of its node.
+ * Clients can subscribe to all events or only to those of a given creator,
+ * possibly further restricted to events of a given class. The service routes
+ * each event only to the topics that have subscribers.
+ */
+public final class EventTopics {
+
+	/**
+	 * The topic of all events.
+	 */
+	public final static String ALL = "/topic/events";
+
+	/**
+	 * The destination where clients ask if the service routes the events by creator.
+	 * Services that do it answer with {@link #ALL}. Older services publish all events
+	 * in {@link #ALL} only and do not answer at all.
+	 */
+	public final static String ROUTING = "/events/routing";
+
+	private EventTopics() {}
+
+	/**
+	 * Yields the topic of the events with the given creator.
+	 * 
+	 * @param creator the creator of the events
+	 * @return the topic
+	 */
+	public static String of(StorageReference creator) {
+		return ALL + "/" + creator.transaction.getHash() + "/" + creator.progressive.toString(16);
+	}
+
+	/**
+	 * Yields the topic of the events with the given creator and of the given class.
+	 * Events of subclasses of that class are not published in this topic.
+	 * 
+	 * @param creator the creator of the events
+	 * @param eventClassName the name of the class of the events
+	 * @return the topic
+	 */
+	public static String of(StorageReference creator, String eventClassName) {
+		return of(creator) + "/" + eventClassName;
+	}
+}
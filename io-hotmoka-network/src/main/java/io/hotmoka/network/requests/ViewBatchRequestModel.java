@@ -0,0 +1,86 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.network.requests;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.MethodCallTransactionRequest;
+import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
+
+/**
+ * The model of a batch of calls to {@code @@View} methods.
+ */
+public class ViewBatchRequestModel {
+
+    /**
+     * The calls, in order.
+     */
+    public List<Call> calls;
+
+    /**
+     * The model of a call of the batch. Exactly one of its fields is not {@code null}.
+     */
+    public static class Call {
+        public InstanceMethodCallTransactionRequestModel instanceMethodCall;
+        public StaticMethodCallTransactionRequestModel staticMethodCall;
+
+        public Call() {}
+
+        private Call(MethodCallTransactionRequest request) {
+            if (request instanceof InstanceMethodCallTransactionRequest)
+                this.instanceMethodCall = new InstanceMethodCallTransactionRequestModel((InstanceMethodCallTransactionRequest) request);
+            else if (request instanceof StaticMethodCallTransactionRequest)
+                this.staticMethodCall = new StaticMethodCallTransactionRequestModel((StaticMethodCallTransactionRequest) request);
+            else
+                throw new IllegalArgumentException("unexpected view request of class " + request.getClass().getName());
+        }
+
+        private MethodCallTransactionRequest toBean() {
+            if (instanceMethodCall != null)
+                return instanceMethodCall.toBean();
+            else if (staticMethodCall != null)
+                return staticMethodCall.toBean();
+            else
+                throw new IllegalArgumentException("unexpected empty call in a batch");
+        }
+    }
+
+    /**
+     * Builds the model of a batch of calls.
+     * 
+     * @param requests the requests of the calls, in order
+     */
+    public ViewBatchRequestModel(List<MethodCallTransactionRequest> requests) {
+        this.calls = requests.stream().map(Call::new).collect(Collectors.toList());
+    }
+
+    public ViewBatchRequestModel() {}
+
+    /**
+     * Yields the requests of the calls in this batch.
+     * 
+     * @return the requests, in order
+     */
+    public List<MethodCallTransactionRequest> toBean() {
+        if (calls == null)
+            throw new IllegalArgumentException("unexpected null calls in a batch");
+
+        return calls.stream().map(Call::toBean).collect(Collectors.toList());
+    }
+}
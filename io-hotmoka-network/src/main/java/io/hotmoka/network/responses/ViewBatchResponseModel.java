@@ -0,0 +1,45 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.network.responses;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.network.values.StorageValueModel;
+
+/**
+ * The model of the results of a batch of calls to {@code @@View} methods.
+ */
+public class ViewBatchResponseModel {
+
+    /**
+     * The results of the calls, in order; the result of a call to a {@code void} method is {@code null}.
+     */
+    public List<StorageValueModel> results;
+
+    /**
+     * Builds the model of the results of a batch of calls.
+     * 
+     * @param results the results, in order
+     */
+    public ViewBatchResponseModel(List<StorageValue> results) {
+        this.results = results.stream().map(result -> result == null ? null : new StorageValueModel(result)).collect(Collectors.toList());
+    }
+
+    public ViewBatchResponseModel() {}
+}
@@ -77,9 +77,34 @@ public abstract class AbstractNode implements Node {
 			subscriptions.computeIfAbsent(creator, __ -> new HashSet<>()).add(subscription);
 		}
 
+		subscriptionsChanged(creator);
+
 		return subscription;
 	}
 
+	/**
+	 * Called after a subscription to the events of the given creator has been added or removed.
+	 * It is not called while holding any lock, hence it can perform slow operations;
+	 * but calls might occur concurrently and in any order, so implementations should
+	 * check the current state of the subscriptions through {@link #hasSubscriptionsFor(StorageReference)}.
+	 * By default, it does nothing.
+	 * 
+	 * @param creator the creator; this is {@code null} for the subscriptions to all events
+	 */
+	protected void subscriptionsChanged(StorageReference creator) {}
+
+	/**
+	 * Determines if there are subscriptions to the events of the given creator.
+	 * 
+	 * @param creator the creator; this is {@code null} for the subscriptions to all events
+	 * @return true if and only if there are such subscriptions
+	 */
+	protected final boolean hasSubscriptionsFor(StorageReference creator) {
+		synchronized (subscriptions) {
+			return subscriptions.containsKey(creator);
+		}
+	}
+
 	/**
 	 * Notifies the given event to all event handlers for the given creator.
 	 * 
@@ -101,6 +126,24 @@ public abstract class AbstractNode implements Node {
 		logger.info(event + ": notified as event with creator " + creator);
 	}
 
+	/**
+	 * Notifies the given event only to the event handlers subscribed for the given key.
+	 * This is useful when events reach this node already routed by key.
+	 * 
+	 * @param key the key of the subscriptions; this is {@code null} for the subscriptions to all events
+	 * @param creator the creator of the event
+	 * @param event the event to notify
+	 */
+	protected final void notifyEventToSubscribersOf(StorageReference key, StorageReference creator, StorageReference event) {
+		synchronized (subscriptions) {
+			Set<SubscriptionImpl> subscriptionsPerKey = subscriptions.get(key);
+			if (subscriptionsPerKey != null)
+				subscriptionsPerKey.forEach(subscription -> subscription.accept(creator, event));
+		}
+
+		logger.info(event + ": notified as event with creator " + creator);
+	}
+
 	/**
 	 * Yields a jar supplier that polls for the outcome of a transaction that installed
 	 * a jar in the store of the node.
@@ -262,11 +305,17 @@ public abstract class AbstractNode implements Node {
 
 		@Override
 		public void close() {
+			boolean removed;
+
 			synchronized (subscriptions) {
 				Set<SubscriptionImpl> subscriptionsForKey = subscriptions.get(key);
-				if (subscriptionsForKey != null && subscriptionsForKey.remove(this) && subscriptionsForKey.isEmpty())
+				removed = subscriptionsForKey != null && subscriptionsForKey.remove(this);
+				if (removed && subscriptionsForKey.isEmpty())
 					subscriptions.remove(key);
 			}
+
+			if (removed)
+				subscriptionsChanged(key);
 		}
 
 		@Override
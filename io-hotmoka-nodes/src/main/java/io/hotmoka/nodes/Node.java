@@ -16,6 +16,7 @@ limitations under the License.
 
 package io.hotmoka.nodes;
 
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
@@ -33,8 +34,11 @@ import io.hotmoka.beans.requests.InitializationTransactionRequest;
 import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreInitialTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreTransactionRequest;
+import io.hotmoka.beans.requests.MethodCallTransactionRequest;
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
 import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.NonInitialTransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.updates.ClassTag;
 import io.hotmoka.beans.updates.Update;
@@ -281,6 +285,40 @@ public interface Node extends AutoCloseable {
 	 */
 	StorageValue runStaticMethodCallTransaction(StaticMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException;
 
+	/**
+	 * Runs a sequence of {@code @@View} methods, instance or static, all against the same state of this node.
+	 * This is equivalent to calling {@link #runInstanceMethodCallTransaction(InstanceMethodCallTransactionRequest)}
+	 * or {@link #runStaticMethodCallTransaction(StaticMethodCallTransactionRequest)} for each request, in order,
+	 * but no transaction can be added to the node between the calls and the node can share
+	 * the work that the calls have in common, such as the reconstruction of the same objects from its store.
+	 * 
+	 * @param requests the requests, each an {@link InstanceMethodCallTransactionRequest}
+	 *                 or a {@link StaticMethodCallTransactionRequest}
+	 * @return the results of the calls, in the same order as {@code requests}; the result
+	 *         of a call to a method declared to return {@code void} is {@code null}
+	 * @throws TransactionRejectedException if some call could not be executed
+	 * @throws CodeExecutionException if some call led to an exception in the user code in blockchain,
+	 *                                that is allowed to be thrown by the method; the calls after it are not executed
+	 * @throws TransactionException if some call led to an exception outside the user code in blockchain,
+	 *                              or that is not allowed to be thrown by the method; the calls after it are not executed
+	 */
+	List<StorageValue> runViewBatch(List<MethodCallTransactionRequest> requests) throws TransactionRejectedException, TransactionException, CodeExecutionException;
+
+	/**
+	 * Estimates the cost of a transaction, by executing it against the committed state
+	 * of this node, without expanding its store. The request is checked as if it were
+	 * added to the node, hence it must be correctly signed and use the current nonce
+	 * of its caller. The execution does not wait for the transactions being delivered
+	 * in the meanwhile, nor delays them.
+	 * 
+	 * @param request the transaction request
+	 * @return the response that the transaction would have, if it were added to the node now;
+	 *         it reports the gas consumed for CPU, RAM and storage and the outcome of the transaction,
+	 *         that might have failed, for instance because of an exception or for lack of gas
+	 * @throws TransactionRejectedException if the transaction would be rejected
+	 */
+	NonInitialTransactionResponse estimate(NonInitialTransactionRequest<?> request) throws TransactionRejectedException;
+
 	/**
 	 * Posts a transaction that expands the store of this node with a transaction that installs a jar in it.
 	 * 
@@ -0,0 +1,74 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.nodes.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import io.hotmoka.annotations.ThreadSafe;
+
+/**
+ * A metric that counts events. Its value only grows.
+ */
+@ThreadSafe
+public final class Counter extends Metric {
+	private final AtomicLong value = new AtomicLong();
+
+	Counter(String name, String labels, String help) {
+		super(name, labels, help);
+	}
+
+	/**
+	 * Increments this counter by one.
+	 */
+	public void inc() {
+		value.incrementAndGet();
+	}
+
+	/**
+	 * Increments this counter by the given amount.
+	 *
+	 * @param amount the amount, that should be non-negative
+	 */
+	public void add(long amount) {
+		value.addAndGet(amount);
+	}
+
+	/**
+	 * Yields the current value of this counter.
+	 *
+	 * @return the value
+	 */
+	public long get() {
+		return value.get();
+	}
+
+	@Override
+	String type() {
+		return "counter";
+	}
+
+	@Override
+	void writeSamples(StringBuilder sb) {
+		sb.append(sampleName("", "")).append(' ').append(get()).append('\n');
+	}
+
+	@Override
+	void forEachAttribute(BiConsumer<String, Object> attributes) {
+		attributes.accept(sampleName("", ""), get());
+	}
+}
@@ -0,0 +1,52 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.nodes.metrics;
+
+import java.util.function.BiConsumer;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A metric whose value is computed on demand, when the metrics are read.
+ */
+final class Gauge extends Metric {
+
+	/**
+	 * The supplier of the value of the gauge. It gets replaced if the gauge is registered again.
+	 */
+	volatile DoubleSupplier value;
+
+	Gauge(String name, String labels, String help, DoubleSupplier value) {
+		super(name, labels, help);
+
+		this.value = value;
+	}
+
+	@Override
+	String type() {
+		return "gauge";
+	}
+
+	@Override
+	void writeSamples(StringBuilder sb) {
+		sb.append(sampleName("", "")).append(' ').append(value.getAsDouble()).append('\n');
+	}
+
+	@Override
+	void forEachAttribute(BiConsumer<String, Object> attributes) {
+		attributes.accept(sampleName("", ""), value.getAsDouble());
+	}
+}
@@ -0,0 +1,111 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.nodes.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+
+import io.hotmoka.annotations.ThreadSafe;
+
+/**
+ * A metric that records the distribution of non-negative values, such as latencies.
+ * Values are counted in buckets whose upper bounds are 0, 1, 3, 7, 15, ..., 2^i - 1,
+ * so that recording a value is just a couple of atomic increments.
+ */
+@ThreadSafe
+public final class Histogram extends Metric {
+
+	/**
+	 * The number of buckets. Larger values are counted in the last bucket.
+	 */
+	private final static int BUCKETS = 40;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+
+	Histogram(String name, String labels, String help) {
+		super(name, labels, help);
+	}
+
+	/**
+	 * Records the given value in this histogram.
+	 *
+	 * @param value the value; negative values are recorded as 0
+	 */
+	public void record(long value) {
+		if (value < 0L)
+			value = 0L;
+
+		buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value)));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+	}
+
+	/**
+	 * Records the microseconds elapsed since the given time.
+	 *
+	 * @param startNanos the start time, as reported by {@link System#nanoTime()}
+	 */
+	public void recordMicrosSince(long startNanos) {
+		record((System.nanoTime() - startNanos) / 1_000L);
+	}
+
+	/**
+	 * Yields the number of values recorded in this histogram.
+	 *
+	 * @return the number of values
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Yields the sum of the values recorded in this histogram.
+	 *
+	 * @return the sum
+	 */
+	public long getSum() {
+		return sum.get();
+	}
+
+	@Override
+	String type() {
+		return "histogram";
+	}
+
+	@Override
+	void writeSamples(StringBuilder sb) {
+		// buckets are cumulative in the Prometheus format
+		long cumulative = 0L;
+		for (int pos = 0; pos < BUCKETS - 1; pos++) {
+			cumulative += buckets.get(pos);
+			sb.append(sampleName("_bucket", "le=\"" + ((1L << pos) - 1) + '"')).append(' ').append(cumulative).append('\n');
+		}
+
+		sb.append(sampleName("_bucket", "le=\"+Inf\"")).append(' ').append(getCount()).append('\n');
+		sb.append(sampleName("_sum", "")).append(' ').append(getSum()).append('\n');
+		sb.append(sampleName("_count", "")).append(' ').append(getCount()).append('\n');
+	}
+
+	@Override
+	void forEachAttribute(BiConsumer<String, Object> attributes) {
+		attributes.accept(sampleName("_count", ""), getCount());
+		attributes.accept(sampleName("_sum", ""), getSum());
+	}
+}
@@ -0,0 +1,81 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.nodes.metrics;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A metric of the registry of a process. It is identified by its name and labels.
+ */
+abstract class Metric {
+
+	/**
+	 * The name of the metric, in the Prometheus syntax, such as {@code hotmoka_cache_hits_total}.
+	 */
+	final String name;
+
+	/**
+	 * The labels of the metric, in the Prometheus syntax, such as {@code cache="requests"}.
+	 * This is empty if the metric has no labels.
+	 */
+	final String labels;
+
+	/**
+	 * A description of the metric.
+	 */
+	final String help;
+
+	Metric(String name, String labels, String help) {
+		this.name = name;
+		this.labels = labels;
+		this.help = help;
+	}
+
+	/**
+	 * Yields the type of this metric, as reported in the Prometheus text format.
+	 *
+	 * @return the type, such as {@code counter}
+	 */
+	abstract String type();
+
+	/**
+	 * Writes the samples of this metric in the Prometheus text format.
+	 *
+	 * @param sb the builder where the samples get written
+	 */
+	abstract void writeSamples(StringBuilder sb);
+
+	/**
+	 * Reports the values of this metric, as attributes of a managed bean.
+	 *
+	 * @param attributes the consumer of the name and value of each attribute
+	 */
+	abstract void forEachAttribute(BiConsumer<String, Object> attributes);
+
+	/**
+	 * Yields the name of the sample with the given suffix and with the labels of this metric,
+	 * possibly extended with an extra label.
+	 *
+	 * @param suffix the suffix added to the name of the metric
+	 * @param extraLabel the extra label, or the empty string if there is none
+	 * @return the name of the sample
+	 */
+	final String sampleName(String suffix, String extraLabel) {
+		String allLabels = labels.isEmpty() ? extraLabel : (extraLabel.isEmpty() ? labels : labels + ',' + extraLabel);
+		return allLabels.isEmpty() ? name + suffix : name + suffix + '{' + allLabels + '}';
+	}
+}
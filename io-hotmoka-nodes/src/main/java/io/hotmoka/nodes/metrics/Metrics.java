@@ -0,0 +1,168 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.nodes.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import io.hotmoka.annotations.ThreadSafe;
+
+/**
+ * The registry of the metrics of the process. Metrics are created once, typically when
+ * a node or a cache is created, and then updated without allocating any object.
+ * They can be read through JMX, as the attributes of the {@code io.hotmoka:type=Metrics}
+ * managed bean, or in the text format of Prometheus, through {@link #toPrometheusText()}.
+ * Since the registry is per-process, nodes living in the same process share their metrics.
+ */
+@ThreadSafe
+public final class Metrics {
+	private final static Logger logger = Logger.getLogger(Metrics.class.getName());
+
+	/**
+	 * The name of the managed bean that exposes the metrics through JMX.
+	 */
+	public final static String OBJECT_NAME = "io.hotmoka:type=Metrics";
+
+	/**
+	 * The metrics registered so far, by name and labels. They are sorted so that the metrics
+	 * with the same name, but distinct labels, are contiguous.
+	 */
+	private final static ConcurrentNavigableMap<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+	static {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsBean(metrics), new ObjectName(OBJECT_NAME));
+		}
+		catch (JMException | RuntimeException e) {
+			logger.log(Level.WARNING, "cannot register the metrics into JMX", e);
+		}
+	}
+
+	private Metrics() {}
+
+	/**
+	 * Yields the counter with the given name and no labels, creating it if it does not exist.
+	 *
+	 * @param name the name of the counter, such as {@code hotmoka_transactions_total}
+	 * @param help a description of the counter
+	 * @return the counter
+	 */
+	public static Counter counter(String name, String help) {
+		return counter(name, "", help);
+	}
+
+	/**
+	 * Yields the counter with the given name and labels, creating it if it does not exist.
+	 *
+	 * @param name the name of the counter, such as {@code hotmoka_cache_hits_total}
+	 * @param labels the labels of the counter, such as {@code cache="requests"}
+	 * @param help a description of the counter
+	 * @return the counter
+	 */
+	public static Counter counter(String name, String labels, String help) {
+		return register(new Counter(name, labels, help), Counter.class);
+	}
+
+	/**
+	 * Yields the histogram with the given name and no labels, creating it if it does not exist.
+	 *
+	 * @param name the name of the histogram, such as {@code hotmoka_deliver_microseconds}
+	 * @param help a description of the histogram
+	 * @return the histogram
+	 */
+	public static Histogram histogram(String name, String help) {
+		return histogram(name, "", help);
+	}
+
+	/**
+	 * Yields the histogram with the given name and labels, creating it if it does not exist.
+	 *
+	 * @param name the name of the histogram
+	 * @param labels the labels of the histogram
+	 * @param help a description of the histogram
+	 * @return the histogram
+	 */
+	public static Histogram histogram(String name, String labels, String help) {
+		return register(new Histogram(name, labels, help), Histogram.class);
+	}
+
+	/**
+	 * Registers a gauge with the given name and labels. If it already exists,
+	 * its value will be computed by the given supplier from now on.
+	 *
+	 * @param name the name of the gauge, such as {@code hotmoka_mempool_size}
+	 * @param labels the labels of the gauge, possibly empty
+	 * @param help a description of the gauge
+	 * @param value the supplier of the value of the gauge; it is called whenever the metrics are read
+	 */
+	public static void gauge(String name, String labels, String help, DoubleSupplier value) {
+		register(new Gauge(name, labels, help, value), Gauge.class).value = value;
+	}
+
+	/**
+	 * Unregisters the gauge with the given name and labels, if its value is still computed
+	 * by the given supplier. This way, an object that registered a gauge can remove it
+	 * when it is closed, without removing the gauge registered later by another object.
+	 *
+	 * @param name the name of the gauge
+	 * @param labels the labels of the gauge, possibly empty
+	 * @param value the supplier that was used to register the gauge
+	 */
+	public static void unregisterGauge(String name, String labels, DoubleSupplier value) {
+		metrics.computeIfPresent(name + ' ' + labels, (_key, metric) -> metric instanceof Gauge && ((Gauge) metric).value == value ? null : metric);
+	}
+
+	/**
+	 * Yields all metrics in the text exposition format of Prometheus.
+	 *
+	 * @return the metrics, in text format
+	 */
+	public static String toPrometheusText() {
+		var sb = new StringBuilder();
+		String lastName = null;
+
+		for (Metric metric: metrics.values()) {
+			if (!metric.name.equals(lastName)) {
+				sb.append("# HELP ").append(metric.name).append(' ').append(metric.help).append('\n');
+				sb.append("# TYPE ").append(metric.name).append(' ').append(metric.type()).append('\n');
+				lastName = metric.name;
+			}
+
+			metric.writeSamples(sb);
+		}
+
+		return sb.toString();
+	}
+
+	private static <M extends Metric> M register(M metric, Class<M> clazz) {
+		// the space separates the name from the labels and sorts the metrics by name first
+		Metric result = metrics.putIfAbsent(metric.name + ' ' + metric.labels, metric);
+		if (result == null)
+			return metric;
+		else if (clazz.isInstance(result))
+			return clazz.cast(result);
+		else
+			throw new IllegalArgumentException("metric " + metric.name + " is already registered as a " + result.type());
+	}
+}
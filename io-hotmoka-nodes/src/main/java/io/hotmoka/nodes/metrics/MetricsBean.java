@@ -0,0 +1,102 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.nodes.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+
+/**
+ * A managed bean that exposes the metrics of the process as read-only attributes.
+ * The attributes are named as the samples of the Prometheus text format.
+ */
+class MetricsBean implements DynamicMBean {
+
+	/**
+	 * The metrics of the process, shared with {@link Metrics}.
+	 */
+	private final Map<String, Metric> metrics;
+
+	MetricsBean(Map<String, Metric> metrics) {
+		this.metrics = metrics;
+	}
+
+	@Override
+	public Object getAttribute(String attribute) throws AttributeNotFoundException {
+		Object result = snapshot().get(attribute);
+		if (result == null)
+			throw new AttributeNotFoundException("unknown metric " + attribute);
+
+		return result;
+	}
+
+	@Override
+	public void setAttribute(Attribute attribute) {
+		throw new UnsupportedOperationException("metrics are read-only");
+	}
+
+	@Override
+	public AttributeList getAttributes(String[] attributes) {
+		Map<String, Object> snapshot = snapshot();
+		var result = new AttributeList();
+		for (String attribute: attributes) {
+			Object value = snapshot.get(attribute);
+			if (value != null)
+				result.add(new Attribute(attribute, value));
+		}
+
+		return result;
+	}
+
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList();
+	}
+
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) {
+		throw new UnsupportedOperationException("metrics have no operations");
+	}
+
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		List<MBeanAttributeInfo> attributes = new ArrayList<>();
+		for (Metric metric: metrics.values())
+			metric.forEachAttribute((name, value) ->
+				attributes.add(new MBeanAttributeInfo(name, value.getClass().getName(), metric.help, true, false, false)));
+
+		return new MBeanInfo(Metrics.class.getName(), "The metrics of the Hotmoka nodes in this process",
+			attributes.toArray(MBeanAttributeInfo[]::new), null, new MBeanOperationInfo[0], null);
+	}
+
+	private Map<String, Object> snapshot() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		for (Metric metric: metrics.values())
+			metric.forEachAttribute(result::put);
+
+		return result;
+	}
+}
@@ -16,9 +16,11 @@ limitations under the License.
 
 module io.hotmoka.nodes {
 	exports io.hotmoka.nodes;
+	exports io.hotmoka.nodes.metrics;
 	requires transitive io.hotmoka.beans;
 	requires transitive io.hotmoka.crypto;
 	requires io.hotmoka.annotations;
 	requires java.logging;
+	requires java.management;
 	requires io.hotmoka.crypto.api;
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.patricia;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The compressed encoding of marshalled values kept in a store.
+ * Marshalled values always start with the magic number of the object streams,
+ * hence a different first byte identifies the version of the compression used for
+ * the rest of the bytes. This allows one to mix compressed and uncompressed values
+ * in the same store and to decode the values written by old nodes, that never compress.
+ * Only the stored bytes are affected: hashes must always be computed on
+ * the uncompressed, canonical bytes.
+ */
+public final class Compression {
+
+	/**
+	 * The first byte of the marshalled values, that is, of the magic number of object streams.
+	 */
+	private final static byte UNCOMPRESSED = (byte) 0xac;
+
+	/**
+	 * The first byte of the values compressed with the deflate algorithm,
+	 * preset with {@link #DICTIONARY1}.
+	 */
+	private final static byte DEFLATE_WITH_DICTIONARY1 = (byte) 0x01;
+
+	/**
+	 * A preset dictionary for the deflate algorithm. It has been trained on the
+	 * requests and responses generated by the tests of Hotmoka, after removing the hashes
+	 * and the names of the classes of the tests. It is fixed forever: a different
+	 * dictionary requires a new version of the compression.
+	 */
+	private final static byte[] DICTIONARY1 = loadDictionary("dictionary1.bin");
+
+	/**
+	 * The deflater of the current thread, since their creation is expensive.
+	 */
+	private final static ThreadLocal<Deflater> deflaters = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_COMPRESSION, true));
+
+	/**
+	 * The inflater of the current thread, since their creation is expensive.
+	 */
+	private final static ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(() -> new Inflater(true));
+
+	private Compression() {}
+
+	/**
+	 * Compresses the given marshalled value. If compression does not reduce its size,
+	 * the value is returned unchanged.
+	 *
+	 * @param marshalled the marshalled value
+	 * @return the compressed value, ready to be decoded by {@link #decompress(byte[])}
+	 * @throws IllegalArgumentException if {@code marshalled} is not a marshalled value
+	 */
+	public static byte[] compress(byte[] marshalled) {
+		if (marshalled.length == 0 || marshalled[0] != UNCOMPRESSED)
+			throw new IllegalArgumentException("only marshalled values can be compressed");
+
+		Deflater deflater = deflaters.get();
+		deflater.reset();
+		deflater.setDictionary(DICTIONARY1);
+		deflater.setInput(marshalled);
+		deflater.finish();
+
+		// the first byte is the version, followed by the length of the uncompressed value
+		var baos = new ByteArrayOutputStream(marshalled.length);
+		baos.write(DEFLATE_WITH_DICTIONARY1);
+		baos.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(marshalled.length).array());
+
+		byte[] buffer = new byte[512];
+		while (!deflater.finished()) {
+			int size = deflater.deflate(buffer);
+			baos.write(buffer, 0, size);
+
+			if (baos.size() >= marshalled.length)
+				return marshalled;
+		}
+
+		return baos.toByteArray();
+	}
+
+	/**
+	 * Yields the marshalled value whose stored bytes are given. These might have been
+	 * compressed with {@link #compress(byte[])} or not.
+	 *
+	 * @param stored the bytes of the value, as kept in store
+	 * @return the marshalled value, uncompressed
+	 * @throws IOException if {@code stored} uses an unknown compression or is corrupted
+	 */
+	public static byte[] decompress(byte[] stored) throws IOException {
+		if (stored.length == 0 || stored[0] == UNCOMPRESSED)
+			return stored;
+		else if (stored[0] != DEFLATE_WITH_DICTIONARY1)
+			throw new IOException("unknown compression version " + stored[0]);
+		else if (stored.length < 1 + Integer.BYTES)
+			throw new IOException("truncated compressed value");
+
+		int length = ByteBuffer.wrap(stored, 1, Integer.BYTES).getInt();
+		byte[] result = new byte[length];
+
+		Inflater inflater = inflaters.get();
+		inflater.reset();
+		inflater.setDictionary(DICTIONARY1);
+		inflater.setInput(stored, 1 + Integer.BYTES, stored.length - 1 - Integer.BYTES);
+
+		try {
+			int pos = 0;
+			while (pos < length && !inflater.finished()) {
+				int size = inflater.inflate(result, pos, length - pos);
+				if (size == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					throw new IOException("truncated compressed value");
+
+				pos += size;
+			}
+
+			if (pos != length)
+				throw new IOException("the compressed value has the wrong length");
+		}
+		catch (DataFormatException e) {
+			throw new IOException("corrupted compressed value", e);
+		}
+
+		return result;
+	}
+
+	private static byte[] loadDictionary(String name) {
+		try (InputStream is = Compression.class.getResourceAsStream(name)) {
+			if (is == null)
+				throw new IllegalStateException("cannot find the compression dictionary " + name);
+
+			return is.readAllBytes();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -17,6 +17,8 @@ limitations under the License.
 package io.hotmoka.patricia;
 
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import io.hotmoka.crypto.api.HashingAlgorithm;
 import io.hotmoka.marshalling.Marshallable;
@@ -53,11 +55,27 @@ public interface PatriciaTrie<Key, Value extends Marshallable> {
 	byte[] getRoot();
 
 	/**
-	 * Garbage-collects all keys that have been updated during the given number of commit.
+	 * Garbage-collects some keys that have been updated during the given number of commit.
+	 * Keys are reclaimed in chunks, so that garbage collection can be spread
+	 * over many, short transactions.
 	 * 
 	 * @param commitNumber the number of the commit to garbage collect
+	 * @param maxKeys the maximal number of keys to reclaim
+	 * @return the number of keys actually reclaimed; if this is smaller than {@code maxKeys},
+	 *         then all keys updated during the commit have been reclaimed
 	 */
-	void garbageCollect(long commitNumber);
+	long garbageCollect(long commitNumber, long maxKeys);
+
+	/**
+	 * Visits all nodes reachable from the root of this trie, in depth-first order.
+	 * This can be used, for instance, to export the trie into a snapshot.
+	 * 
+	 * @param nodeAction the action executed for each node; it receives the hash of the node,
+	 *                   that is, its key in the supporting store, and its marshalled representation,
+	 *                   that is, its value in the supporting store, uncompressed
+	 * @param valueAction the action executed for each value in the leaves of the trie
+	 */
+	void forEachNode(BiConsumer<byte[], byte[]> nodeAction, Consumer<? super Value> valueAction);
 
 	/**
 	 * Yields the Merkle-Patricia trie supported by the underlying store,
@@ -78,6 +96,32 @@ public interface PatriciaTrie<Key, Value extends Marshallable> {
 			HashingAlgorithm<? super Key> hashingForKeys, HashingAlgorithm<? super Node> hashingForNodes,
 			Unmarshaller<? extends Value> valueUnmarshaller, long numberOfCommits) {
 
-		return new PatriciaTrieImpl<>(store, hashingForKeys, hashingForNodes, valueUnmarshaller, numberOfCommits);
+		return new PatriciaTrieImpl<>(store, hashingForKeys, hashingForNodes, valueUnmarshaller, numberOfCommits, false);
+	}
+
+	/**
+	 * Yields the Merkle-Patricia trie supported by the underlying store,
+	 * using the given hashing algorithm to hash nodes, keys and the values.
+	 * The leaves of the trie can be kept compressed in the store (see {@link Compression}),
+	 * which does not affect the hashes of the nodes and hence the root of the trie.
+	 * 
+	 * @param store the store used to store a mapping from nodes' hashes to their content
+	 * @param hashingForKeys the hashing algorithm for the keys
+	 * @param hashingForNodes the hashing algorithm for the nodes of the trie
+	 * @param valueUnmarshaller a function able to unmarshall a value from its byte representation
+	 * @param numberOfCommits the current number of commits already executed on the store; this trie
+	 *                        will record which data must be garbage collected (eventually)
+	 *                        as result of the store updates performed during that commit; this could
+	 *                        be -1L if the trie is only used or reading
+	 * @param compressesLeaves true if and only if the leaves added to the trie must be compressed
+	 *                         in the store; leaves are decompressed at reading time in any case
+	 * @return the trie
+	 */
+	static <Key, Value extends Marshallable> PatriciaTrie<Key, Value> of
+			(KeyValueStore store,
+			HashingAlgorithm<? super Key> hashingForKeys, HashingAlgorithm<? super Node> hashingForNodes,
+			Unmarshaller<? extends Value> valueUnmarshaller, long numberOfCommits, boolean compressesLeaves) {
+
+		return new PatriciaTrieImpl<>(store, hashingForKeys, hashingForNodes, valueUnmarshaller, numberOfCommits, compressesLeaves);
 	}
 }
\ No newline at end of file
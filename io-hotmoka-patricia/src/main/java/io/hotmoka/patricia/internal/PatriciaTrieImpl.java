@@ -23,6 +23,8 @@ import java.io.ObjectInputStream;
 import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,6 +32,7 @@ import io.hotmoka.crypto.api.HashingAlgorithm;
 import io.hotmoka.marshalling.Marshallable;
 import io.hotmoka.marshalling.MarshallingContext;
 import io.hotmoka.marshalling.Unmarshaller;
+import io.hotmoka.patricia.Compression;
 import io.hotmoka.patricia.KeyValueStore;
 import io.hotmoka.patricia.Node;
 import io.hotmoka.patricia.PatriciaTrie;
@@ -64,6 +67,11 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 	 */
 	private final long numberOfCommits;
 
+	/**
+	 * True if and only if the leaves added to this trie are compressed in {@link #store}.
+	 */
+	private final boolean compressesLeaves;
+
 	private final static Logger logger = Logger.getLogger(PatriciaTrieImpl.class.getName());
 
 	/**
@@ -78,16 +86,18 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 	 * @param numberOfCommits the current number of commits already executed on the store; this trie
 	 *                        will record which data must be garbage collected (eventually)
 	 *                        as result of the store updates performed during that commit
+	 * @param compressesLeaves true if and only if the leaves added to the trie must be compressed in {@code store}
 	 */
 	public PatriciaTrieImpl(KeyValueStore store,
 			HashingAlgorithm<? super Key> hashingForKeys, HashingAlgorithm<? super Node> hashingForNodes,
-			Unmarshaller<? extends Value> valueUnmarshaller, long numberOfCommits) {
+			Unmarshaller<? extends Value> valueUnmarshaller, long numberOfCommits, boolean compressesLeaves) {
 
 		this.store = store;
 		this.hashingForKeys = hashingForKeys;
 		this.hashingForNodes = hashingForNodes;
 		this.valueUnmarshaller = valueUnmarshaller;
 		this.numberOfCommits = numberOfCommits;
+		this.compressesLeaves = compressesLeaves;
 	}
 
 	@Override
@@ -140,12 +150,61 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 	}
 
 	@Override
-	public void garbageCollect(long commitNumber) {
+	public long garbageCollect(long commitNumber, long maxKeys) {
 		long numberOfGarbageKeys = getNumberOfGarbageKeys(commitNumber);
-		for (long num = 0; num < numberOfGarbageKeys; num++)
+		long reclaimed = Math.min(maxKeys, numberOfGarbageKeys);
+
+		// we reclaim the last keys first, so that the others remain numbered from 0
+		for (long num = numberOfGarbageKeys - 1; num >= numberOfGarbageKeys - reclaimed; num--) {
 			store.remove(getGarbageKey(commitNumber, num));
+			removeGarbageKey(commitNumber, num);
+		}
+
+		if (reclaimed == numberOfGarbageKeys)
+			removeNumberOfGarbageKeys(commitNumber);
+		else
+			setNumberOfGarbageKeys(commitNumber, numberOfGarbageKeys - reclaimed);
 
-		removeGarbageCollectionData(commitNumber, numberOfGarbageKeys);
+		return reclaimed;
+	}
+
+	@Override
+	public void forEachNode(BiConsumer<byte[], byte[]> nodeAction, Consumer<? super Value> valueAction) {
+		byte[] hashOfRoot = store.getRoot();
+		if (hashOfRoot == null)
+			return;
+
+		try {
+			forEachNode(hashOfRoot, 0, nodeAction, valueAction);
+		}
+		catch (IOException | ClassNotFoundException e) {
+			logger.log(Level.WARNING, "unexpected error while visiting the nodes of a Patricia trie", e);
+			throw new RuntimeException("unexpected error while visiting the nodes of a Patricia trie", e);
+		}
+	}
+
+	/**
+	 * Visits the node whose hash is the given one and all nodes below it.
+	 * 
+	 * @param hash the hash of the node to visit
+	 * @param cursor the number of nibbles in the path from the root of the trie to the node;
+	 *               this is needed in order to foresee the size of the leaves
+	 * @param nodeAction the action executed for each node
+	 * @param valueAction the action executed for each value in the leaves
+	 * @throws NoSuchElementException if the store has no node with the given {@code hash}
+	 * @throws IOException if some node could not be unmarshalled
+	 * @throws ClassNotFoundException if some value could not be unmarshalled
+	 */
+	private void forEachNode(byte[] hash, int cursor, BiConsumer<byte[], byte[]> nodeAction, Consumer<? super Value> valueAction) throws NoSuchElementException, IOException, ClassNotFoundException {
+		byte[] bytes = Compression.decompress(store.get(hash));
+		nodeAction.accept(hash, bytes);
+
+		AbstractNode node;
+		try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new ByteArrayInputStream(bytes)))) {
+			node = from(ois, cursor);
+		}
+
+		node.forEachNodeBelow(cursor, nodeAction, valueAction);
 	}
 
 	/**
@@ -218,7 +277,7 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 	 * @throws IOException if the node could not be unmarshalled
 	 */
 	private AbstractNode getNodeFromHash(byte[] hash, int cursor) throws NoSuchElementException, IOException {
-		try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new ByteArrayInputStream(store.get(hash))))) {
+		try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new ByteArrayInputStream(Compression.decompress(store.get(hash)))))) {
 			return from(ois, cursor);
 		}
 	}
@@ -326,6 +385,17 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 		 */
 		protected abstract AbstractNode put(byte[] nibblesOfHashedKey, int cursor, Value value) throws IOException, ClassNotFoundException;
 
+		/**
+		 * Visits the nodes below this one.
+		 * 
+		 * @param cursor the number of nibbles in the path from the root of the trie to this node
+		 * @param nodeAction the action executed for each node
+		 * @param valueAction the action executed for each value in the leaves
+		 * @throws IOException if some node could not be unmarshalled
+		 * @throws ClassNotFoundException if some value could not be unmarshalled
+		 */
+		protected abstract void forEachNodeBelow(int cursor, BiConsumer<byte[], byte[]> nodeAction, Consumer<? super Value> valueAction) throws IOException, ClassNotFoundException;
+
 		/*
 		protected abstract int depth(int cursor) throws NoSuchElementException, ClassNotFoundException, IOException;
 
@@ -340,8 +410,9 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 		*/
 
 		protected final AbstractNode putInStore() throws IOException {
-			// we bind it to its hash in the store
-			store.put(hashingForNodes.hash(this), toByteArray());
+			// we bind it to its hash in the store; the hash is always computed on the uncompressed bytes
+			byte[] bytes = toByteArray();
+			store.put(hashingForNodes.hash(this), compressesLeaves && this instanceof PatriciaTrieImpl.Leaf ? Compression.compress(bytes) : bytes);
 			return this;
 		}
 	}
@@ -430,6 +501,13 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 			return new Branch(childrenCopy).putInStore();
 		}
 
+		@Override
+		protected void forEachNodeBelow(int cursor, BiConsumer<byte[], byte[]> nodeAction, Consumer<? super Value> valueAction) throws IOException, ClassNotFoundException {
+			for (byte[] child: children)
+				if (child != null)
+					forEachNode(child, cursor + 1, nodeAction, valueAction);
+		}
+
 		/*
 		@Override
 		protected int depth(int cursor) throws NoSuchElementException, ClassNotFoundException, IOException {
@@ -547,6 +625,11 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 			}
 		}
 
+		@Override
+		protected void forEachNodeBelow(int cursor, BiConsumer<byte[], byte[]> nodeAction, Consumer<? super Value> valueAction) throws IOException, ClassNotFoundException {
+			forEachNode(next, cursor + sharedNibbles.length, nodeAction, valueAction);
+		}
+
 		/*
 		@Override
 		protected int depth(int cursor) throws NoSuchElementException, ClassNotFoundException, IOException {
@@ -647,6 +730,13 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 			}
 		}
 
+		@Override
+		protected void forEachNodeBelow(int cursor, BiConsumer<byte[], byte[]> nodeAction, Consumer<? super Value> valueAction) throws IOException, ClassNotFoundException {
+			try (var context = valueUnmarshaller.mkContext(new ByteArrayInputStream(value))) {
+				valueAction.accept(valueUnmarshaller.from(context));
+			}
+		}
+
 		/*
 		@Override
 		protected int depth(int cursor) throws NoSuchElementException, ClassNotFoundException, IOException {
@@ -679,7 +769,17 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 	 * @param newNumberOfGarbageKeys the new number of garbage keys to set
 	 */
 	private void setNumberOfGarbageKeys(long commitNumber, long newNumberOfGarbageKeys) {
-		store.put(twoLongsToBytes(numberOfCommits, 0L), longToBytes(newNumberOfGarbageKeys));
+		store.put(twoLongsToBytes(commitNumber, 0L), longToBytes(newNumberOfGarbageKeys));
+	}
+
+	/**
+	 * Removes the number of keys that could be garbage collected for the
+	 * given number of commit.
+	 * 
+	 * @param commitNumber the number of commit
+	 */
+	private void removeNumberOfGarbageKeys(long commitNumber) {
+		store.remove(twoLongsToBytes(commitNumber, 0L));
 	}
 
 	/**
@@ -707,6 +807,17 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 		store.put(twoLongsToBytes(commitNumber, keyNumber + 1), key);
 	}
 
+	/**
+	 * Removes the information that a key can be garbage-collected, because it has been
+	 * updated during the given number of commit.
+	 * 
+	 * @param commitNumber the number of commit
+	 * @param keyNumber the progressive number of the key updated during the commit
+	 */
+	private void removeGarbageKey(long commitNumber, long keyNumber) {
+		store.remove(twoLongsToBytes(commitNumber, keyNumber + 1));
+	}
+
 	/**
 	 * Takes note that the given key became garbage during an update
 	 * occurred during the current commit.
@@ -732,12 +843,6 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 	    return buffer.array();
 	}
 
-	private void removeGarbageCollectionData(long commitNumber, long numberOfGarbageKeys) {
-		// the 0th is the counter of the keys, the subsequent are the keys; hence the <=
-		for (long num = 0; num <= numberOfGarbageKeys; num++)
-			store.remove(twoLongsToBytes(commitNumber, num));
-	}
-
 	private static long bytesToLong(byte[] bytes) {
 	    ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
 	    buffer.put(bytes);
@@ -16,6 +16,8 @@ limitations under the License.
 
 package io.hotmoka.remote;
 
+import java.nio.file.Path;
+
 /**
  * The configuration of a node that forwards all its calls to a remote network service.
  */
@@ -33,6 +35,20 @@ public class RemoteNodeConfig {
      */
     public final boolean webSockets;
 
+    /**
+     * The maximal size, in bytes, of the cache of the immutable objects fetched
+     * from the remote service, such as transaction requests, responses and class tags.
+     * Use 0 to disable the cache. This defaults to 10,000,000.
+     */
+    public final long cacheSize;
+
+    /**
+     * The file where the cache of the immutable objects gets saved when the node
+     * is closed and from where it gets reloaded when the node is created.
+     * This is {@code null} if the cache must not be persisted, which is the default.
+     */
+    public final Path cacheFile;
+
     /**
      * Builds the configuration from a builder.
      *
@@ -41,6 +57,8 @@ public class RemoteNodeConfig {
     private RemoteNodeConfig(Builder builder) {
         this.url = builder.url;
         this.webSockets = builder.webSockets;
+        this.cacheSize = builder.cacheSize;
+        this.cacheFile = builder.cacheFile;
     }
 
     /**
@@ -51,6 +69,10 @@ public class RemoteNodeConfig {
 
         private boolean webSockets;
 
+        private long cacheSize = 10_000_000L;
+
+        private Path cacheFile;
+
         /**
          * Specifies if the URL of the remote service, without the protocol.
          * The default is {@code localhost:8080}.
@@ -75,6 +97,30 @@ public class RemoteNodeConfig {
             return this;
         }
 
+        /**
+         * Sets the maximal size, in bytes, of the cache of the immutable objects fetched
+         * from the remote service. Use 0 to disable the cache. The default is 10,000,000.
+         *
+         * @param cacheSize the maximal size of the cache
+         * @return this same builder
+         */
+        public Builder setCacheSize(long cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the file where the cache of the immutable objects gets persisted
+         * between runs. By default, the cache is not persisted.
+         *
+         * @param cacheFile the file
+         * @return this same builder
+         */
+        public Builder setCacheFile(Path cacheFile) {
+            this.cacheFile = cacheFile;
+            return this;
+        }
+
         /**
          * Builds the configuration from this builder.
          *
@@ -17,7 +17,12 @@ limitations under the License.
 package io.hotmoka.remote.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
@@ -30,11 +35,23 @@ import io.hotmoka.annotations.ThreadSafe;
 import io.hotmoka.beans.CodeExecutionException;
 import io.hotmoka.beans.TransactionException;
 import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.ConstructorCallTransactionRequest;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.JarStoreTransactionRequest;
 import io.hotmoka.beans.requests.MethodCallTransactionRequest;
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
+import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.NonInitialTransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.signatures.VoidMethodSignature;
+import io.hotmoka.beans.updates.ClassTag;
+import io.hotmoka.beans.updates.Update;
+import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.marshalling.UnmarshallingContext;
+import io.hotmoka.network.EventTopics;
 import io.hotmoka.network.NetworkExceptionResponse;
 import io.hotmoka.network.requests.ConstructorCallTransactionRequestModel;
 import io.hotmoka.network.requests.EventRequestModel;
@@ -57,6 +74,7 @@ import io.hotmoka.network.responses.MethodCallTransactionExceptionResponseModel;
 import io.hotmoka.network.responses.MethodCallTransactionFailedResponseModel;
 import io.hotmoka.network.responses.MethodCallTransactionSuccessfulResponseModel;
 import io.hotmoka.network.responses.TransactionRestResponseModel;
+import io.hotmoka.network.responses.ViewBatchResponseModel;
 import io.hotmoka.network.responses.VoidMethodCallTransactionSuccessfulResponseModel;
 import io.hotmoka.network.values.StorageValueModel;
 import io.hotmoka.nodes.AbstractNode;
@@ -81,6 +99,29 @@ public abstract class AbstractRemoteNode extends AbstractNode implements RemoteN
      */
     protected final WebSocketClient webSocketClient;
 
+    /**
+     * The creators whose events are currently subscribed to the remote service.
+     * It contains {@code null} if all events are subscribed.
+     */
+    private final Set<StorageReference> creatorsSubscribedToService = new HashSet<>();
+
+    /**
+     * The time allowed to the service to declare that it routes the events by creator, in milliseconds.
+     */
+    private final static long EVENTS_ROUTING_PROBE_TIMEOUT = 5_000L;
+
+    /**
+     * True if and only if the remote service routes the events by creator.
+     * This is {@code null} until the service gets probed for the first time.
+     * Accesses are guarded by {@link #creatorsSubscribedToService}.
+     */
+    private Boolean eventsRoutedByCreator;
+
+    /**
+     * The cache of the immutable objects already fetched from the remote service.
+     */
+    private final ImmutablesCache cache;
+
     /**
      * Builds the remote node.
      *
@@ -88,6 +129,10 @@ public abstract class AbstractRemoteNode extends AbstractNode implements RemoteN
      */
     protected AbstractRemoteNode(RemoteNodeConfig config) throws IOException {
         this.config = config;
+        this.cache = new ImmutablesCache(config.cacheSize);
+        if (config.cacheFile != null)
+            cache.load(config.cacheFile);
+
         try {
         	this.webSocketClient = new WebSocketClient("ws://" + config.url + "/node");
         }
@@ -97,20 +142,66 @@ public abstract class AbstractRemoteNode extends AbstractNode implements RemoteN
         catch (InterruptedException | ExecutionException e) {
         	throw new RuntimeException("unexpected exception", e);
         }
+    }
 
-        subscribeToEventsTopic();
+    @Override
+    protected void subscriptionsChanged(StorageReference creator) {
+        synchronized (creatorsSubscribedToService) {
+            if (!eventsRoutedByCreator()) {
+                // older services publish all events in the topic of all events only:
+                // we subscribe to it for good and dispatch its events to our subscribers
+                if (creatorsSubscribedToService.add(null))
+                    webSocketClient.subscribeToTopic(EventTopics.ALL, EventRequestModel.class, (eventRequestModel, errorModel) -> {
+                        if (eventRequestModel != null)
+                            notifyEvent(eventRequestModel.creator.toBean(), eventRequestModel.event.toBean());
+                        else
+                            logger.info("Got error from event subscription: " + errorModel.exceptionClassName + ": " + errorModel.message);
+                    });
+
+                return;
+            }
+
+            boolean wanted = hasSubscriptionsFor(creator);
+            String topic = creator == null ? EventTopics.ALL : EventTopics.of(creator);
+
+            if (wanted && creatorsSubscribedToService.add(creator))
+                webSocketClient.subscribeToTopic(topic, EventRequestModel.class, (eventRequestModel, errorModel) -> {
+                    if (eventRequestModel != null)
+                        // the service routes the events by creator, hence we only notify the subscribers of that creator
+                        notifyEventToSubscribersOf(creator, eventRequestModel.creator.toBean(), eventRequestModel.event.toBean());
+                    else
+                        logger.info("Got error from event subscription: " + errorModel.exceptionClassName + ": " + errorModel.message);
+                });
+            else if (!wanted && creatorsSubscribedToService.remove(creator))
+                webSocketClient.unsubscribeFromTopic(topic);
+        }
     }
 
     /**
-     * Subscribes to the events topic of the remote node to get notified about the node events.
+     * Determines if the remote service routes the events by creator, as described in {@link EventTopics}.
+     * The service gets probed the first time this method is called. Older services
+     * do not answer, hence the probe has a timeout. It must be called while holding
+     * the lock on {@link #creatorsSubscribedToService}.
+     *
+     * @return true if and only if the service routes the events by creator
      */
-    private void subscribeToEventsTopic() {
-        webSocketClient.subscribeToTopic("/topic/events", EventRequestModel.class, (eventRequestModel, errorModel) -> {
-            if (eventRequestModel != null)
-                notifyEvent(eventRequestModel.creator.toBean(), eventRequestModel.event.toBean());
-            else
-                logger.info("Got error from event subscription: " + errorModel.exceptionClassName + ": " + errorModel.message);
-        });
+    private boolean eventsRoutedByCreator() {
+        if (eventsRoutedByCreator == null) {
+            try {
+                eventsRoutedByCreator = EventTopics.ALL.equals(webSocketClient.subscribeAndSend(EventTopics.ROUTING, String.class, null, EVENTS_ROUTING_PROBE_TIMEOUT));
+            }
+            catch (TimeoutException | NetworkExceptionResponse e) {
+                logger.info("the service does not route the events by creator: falling back to the topic of all events");
+                eventsRoutedByCreator = false;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // we do not know, hence we use the topic of all events, that every service supports
+                eventsRoutedByCreator = false;
+            }
+        }
+
+        return eventsRoutedByCreator;
     }
 
     /**
@@ -125,6 +216,38 @@ public abstract class AbstractRemoteNode extends AbstractNode implements RemoteN
         return request.getStaticTarget() instanceof VoidMethodSignature ? null : model.toBean();
     }
 
+    /**
+     * Unmarshals a storage reference sent through the binary protocol.
+     *
+     * @param context the unmarshalling context
+     * @return the storage reference
+     * @throws IOException if the storage reference cannot be unmarshalled
+     * @throws ClassNotFoundException if the storage reference cannot be unmarshalled
+     */
+    protected static StorageReference storageReferenceFrom(UnmarshallingContext context) throws IOException, ClassNotFoundException {
+        StorageValue value = StorageValue.from(context);
+        if (value instanceof StorageReference)
+            return (StorageReference) value;
+        else
+            throw new IOException("a storage reference was expected");
+    }
+
+    /**
+     * Unmarshals a class tag sent through the binary protocol.
+     *
+     * @param context the unmarshalling context
+     * @return the class tag
+     * @throws IOException if the class tag cannot be unmarshalled
+     * @throws ClassNotFoundException if the class tag cannot be unmarshalled
+     */
+    protected static ClassTag classTagFrom(UnmarshallingContext context) throws IOException, ClassNotFoundException {
+        Update update = Update.from(context);
+        if (update instanceof ClassTag)
+            return (ClassTag) update;
+        else
+            throw new IOException("a class tag was expected");
+    }
+
     /**
      * Build the transaction request from the given model.
      *
@@ -164,6 +287,92 @@ public abstract class AbstractRemoteNode extends AbstractNode implements RemoteN
             throw new RuntimeException("unexpected transaction request model of class " + restRequestModel.type);
     }
 
+    /**
+     * Yields the results of a batch of calls, as returned by the binary protocol,
+     * where the results of the calls to {@code void} methods are the null value.
+     *
+     * @param requests the requests of the calls
+     * @param results the results of the calls, in order
+     * @return the results, where those of the calls to {@code void} methods are {@code null}
+     */
+    protected static List<StorageValue> resultsOfViewBatch(List<MethodCallTransactionRequest> requests, StorageValue[] results) {
+        if (results.length != requests.size())
+            throw new RuntimeException("expected " + requests.size() + " results but got " + results.length);
+
+        List<StorageValue> list = new ArrayList<>();
+        for (int pos = 0; pos < results.length; pos++)
+            list.add(requests.get(pos).getStaticTarget() instanceof VoidMethodSignature ? null : results[pos]);
+
+        return list;
+    }
+
+    /**
+     * Yields the results of a batch of calls, as returned by the JSON protocol.
+     *
+     * @param requests the requests of the calls
+     * @param model the model of the results of the calls
+     * @return the results, where those of the calls to {@code void} methods are {@code null}
+     */
+    protected static List<StorageValue> resultsOfViewBatch(List<MethodCallTransactionRequest> requests, ViewBatchResponseModel model) {
+        if (model.results == null || model.results.size() != requests.size())
+            throw new RuntimeException("unexpected number of results for a batch of " + requests.size() + " calls");
+
+        List<StorageValue> list = new ArrayList<>();
+        for (int pos = 0; pos < requests.size(); pos++)
+            list.add(dealWithReturnVoid(requests.get(pos), model.results.get(pos)));
+
+        return list;
+    }
+
+    /**
+     * Yields the route of the remote service that estimates the given request.
+     *
+     * @param request the request
+     * @return the route
+     */
+    protected static String estimateRouteFor(NonInitialTransactionRequest<?> request) {
+        if (request instanceof JarStoreTransactionRequest)
+            return "/estimate/jarStoreTransaction";
+        else if (request instanceof ConstructorCallTransactionRequest)
+            return "/estimate/constructorCallTransaction";
+        else if (request instanceof StaticMethodCallTransactionRequest)
+            return "/estimate/staticMethodCallTransaction";
+        else
+            return "/estimate/instanceMethodCallTransaction";
+    }
+
+    /**
+     * Builds the model of the given request, as expected by the estimate routes of the remote service.
+     *
+     * @param request the request
+     * @return the corresponding model
+     */
+    protected static Object estimateModelOf(NonInitialTransactionRequest<?> request) {
+        if (request instanceof JarStoreTransactionRequest)
+            return new JarStoreTransactionRequestModel((JarStoreTransactionRequest) request);
+        else if (request instanceof ConstructorCallTransactionRequest)
+            return new ConstructorCallTransactionRequestModel((ConstructorCallTransactionRequest) request);
+        else if (request instanceof StaticMethodCallTransactionRequest)
+            return new StaticMethodCallTransactionRequestModel((StaticMethodCallTransactionRequest) request);
+        else if (request instanceof InstanceMethodCallTransactionRequest)
+            return new InstanceMethodCallTransactionRequestModel((InstanceMethodCallTransactionRequest) request);
+        else
+            throw new IllegalArgumentException("unexpected request of class " + request.getClass().getName());
+    }
+
+    /**
+     * Yields the response of an estimate, checking that it has the expected type.
+     *
+     * @param response the response returned by the remote service
+     * @return the same response
+     */
+    protected static NonInitialTransactionResponse estimateFrom(TransactionResponse response) {
+        if (response instanceof NonInitialTransactionResponse)
+            return (NonInitialTransactionResponse) response;
+        else
+            throw new RuntimeException("unexpected response of class " + response.getClass().getName() + " for an estimate");
+    }
+
     /**
      * Serializes the transaction request model of the rest model
      * @param gson the gson instance
@@ -453,8 +662,98 @@ public abstract class AbstractRemoteNode extends AbstractNode implements RemoteN
         }
     }
 
+    @Override
+    public final TransactionRequest<?> getRequest(TransactionReference reference) throws NoSuchElementException {
+        Optional<TransactionRequest<?>> cached = cache.getRequest(reference);
+        if (cached.isPresent())
+            return cached.get();
+
+        TransactionRequest<?> request = fetchRequest(reference);
+        cache.putRequest(reference, request);
+        return request;
+    }
+
+    @Override
+    public final TransactionResponse getResponse(TransactionReference reference) throws TransactionRejectedException, NoSuchElementException {
+        Optional<TransactionResponse> cached = cache.getResponse(reference);
+        if (cached.isPresent())
+            return cached.get();
+
+        TransactionResponse response = fetchResponse(reference);
+        cache.putResponse(reference, response);
+        return response;
+    }
+
+    @Override
+    public final TransactionResponse getPolledResponse(TransactionReference reference) throws TransactionRejectedException, TimeoutException, InterruptedException {
+        Optional<TransactionResponse> cached = cache.getResponse(reference);
+        if (cached.isPresent())
+            return cached.get();
+
+        TransactionResponse response = fetchPolledResponse(reference);
+        cache.putResponse(reference, response);
+        return response;
+    }
+
+    @Override
+    public final ClassTag getClassTag(StorageReference reference) throws NoSuchElementException {
+        Optional<ClassTag> cached = cache.getClassTag(reference);
+        if (cached.isPresent())
+            return cached.get();
+
+        ClassTag classTag = fetchClassTag(reference);
+        cache.putClassTag(reference, classTag);
+        return classTag;
+    }
+
+    /**
+     * Fetches from the remote service the request of the given transaction.
+     * Implements {@link #getRequest(TransactionReference)}, without any caching.
+     *
+     * @param reference the reference of the transaction
+     * @return the request
+     * @throws NoSuchElementException if there is no request with that reference
+     */
+    protected abstract TransactionRequest<?> fetchRequest(TransactionReference reference) throws NoSuchElementException;
+
+    /**
+     * Fetches from the remote service the response of the given transaction.
+     * Implements {@link #getResponse(TransactionReference)}, without any caching.
+     *
+     * @param reference the reference of the transaction
+     * @return the response
+     * @throws TransactionRejectedException if there is a request for that transaction but it failed with this exception
+     * @throws NoSuchElementException if there is no request, and hence no response, with that reference
+     */
+    protected abstract TransactionResponse fetchResponse(TransactionReference reference) throws TransactionRejectedException, NoSuchElementException;
+
+    /**
+     * Polls the remote service for the response of the given transaction.
+     * Implements {@link #getPolledResponse(TransactionReference)}, without any caching.
+     *
+     * @param reference the reference of the transaction
+     * @return the response
+     * @throws TransactionRejectedException if the request failed with this exception
+     * @throws TimeoutException if the polling delay has expired but the request did not get processed yet
+     * @throws InterruptedException if the current thread was interrupted while waiting for the response
+     */
+    protected abstract TransactionResponse fetchPolledResponse(TransactionReference reference) throws TransactionRejectedException, TimeoutException, InterruptedException;
+
+    /**
+     * Fetches from the remote service the class tag of the given object.
+     * Implements {@link #getClassTag(StorageReference)}, without any caching.
+     *
+     * @param reference the reference of the object
+     * @return the class tag
+     * @throws NoSuchElementException if there is no object with that reference
+     */
+    protected abstract ClassTag fetchClassTag(StorageReference reference) throws NoSuchElementException;
+
     @Override
     public void close() {
+        if (config.cacheFile != null)
+            cache.save(config.cacheFile);
+
         webSocketClient.close();
     }
 }
\ No newline at end of file
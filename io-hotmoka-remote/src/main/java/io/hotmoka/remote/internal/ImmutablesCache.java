@@ -0,0 +1,305 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.remote.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.hotmoka.annotations.ThreadSafe;
+import io.hotmoka.beans.marshalling.BeanUnmarshaller;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.updates.ClassTag;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.marshalling.Marshallable;
+import io.hotmoka.network.BinaryProtocol;
+
+/**
+ * A cache of the objects fetched from a remote service that cannot change anymore
+ * once they exist: transaction requests and responses, keyed by the reference of their
+ * transaction, and class tags, keyed by the reference of their object.
+ * Objects are kept in marshalled form, hence each lookup yields a fresh copy and the size
+ * of the cache is measured in bytes. The least recently used objects are evicted first.
+ * The cache can be saved into a file and reloaded from it.
+ */
+@ThreadSafe
+class ImmutablesCache {
+    private final static Logger logger = Logger.getLogger(ImmutablesCache.class.getName());
+
+    /**
+     * An estimation of the bytes used by each entry, besides its key and value.
+     */
+    private final static int OVERHEAD = 64;
+
+    private final static byte REQUEST = 0;
+    private final static byte RESPONSE = 1;
+    private final static byte CLASS_TAG = 2;
+
+    /**
+     * The maximal size of the cache, in bytes.
+     */
+    private final long maxSize;
+
+    /**
+     * The entries of the cache, from the least recently used to the most recently used.
+     */
+    private final LinkedHashMap<Key, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The current size of the cache, in bytes.
+     */
+    private long size;
+
+    /**
+     * Builds an empty cache.
+     *
+     * @param maxSize the maximal size of the cache, in bytes; if this is 0, nothing gets cached
+     */
+    ImmutablesCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Yields the cached request of the given transaction.
+     *
+     * @param reference the reference of the transaction
+     * @return the request, if it is in cache
+     */
+    Optional<TransactionRequest<?>> getRequest(TransactionReference reference) {
+        return get(new Key(REQUEST, reference.getHashAsBytes()), (BeanUnmarshaller<TransactionRequest<?>>) TransactionRequest::from);
+    }
+
+    /**
+     * Caches the request of the given transaction.
+     *
+     * @param reference the reference of the transaction
+     * @param request the request
+     */
+    void putRequest(TransactionReference reference, TransactionRequest<?> request) {
+        put(new Key(REQUEST, reference.getHashAsBytes()), request);
+    }
+
+    /**
+     * Yields the cached response of the given transaction.
+     *
+     * @param reference the reference of the transaction
+     * @return the response, if it is in cache
+     */
+    Optional<TransactionResponse> getResponse(TransactionReference reference) {
+        return get(new Key(RESPONSE, reference.getHashAsBytes()), TransactionResponse::from);
+    }
+
+    /**
+     * Caches the response of the given transaction.
+     *
+     * @param reference the reference of the transaction
+     * @param response the response
+     */
+    void putResponse(TransactionReference reference, TransactionResponse response) {
+        put(new Key(RESPONSE, reference.getHashAsBytes()), response);
+    }
+
+    /**
+     * Yields the cached class tag of the given object.
+     *
+     * @param reference the reference of the object
+     * @return the class tag, if it is in cache
+     */
+    Optional<ClassTag> getClassTag(StorageReference reference) {
+        return get(keyOfClassTag(reference), AbstractRemoteNode::classTagFrom);
+    }
+
+    /**
+     * Caches the class tag of the given object.
+     *
+     * @param reference the reference of the object
+     * @param classTag the class tag
+     */
+    void putClassTag(StorageReference reference, ClassTag classTag) {
+        put(keyOfClassTag(reference), classTag);
+    }
+
+    /**
+     * Loads into this cache the entries saved in the given file, if it exists.
+     * A file that cannot be read is ignored.
+     *
+     * @param file the file
+     */
+    void load(Path file) {
+        if (maxSize <= 0 || !Files.exists(file))
+            return;
+
+        try (var dis = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                byte kind;
+                try {
+                    kind = dis.readByte();
+                }
+                catch (EOFException e) {
+                    break;
+                }
+
+                byte[] key = new byte[dis.readInt()];
+                dis.readFully(key);
+                byte[] value = new byte[dis.readInt()];
+                dis.readFully(value);
+                putBytes(new Key(kind, key), value);
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "cannot load the cache from " + file, e);
+        }
+    }
+
+    /**
+     * Saves the entries of this cache into the given file, from the least recently used.
+     * In this way, their order is preserved when they are reloaded.
+     *
+     * @param file the file
+     */
+    synchronized void save(Path file) {
+        if (maxSize <= 0)
+            return;
+
+        try {
+            Path parent = file.getParent();
+            if (parent != null)
+                Files.createDirectories(parent);
+
+            try (var dos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                for (var entry: entries.entrySet()) {
+                    Key key = entry.getKey();
+                    byte[] value = entry.getValue();
+                    dos.writeByte(key.kind);
+                    dos.writeInt(key.bytes.length);
+                    dos.write(key.bytes);
+                    dos.writeInt(value.length);
+                    dos.write(value);
+                }
+            }
+        }
+        catch (IOException e) {
+            logger.log(Level.WARNING, "cannot save the cache into " + file, e);
+        }
+    }
+
+    private <T extends Marshallable> Optional<T> get(Key key, BeanUnmarshaller<T> unmarshaller) {
+        byte[] value;
+        synchronized (this) {
+            value = entries.get(key);
+        }
+
+        if (value == null)
+            return Optional.empty();
+
+        try {
+            return Optional.of(BinaryProtocol.fromBytes(value, unmarshaller));
+        }
+        catch (IOException | ClassNotFoundException | RuntimeException e) {
+            // this might happen for entries loaded from a file that has been tampered with
+            logger.log(Level.WARNING, "cannot unmarshal a cached object", e);
+            remove(key);
+            return Optional.empty();
+        }
+    }
+
+    private void put(Key key, Marshallable value) {
+        if (maxSize <= 0 || value == null)
+            return;
+
+        try {
+            putBytes(key, BinaryProtocol.toBytes(value));
+        }
+        catch (IOException e) {
+            logger.log(Level.WARNING, "cannot marshal an object to cache", e);
+        }
+    }
+
+    private synchronized void putBytes(Key key, byte[] value) {
+        byte[] previous = entries.put(key, value);
+        if (previous != null)
+            size -= weight(key, previous);
+
+        size += weight(key, value);
+
+        Iterator<Map.Entry<Key, byte[]>> it = entries.entrySet().iterator();
+        while (size > maxSize && it.hasNext()) {
+            var eldest = it.next();
+            size -= weight(eldest.getKey(), eldest.getValue());
+            it.remove();
+        }
+    }
+
+    private synchronized void remove(Key key) {
+        byte[] previous = entries.remove(key);
+        if (previous != null)
+            size -= weight(key, previous);
+    }
+
+    private static Key keyOfClassTag(StorageReference reference) {
+        try {
+            return new Key(CLASS_TAG, reference.toByteArrayWithoutSelector());
+        }
+        catch (IOException e) {
+            // this does not happen since storage references are marshalled into memory
+            throw new RuntimeException("unexpected exception", e);
+        }
+    }
+
+    private static long weight(Key key, byte[] value) {
+        return OVERHEAD + key.bytes.length + value.length;
+    }
+
+    /**
+     * The key of an entry of the cache.
+     */
+    private final static class Key {
+        private final byte kind;
+        private final byte[] bytes;
+        private final int hashCode;
+
+        private Key(byte kind, byte[] bytes) {
+            this.kind = kind;
+            this.bytes = bytes;
+            this.hashCode = 31 * kind + Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && kind == ((Key) other).kind && Arrays.equals(bytes, ((Key) other).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
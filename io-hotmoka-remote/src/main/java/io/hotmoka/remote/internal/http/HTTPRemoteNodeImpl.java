@@ -17,7 +17,10 @@ limitations under the License.
 package io.hotmoka.remote.internal.http;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
 
@@ -25,6 +28,7 @@ import io.hotmoka.annotations.ThreadSafe;
 import io.hotmoka.beans.CodeExecutionException;
 import io.hotmoka.beans.TransactionException;
 import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.marshalling.BeanUnmarshaller;
 import io.hotmoka.beans.nodes.NodeInfo;
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.requests.ConstructorCallTransactionRequest;
@@ -33,13 +37,18 @@ import io.hotmoka.beans.requests.InitializationTransactionRequest;
 import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreInitialTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreTransactionRequest;
+import io.hotmoka.beans.requests.MethodCallTransactionRequest;
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
 import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.NonInitialTransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.updates.ClassTag;
 import io.hotmoka.beans.updates.Update;
 import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.marshalling.Marshallable;
+import io.hotmoka.network.BinaryProtocol;
 import io.hotmoka.network.nodes.NodeInfoModel;
 import io.hotmoka.network.requests.ConstructorCallTransactionRequestModel;
 import io.hotmoka.network.requests.GameteCreationTransactionRequestModel;
@@ -49,8 +58,10 @@ import io.hotmoka.network.requests.JarStoreInitialTransactionRequestModel;
 import io.hotmoka.network.requests.JarStoreTransactionRequestModel;
 import io.hotmoka.network.requests.StaticMethodCallTransactionRequestModel;
 import io.hotmoka.network.requests.TransactionRestRequestModel;
+import io.hotmoka.network.requests.ViewBatchRequestModel;
 import io.hotmoka.network.responses.SignatureAlgorithmResponseModel;
 import io.hotmoka.network.responses.TransactionRestResponseModel;
+import io.hotmoka.network.responses.ViewBatchResponseModel;
 import io.hotmoka.network.updates.ClassTagModel;
 import io.hotmoka.network.updates.StateModel;
 import io.hotmoka.network.values.StorageReferenceModel;
@@ -77,6 +88,13 @@ public class HTTPRemoteNodeImpl extends AbstractRemoteNode {
      */
     private RestClientService service = new RestClientService();
 
+    /**
+     * True if and only if the remote service might understand the binary protocol.
+     * It becomes false as soon as the service answers that it does not, so that
+     * JSON gets used from then on.
+     */
+    private volatile boolean binaryProtocolSupported = true;
+
     /**
      * Builds the remote node.
      *
@@ -105,13 +123,20 @@ public class HTTPRemoteNodeImpl extends AbstractRemoteNode {
     }
 
     @Override
-    public ClassTag getClassTag(StorageReference reference) throws NoSuchElementException {
-        return wrapNetworkExceptionForNoSuchElementException(() -> service.post(url + "/get/classTag", new StorageReferenceModel(reference), ClassTagModel.class).toBean(reference));
+    protected ClassTag fetchClassTag(StorageReference reference) throws NoSuchElementException {
+        return wrapNetworkExceptionForNoSuchElementException(() -> binaryOrJson("/get/classTag", reference, AbstractRemoteNode::classTagFrom,
+        	() -> service.post(url + "/get/classTag", new StorageReferenceModel(reference), ClassTagModel.class).toBean(reference)));
     }
 
     @Override
     public Stream<Update> getState(StorageReference reference) throws NoSuchElementException {
-        return wrapNetworkExceptionForNoSuchElementException(() -> service.post(url + "/get/state", new StorageReferenceModel(reference), StateModel.class).toBean());
+        return wrapNetworkExceptionForNoSuchElementException(() -> {
+        	Optional<byte[]> updates = postBinary("/get/state", reference);
+        	if (updates.isPresent())
+        		return Stream.of(BinaryProtocol.arrayFromBytes(updates.get(), Update::from, Update[]::new));
+        	else
+        		return service.post(url + "/get/state", new StorageReferenceModel(reference), StateModel.class).toBean();
+        });
     }
 
     @Override
@@ -121,86 +146,175 @@ public class HTTPRemoteNodeImpl extends AbstractRemoteNode {
     }
 
     @Override
-    public TransactionRequest<?> getRequest(TransactionReference reference) throws NoSuchElementException {
-        return wrapNetworkExceptionForNoSuchElementException(() -> requestFromModel(service.post(url + "/get/request", new TransactionReferenceModel(reference), TransactionRestRequestModel.class)));
+    protected TransactionRequest<?> fetchRequest(TransactionReference reference) throws NoSuchElementException {
+        return wrapNetworkExceptionForNoSuchElementException(() -> binaryOrJson("/get/request", reference, TransactionRequest::from,
+        	() -> requestFromModel(service.post(url + "/get/request", new TransactionReferenceModel(reference), TransactionRestRequestModel.class))));
     }
 
     @Override
-    public TransactionResponse getResponse(TransactionReference reference) throws TransactionRejectedException, NoSuchElementException {
-        return wrapNetworkExceptionForResponseAtException(() -> responseFromModel(service.post(url + "/get/response", new TransactionReferenceModel(reference), TransactionRestResponseModel.class)));
+    protected TransactionResponse fetchResponse(TransactionReference reference) throws TransactionRejectedException, NoSuchElementException {
+        return wrapNetworkExceptionForResponseAtException(() -> binaryOrJson("/get/response", reference, TransactionResponse::from,
+        	() -> responseFromModel(service.post(url + "/get/response", new TransactionReferenceModel(reference), TransactionRestResponseModel.class))));
     }
 
     @Override
-    public TransactionResponse getPolledResponse(TransactionReference reference) throws TransactionRejectedException, TimeoutException, InterruptedException {
-        return wrapNetworkExceptionForPolledResponseException(() -> responseFromModel(service.post(url + "/get/polledResponse", new TransactionReferenceModel(reference), TransactionRestResponseModel.class)));
+    protected TransactionResponse fetchPolledResponse(TransactionReference reference) throws TransactionRejectedException, TimeoutException, InterruptedException {
+        return wrapNetworkExceptionForPolledResponseException(() -> binaryOrJson("/get/polledResponse", reference, TransactionResponse::from,
+        	() -> responseFromModel(service.post(url + "/get/polledResponse", new TransactionReferenceModel(reference), TransactionRestResponseModel.class))));
     }
 
     @Override
     public TransactionReference addJarStoreInitialTransaction(JarStoreInitialTransactionRequest request) throws TransactionRejectedException {
-        return wrapNetworkExceptionSimple(() -> service.post(url + "/add/jarStoreInitialTransaction", new JarStoreInitialTransactionRequestModel(request), TransactionReferenceModel.class).toBean());
+        return wrapNetworkExceptionSimple(() -> binaryOrJson("/add/jarStoreInitialTransaction", request, TransactionReference::from,
+        	() -> service.post(url + "/add/jarStoreInitialTransaction", new JarStoreInitialTransactionRequestModel(request), TransactionReferenceModel.class).toBean()));
     }
 
     @Override
     public StorageReference addGameteCreationTransaction(GameteCreationTransactionRequest request) throws TransactionRejectedException {
-        return wrapNetworkExceptionSimple(() -> service.post(url + "/add/gameteCreationTransaction", new GameteCreationTransactionRequestModel(request), StorageReferenceModel.class).toBean());
+        return wrapNetworkExceptionSimple(() -> binaryOrJson("/add/gameteCreationTransaction", request, AbstractRemoteNode::storageReferenceFrom,
+        	() -> service.post(url + "/add/gameteCreationTransaction", new GameteCreationTransactionRequestModel(request), StorageReferenceModel.class).toBean()));
     }
 
     @Override
     public void addInitializationTransaction(InitializationTransactionRequest request) throws TransactionRejectedException {
-        wrapNetworkExceptionSimple(() -> service.post(url + "/add/initializationTransaction", new InitializationTransactionRequestModel(request), Void.class));
+        wrapNetworkExceptionSimple(() -> {
+        	if (postBinary("/add/initializationTransaction", request).isEmpty())
+        		service.post(url + "/add/initializationTransaction", new InitializationTransactionRequestModel(request), Void.class);
+
+        	return null;
+        });
     }
 
     @Override
     public TransactionReference addJarStoreTransaction(JarStoreTransactionRequest request) throws TransactionRejectedException, TransactionException {
-        return wrapNetworkExceptionMedium(() -> service.post(url + "/add/jarStoreTransaction", new JarStoreTransactionRequestModel(request), TransactionReferenceModel.class).toBean());
+        return wrapNetworkExceptionMedium(() -> binaryOrJson("/add/jarStoreTransaction", request, TransactionReference::from,
+        	() -> service.post(url + "/add/jarStoreTransaction", new JarStoreTransactionRequestModel(request), TransactionReferenceModel.class).toBean()));
     }
 
     @Override
     public StorageReference addConstructorCallTransaction(ConstructorCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
-        return wrapNetworkExceptionFull(() -> service.post(url + "/add/constructorCallTransaction", new ConstructorCallTransactionRequestModel(request), StorageReferenceModel.class).toBean());
+        return wrapNetworkExceptionFull(() -> binaryOrJson("/add/constructorCallTransaction", request, AbstractRemoteNode::storageReferenceFrom,
+        	() -> service.post(url + "/add/constructorCallTransaction", new ConstructorCallTransactionRequestModel(request), StorageReferenceModel.class).toBean()));
     }
 
     @Override
     public StorageValue addInstanceMethodCallTransaction(InstanceMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
-        return wrapNetworkExceptionFull(() -> dealWithReturnVoid(request, service.post(url + "/add/instanceMethodCallTransaction", new InstanceMethodCallTransactionRequestModel(request), StorageValueModel.class)));
+        return wrapNetworkExceptionFull(() -> binaryOrJson("/add/instanceMethodCallTransaction", request, StorageValue::from,
+        	() -> dealWithReturnVoid(request, service.post(url + "/add/instanceMethodCallTransaction", new InstanceMethodCallTransactionRequestModel(request), StorageValueModel.class))));
     }
 
     @Override
     public StorageValue addStaticMethodCallTransaction(StaticMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
-        return wrapNetworkExceptionFull(() -> dealWithReturnVoid(request, service.post(url + "/add/staticMethodCallTransaction", new StaticMethodCallTransactionRequestModel(request), StorageValueModel.class)));
+        return wrapNetworkExceptionFull(() -> binaryOrJson("/add/staticMethodCallTransaction", request, StorageValue::from,
+        	() -> dealWithReturnVoid(request, service.post(url + "/add/staticMethodCallTransaction", new StaticMethodCallTransactionRequestModel(request), StorageValueModel.class))));
     }
 
     @Override
     public StorageValue runInstanceMethodCallTransaction(InstanceMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
-        return wrapNetworkExceptionFull(() -> dealWithReturnVoid(request, service.post(url + "/run/instanceMethodCallTransaction", new InstanceMethodCallTransactionRequestModel(request), StorageValueModel.class)));
+        return wrapNetworkExceptionFull(() -> binaryOrJson("/run/instanceMethodCallTransaction", request, StorageValue::from,
+        	() -> dealWithReturnVoid(request, service.post(url + "/run/instanceMethodCallTransaction", new InstanceMethodCallTransactionRequestModel(request), StorageValueModel.class))));
     }
 
     @Override
     public StorageValue runStaticMethodCallTransaction(StaticMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
-        return wrapNetworkExceptionFull(() -> dealWithReturnVoid(request, service.post(url + "/run/staticMethodCallTransaction", new StaticMethodCallTransactionRequestModel(request), StorageValueModel.class)));
+        return wrapNetworkExceptionFull(() -> binaryOrJson("/run/staticMethodCallTransaction", request, StorageValue::from,
+        	() -> dealWithReturnVoid(request, service.post(url + "/run/staticMethodCallTransaction", new StaticMethodCallTransactionRequestModel(request), StorageValueModel.class))));
+    }
+
+    @Override
+    public List<StorageValue> runViewBatch(List<MethodCallTransactionRequest> requests) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+        return wrapNetworkExceptionFull(() -> {
+        	Optional<byte[]> results = postBinary("/run/viewBatch", BinaryProtocol.toBytes(requests.toArray(Marshallable[]::new)));
+        	if (results.isPresent())
+        		return resultsOfViewBatch(requests, BinaryProtocol.arrayFromBytes(results.get(), StorageValue::from, StorageValue[]::new));
+        	else
+        		return resultsOfViewBatch(requests, service.post(url + "/run/viewBatch", new ViewBatchRequestModel(requests), ViewBatchResponseModel.class));
+        });
+    }
+
+    @Override
+    public NonInitialTransactionResponse estimate(NonInitialTransactionRequest<?> request) throws TransactionRejectedException {
+        return wrapNetworkExceptionSimple(() -> estimateFrom(binaryOrJson(estimateRouteFor(request), request, TransactionResponse::from,
+        	() -> responseFromModel(service.post(url + estimateRouteFor(request), estimateModelOf(request), TransactionRestResponseModel.class)))));
     }
 
     @Override
     public JarSupplier postJarStoreTransaction(JarStoreTransactionRequest request) throws TransactionRejectedException {
-        TransactionReference reference = wrapNetworkExceptionSimple(() -> service.post(url + "/post/jarStoreTransaction", new JarStoreTransactionRequestModel(request), TransactionReferenceModel.class).toBean());
+        TransactionReference reference = wrapNetworkExceptionSimple(() -> binaryOrJson("/post/jarStoreTransaction", request, TransactionReference::from,
+        	() -> service.post(url + "/post/jarStoreTransaction", new JarStoreTransactionRequestModel(request), TransactionReferenceModel.class).toBean()));
         return wrapInCaseOfExceptionSimple(() -> jarSupplierFor(reference));
     }
 
     @Override
     public CodeSupplier<StorageReference> postConstructorCallTransaction(ConstructorCallTransactionRequest request) throws TransactionRejectedException {
-        TransactionReference reference = wrapNetworkExceptionSimple(() -> service.post(url + "/post/constructorCallTransaction", new ConstructorCallTransactionRequestModel(request), TransactionReferenceModel.class).toBean());
+        TransactionReference reference = wrapNetworkExceptionSimple(() -> binaryOrJson("/post/constructorCallTransaction", request, TransactionReference::from,
+        	() -> service.post(url + "/post/constructorCallTransaction", new ConstructorCallTransactionRequestModel(request), TransactionReferenceModel.class).toBean()));
         return wrapInCaseOfExceptionSimple(() -> constructorSupplierFor(reference));
     }
 
     @Override
     public CodeSupplier<StorageValue> postInstanceMethodCallTransaction(InstanceMethodCallTransactionRequest request) throws TransactionRejectedException {
-        TransactionReference reference = service.post(url + "/post/instanceMethodCallTransaction", new InstanceMethodCallTransactionRequestModel(request), TransactionReferenceModel.class).toBean();
+        TransactionReference reference = wrapNetworkExceptionSimple(() -> binaryOrJson("/post/instanceMethodCallTransaction", request, TransactionReference::from,
+        	() -> service.post(url + "/post/instanceMethodCallTransaction", new InstanceMethodCallTransactionRequestModel(request), TransactionReferenceModel.class).toBean()));
         return wrapNetworkExceptionSimple(() -> methodSupplierFor(reference));
     }
 
     @Override
     public CodeSupplier<StorageValue> postStaticMethodCallTransaction(StaticMethodCallTransactionRequest request) throws TransactionRejectedException {
-        TransactionReference reference = service.post(url + "/post/staticMethodCallTransaction", new StaticMethodCallTransactionRequestModel(request), TransactionReferenceModel.class).toBean();
+        TransactionReference reference = wrapNetworkExceptionSimple(() -> binaryOrJson("/post/staticMethodCallTransaction", request, TransactionReference::from,
+        	() -> service.post(url + "/post/staticMethodCallTransaction", new StaticMethodCallTransactionRequestModel(request), TransactionReferenceModel.class).toBean()));
         return wrapNetworkExceptionSimple(() -> methodSupplierFor(reference));
     }
+
+    /**
+     * Posts the marshalled argument to the given path of the service, through the binary protocol.
+     *
+     * @param path the path, after the URL of the service
+     * @param argument the argument
+     * @return the marshalled result; this is empty if the service does not support the binary protocol
+     * @throws IOException if the argument cannot be marshalled
+     */
+    private Optional<byte[]> postBinary(String path, Marshallable argument) throws IOException {
+    	return postBinary(path, BinaryProtocol.toBytes(argument));
+    }
+
+    /**
+     * Posts the given marshalled bytes to the given path of the service, through the binary protocol.
+     *
+     * @param path the path, after the URL of the service
+     * @param bytes the marshalled argument
+     * @return the marshalled result; this is empty if the service does not support the binary protocol
+     */
+    private Optional<byte[]> postBinary(String path, byte[] bytes) {
+    	if (!binaryProtocolSupported)
+    		return Optional.empty();
+
+    	Optional<byte[]> result = service.postBinary(url + path, bytes);
+    	if (result.isEmpty()) {
+    		logger.info("the service at " + url + " does not support the binary protocol: falling back to JSON");
+    		binaryProtocolSupported = false;
+    	}
+
+    	return result;
+    }
+
+    /**
+     * Calls the given path of the service through the binary protocol, if the service
+     * supports it, or otherwise through JSON.
+     *
+     * @param <T> the type of the result
+     * @param path the path, after the URL of the service
+     * @param argument the argument
+     * @param unmarshaller the unmarshaller of the result, if the binary protocol is used
+     * @param json the call to perform if the binary protocol is not supported
+     * @return the result
+     * @throws Exception if the call fails
+     */
+    private <T extends Marshallable> T binaryOrJson(String path, Marshallable argument, BeanUnmarshaller<T> unmarshaller, Callable<T> json) throws Exception {
+    	Optional<byte[]> result = postBinary(path, argument);
+    	if (result.isPresent())
+    		return BinaryProtocol.fromBytes(result.get(), unmarshaller);
+    	else
+    		return json.call();
+    }
 }
\ No newline at end of file
@@ -25,11 +25,13 @@ import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import io.hotmoka.network.BinaryProtocol;
 import io.hotmoka.network.NetworkExceptionResponse;
 import io.hotmoka.network.errors.ErrorModel;
 
@@ -118,6 +120,53 @@ public class RestClientService {
     	}
     }
 
+    /**
+     * Performs a POST request whose body and response are in the binary protocol.
+     *
+     * @param url the url
+     * @param requestBody the marshalled request body
+     * @return the marshalled response; this is empty if the server does not understand the binary protocol
+     * @throws NetworkExceptionResponse if client or server errors occur
+     */
+    public Optional<byte[]> postBinary(String url, byte[] requestBody) throws NetworkExceptionResponse {
+    	HttpURLConnection con = null;
+
+    	try {
+    		con = (HttpURLConnection) new URL(url).openConnection();
+    		con.setRequestMethod("POST");
+	    	con.setRequestProperty("Content-Type", BinaryProtocol.MEDIA_TYPE);
+	    	con.setRequestProperty("Accept", BinaryProtocol.MEDIA_TYPE + ", application/json");
+	    	con.setDoOutput(true);
+
+	    	try (OutputStream os = con.getOutputStream()) {
+	    		os.write(requestBody);
+	    	}
+
+	    	int code = con.getResponseCode();
+	    	if (code == HttpURLConnection.HTTP_UNSUPPORTED_TYPE)
+	    		return Optional.empty();
+	    	else if (code > 299) {
+	    		ErrorModel error = errorModelFrom(con.getErrorStream());
+	    		// older services map the media type mismatch into a generic error
+	    		if (error != null && error.exceptionClassName != null && error.exceptionClassName.endsWith("HttpMediaTypeNotSupportedException"))
+	    			return Optional.empty();
+
+	    		throw new NetworkExceptionResponse("Internal Server Error", error);
+	    	}
+
+	    	try (InputStream is = con.getInputStream()) {
+	    		return Optional.of(is.readAllBytes());
+	    	}
+		}
+		catch (IOException e) {
+			throw new NetworkExceptionResponse("Internal Server Error", new ErrorModel(e));
+		}
+    	finally {
+    		if (con != null)
+    			con.disconnect();
+    	}
+    }
+
     /**
      * Builds this model from an input stream
      * 
@@ -17,13 +17,17 @@ limitations under the License.
 package io.hotmoka.remote.internal.websockets;
 
 import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
 
 import io.hotmoka.beans.CodeExecutionException;
 import io.hotmoka.beans.TransactionException;
 import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.marshalling.BeanUnmarshaller;
 import io.hotmoka.beans.nodes.NodeInfo;
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.requests.ConstructorCallTransactionRequest;
@@ -32,13 +36,18 @@ import io.hotmoka.beans.requests.InitializationTransactionRequest;
 import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreInitialTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreTransactionRequest;
+import io.hotmoka.beans.requests.MethodCallTransactionRequest;
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
 import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.NonInitialTransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.updates.ClassTag;
 import io.hotmoka.beans.updates.Update;
 import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.marshalling.Marshallable;
+import io.hotmoka.network.BinaryProtocol;
 import io.hotmoka.network.nodes.NodeInfoModel;
 import io.hotmoka.network.requests.ConstructorCallTransactionRequestModel;
 import io.hotmoka.network.requests.GameteCreationTransactionRequestModel;
@@ -48,8 +57,10 @@ import io.hotmoka.network.requests.JarStoreInitialTransactionRequestModel;
 import io.hotmoka.network.requests.JarStoreTransactionRequestModel;
 import io.hotmoka.network.requests.StaticMethodCallTransactionRequestModel;
 import io.hotmoka.network.requests.TransactionRestRequestModel;
+import io.hotmoka.network.requests.ViewBatchRequestModel;
 import io.hotmoka.network.responses.SignatureAlgorithmResponseModel;
 import io.hotmoka.network.responses.TransactionRestResponseModel;
+import io.hotmoka.network.responses.ViewBatchResponseModel;
 import io.hotmoka.network.updates.ClassTagModel;
 import io.hotmoka.network.updates.StateModel;
 import io.hotmoka.network.values.StorageReferenceModel;
@@ -64,6 +75,17 @@ import io.hotmoka.remote.internal.AbstractRemoteNode;
  */
 public class WebSocketsRemoteNodeImpl extends AbstractRemoteNode {
 
+    /**
+     * The time allowed to the service to declare that it understands the binary protocol, in milliseconds.
+     */
+    private final static long BINARY_PROTOCOL_PROBE_TIMEOUT = 5_000L;
+
+    /**
+     * True if and only if the remote service understands the binary protocol.
+     * This is {@code null} until the service gets probed for the first time.
+     */
+    private volatile Boolean binaryProtocolSupported;
+
     /**
      * Builds the remote node.
      *
@@ -92,15 +114,20 @@ public class WebSocketsRemoteNodeImpl extends AbstractRemoteNode {
     }
 
     @Override
-    public ClassTag getClassTag(StorageReference reference) throws NoSuchElementException {
+    protected ClassTag fetchClassTag(StorageReference reference) throws NoSuchElementException {
         return wrapNetworkExceptionForNoSuchElementException
-                (() -> send("/get/classTag", ClassTagModel.class, new StorageReferenceModel(reference)).toBean(reference));
+                (() -> binaryOrJson("/get/classTag", reference, AbstractRemoteNode::classTagFrom,
+                	() -> send("/get/classTag", ClassTagModel.class, new StorageReferenceModel(reference)).toBean(reference)));
     }
 
     @Override
     public Stream<Update> getState(StorageReference reference) throws NoSuchElementException {
-        return wrapNetworkExceptionForNoSuchElementException
-                (() -> send("/get/state", StateModel.class, new StorageReferenceModel(reference)).toBean());
+        return wrapNetworkExceptionForNoSuchElementException(() -> {
+        	if (binaryProtocolSupported())
+        		return Stream.of(BinaryProtocol.arrayFromBytes(sendBinary("/get/state", reference), Update::from, Update[]::new));
+        	else
+        		return send("/get/state", StateModel.class, new StorageReferenceModel(reference)).toBean();
+        });
     }
 
     @Override
@@ -112,81 +139,116 @@ public class WebSocketsRemoteNodeImpl extends AbstractRemoteNode {
     }
 
     @Override
-    public TransactionRequest<?> getRequest(TransactionReference reference) throws NoSuchElementException {
+    protected TransactionRequest<?> fetchRequest(TransactionReference reference) throws NoSuchElementException {
         return wrapNetworkExceptionForNoSuchElementException
-                (() -> requestFromModel(send("/get/request", TransactionRestRequestModel.class, new TransactionReferenceModel(reference))));
+                (() -> binaryOrJson("/get/request", reference, TransactionRequest::from,
+                	() -> requestFromModel(send("/get/request", TransactionRestRequestModel.class, new TransactionReferenceModel(reference)))));
     }
 
     @Override
-    public TransactionResponse getResponse(TransactionReference reference) throws TransactionRejectedException, NoSuchElementException {
+    protected TransactionResponse fetchResponse(TransactionReference reference) throws TransactionRejectedException, NoSuchElementException {
         return wrapNetworkExceptionForResponseAtException
-                (() -> responseFromModel(send("/get/response", TransactionRestResponseModel.class, new TransactionReferenceModel(reference))));
+                (() -> binaryOrJson("/get/response", reference, TransactionResponse::from,
+                	() -> responseFromModel(send("/get/response", TransactionRestResponseModel.class, new TransactionReferenceModel(reference)))));
     }
 
     @Override
-    public TransactionResponse getPolledResponse(TransactionReference reference) throws TransactionRejectedException, TimeoutException, InterruptedException {
+    protected TransactionResponse fetchPolledResponse(TransactionReference reference) throws TransactionRejectedException, TimeoutException, InterruptedException {
         return wrapNetworkExceptionForPolledResponseException
-                (() -> responseFromModel(send("/get/polledResponse", TransactionRestResponseModel.class, new TransactionReferenceModel(reference))));
+                (() -> binaryOrJson("/get/polledResponse", reference, TransactionResponse::from,
+                	() -> responseFromModel(send("/get/polledResponse", TransactionRestResponseModel.class, new TransactionReferenceModel(reference)))));
     }
 
     @Override
     public TransactionReference addJarStoreInitialTransaction(JarStoreInitialTransactionRequest request) throws TransactionRejectedException {
         return wrapNetworkExceptionSimple
-                (() -> send("/add/jarStoreInitialTransaction", TransactionReferenceModel.class, new JarStoreInitialTransactionRequestModel(request)).toBean());
+                (() -> binaryOrJson("/add/jarStoreInitialTransaction", request, TransactionReference::from,
+                	() -> send("/add/jarStoreInitialTransaction", TransactionReferenceModel.class, new JarStoreInitialTransactionRequestModel(request)).toBean()));
     }
 
     @Override
     public StorageReference addGameteCreationTransaction(GameteCreationTransactionRequest request) throws TransactionRejectedException {
         return wrapNetworkExceptionSimple
-                (() -> send("/add/gameteCreationTransaction", StorageReferenceModel.class, new GameteCreationTransactionRequestModel(request)).toBean());
+                (() -> binaryOrJson("/add/gameteCreationTransaction", request, AbstractRemoteNode::storageReferenceFrom,
+                	() -> send("/add/gameteCreationTransaction", StorageReferenceModel.class, new GameteCreationTransactionRequestModel(request)).toBean()));
     }
 
     @Override
     public void addInitializationTransaction(InitializationTransactionRequest request) throws TransactionRejectedException {
-        wrapNetworkExceptionSimple
-                (() -> send("/add/initializationTransaction", Void.class, new InitializationTransactionRequestModel(request)));
+        wrapNetworkExceptionSimple(() -> {
+        	if (binaryProtocolSupported())
+        		sendBinary("/add/initializationTransaction", request);
+        	else
+        		send("/add/initializationTransaction", Void.class, new InitializationTransactionRequestModel(request));
+
+        	return null;
+        });
     }
 
     @Override
     public TransactionReference addJarStoreTransaction(JarStoreTransactionRequest request) throws TransactionRejectedException, TransactionException {
         return wrapNetworkExceptionMedium
-                (() -> send("/add/jarStoreTransaction", TransactionReferenceModel.class, new JarStoreTransactionRequestModel(request)).toBean());
+                (() -> binaryOrJson("/add/jarStoreTransaction", request, TransactionReference::from,
+                	() -> send("/add/jarStoreTransaction", TransactionReferenceModel.class, new JarStoreTransactionRequestModel(request)).toBean()));
     }
 
     @Override
     public StorageReference addConstructorCallTransaction(ConstructorCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
         return wrapNetworkExceptionFull
-                (() -> send("/add/constructorCallTransaction", StorageReferenceModel.class, new ConstructorCallTransactionRequestModel(request)).toBean());
+                (() -> binaryOrJson("/add/constructorCallTransaction", request, AbstractRemoteNode::storageReferenceFrom,
+                	() -> send("/add/constructorCallTransaction", StorageReferenceModel.class, new ConstructorCallTransactionRequestModel(request)).toBean()));
     }
 
     @Override
     public StorageValue addInstanceMethodCallTransaction(InstanceMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
         return wrapNetworkExceptionFull
-                (() -> dealWithReturnVoid(request, send("/add/instanceMethodCallTransaction", StorageValueModel.class, new InstanceMethodCallTransactionRequestModel(request))));
+                (() -> binaryOrJson("/add/instanceMethodCallTransaction", request, StorageValue::from,
+                	() -> dealWithReturnVoid(request, send("/add/instanceMethodCallTransaction", StorageValueModel.class, new InstanceMethodCallTransactionRequestModel(request)))));
     }
 
     @Override
     public StorageValue addStaticMethodCallTransaction(StaticMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
         return wrapNetworkExceptionFull
-                (() -> dealWithReturnVoid(request, send("/add/staticMethodCallTransaction", StorageValueModel.class, new StaticMethodCallTransactionRequestModel(request))));
+                (() -> binaryOrJson("/add/staticMethodCallTransaction", request, StorageValue::from,
+                	() -> dealWithReturnVoid(request, send("/add/staticMethodCallTransaction", StorageValueModel.class, new StaticMethodCallTransactionRequestModel(request)))));
     }
 
     @Override
     public StorageValue runInstanceMethodCallTransaction(InstanceMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
         return wrapNetworkExceptionFull
-                (() -> dealWithReturnVoid(request, send("/run/instanceMethodCallTransaction", StorageValueModel.class, new InstanceMethodCallTransactionRequestModel(request))));
+                (() -> binaryOrJson("/run/instanceMethodCallTransaction", request, StorageValue::from,
+                	() -> dealWithReturnVoid(request, send("/run/instanceMethodCallTransaction", StorageValueModel.class, new InstanceMethodCallTransactionRequestModel(request)))));
     }
 
     @Override
     public StorageValue runStaticMethodCallTransaction(StaticMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
         return wrapNetworkExceptionFull
-                (() -> dealWithReturnVoid(request, send("/run/staticMethodCallTransaction", StorageValueModel.class, new StaticMethodCallTransactionRequestModel(request))));
+                (() -> binaryOrJson("/run/staticMethodCallTransaction", request, StorageValue::from,
+                	() -> dealWithReturnVoid(request, send("/run/staticMethodCallTransaction", StorageValueModel.class, new StaticMethodCallTransactionRequestModel(request)))));
+    }
+
+    @Override
+    public List<StorageValue> runViewBatch(List<MethodCallTransactionRequest> requests) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+        return wrapNetworkExceptionFull(() -> {
+        	if (binaryProtocolSupported())
+        		return resultsOfViewBatch(requests, BinaryProtocol.arrayFromBytes(sendBinary("/run/viewBatch", BinaryProtocol.toBytes(requests.toArray(Marshallable[]::new))), StorageValue::from, StorageValue[]::new));
+        	else
+        		return resultsOfViewBatch(requests, send("/run/viewBatch", ViewBatchResponseModel.class, new ViewBatchRequestModel(requests)));
+        });
+    }
+
+    @Override
+    public NonInitialTransactionResponse estimate(NonInitialTransactionRequest<?> request) throws TransactionRejectedException {
+        return wrapNetworkExceptionSimple
+                (() -> estimateFrom(binaryOrJson(estimateRouteFor(request), request, TransactionResponse::from,
+                	() -> responseFromModel(send(estimateRouteFor(request), TransactionRestResponseModel.class, estimateModelOf(request))))));
     }
 
     @Override
     public JarSupplier postJarStoreTransaction(JarStoreTransactionRequest request) throws TransactionRejectedException {
         TransactionReference reference = wrapNetworkExceptionSimple
-                (() -> send("/post/jarStoreTransaction", TransactionReferenceModel.class, new JarStoreTransactionRequestModel(request)).toBean());
+                (() -> binaryOrJson("/post/jarStoreTransaction", request, TransactionReference::from,
+                	() -> send("/post/jarStoreTransaction", TransactionReferenceModel.class, new JarStoreTransactionRequestModel(request)).toBean()));
 
         return wrapInCaseOfExceptionSimple(() -> jarSupplierFor(reference));
     }
@@ -194,7 +256,8 @@ public class WebSocketsRemoteNodeImpl extends AbstractRemoteNode {
     @Override
     public CodeSupplier<StorageReference> postConstructorCallTransaction(ConstructorCallTransactionRequest request) throws TransactionRejectedException {
         TransactionReference reference = wrapNetworkExceptionSimple
-                (() -> send("/post/constructorCallTransaction", TransactionReferenceModel.class, new ConstructorCallTransactionRequestModel(request)).toBean());
+                (() -> binaryOrJson("/post/constructorCallTransaction", request, TransactionReference::from,
+                	() -> send("/post/constructorCallTransaction", TransactionReferenceModel.class, new ConstructorCallTransactionRequestModel(request)).toBean()));
 
         return wrapInCaseOfExceptionSimple(() -> constructorSupplierFor(reference));
     }
@@ -202,7 +265,8 @@ public class WebSocketsRemoteNodeImpl extends AbstractRemoteNode {
     @Override
     public CodeSupplier<StorageValue> postInstanceMethodCallTransaction(InstanceMethodCallTransactionRequest request) throws TransactionRejectedException {
         TransactionReference reference = wrapNetworkExceptionSimple
-                (() -> send("/post/instanceMethodCallTransaction", TransactionReferenceModel.class, new InstanceMethodCallTransactionRequestModel(request)).toBean());
+                (() -> binaryOrJson("/post/instanceMethodCallTransaction", request, TransactionReference::from,
+                	() -> send("/post/instanceMethodCallTransaction", TransactionReferenceModel.class, new InstanceMethodCallTransactionRequestModel(request)).toBean()));
 
         return wrapInCaseOfExceptionSimple(() -> methodSupplierFor(reference));
     }
@@ -210,7 +274,8 @@ public class WebSocketsRemoteNodeImpl extends AbstractRemoteNode {
     @Override
     public CodeSupplier<StorageValue> postStaticMethodCallTransaction(StaticMethodCallTransactionRequest request) throws TransactionRejectedException {
         TransactionReference reference = wrapNetworkExceptionSimple
-                (() -> send("/post/staticMethodCallTransaction", TransactionReferenceModel.class, new StaticMethodCallTransactionRequestModel(request)).toBean());
+                (() -> binaryOrJson("/post/staticMethodCallTransaction", request, TransactionReference::from,
+                	() -> send("/post/staticMethodCallTransaction", TransactionReferenceModel.class, new StaticMethodCallTransactionRequestModel(request)).toBean()));
 
         return wrapInCaseOfExceptionSimple(() -> methodSupplierFor(reference));
     }
@@ -242,4 +307,78 @@ public class WebSocketsRemoteNodeImpl extends AbstractRemoteNode {
     private <T, P> T send(String topic, Class<T> model, P payload) throws InterruptedException {
         return webSocketClient.subscribeAndSend(topic, model, payload);
     }
+
+    /**
+     * Determines if the remote service understands the binary protocol.
+     * The service gets probed the first time this method is called. Services that
+     * do not understand the protocol do not answer, hence the probe has a timeout.
+     *
+     * @return true if and only if the service understands the binary protocol
+     * @throws InterruptedException if the current thread gets interrupted while probing the service
+     */
+    private boolean binaryProtocolSupported() throws InterruptedException {
+    	Boolean result = binaryProtocolSupported;
+    	if (result != null)
+    		return result;
+
+    	synchronized (this) {
+    		if (binaryProtocolSupported == null) {
+    			try {
+    				binaryProtocolSupported = BinaryProtocol.MEDIA_TYPE.equals(webSocketClient.subscribeAndSend("/binary/protocol", String.class, null, BINARY_PROTOCOL_PROBE_TIMEOUT));
+    			}
+    			catch (TimeoutException e) {
+    				logger.info("the service does not support the binary protocol: falling back to JSON");
+    				binaryProtocolSupported = false;
+    			}
+    		}
+
+    		return binaryProtocolSupported;
+    	}
+    }
+
+    /**
+     * Sends the marshalled argument to the given topic, through the binary protocol.
+     * Since STOMP frames are textual, the marshalled argument and result travel in Base64.
+     *
+     * @param topic the topic, without the prefix of the binary protocol
+     * @param argument the argument
+     * @return the marshalled result
+     * @throws IOException if the argument cannot be marshalled
+     * @throws InterruptedException if the websockets subscription throws that
+     */
+    private byte[] sendBinary(String topic, Marshallable argument) throws IOException, InterruptedException {
+    	return sendBinary(topic, BinaryProtocol.toBytes(argument));
+    }
+
+    /**
+     * Sends the given marshalled bytes to the given topic, through the binary protocol.
+     *
+     * @param topic the topic, without the prefix of the binary protocol
+     * @param bytes the marshalled argument
+     * @return the marshalled result
+     * @throws InterruptedException if the websockets subscription throws that
+     */
+    private byte[] sendBinary(String topic, byte[] bytes) throws InterruptedException {
+    	String result = send("/binary" + topic, String.class, Base64.getEncoder().encodeToString(bytes));
+    	return result == null ? new byte[0] : Base64.getDecoder().decode(result);
+    }
+
+    /**
+     * Sends a request for the given topic through the binary protocol, if the service
+     * supports it, or otherwise through JSON.
+     *
+     * @param <T> the type of the result
+     * @param topic the topic
+     * @param argument the argument
+     * @param unmarshaller the unmarshaller of the result, if the binary protocol is used
+     * @param json the request to perform if the binary protocol is not supported
+     * @return the result
+     * @throws Exception if the request fails
+     */
+    private <T extends Marshallable> T binaryOrJson(String topic, Marshallable argument, BeanUnmarshaller<T> unmarshaller, Callable<T> json) throws Exception {
+    	if (binaryProtocolSupported())
+    		return BinaryProtocol.fromBytes(sendBinary(topic, argument), unmarshaller);
+    	else
+    		return json.call();
+    }
 }
\ No newline at end of file
@@ -29,6 +29,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -64,6 +67,11 @@ public class WebSocketClient implements AutoCloseable {
      */
     private final Map<String, Subscription> internalSubscriptions;
 
+    /**
+     * The identifier of the last subscription opened with this client.
+     */
+    private final AtomicInteger lastSubscriptionId = new AtomicInteger();
+
     /**
      * The websockets queues where the results are published and consumed, per topic.
      */
@@ -258,8 +266,30 @@ public class WebSocketClient implements AutoCloseable {
      * @param resultType the result type
      * @param payload    the payload
      */
-    @SuppressWarnings("unchecked")
 	public <T, P> T subscribeAndSend(String topic, Class<T> resultType, P payload) throws InterruptedException {
+        try {
+            return subscribeAndSend(topic, resultType, payload, Long.MAX_VALUE);
+        }
+        catch (TimeoutException e) {
+            // we waited forever
+            throw new RuntimeException("unexpected exception", e);
+        }
+    }
+
+    /**
+     * It sends a payload to the "user" and "error" topic by performing an initial subscription
+     * and waits for a result, for at most the given time. The subscription is recycled.
+     *
+     * @param <T>        the type of the expected result
+     * @param <P>        the type of the payload
+     * @param topic      the topic
+     * @param resultType the result type
+     * @param payload    the payload
+     * @param timeout    the maximal time to wait for the result, in milliseconds
+     * @throws TimeoutException if no result arrived in time
+     */
+    @SuppressWarnings("unchecked")
+	public <T, P> T subscribeAndSend(String topic, Class<T> resultType, P payload, long timeout) throws InterruptedException, TimeoutException {
         LOGGER.info("subscribing to " + topic);
 
         String resultTopic = "/user/" + clientKey + topic;
@@ -273,9 +303,12 @@ public class WebSocketClient implements AutoCloseable {
 
             LOGGER.info("sending payload to  " + topic);
             webSocket.sendText(StompMessageHelper.buildSendMessage(topic, payload));
-            result = queue.take();
+            result = queue.poll(timeout, TimeUnit.MILLISECONDS);
         }
 
+        if (result == null)
+            throw new TimeoutException("no answer from " + topic);
+
         if (result instanceof Nothing)
             return null;
         else if (result instanceof ErrorModel)
@@ -389,11 +422,8 @@ public class WebSocketClient implements AutoCloseable {
      * @return the subscription
      */
     private Subscription subscribeInternal(String topic, ResultHandler<?> handler) {
-        String subscriptionId;
-        
-        synchronized (internalSubscriptions) {
-        	subscriptionId = String.valueOf(internalSubscriptions.size() + 1);
-        }
+        // identifiers are never reused, since topics can be unsubscribed
+        String subscriptionId = String.valueOf(lastSubscriptionId.incrementAndGet());
 
         Subscription subscription = new Subscription(topic, subscriptionId, handler);
         webSocket.sendText(StompMessageHelper.buildSubscribeMessage(subscription.getTopic(), subscription.getSubscriptionId()));
@@ -401,6 +431,23 @@ public class WebSocketClient implements AutoCloseable {
         return subscription;
     }
 
+    /**
+     * Unsubscribes from a topic previously subscribed with {@link #subscribeToTopic(String, Class, BiConsumer)}.
+     * Nothing happens if the topic is not subscribed.
+     *
+     * @param topic the topic
+     */
+    public void unsubscribeFromTopic(String topic) {
+        Subscription subscription;
+
+        synchronized (internalSubscriptions) {
+            subscription = internalSubscriptions.remove(topic);
+        }
+
+        if (subscription != null)
+            unsubscribeFrom(subscription);
+    }
+
     /**
      * It unsubscribes from a topic.
      *
@@ -17,7 +17,6 @@ limitations under the License.
 package io.hotmoka.service.internal;
 
 import io.hotmoka.beans.values.StorageReference;
-import io.hotmoka.network.requests.EventRequestModel;
 import io.hotmoka.service.NodeService;
 import io.hotmoka.service.NodeServiceConfig;
 import io.hotmoka.service.internal.websockets.WebSocketsEventController;
@@ -79,6 +78,6 @@ public class NodeServiceImpl implements NodeService {
 
     private void publishEvent(StorageReference creator, StorageReference event) {
 		WebSocketsEventController controller = this.context.getBean(WebSocketsEventController.class);
-		controller.addEvent(new EventRequestModel(creator, event));
+		controller.addEvent(creator, event);
     }
 }
\ No newline at end of file
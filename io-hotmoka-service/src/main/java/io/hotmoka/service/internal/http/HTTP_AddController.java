@@ -17,6 +17,7 @@ limitations under the License.
 package io.hotmoka.service.internal.http;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -24,6 +25,14 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import io.hotmoka.beans.requests.ConstructorCallTransactionRequest;
+import io.hotmoka.beans.requests.GameteCreationTransactionRequest;
+import io.hotmoka.beans.requests.InitializationTransactionRequest;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.JarStoreInitialTransactionRequest;
+import io.hotmoka.beans.requests.JarStoreTransactionRequest;
+import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
+import io.hotmoka.network.BinaryProtocol;
 import io.hotmoka.network.requests.ConstructorCallTransactionRequestModel;
 import io.hotmoka.network.requests.GameteCreationTransactionRequestModel;
 import io.hotmoka.network.requests.InitializationTransactionRequestModel;
@@ -35,6 +44,7 @@ import io.hotmoka.network.values.StorageReferenceModel;
 import io.hotmoka.network.values.StorageValueModel;
 import io.hotmoka.network.values.TransactionReferenceModel;
 import io.hotmoka.service.internal.services.AddService;
+import io.hotmoka.service.internal.services.BinaryService;
 
 @RestController
 @RequestMapping("add")
@@ -43,6 +53,11 @@ public class HTTP_AddController {
     @Autowired
     private AddService nodeAddService;
 
+    @Autowired
+    private BinaryService nodeBinaryService;
+
+    private final static MediaType BINARY = MediaType.valueOf(BinaryProtocol.MEDIA_TYPE);
+
     @PostMapping("/jarStoreInitialTransaction")
     public @ResponseBody TransactionReferenceModel jarStoreInitialTransaction(@RequestBody JarStoreInitialTransactionRequestModel request) {
     	return nodeAddService.addJarStoreInitialTransaction(request);
@@ -77,4 +92,39 @@ public class HTTP_AddController {
     public @ResponseBody StorageValueModel staticMethodCallTransaction(@RequestBody StaticMethodCallTransactionRequestModel request) {
         return nodeAddService.addStaticMethodCallTransaction(request);
     }
+
+    @PostMapping(value = "/jarStoreInitialTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryJarStoreInitialTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.add(request, JarStoreInitialTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/gameteCreationTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryGameteCreationTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.add(request, GameteCreationTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/initializationTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryInitializationTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.add(request, InitializationTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/jarStoreTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryJarStoreTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.add(request, JarStoreTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/constructorCallTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryConstructorCallTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.add(request, ConstructorCallTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/instanceMethodCallTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryInstanceMethodCallTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.add(request, InstanceMethodCallTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/staticMethodCallTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryStaticMethodCallTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.add(request, StaticMethodCallTransactionRequest.class));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+
+package io.hotmoka.service.internal.http;
+
+import io.hotmoka.beans.requests.ConstructorCallTransactionRequest;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.JarStoreTransactionRequest;
+import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
+import io.hotmoka.network.BinaryProtocol;
+import io.hotmoka.network.requests.ConstructorCallTransactionRequestModel;
+import io.hotmoka.network.requests.InstanceMethodCallTransactionRequestModel;
+import io.hotmoka.network.requests.JarStoreTransactionRequestModel;
+import io.hotmoka.network.requests.StaticMethodCallTransactionRequestModel;
+import io.hotmoka.network.responses.TransactionRestResponseModel;
+import io.hotmoka.service.internal.services.BinaryService;
+import io.hotmoka.service.internal.services.EstimateService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("estimate")
+public class HTTP_EstimateController {
+
+    @Autowired
+    private EstimateService nodeEstimateService;
+
+    @Autowired
+    private BinaryService nodeBinaryService;
+
+    private final static MediaType BINARY = MediaType.valueOf(BinaryProtocol.MEDIA_TYPE);
+
+    @PostMapping("/jarStoreTransaction")
+    public @ResponseBody TransactionRestResponseModel<?> jarStoreTransaction(@RequestBody JarStoreTransactionRequestModel request) {
+        return nodeEstimateService.estimateJarStoreTransaction(request);
+    }
+
+    @PostMapping("/constructorCallTransaction")
+    public @ResponseBody TransactionRestResponseModel<?> constructorCallTransaction(@RequestBody ConstructorCallTransactionRequestModel request) {
+        return nodeEstimateService.estimateConstructorCallTransaction(request);
+    }
+
+    @PostMapping("/instanceMethodCallTransaction")
+    public @ResponseBody TransactionRestResponseModel<?> instanceMethodCallTransaction(@RequestBody InstanceMethodCallTransactionRequestModel request) {
+        return nodeEstimateService.estimateInstanceMethodCallTransaction(request);
+    }
+
+    @PostMapping("/staticMethodCallTransaction")
+    public @ResponseBody TransactionRestResponseModel<?> staticMethodCallTransaction(@RequestBody StaticMethodCallTransactionRequestModel request) {
+        return nodeEstimateService.estimateStaticMethodCallTransaction(request);
+    }
+
+    @PostMapping(value = "/jarStoreTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryJarStoreTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.estimate(request, JarStoreTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/constructorCallTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryConstructorCallTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.estimate(request, ConstructorCallTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/instanceMethodCallTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryInstanceMethodCallTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.estimate(request, InstanceMethodCallTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/staticMethodCallTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryStaticMethodCallTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.estimate(request, StaticMethodCallTransactionRequest.class));
+    }
+}
@@ -17,6 +17,8 @@ limitations under the License.
 package io.hotmoka.service.internal.http;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -24,6 +26,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import io.hotmoka.network.BinaryProtocol;
 import io.hotmoka.network.nodes.NodeInfoModel;
 import io.hotmoka.network.requests.TransactionRestRequestModel;
 import io.hotmoka.network.responses.SignatureAlgorithmResponseModel;
@@ -32,6 +35,7 @@ import io.hotmoka.network.updates.ClassTagModel;
 import io.hotmoka.network.updates.StateModel;
 import io.hotmoka.network.values.StorageReferenceModel;
 import io.hotmoka.network.values.TransactionReferenceModel;
+import io.hotmoka.service.internal.services.BinaryService;
 import io.hotmoka.service.internal.services.GetService;
 
 @RestController
@@ -41,6 +45,11 @@ public class HTTP_GetController {
     @Autowired
     private GetService nodeGetService;
 
+    @Autowired
+    private BinaryService nodeBinaryService;
+
+    private final static MediaType BINARY = MediaType.valueOf(BinaryProtocol.MEDIA_TYPE);
+
     @GetMapping("/takamakaCode")
     public @ResponseBody TransactionReferenceModel getTakamakaCode() {
         return nodeGetService.getTakamakaCode();
@@ -87,4 +96,29 @@ public class HTTP_GetController {
     SignatureAlgorithmResponseModel getNameOfSignatureAlgorithmForRequests() {
         return nodeGetService.getNameOfSignatureAlgorithmForRequests();
     }
+
+    @PostMapping(value = "/state", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getStateBinary(@RequestBody byte[] reference) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.getState(reference));
+    }
+
+    @PostMapping(value = "/classTag", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getClassTagBinary(@RequestBody byte[] reference) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.getClassTag(reference));
+    }
+
+    @PostMapping(value = "/request", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getRequestAtBinary(@RequestBody byte[] reference) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.getRequest(reference));
+    }
+
+    @PostMapping(value = "/response", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getResponseAtBinary(@RequestBody byte[] reference) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.getResponse(reference));
+    }
+
+    @PostMapping(value = "/polledResponse", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getPolledResponseAtBinary(@RequestBody byte[] reference) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.getPolledResponse(reference));
+    }
 }
\ No newline at end of file
@@ -16,14 +16,22 @@ limitations under the License.
 
 package io.hotmoka.service.internal.http;
 
+import io.hotmoka.beans.requests.ConstructorCallTransactionRequest;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.JarStoreTransactionRequest;
+import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
+import io.hotmoka.network.BinaryProtocol;
 import io.hotmoka.network.requests.ConstructorCallTransactionRequestModel;
 import io.hotmoka.network.requests.InstanceMethodCallTransactionRequestModel;
 import io.hotmoka.network.requests.JarStoreTransactionRequestModel;
 import io.hotmoka.network.requests.StaticMethodCallTransactionRequestModel;
 import io.hotmoka.network.values.TransactionReferenceModel;
+import io.hotmoka.service.internal.services.BinaryService;
 import io.hotmoka.service.internal.services.PostService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -37,6 +45,11 @@ public class HTTP_PostController {
     @Autowired
     private PostService nodePostService;
 
+    @Autowired
+    private BinaryService nodeBinaryService;
+
+    private final static MediaType BINARY = MediaType.valueOf(BinaryProtocol.MEDIA_TYPE);
+
     @PostMapping("/jarStoreTransaction")
     public @ResponseBody
     TransactionReferenceModel jarStoreTransaction(@RequestBody JarStoreTransactionRequestModel request) {
@@ -57,4 +70,24 @@ public class HTTP_PostController {
     public @ResponseBody TransactionReferenceModel staticMethodCallTransaction(@RequestBody StaticMethodCallTransactionRequestModel request) {
         return nodePostService.postStaticMethodCallTransaction(request);
     }
+
+    @PostMapping(value = "/jarStoreTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryJarStoreTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.post(request, JarStoreTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/constructorCallTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryConstructorCallTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.post(request, ConstructorCallTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/instanceMethodCallTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryInstanceMethodCallTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.post(request, InstanceMethodCallTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/staticMethodCallTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryStaticMethodCallTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.post(request, StaticMethodCallTransactionRequest.class));
+    }
 }
\ No newline at end of file
@@ -16,12 +16,20 @@ limitations under the License.
 
 package io.hotmoka.service.internal.http;
 
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
+import io.hotmoka.network.BinaryProtocol;
 import io.hotmoka.network.requests.InstanceMethodCallTransactionRequestModel;
 import io.hotmoka.network.requests.StaticMethodCallTransactionRequestModel;
+import io.hotmoka.network.requests.ViewBatchRequestModel;
+import io.hotmoka.network.responses.ViewBatchResponseModel;
 import io.hotmoka.network.values.StorageValueModel;
+import io.hotmoka.service.internal.services.BinaryService;
 import io.hotmoka.service.internal.services.RunService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -35,6 +43,11 @@ public class HTTP_RunController {
     @Autowired
     private RunService nodeRunService;
 
+    @Autowired
+    private BinaryService nodeBinaryService;
+
+    private final static MediaType BINARY = MediaType.valueOf(BinaryProtocol.MEDIA_TYPE);
+
     @PostMapping("/instanceMethodCallTransaction")
     public @ResponseBody StorageValueModel instanceMethodCallTransaction(@RequestBody InstanceMethodCallTransactionRequestModel request) {
         return nodeRunService.runInstanceMethodCallTransaction(request);
@@ -44,4 +57,24 @@ public class HTTP_RunController {
     public @ResponseBody StorageValueModel staticMethodCallTransaction(@RequestBody StaticMethodCallTransactionRequestModel request) {
         return nodeRunService.runStaticMethodCallTransaction(request);
     }
+
+    @PostMapping("/viewBatch")
+    public @ResponseBody ViewBatchResponseModel viewBatch(@RequestBody ViewBatchRequestModel request) {
+        return nodeRunService.runViewBatch(request);
+    }
+
+    @PostMapping(value = "/instanceMethodCallTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryInstanceMethodCallTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.run(request, InstanceMethodCallTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/staticMethodCallTransaction", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryStaticMethodCallTransaction(@RequestBody byte[] request) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.run(request, StaticMethodCallTransactionRequest.class));
+    }
+
+    @PostMapping(value = "/viewBatch", consumes = BinaryProtocol.MEDIA_TYPE)
+    public ResponseEntity<byte[]> binaryViewBatch(@RequestBody byte[] requests) {
+        return ResponseEntity.ok().contentType(BINARY).body(nodeBinaryService.runViewBatch(requests));
+    }
 }
\ No newline at end of file
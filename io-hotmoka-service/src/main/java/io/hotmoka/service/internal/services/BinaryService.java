@@ -0,0 +1,39 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.service.internal.services;
+
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
+import io.hotmoka.beans.requests.TransactionRequest;
+
+/**
+ * The service that implements the binary protocol of the node, where requests and
+ * results travel in their marshalled representation (see {@link io.hotmoka.network.BinaryProtocol}).
+ * Each endpoint states the class of request it expects, so that a request
+ * of another class is rejected, whatever its content.
+ */
+public interface BinaryService {
+	byte[] add(byte[] request, Class<? extends TransactionRequest<?>> expected);
+	byte[] post(byte[] request, Class<? extends NonInitialTransactionRequest<?>> expected);
+	byte[] run(byte[] request, Class<? extends NonInitialTransactionRequest<?>> expected);
+	byte[] runViewBatch(byte[] requests);
+	byte[] estimate(byte[] request, Class<? extends NonInitialTransactionRequest<?>> expected);
+	byte[] getRequest(byte[] reference);
+	byte[] getResponse(byte[] reference);
+	byte[] getPolledResponse(byte[] reference);
+	byte[] getState(byte[] reference);
+	byte[] getClassTag(byte[] reference);
+}
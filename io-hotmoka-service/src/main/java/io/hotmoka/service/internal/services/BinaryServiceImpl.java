@@ -0,0 +1,187 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.service.internal.services;
+
+import static io.hotmoka.network.BinaryProtocol.arrayFromBytes;
+import static io.hotmoka.network.BinaryProtocol.fromBytes;
+import static io.hotmoka.network.BinaryProtocol.toBytes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import io.hotmoka.beans.marshalling.BeanUnmarshaller;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.ConstructorCallTransactionRequest;
+import io.hotmoka.beans.requests.GameteCreationTransactionRequest;
+import io.hotmoka.beans.requests.InitializationTransactionRequest;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.JarStoreInitialTransactionRequest;
+import io.hotmoka.beans.requests.JarStoreTransactionRequest;
+import io.hotmoka.beans.requests.MethodCallTransactionRequest;
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
+import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.updates.Update;
+import io.hotmoka.beans.values.NullValue;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.nodes.Node;
+
+@Service
+public class BinaryServiceImpl extends AbstractService implements BinaryService {
+
+	@Override
+	public byte[] add(byte[] request, Class<? extends TransactionRequest<?>> expected) {
+		return wrapExceptions(() -> {
+			TransactionRequest<?> bean = requestFrom(request, expected);
+			Node node = getNode();
+
+			if (bean instanceof JarStoreInitialTransactionRequest)
+				return toBytes(node.addJarStoreInitialTransaction((JarStoreInitialTransactionRequest) bean));
+			else if (bean instanceof GameteCreationTransactionRequest)
+				return toBytes(node.addGameteCreationTransaction((GameteCreationTransactionRequest) bean));
+			else if (bean instanceof InitializationTransactionRequest) {
+				node.addInitializationTransaction((InitializationTransactionRequest) bean);
+				return new byte[0];
+			}
+			else if (bean instanceof JarStoreTransactionRequest)
+				return toBytes(node.addJarStoreTransaction((JarStoreTransactionRequest) bean));
+			else if (bean instanceof ConstructorCallTransactionRequest)
+				return toBytes(node.addConstructorCallTransaction((ConstructorCallTransactionRequest) bean));
+			else if (bean instanceof InstanceMethodCallTransactionRequest)
+				return toBytes(node.addInstanceMethodCallTransaction((InstanceMethodCallTransactionRequest) bean));
+			else if (bean instanceof StaticMethodCallTransactionRequest)
+				return toBytes(node.addStaticMethodCallTransaction((StaticMethodCallTransactionRequest) bean));
+			else
+				throw new IllegalArgumentException("unexpected request of class " + bean.getClass().getName());
+		});
+	}
+
+	@Override
+	public byte[] post(byte[] request, Class<? extends NonInitialTransactionRequest<?>> expected) {
+		return wrapExceptions(() -> {
+			TransactionRequest<?> bean = requestFrom(request, expected);
+			Node node = getNode();
+
+			if (bean instanceof JarStoreTransactionRequest)
+				return toBytes(node.postJarStoreTransaction((JarStoreTransactionRequest) bean).getReferenceOfRequest());
+			else if (bean instanceof ConstructorCallTransactionRequest)
+				return toBytes(node.postConstructorCallTransaction((ConstructorCallTransactionRequest) bean).getReferenceOfRequest());
+			else if (bean instanceof InstanceMethodCallTransactionRequest)
+				return toBytes(node.postInstanceMethodCallTransaction((InstanceMethodCallTransactionRequest) bean).getReferenceOfRequest());
+			else if (bean instanceof StaticMethodCallTransactionRequest)
+				return toBytes(node.postStaticMethodCallTransaction((StaticMethodCallTransactionRequest) bean).getReferenceOfRequest());
+			else
+				throw new IllegalArgumentException("unexpected request of class " + bean.getClass().getName());
+		});
+	}
+
+	@Override
+	public byte[] run(byte[] request, Class<? extends NonInitialTransactionRequest<?>> expected) {
+		return wrapExceptions(() -> {
+			TransactionRequest<?> bean = requestFrom(request, expected);
+			Node node = getNode();
+
+			if (bean instanceof InstanceMethodCallTransactionRequest)
+				return toBytes(node.runInstanceMethodCallTransaction((InstanceMethodCallTransactionRequest) bean));
+			else if (bean instanceof StaticMethodCallTransactionRequest)
+				return toBytes(node.runStaticMethodCallTransaction((StaticMethodCallTransactionRequest) bean));
+			else
+				throw new IllegalArgumentException("unexpected request of class " + bean.getClass().getName());
+		});
+	}
+
+	@Override
+	public byte[] runViewBatch(byte[] requests) {
+		return wrapExceptions(() -> {
+			List<MethodCallTransactionRequest> beans = new ArrayList<>();
+			for (TransactionRequest<?> bean: arrayFromBytes(requests, (BeanUnmarshaller<TransactionRequest<?>>) TransactionRequest::from, TransactionRequest<?>[]::new))
+				if (bean instanceof MethodCallTransactionRequest)
+					beans.add((MethodCallTransactionRequest) bean);
+				else
+					throw new IllegalArgumentException("unexpected request of class " + bean.getClass().getName());
+
+			// the results of calls to void methods are null, hence they are sent as the null value
+			return toBytes(getNode().runViewBatch(beans).stream().map(result -> result == null ? NullValue.INSTANCE : result).toArray(StorageValue[]::new));
+		});
+	}
+
+	@Override
+	public byte[] estimate(byte[] request, Class<? extends NonInitialTransactionRequest<?>> expected) {
+		return wrapExceptions(() -> {
+			TransactionRequest<?> bean = requestFrom(request, expected);
+			if (bean instanceof NonInitialTransactionRequest<?>)
+				return toBytes(getNode().estimate((NonInitialTransactionRequest<?>) bean));
+			else
+				throw new IllegalArgumentException("unexpected request of class " + bean.getClass().getName());
+		});
+	}
+
+	@Override
+	public byte[] getRequest(byte[] reference) {
+		return wrapExceptions(() -> toBytes(getNode().getRequest(transactionReferenceFrom(reference))));
+	}
+
+	@Override
+	public byte[] getResponse(byte[] reference) {
+		return wrapExceptions(() -> toBytes(getNode().getResponse(transactionReferenceFrom(reference))));
+	}
+
+	@Override
+	public byte[] getPolledResponse(byte[] reference) {
+		return wrapExceptions(() -> toBytes(getNode().getPolledResponse(transactionReferenceFrom(reference))));
+	}
+
+	@Override
+	public byte[] getState(byte[] reference) {
+		return wrapExceptions(() -> toBytes(getNode().getState(storageReferenceFrom(reference)).toArray(Update[]::new)));
+	}
+
+	@Override
+	public byte[] getClassTag(byte[] reference) {
+		return wrapExceptions(() -> toBytes(getNode().getClassTag(storageReferenceFrom(reference))));
+	}
+
+	private static TransactionRequest<?> requestFrom(byte[] bytes, Class<? extends TransactionRequest<?>> expected) throws IOException, ClassNotFoundException {
+		TransactionRequest<?> request = fromBytes(bytes, (BeanUnmarshaller<TransactionRequest<?>>) TransactionRequest::from);
+		if (request == null)
+			throw new IllegalArgumentException("missing request");
+		else if (!expected.isInstance(request))
+			throw new IllegalArgumentException("a request of class " + expected.getName() + " was expected, not of class " + request.getClass().getName());
+
+		return request;
+	}
+
+	private static TransactionReference transactionReferenceFrom(byte[] bytes) throws IOException, ClassNotFoundException {
+		TransactionReference reference = fromBytes(bytes, (BeanUnmarshaller<TransactionReference>) TransactionReference::from);
+		if (reference == null)
+			throw new IllegalArgumentException("missing transaction reference");
+
+		return reference;
+	}
+
+	private static StorageReference storageReferenceFrom(byte[] bytes) throws IOException, ClassNotFoundException {
+		StorageValue reference = fromBytes(bytes, (BeanUnmarshaller<StorageValue>) StorageValue::from);
+		if (!(reference instanceof StorageReference))
+			throw new IllegalArgumentException("a storage reference was expected");
+
+		return (StorageReference) reference;
+	}
+}
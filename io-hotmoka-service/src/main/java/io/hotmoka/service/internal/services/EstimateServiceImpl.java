@@ -0,0 +1,50 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+
+package io.hotmoka.service.internal.services;
+
+import org.springframework.stereotype.Service;
+
+import io.hotmoka.network.requests.ConstructorCallTransactionRequestModel;
+import io.hotmoka.network.requests.InstanceMethodCallTransactionRequestModel;
+import io.hotmoka.network.requests.JarStoreTransactionRequestModel;
+import io.hotmoka.network.requests.StaticMethodCallTransactionRequestModel;
+import io.hotmoka.network.responses.TransactionRestResponseModel;
+
+@Service
+public class EstimateServiceImpl extends AbstractService implements EstimateService {
+
+    @Override
+    public TransactionRestResponseModel<?> estimateJarStoreTransaction(JarStoreTransactionRequestModel request) {
+        return wrapExceptions(() -> TransactionRestResponseModel.from(getNode().estimate(request.toBean())));
+    }
+
+    @Override
+    public TransactionRestResponseModel<?> estimateConstructorCallTransaction(ConstructorCallTransactionRequestModel request) {
+        return wrapExceptions(() -> TransactionRestResponseModel.from(getNode().estimate(request.toBean())));
+    }
+
+    @Override
+    public TransactionRestResponseModel<?> estimateInstanceMethodCallTransaction(InstanceMethodCallTransactionRequestModel request) {
+        return wrapExceptions(() -> TransactionRestResponseModel.from(getNode().estimate(request.toBean())));
+    }
+
+    @Override
+    public TransactionRestResponseModel<?> estimateStaticMethodCallTransaction(StaticMethodCallTransactionRequestModel request) {
+        return wrapExceptions(() -> TransactionRestResponseModel.from(getNode().estimate(request.toBean())));
+    }
+}
@@ -18,9 +18,12 @@ package io.hotmoka.service.internal.services;
 
 import io.hotmoka.network.requests.InstanceMethodCallTransactionRequestModel;
 import io.hotmoka.network.requests.StaticMethodCallTransactionRequestModel;
+import io.hotmoka.network.requests.ViewBatchRequestModel;
+import io.hotmoka.network.responses.ViewBatchResponseModel;
 import io.hotmoka.network.values.StorageValueModel;
 
 public interface RunService {
     StorageValueModel runInstanceMethodCallTransaction(InstanceMethodCallTransactionRequestModel request);
     StorageValueModel runStaticMethodCallTransaction(StaticMethodCallTransactionRequestModel request);
+    ViewBatchResponseModel runViewBatch(ViewBatchRequestModel request);
 }
\ No newline at end of file
@@ -20,6 +20,8 @@ import org.springframework.stereotype.Service;
 
 import io.hotmoka.network.requests.InstanceMethodCallTransactionRequestModel;
 import io.hotmoka.network.requests.StaticMethodCallTransactionRequestModel;
+import io.hotmoka.network.requests.ViewBatchRequestModel;
+import io.hotmoka.network.responses.ViewBatchResponseModel;
 import io.hotmoka.network.values.StorageValueModel;
 
 @Service
@@ -34,4 +36,9 @@ public class RunServiceImpl extends AbstractService implements RunService {
     public StorageValueModel runStaticMethodCallTransaction(StaticMethodCallTransactionRequestModel request) {
     	return wrapExceptions(() -> StorageValueModel.modelOfValueReturned(request, getNode().runStaticMethodCallTransaction(request.toBean())));
     }
+
+    @Override
+    public ViewBatchResponseModel runViewBatch(ViewBatchRequestModel request) {
+        return wrapExceptions(() -> new ViewBatchResponseModel(getNode().runViewBatch(request.toBean())));
+    }
 }
\ No newline at end of file
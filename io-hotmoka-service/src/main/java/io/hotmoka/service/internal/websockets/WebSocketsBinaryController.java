@@ -0,0 +1,194 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.service.internal.websockets;
+
+import io.hotmoka.beans.requests.ConstructorCallTransactionRequest;
+import io.hotmoka.beans.requests.GameteCreationTransactionRequest;
+import io.hotmoka.beans.requests.InitializationTransactionRequest;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.JarStoreInitialTransactionRequest;
+import io.hotmoka.beans.requests.JarStoreTransactionRequest;
+import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
+import io.hotmoka.network.BinaryProtocol;
+import io.hotmoka.network.NetworkExceptionResponse;
+import io.hotmoka.network.errors.ErrorModel;
+import io.hotmoka.service.internal.services.BinaryService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+import java.util.Base64;
+
+/**
+ * The binary protocol over STOMP. Since STOMP frames are textual, the marshalled
+ * requests and results travel in Base64 inside the frames.
+ */
+@Controller
+@MessageMapping("/binary")
+public class WebSocketsBinaryController {
+    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final BinaryService nodeBinaryService;
+
+    @Autowired
+    public WebSocketsBinaryController(SimpMessagingTemplate simpMessagingTemplate, BinaryService nodeBinaryService) {
+        this.simpMessagingTemplate = simpMessagingTemplate;
+        this.nodeBinaryService = nodeBinaryService;
+    }
+
+    @MessageMapping("/protocol")
+    public void protocol(Principal principal) {
+        simpMessagingTemplate.convertAndSendToUser(principal.getName(), "/binary/protocol", BinaryProtocol.MEDIA_TYPE);
+    }
+
+    @MessageMapping("/add/jarStoreInitialTransaction")
+    public void addJarStoreInitialTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.add(decode(request), JarStoreInitialTransactionRequest.class));
+    }
+
+    @MessageMapping("/add/gameteCreationTransaction")
+    public void addGameteCreationTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.add(decode(request), GameteCreationTransactionRequest.class));
+    }
+
+    @MessageMapping("/add/initializationTransaction")
+    public void addInitializationTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.add(decode(request), InitializationTransactionRequest.class));
+    }
+
+    @MessageMapping("/add/jarStoreTransaction")
+    public void addJarStoreTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.add(decode(request), JarStoreTransactionRequest.class));
+    }
+
+    @MessageMapping("/add/constructorCallTransaction")
+    public void addConstructorCallTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.add(decode(request), ConstructorCallTransactionRequest.class));
+    }
+
+    @MessageMapping("/add/instanceMethodCallTransaction")
+    public void addInstanceMethodCallTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.add(decode(request), InstanceMethodCallTransactionRequest.class));
+    }
+
+    @MessageMapping("/add/staticMethodCallTransaction")
+    public void addStaticMethodCallTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.add(decode(request), StaticMethodCallTransactionRequest.class));
+    }
+
+    @MessageMapping("/post/jarStoreTransaction")
+    public void postJarStoreTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.post(decode(request), JarStoreTransactionRequest.class));
+    }
+
+    @MessageMapping("/post/constructorCallTransaction")
+    public void postConstructorCallTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.post(decode(request), ConstructorCallTransactionRequest.class));
+    }
+
+    @MessageMapping("/post/instanceMethodCallTransaction")
+    public void postInstanceMethodCallTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.post(decode(request), InstanceMethodCallTransactionRequest.class));
+    }
+
+    @MessageMapping("/post/staticMethodCallTransaction")
+    public void postStaticMethodCallTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.post(decode(request), StaticMethodCallTransactionRequest.class));
+    }
+
+    @MessageMapping("/run/instanceMethodCallTransaction")
+    public void runInstanceMethodCallTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.run(decode(request), InstanceMethodCallTransactionRequest.class));
+    }
+
+    @MessageMapping("/run/staticMethodCallTransaction")
+    public void runStaticMethodCallTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.run(decode(request), StaticMethodCallTransactionRequest.class));
+    }
+
+    @MessageMapping("/run/viewBatch")
+    public void runViewBatch(Principal principal, SimpMessageHeaderAccessor headerAccessor, String requests) {
+        reply(principal, headerAccessor, nodeBinaryService.runViewBatch(decode(requests)));
+    }
+
+    @MessageMapping("/estimate/jarStoreTransaction")
+    public void estimateJarStoreTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.estimate(decode(request), JarStoreTransactionRequest.class));
+    }
+
+    @MessageMapping("/estimate/constructorCallTransaction")
+    public void estimateConstructorCallTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.estimate(decode(request), ConstructorCallTransactionRequest.class));
+    }
+
+    @MessageMapping("/estimate/instanceMethodCallTransaction")
+    public void estimateInstanceMethodCallTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.estimate(decode(request), InstanceMethodCallTransactionRequest.class));
+    }
+
+    @MessageMapping("/estimate/staticMethodCallTransaction")
+    public void estimateStaticMethodCallTransaction(Principal principal, SimpMessageHeaderAccessor headerAccessor, String request) {
+        reply(principal, headerAccessor, nodeBinaryService.estimate(decode(request), StaticMethodCallTransactionRequest.class));
+    }
+
+    @MessageMapping("/get/state")
+    public void getState(Principal principal, SimpMessageHeaderAccessor headerAccessor, String reference) {
+        reply(principal, headerAccessor, nodeBinaryService.getState(decode(reference)));
+    }
+
+    @MessageMapping("/get/classTag")
+    public void getClassTag(Principal principal, SimpMessageHeaderAccessor headerAccessor, String reference) {
+        reply(principal, headerAccessor, nodeBinaryService.getClassTag(decode(reference)));
+    }
+
+    @MessageMapping("/get/request")
+    public void getRequestAt(Principal principal, SimpMessageHeaderAccessor headerAccessor, String reference) {
+        reply(principal, headerAccessor, nodeBinaryService.getRequest(decode(reference)));
+    }
+
+    @MessageMapping("/get/response")
+    public void getResponseAt(Principal principal, SimpMessageHeaderAccessor headerAccessor, String reference) {
+        reply(principal, headerAccessor, nodeBinaryService.getResponse(decode(reference)));
+    }
+
+    @MessageMapping("/get/polledResponse")
+    public void getPolledResponseAt(Principal principal, SimpMessageHeaderAccessor headerAccessor, String reference) {
+        reply(principal, headerAccessor, nodeBinaryService.getPolledResponse(decode(reference)));
+    }
+
+    @MessageExceptionHandler
+    public void handleException(Exception e, Principal principal, SimpMessageHeaderAccessor headerAccessor) {
+        String destinationTopic = (String) headerAccessor.getHeader("simpDestination");
+        if (e instanceof NetworkExceptionResponse)
+            simpMessagingTemplate.convertAndSendToUser(principal.getName(), destinationTopic + "/error", ((NetworkExceptionResponse) e).errorModel);
+        else
+            simpMessagingTemplate.convertAndSendToUser(principal.getName(), destinationTopic + "/error", new ErrorModel(e));
+    }
+
+    private void reply(Principal principal, SimpMessageHeaderAccessor headerAccessor, byte[] result) {
+        String destinationTopic = (String) headerAccessor.getHeader("simpDestination");
+        simpMessagingTemplate.convertAndSendToUser(principal.getName(), destinationTopic, Base64.getEncoder().encodeToString(result));
+    }
+
+    private static byte[] decode(String payload) {
+        return payload == null ? new byte[0] : Base64.getDecoder().decode(payload);
+    }
+}
@@ -16,24 +16,179 @@ limitations under the License.
 
 package io.hotmoka.service.internal.websockets;
 
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
 
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.network.EventTopics;
 import io.hotmoka.network.requests.EventRequestModel;
+import io.hotmoka.service.internal.Application;
 
+/**
+ * The publisher of the events of the node. Each event is published only in the topics
+ * of {@link EventTopics} that have subscribers, so that clients interested in the
+ * events of a given creator do not receive the events of the others.
+ */
 @Controller
 public class WebSocketsEventController {
+    private final static Logger LOGGER = Logger.getLogger(WebSocketsEventController.class.getName());
+
     private final SimpMessagingTemplate simpMessagingTemplate;
+    private final Application application;
+
+    /**
+     * The number of subscriptions to each topic of events.
+     */
+    private final Map<String, Integer> subscriptions = new HashMap<>();
+
+    /**
+     * The number of subscriptions to topics restricted to a class of events, for each topic of a creator.
+     */
+    private final Map<String, Integer> subscriptionsRestrictedToClass = new HashMap<>();
+
+    /**
+     * The topic of events of each subscription, for each session.
+     */
+    private final Map<String, Map<String, String>> topicsOfSessions = new HashMap<>();
 
     @Autowired
-    public WebSocketsEventController(SimpMessagingTemplate simpMessagingTemplate) {
+    public WebSocketsEventController(SimpMessagingTemplate simpMessagingTemplate, Application application) {
         this.simpMessagingTemplate = simpMessagingTemplate;
+        this.application = application;
     }
 
     @MessageMapping("/events")
     public void addEvent(EventRequestModel eventRequestModel) {
-        simpMessagingTemplate.convertAndSend("/topic/events", eventRequestModel);
+        addEvent(eventRequestModel.creator.toBean(), eventRequestModel.event.toBean());
+    }
+
+    /**
+     * Answers the clients that ask if this service routes the events by creator.
+     * Clients that get no answer fall back to {@link EventTopics#ALL}.
+     *
+     * @param principal the client
+     */
+    @MessageMapping(EventTopics.ROUTING)
+    public void routing(Principal principal) {
+        simpMessagingTemplate.convertAndSendToUser(principal.getName(), EventTopics.ROUTING, EventTopics.ALL);
+    }
+
+    /**
+     * Publishes the given event in the topics that have subscribers.
+     *
+     * @param creator the creator of the event
+     * @param event the event
+     */
+    public void addEvent(StorageReference creator, StorageReference event) {
+        String topicOfCreator = EventTopics.of(creator);
+        boolean toAll, toCreator, toClass;
+
+        synchronized (subscriptions) {
+            toAll = subscriptions.containsKey(EventTopics.ALL);
+            toCreator = subscriptions.containsKey(topicOfCreator);
+            toClass = subscriptionsRestrictedToClass.containsKey(topicOfCreator);
+        }
+
+        if (!toAll && !toCreator && !toClass)
+            return;
+
+        EventRequestModel model = new EventRequestModel(creator, event);
+        if (toAll)
+            simpMessagingTemplate.convertAndSend(EventTopics.ALL, model);
+
+        if (toCreator)
+            simpMessagingTemplate.convertAndSend(topicOfCreator, model);
+
+        // the class of the event is looked up only if somebody is interested in it
+        if (toClass) {
+            try {
+                String topicOfClass = EventTopics.of(creator, application.getNode().getClassTag(event).clazz.name);
+                boolean subscribed;
+
+                synchronized (subscriptions) {
+                    subscribed = subscriptions.containsKey(topicOfClass);
+                }
+
+                if (subscribed)
+                    simpMessagingTemplate.convertAndSend(topicOfClass, model);
+            }
+            catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "cannot determine the class of event " + event, e);
+            }
+        }
+    }
+
+    @EventListener
+    private void handleSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String topic = accessor.getDestination();
+        if (topic == null || !topic.equals(EventTopics.ALL) && !topic.startsWith(EventTopics.ALL + "/"))
+            return;
+
+        synchronized (subscriptions) {
+            topicsOfSessions.computeIfAbsent(accessor.getSessionId(), _session -> new HashMap<>()).put(accessor.getSubscriptionId(), topic);
+            subscriptions.merge(topic, 1, Integer::sum);
+            String topicOfCreator = topicOfCreatorRestrictedToClass(topic);
+            if (topicOfCreator != null)
+                subscriptionsRestrictedToClass.merge(topicOfCreator, 1, Integer::sum);
+        }
+    }
+
+    @EventListener
+    private void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+
+        synchronized (subscriptions) {
+            Map<String, String> topics = topicsOfSessions.get(accessor.getSessionId());
+            if (topics != null) {
+                String topic = topics.remove(accessor.getSubscriptionId());
+                if (topic != null)
+                    unsubscribe(topic);
+
+                if (topics.isEmpty())
+                    topicsOfSessions.remove(accessor.getSessionId());
+            }
+        }
+    }
+
+    @EventListener
+    private void handleDisconnect(SessionDisconnectEvent event) {
+        synchronized (subscriptions) {
+            Map<String, String> topics = topicsOfSessions.remove(event.getSessionId());
+            if (topics != null)
+                topics.values().forEach(this::unsubscribe);
+        }
+    }
+
+    private void unsubscribe(String topic) {
+        subscriptions.computeIfPresent(topic, (_topic, count) -> count > 1 ? count - 1 : null);
+        String topicOfCreator = topicOfCreatorRestrictedToClass(topic);
+        if (topicOfCreator != null)
+            subscriptionsRestrictedToClass.computeIfPresent(topicOfCreator, (_topic, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Yields the topic of the creator of the given topic, if the latter is restricted to a class of events.
+     *
+     * @param topic the topic
+     * @return the topic of the creator, or {@code null} if {@code topic} is not restricted to a class of events
+     */
+    private static String topicOfCreatorRestrictedToClass(String topic) {
+        // topics restricted to a class of events have the form /topic/events/hash/progressive/class
+        String[] parts = topic.substring(EventTopics.ALL.length()).split("/");
+        return parts.length == 4 ? EventTopics.ALL + "/" + parts[1] + "/" + parts[2] : null;
     }
 }
@@ -20,6 +20,7 @@ import io.hotmoka.network.NetworkExceptionResponse;
 import io.hotmoka.network.errors.ErrorModel;
 import io.hotmoka.network.requests.InstanceMethodCallTransactionRequestModel;
 import io.hotmoka.network.requests.StaticMethodCallTransactionRequestModel;
+import io.hotmoka.network.requests.ViewBatchRequestModel;
 import io.hotmoka.service.internal.services.RunService;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -53,6 +54,11 @@ public class WebSocketsRunController {
         simpMessagingTemplate.convertAndSendToUser(principal.getName(), "/run/staticMethodCallTransaction", nodeRunService.runStaticMethodCallTransaction(request));
     }
 
+    @MessageMapping("/viewBatch")
+    public void viewBatch(Principal principal, ViewBatchRequestModel request) {
+        simpMessagingTemplate.convertAndSendToUser(principal.getName(), "/run/viewBatch", nodeRunService.runViewBatch(request));
+    }
+
     @MessageExceptionHandler
     public void handleException(Exception e, Principal principal, SimpMessageHeaderAccessor headerAccessor) {
         String destinationTopic = (String) headerAccessor.getHeader("simpDestination");
@@ -18,7 +18,6 @@ package io.hotmoka.stores;
 
 import java.util.Arrays;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import io.hotmoka.annotations.ThreadSafe;
@@ -29,6 +28,7 @@ import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.local.AbstractLocalNode;
 import io.hotmoka.local.CheckableStore;
 import io.hotmoka.local.Config;
+import io.hotmoka.stores.internal.SnapshotWriter;
 import io.hotmoka.stores.internal.TrieOfErrors;
 import io.hotmoka.stores.internal.TrieOfHistories;
 import io.hotmoka.stores.internal.TrieOfRequests;
@@ -61,23 +61,6 @@ import io.hotmoka.xodus.env.Transaction;
 @ThreadSafe
 public abstract class FullTrieBasedStore<C extends Config> extends PartialTrieBasedStore<C> implements CheckableStore {
 
-	/**
-	 * The Xodus store that holds the Merkle-Patricia trie of the errors of the requests.
-	 */
-	private final io.hotmoka.xodus.env.Store storeOfErrors;
-
-	/**
-	 * The Xodus store that holds the Merkle-Patricia trie of the requests.
-	 */
-	private final io.hotmoka.xodus.env.Store storeOfRequests;
-
-	/**
-	 * The Xodus store that holds the history of each storage reference, ie, a list of
-	 * transaction references that contribute
-	 * to provide values to the fields of the storage object at that reference.
-	 */
-	private final io.hotmoka.xodus.env.Store storeOfHistory;
-
 	/**
 	 * The root of the trie of the errors. It is an empty array if the trie is empty.
 	 */
@@ -131,19 +114,11 @@ public abstract class FullTrieBasedStore<C extends Config> extends PartialTrieBa
 	protected FullTrieBasedStore(AbstractLocalNode<? extends C, ? extends FullTrieBasedStore<? extends C>> node, long checkableDepth) {
 		super(node, checkableDepth);
 
-		AtomicReference<io.hotmoka.xodus.env.Store> storeOfErrors = new AtomicReference<>();
-		AtomicReference<io.hotmoka.xodus.env.Store> storeOfRequests = new AtomicReference<>();
-		AtomicReference<io.hotmoka.xodus.env.Store> storeOfHistory = new AtomicReference<>();
-
-		recordTime(() -> env.executeInTransaction(txn -> {
-			storeOfErrors.set(env.openStoreWithoutDuplicates("errors", txn));
-			storeOfRequests.set(env.openStoreWithoutDuplicates("requests", txn));
-			storeOfHistory.set(env.openStoreWithoutDuplicates("history", txn));
-		}));
-
-		this.storeOfErrors = storeOfErrors.get();
-		this.storeOfRequests = storeOfRequests.get();
-		this.storeOfHistory = storeOfHistory.get();
+		recordTime(() -> {
+			backend.open("errors");
+			backend.open("requests");
+			backend.open("history");
+		});
 	}
 
 	/**
@@ -154,9 +129,6 @@ public abstract class FullTrieBasedStore<C extends Config> extends PartialTrieBa
 	protected FullTrieBasedStore(FullTrieBasedStore<? extends C> parent) {
 		super(parent);
 
-		this.storeOfErrors = parent.storeOfErrors;
-		this.storeOfRequests = parent.storeOfRequests;
-		this.storeOfHistory = parent.storeOfHistory;
 		System.arraycopy(parent.rootOfErrors, 0, this.rootOfErrors, 0, 32);
 		System.arraycopy(parent.rootOfRequests, 0, this.rootOfRequests, 0, 32);
 		System.arraycopy(parent.rootOfHistories, 0, this.rootOfHistories, 0, 32);
@@ -164,20 +136,20 @@ public abstract class FullTrieBasedStore<C extends Config> extends PartialTrieBa
 
     @Override
 	public Optional<String> getError(TransactionReference reference) {
-    	return recordTimeSynchronized(() -> env.computeInReadonlyTransaction
-    		(txn -> new TrieOfErrors(storeOfErrors, txn, nullIfEmpty(rootOfErrors), -1L).get(reference)));
+    	return recordTimeSynchronized(() -> backend.computeInReadonlyTransaction
+    		(txn -> new TrieOfErrors(backend.keyValueStoreFor("errors", txn, nullIfEmpty(rootOfErrors)), -1L).get(reference)));
 	}
 
 	@Override
 	public Optional<TransactionRequest<?>> getRequest(TransactionReference reference) {
-		return recordTimeSynchronized(() -> env.computeInReadonlyTransaction
-			(txn -> new TrieOfRequests(storeOfRequests, txn, nullIfEmpty(rootOfRequests), -1L).get(reference)));
+		return recordTimeSynchronized(() -> backend.computeInReadonlyTransaction
+			(txn -> new TrieOfRequests(backend.keyValueStoreFor("requests", txn, nullIfEmpty(rootOfRequests)), -1L).get(reference)));
 	}
 
 	@Override
 	public Stream<TransactionReference> getHistory(StorageReference object) {
-		return recordTimeSynchronized(() -> env.computeInReadonlyTransaction
-			(txn -> new TrieOfHistories(storeOfHistory, txn, nullIfEmpty(rootOfHistories), -1L).get(object)));
+		return recordTimeSynchronized(() -> backend.computeInReadonlyTransaction
+			(txn -> new TrieOfHistories(backend.keyValueStoreFor("history", txn, nullIfEmpty(rootOfHistories)), -1L).get(object)));
 	}
 
 	@Override
@@ -202,9 +174,9 @@ public abstract class FullTrieBasedStore<C extends Config> extends PartialTrieBa
 
 			Transaction txn = getCurrentTransaction();
 			long numberOfCommits = getNumberOfCommits();
-			trieOfErrors = new TrieOfErrors(storeOfErrors, txn, nullIfEmpty(rootOfErrors), numberOfCommits);
-			trieOfRequests = new TrieOfRequests(storeOfRequests, txn, nullIfEmpty(rootOfRequests), numberOfCommits);
-			trieOfHistories = new TrieOfHistories(storeOfHistory, txn, nullIfEmpty(rootOfHistories), numberOfCommits);
+			trieOfErrors = new TrieOfErrors(backend.keyValueStoreFor("errors", txn, nullIfEmpty(rootOfErrors)), numberOfCommits);
+			trieOfRequests = new TrieOfRequests(backend.keyValueStoreFor("requests", txn, nullIfEmpty(rootOfRequests)), numberOfCommits, config.usesCompressionInStore);
+			trieOfHistories = new TrieOfHistories(backend.keyValueStoreFor("history", txn, nullIfEmpty(rootOfHistories)), numberOfCommits);
 		}
 	}
 
@@ -216,11 +188,27 @@ public abstract class FullTrieBasedStore<C extends Config> extends PartialTrieBa
 	}
 
 	@Override
-	protected void garbageCollect(long commitNumber) {
-		super.garbageCollect(commitNumber);
-		trieOfErrors.garbageCollect(commitNumber);
-		trieOfRequests.garbageCollect(commitNumber);
-		trieOfHistories.garbageCollect(commitNumber);
+	protected long garbageCollect(long commitNumber, long maxKeys, Transaction txn) {
+		long reclaimed = super.garbageCollect(commitNumber, maxKeys, txn);
+		if (reclaimed < maxKeys)
+			reclaimed += new TrieOfErrors(backend.keyValueStoreFor("errors", txn, null), -1L).garbageCollect(commitNumber, maxKeys - reclaimed);
+		if (reclaimed < maxKeys)
+			reclaimed += new TrieOfRequests(backend.keyValueStoreFor("requests", txn, null), -1L).garbageCollect(commitNumber, maxKeys - reclaimed);
+		if (reclaimed < maxKeys)
+			reclaimed += new TrieOfHistories(backend.keyValueStoreFor("history", txn, null), -1L).garbageCollect(commitNumber, maxKeys - reclaimed);
+
+		return reclaimed;
+	}
+
+	@Override
+	void exportTries(byte[] root, Transaction txn, SnapshotWriter writer) {
+		super.exportTries(root, txn, writer);
+		writer.startTrie("errors");
+		new TrieOfErrors(backend.keyValueStoreFor("errors", txn, nullIfEmpty(Arrays.copyOfRange(root, 64, 96))), -1L).forEachNode(writer::write);
+		writer.startTrie("requests");
+		new TrieOfRequests(backend.keyValueStoreFor("requests", txn, nullIfEmpty(Arrays.copyOfRange(root, 96, 128))), -1L).forEachNode(writer::write, request -> {});
+		writer.startTrie("history");
+		new TrieOfHistories(backend.keyValueStoreFor("history", txn, nullIfEmpty(Arrays.copyOfRange(root, 128, 160))), -1L).forEachNode(writer::write);
 	}
 
 	@Override
@@ -125,7 +125,7 @@ public abstract class PartialTrieBasedFlatHistoryStore<C extends Config> extends
 	@Override
 	protected void setHistory(StorageReference object, Stream<TransactionReference> history) {
 		recordTime(() -> {
-			ByteIterable historyAsByteArray = intoByteArray(history.toArray(TransactionReference[]::new));
+			ByteIterable historyAsByteArray = intoByteArray(history.toArray(TransactionReference[]::new), config.usesCompressionInStore);
 			ByteIterable objectAsByteArray = intoByteArray(object);
 			storeOfHistory.put(getCurrentTransaction(), objectAsByteArray, historyAsByteArray);
 		});
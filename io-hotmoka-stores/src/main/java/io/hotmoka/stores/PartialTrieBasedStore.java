@@ -19,8 +19,22 @@ package io.hotmoka.stores;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.logging.Level;
@@ -36,6 +50,17 @@ import io.hotmoka.local.AbstractStore;
 import io.hotmoka.local.Config;
 import io.hotmoka.marshalling.Marshallable;
 import io.hotmoka.marshalling.Unmarshaller;
+import io.hotmoka.nodes.metrics.Counter;
+import io.hotmoka.nodes.metrics.Histogram;
+import io.hotmoka.nodes.metrics.Metrics;
+import io.hotmoka.patricia.Compression;
+import io.hotmoka.stores.internal.KeyValueStoreBackend;
+import io.hotmoka.stores.internal.KeyValueStoreBackendOnMappedLog;
+import io.hotmoka.stores.internal.GarbageCollectionEvent;
+import io.hotmoka.stores.internal.KeyValueStoreBackendOnXodus;
+import io.hotmoka.stores.internal.SnapshotReader;
+import io.hotmoka.stores.internal.SnapshotWriter;
+import io.hotmoka.stores.internal.StoreCommitEvent;
 import io.hotmoka.stores.internal.TrieOfInfo;
 import io.hotmoka.stores.internal.TrieOfResponses;
 import io.hotmoka.xodus.ByteIterable;
@@ -48,7 +73,9 @@ import io.hotmoka.xodus.env.Transaction;
  * the successful responses of the Hotmoka transactions
  * but not their requests nor errors (for this reason it is <i>partial</i>).
  * Its implementation is based on Merkle-Patricia tries,
- * supported by JetBrains' Xodus transactional database.
+ * supported by JetBrains' Xodus transactional database. The nodes of the tries
+ * can be kept either inside Xodus or inside append-only, memory-mapped logs
+ * (see {@link Config#usesMappedLogForTries}).
  * 
  * The information kept in this store consists of:
  * 
@@ -60,6 +87,12 @@ import io.hotmoka.xodus.env.Transaction;
  * 
  * This information is added in store by push methods and accessed through get methods.
  * 
+ * The keys that are not reachable anymore from the last checkable commits are
+ * garbage-collected in the background, in small chunks, each inside its own database transaction,
+ * in the gaps between the transactions that update the store. Until then, the states of the
+ * last checkable commits can be queried, concurrently with the updates of the store,
+ * through read-only clones of the store (see {@link #getStoreAt(byte[])}).
+ * 
  * This class is meant to be subclassed by specifying where errors, requests and histories are kept.
  */
 @ThreadSafe
@@ -86,9 +119,9 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 	private final long checkableDepth;
 
 	/**
-	 * The Xodus store that holds the Merkle-Patricia trie of the responses to the requests.
+	 * The backend that holds the nodes of the Merkle-Patricia tries of this store.
 	 */
-	private final io.hotmoka.xodus.env.Store storeOfResponses;
+	final KeyValueStoreBackend backend;
 
 	/**
 	 * The Xodus store that holds miscellaneous information about the store.
@@ -110,6 +143,85 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 	 */
 	private final static ByteIterable ROOT = ByteIterable.fromBytes("root".getBytes());
 
+	/**
+	 * The key used inside {@link #storeOfInfo} to keep the number of the next commit
+	 * that must be garbage-collected.
+	 */
+	private final static ByteIterable NEXT_COMMIT_TO_GARBAGE_COLLECT = ByteIterable.fromBytes("gc".getBytes());
+
+	/**
+	 * The prefix of the keys used inside {@link #storeOfInfo} to keep the root checked out
+	 * at each height, that is, after each number of commits.
+	 */
+	private final static byte[] ROOT_AT = "root@".getBytes();
+
+	/**
+	 * The maximal number of read-only clones kept in {@link #historicalStores}.
+	 */
+	private final static int MAX_HISTORICAL_STORES = 32;
+
+	/**
+	 * The executor of the background garbage collection. It is shared with the clones of this store,
+	 * but only this store shuts it down, when it gets closed.
+	 * It runs the export of snapshots as well, so that garbage collection cannot
+	 * reclaim the keys of a snapshot while it is being exported.
+	 */
+	private final ScheduledExecutorService garbageCollector;
+
+	/**
+	 * True if and only if this store is a clone of another store. Clones share the database,
+	 * the backend and the garbage collector of their parent, hence they do not close them.
+	 */
+	private final boolean isClone;
+
+	/**
+	 * The lock that guarantees that garbage collection never runs during a transaction.
+	 * It is shared with the clones of this store.
+	 */
+	private final Object garbageCollectionLock;
+
+	/**
+	 * The number of commits that can be garbage-collected, that is, those that are
+	 * not checkable anymore. This is -1 until the first commit of this store.
+	 * It is shared with the clones of this store.
+	 */
+	private final AtomicLong numberOfCommitsThatCanBeGarbageCollected;
+
+	/**
+	 * The number of the next commit that must be garbage-collected, or -1 if it is not known yet.
+	 * It is shared with the clones of this store.
+	 */
+	private final AtomicLong nextCommitToGarbageCollect;
+
+	/**
+	 * The number of keys reclaimed by garbage collection so far.
+	 * It is shared with the clones of this store.
+	 */
+	private final AtomicLong numberOfGarbageCollectedKeys;
+
+	/**
+	 * The time spent for garbage collection so far, in milliseconds.
+	 * It is shared with the clones of this store.
+	 */
+	private final AtomicLong timeSpentInGarbageCollection;
+
+	/**
+	 * The read-only clones of this store, checked out at the roots of past states,
+	 * in least recently used order.
+	 */
+	private final Map<ByteBuffer, PartialTrieBasedStore<C>> historicalStores;
+
+	/**
+	 * The number of pins of each height whose state must not be garbage-collected
+	 * (see {@link #pinState()}). It is shared with the clones of this store
+	 * and guarded by {@link #garbageCollectionLock}.
+	 */
+	private final SortedMap<Long, Integer> pins;
+
+	private final static Histogram commitLatency = Metrics.histogram("hotmoka_store_commit_microseconds", "the time spent committing the store");
+	private final static Histogram garbageCollectionLatency = Metrics.histogram("hotmoka_store_garbage_collection_microseconds", "the time spent garbage-collecting a chunk of the store");
+	private final static Counter garbageCollectedKeys = Metrics.counter("hotmoka_store_garbage_collected_keys_total", "the keys reclaimed by the garbage collection of the store");
+
 	/**
 	 * The transaction that accumulates all changes to commit.
 	 */
@@ -156,16 +268,33 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
     	this.checkableDepth = checkableDepth;
     	this.env = new Environment(config.dir + "/store");
 
-    	AtomicReference<io.hotmoka.xodus.env.Store> storeOfResponses = new AtomicReference<>();
+    	if (config.usesMappedLogForTries)
+    		this.backend = new KeyValueStoreBackendOnMappedLog(config.dir.resolve("tries"));
+    	else
+    		this.backend = new KeyValueStoreBackendOnXodus(env);
+
     	AtomicReference<io.hotmoka.xodus.env.Store> storeOfInfo = new AtomicReference<>();
 
-    	recordTime(() -> env.executeInTransaction(txn -> {
-    		storeOfResponses.set(env.openStoreWithoutDuplicates("responses", txn));
-    		storeOfInfo.set(env.openStoreWithoutDuplicates("info", txn));
-    	}));
+    	recordTime(() -> {
+    		backend.open("responses");
+    		backend.open("info");
+    		env.executeInTransaction(txn -> storeOfInfo.set(env.openStoreWithoutDuplicates("info", txn)));
+    	});
 
-    	this.storeOfResponses = storeOfResponses.get();
     	this.storeOfInfo = storeOfInfo.get();
+    	this.garbageCollectionLock = new Object();
+    	this.numberOfCommitsThatCanBeGarbageCollected = new AtomicLong(-1L);
+    	this.nextCommitToGarbageCollect = new AtomicLong(-1L);
+    	this.numberOfGarbageCollectedKeys = new AtomicLong();
+    	this.timeSpentInGarbageCollection = new AtomicLong();
+    	this.historicalStores = mkHistoricalStores();
+    	this.pins = new TreeMap<>();
+    	this.garbageCollector = Executors.newSingleThreadScheduledExecutor();
+    	this.isClone = false;
+
+    	// a negative number means that garbage-collection is disabled
+    	if (checkableDepth >= 0L)
+    		garbageCollector.scheduleWithFixedDelay(this::garbageCollectChunk, config.garbageCollectionPeriod, config.garbageCollectionPeriod, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -178,8 +307,17 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 
 		this.env = parent.env;
 		this.checkableDepth = parent.checkableDepth;
-		this.storeOfResponses = parent.storeOfResponses;
+		this.backend = parent.backend;
 		this.storeOfInfo = parent.storeOfInfo;
+		this.garbageCollector = parent.garbageCollector;
+		this.isClone = true;
+		this.garbageCollectionLock = parent.garbageCollectionLock;
+		this.numberOfCommitsThatCanBeGarbageCollected = parent.numberOfCommitsThatCanBeGarbageCollected;
+		this.nextCommitToGarbageCollect = parent.nextCommitToGarbageCollect;
+		this.numberOfGarbageCollectedKeys = parent.numberOfGarbageCollectedKeys;
+		this.timeSpentInGarbageCollection = parent.timeSpentInGarbageCollection;
+		this.historicalStores = mkHistoricalStores();
+		this.pins = parent.pins;
 		this.now = parent.now;
 		System.arraycopy(parent.rootOfResponses, 0, this.rootOfResponses, 0, 32);
 		System.arraycopy(parent.rootOfInfo, 0, this.rootOfInfo, 0, 32);
@@ -187,12 +325,34 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 
 	@Override
     public void close() {
+    	if (isClone) {
+    		// the resources are owned by the parent of this clone
+    		super.close();
+    		return;
+    	}
+
+    	garbageCollector.shutdownNow();
+
+    	try {
+    		if (!garbageCollector.awaitTermination(10, TimeUnit.SECONDS))
+    			logger.warning("the garbage collector did not terminate in time");
+    	}
+    	catch (InterruptedException e) {
+    		Thread.currentThread().interrupt();
+    	}
+
     	if (duringTransaction()) {
     		// store closed with yet uncommitted transactions: we abort them
     		logger.log(Level.WARNING, "store closed with uncommitted transactions: they are being aborted");
     		txn.abort();
+    		backend.abortTransaction();
     	}
 
+    	backend.close();
+
+    	logger.info("Garbage collection: " + numberOfGarbageCollectedKeys + " keys reclaimed in " + timeSpentInGarbageCollection
+    		+ "ms, " + getNumberOfCommitsWaitingForGarbageCollection() + " commits still waiting");
+
     	try {
     		env.close();
     	}
@@ -210,8 +370,15 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 
     @Override
     public Optional<TransactionResponse> getResponse(TransactionReference reference) {
-		return recordTimeSynchronized(() -> env.computeInReadonlyTransaction
-			(txn -> new TrieOfResponses(storeOfResponses, txn, nullIfEmpty(rootOfResponses), -1L).get(reference)));
+		// the trie is read outside the lock, since the committed trie at a given root never changes:
+		// hence reading a response, also a large one, does not contend with the delivery of transactions
+		byte[] rootOfResponses;
+		synchronized (lock) {
+			rootOfResponses = this.rootOfResponses.clone();
+		}
+
+		return recordTime(() -> backend.computeInReadonlyTransaction
+			(txn -> new TrieOfResponses(backend.keyValueStoreFor("responses", txn, nullIfEmpty(rootOfResponses)), -1L).get(reference)));
 	}
 
 	@Override
@@ -223,8 +390,8 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 
 	@Override
 	public Optional<StorageReference> getManifest() {
-		return recordTimeSynchronized(() -> env.computeInReadonlyTransaction
-			(txn -> new TrieOfInfo(storeOfInfo, txn, nullIfEmpty(rootOfInfo), -1L).getManifest()));
+		return recordTimeSynchronized(() -> backend.computeInReadonlyTransaction
+			(txn -> new TrieOfInfo(backend.keyValueStoreFor("info", txn, nullIfEmpty(rootOfInfo)), -1L).getManifest()));
 	}
 
 	@Override
@@ -234,6 +401,82 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 		}
 	}
 
+	@Override
+	public Optional<byte[]> getRootAt(long height) {
+		if (!isCheckable(height))
+			return Optional.empty();
+
+		return recordTime(() -> env.computeInReadonlyTransaction(txn -> Optional.ofNullable(storeOfInfo.get(txn, keyOfRootAt(height))).map(ByteIterable::getBytes)));
+	}
+
+	@Override
+	public Optional<AbstractStore<C>> getStoreAt(byte[] root) {
+		var key = ByteBuffer.wrap(root.clone());
+		PartialTrieBasedStore<C> clone = historicalStores.get(key);
+		if (clone != null) {
+			// the state might have become too old in the meanwhile
+			if (isCheckable(clone.getNumberOfCommits()))
+				return Optional.of(clone);
+
+			historicalStores.remove(key);
+			return Optional.empty();
+		}
+
+		if (root.length < 64)
+			return Optional.empty();
+
+		long height;
+		try {
+			height = recordTime(() -> backend.computeInReadonlyTransaction
+				(txn -> new TrieOfInfo(backend.keyValueStoreFor("info", txn, nullIfEmpty(Arrays.copyOfRange(root, 32, 64))), -1L).getNumberOfCommits()));
+		}
+		catch (NoSuchElementException | UncheckedIOException e) {
+			// the root is unknown or its info trie has been already garbage-collected
+			return Optional.empty();
+		}
+
+		// only the roots that have been checked out can be queried
+		if (!getRootAt(height).filter(rootAtHeight -> Arrays.equals(rootAtHeight, root)).isPresent())
+			return Optional.empty();
+
+		clone = mkClone();
+		clone.setRootsTo(root);
+		historicalStores.put(key, clone);
+
+		return Optional.of(clone);
+	}
+
+	@Override
+	public OptionalLong pinState() {
+		long height = getNumberOfCommits();
+
+		synchronized (garbageCollectionLock) {
+			// garbage collection has never touched the commits from numberOfCommitsThatCanBeGarbageCollected on,
+			// since that number never decreases
+			if (checkableDepth >= 0L && height < numberOfCommitsThatCanBeGarbageCollected.get())
+				return OptionalLong.empty();
+
+			pins.merge(height, 1, Integer::sum);
+		}
+
+		return OptionalLong.of(height);
+	}
+
+	@Override
+	public void unpinState(long height) {
+		synchronized (garbageCollectionLock) {
+			pins.computeIfPresent(height, (_height, count) -> count > 1 ? count - 1 : null);
+		}
+	}
+
+	/**
+	 * Yields a clone of this store. It shares the database of this store
+	 * but can be checked out at a different root, without affecting this store.
+	 * 
+	 * @return the clone
+	 */
+	protected abstract PartialTrieBasedStore<C> mkClone();
+
 	@Override
 	protected void setResponse(TransactionReference reference, TransactionRequest<?> request, TransactionResponse response) {
 		recordTime(() -> trieOfResponses.put(reference, response));
@@ -252,10 +495,14 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 	 */
 	public void beginTransaction(long now) {
 		synchronized (lock) {
-			txn = recordTime(env::beginTransaction);
+			synchronized (garbageCollectionLock) {
+				txn = recordTime(env::beginTransaction);
+				backend.beginTransaction(txn);
+			}
+
 			long numberOfCommits = getNumberOfCommits();
-			trieOfResponses = new TrieOfResponses(storeOfResponses, txn, nullIfEmpty(rootOfResponses), numberOfCommits);
-			trieOfInfo = new TrieOfInfo(storeOfInfo, txn, nullIfEmpty(rootOfInfo), numberOfCommits);
+			trieOfResponses = new TrieOfResponses(backend.keyValueStoreFor("responses", txn, nullIfEmpty(rootOfResponses)), numberOfCommits, config.usesCompressionInStore);
+			trieOfInfo = new TrieOfInfo(backend.keyValueStoreFor("info", txn, nullIfEmpty(rootOfInfo)), numberOfCommits);
 			this.now = now;
 		}
 	}
@@ -269,31 +516,253 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 	 *         if this gets checked out, the view of the store becomes that at the end of the transaction
 	 */
 	protected byte[] commitTransaction() {
-		return recordTime(() -> {
+		long start = System.nanoTime();
+		var event = new StoreCommitEvent();
+		event.begin();
+
+		byte[] result = recordTime(() -> {
 			long newCommitNumber = trieOfInfo.increaseNumberOfCommits();
-			
-			// a negative number means that garbage-collection is disabled
-			if (checkableDepth >= 0L) {
-				long commitToGarbageCollect = newCommitNumber - 1 - checkableDepth;
-				if (commitToGarbageCollect >= 0L)
-					garbageCollect(commitToGarbageCollect);
+			event.height = newCommitNumber;
+
+			synchronized (garbageCollectionLock) {
+				// the nodes of the tries are forced to disk before the Xodus data that refers to them:
+				// a crash in between leaves only unreachable nodes in the backend
+				backend.commitTransaction();
+
+				if (!txn.commit())
+					logger.info("transaction's commit failed");
 			}
 
-			if (!txn.commit())
-				logger.info("transaction's commit failed");
+			// the commits that are not checkable anymore will be garbage-collected in the background
+			numberOfCommitsThatCanBeGarbageCollected.accumulateAndGet(Math.max(0L, newCommitNumber - checkableDepth), Math::max);
 
 			return mergeRootsOfTries();
 		});
+
+		commitLatency.recordMicrosSince(start);
+		event.commit();
+
+		return result;
 	}
 
 	/**
-	 * Garbage-collects all keys updated during the given commit.
+	 * Garbage-collects some keys updated during the given commit.
 	 * 
 	 * @param commitNumber the number of the commit
+	 * @param maxKeys the maximal number of keys to reclaim
+	 * @param txn the transaction where garbage collection is performed
+	 * @return the number of keys actually reclaimed; if this is smaller than {@code maxKeys},
+	 *         then all keys updated during the commit have been reclaimed
+	 */
+	protected long garbageCollect(long commitNumber, long maxKeys, Transaction txn) {
+		long reclaimed = new TrieOfResponses(backend.keyValueStoreFor("responses", txn, null), -1L).garbageCollect(commitNumber, maxKeys);
+		if (reclaimed < maxKeys)
+			reclaimed += new TrieOfInfo(backend.keyValueStoreFor("info", txn, null), -1L).garbageCollect(commitNumber, maxKeys - reclaimed);
+
+		return reclaimed;
+	}
+
+	/**
+	 * Exports the state of this store, as it was at the last checkout, into a snapshot
+	 * kept inside the given directory. The export occurs in the background and garbage collection
+	 * is suspended until it completes.
+	 * 
+	 * @param dir the directory where the snapshot must be written
+	 * @return the future description of the snapshot, available when the export completes
 	 */
-	protected void garbageCollect(long commitNumber) {
-		trieOfResponses.garbageCollect(commitNumber);
-		trieOfInfo.garbageCollect(commitNumber);
+	public Future<Snapshot> exportSnapshot(Path dir) {
+		// we take the root now, since it might change before the export starts
+		byte[] root = recordTime(() -> env.computeInReadonlyTransaction(txn -> storeOfInfo.get(txn, ROOT).getBytes()));
+
+		return garbageCollector.submit(() -> {
+			long start = System.currentTimeMillis();
+
+			try (SnapshotWriter writer = new SnapshotWriter(dir)) {
+				long height = backend.computeInReadonlyTransaction(txn -> {
+					exportTries(root, txn, writer);
+					return new TrieOfInfo(backend.keyValueStoreFor("info", txn, nullIfEmpty(Arrays.copyOfRange(root, 32, 64))), -1L).getNumberOfCommits();
+				});
+
+				writer.close();
+				Snapshot snapshot = new Snapshot(height, root, writer.getHashesOfChunks());
+				snapshot.dump(dir);
+				logger.info("exported a snapshot at height " + height + " with " + snapshot.getNumberOfChunks() + " chunks in " + (System.currentTimeMillis() - start) + "ms");
+
+				return snapshot;
+			}
+		});
+	}
+
+	/**
+	 * Writes, into a snapshot, the bindings of the tries of this store that are reachable from the given root.
+	 * 
+	 * @param root the merged root of the tries
+	 * @param txn the transaction where the tries must be read
+	 * @param writer the writer of the snapshot
+	 */
+	void exportTries(byte[] root, Transaction txn, SnapshotWriter writer) {
+		writer.startTrie("responses");
+		new TrieOfResponses(backend.keyValueStoreFor("responses", txn, nullIfEmpty(Arrays.copyOfRange(root, 0, 32))), -1L).forEachNode(writer::write, response -> {});
+		writer.startTrie("info");
+		new TrieOfInfo(backend.keyValueStoreFor("info", txn, nullIfEmpty(Arrays.copyOfRange(root, 32, 64))), -1L).forEachNode(writer::write);
+	}
+
+	/**
+	 * Imports a chunk of a snapshot into this store. This is meant to be called for a store
+	 * that is being bootstrapped from a snapshot and hence is not executing transactions yet.
+	 * The chunk is verified before being imported.
+	 * 
+	 * @param chunk the chunk
+	 * @throws IOException if the chunk is not well-formed or contains inconsistent bindings
+	 */
+	public void importSnapshotChunk(byte[] chunk) throws IOException {
+		var reader = new SnapshotReader(backend::isOpen);
+
+		synchronized (garbageCollectionLock) {
+			Transaction txn = env.beginTransaction();
+			backend.beginTransaction(txn);
+
+			try {
+				recordTime(() -> {
+					try {
+						reader.read(chunk, (trie, key, value) -> backend.keyValueStoreFor(trie, txn, null).put(key, value));
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+			catch (UncheckedIOException e) {
+				txn.abort();
+				backend.abortTransaction();
+				throw e.getCause();
+			}
+
+			// as for the commits of the store, the backend gets forced first
+			backend.commitTransaction();
+
+			if (!txn.commit())
+				logger.info("transaction's commit failed");
+		}
+	}
+
+	/**
+	 * Completes the import of a snapshot, whose chunks have been already imported
+	 * through {@link #importSnapshotChunk(byte[])}. The store gets checked out at the root of the snapshot.
+	 * 
+	 * @param snapshot the snapshot
+	 */
+	public void completeSnapshotImport(Snapshot snapshot) {
+		checkout(snapshot.getRoot());
+
+		// the garbage collection data of the previous commits is not part of the snapshot
+		long numberOfCommits = getNumberOfCommits();
+		recordTime(() -> env.executeInTransaction(txn -> storeOfInfo.put(txn, NEXT_COMMIT_TO_GARBAGE_COLLECT, ByteIterable.fromBytes(longToBytes(numberOfCommits)))));
+		nextCommitToGarbageCollect.set(numberOfCommits);
+	}
+
+	/**
+	 * Yields the number of commits that are not checkable anymore but still wait for
+	 * being garbage-collected.
+	 * 
+	 * @return the number of commits; this is 0 if it is not known yet
+	 */
+	public long getNumberOfCommitsWaitingForGarbageCollection() {
+		long next = nextCommitToGarbageCollect.get();
+		return next < 0L ? 0L : Math.max(0L, numberOfCommitsThatCanBeGarbageCollected.get() - next);
+	}
+
+	/**
+	 * Yields the number of keys reclaimed by garbage collection so far.
+	 * 
+	 * @return the number of keys
+	 */
+	public long getNumberOfGarbageCollectedKeys() {
+		return numberOfGarbageCollectedKeys.get();
+	}
+
+	/**
+	 * Yields the time spent for garbage collection so far.
+	 * 
+	 * @return the time, in milliseconds
+	 */
+	public long getTimeSpentInGarbageCollection() {
+		return timeSpentInGarbageCollection.get();
+	}
+
+	/**
+	 * Reclaims a chunk of the keys updated during the commits that are not checkable anymore,
+	 * inside its own database transaction. Nothing happens if the store is currently
+	 * inside a transaction, since in that case the chunk will be reclaimed later.
+	 */
+	private void garbageCollectChunk() {
+		try {
+			synchronized (garbageCollectionLock) {
+				// the states of the pinned heights must be kept, hence also the commits from the lowest pinned height on
+				long numberOfCommitsThatCanBeGarbageCollected = pins.isEmpty() ? this.numberOfCommitsThatCanBeGarbageCollected.get()
+					: Math.min(this.numberOfCommitsThatCanBeGarbageCollected.get(), pins.firstKey());
+
+				if (duringTransaction() || numberOfCommitsThatCanBeGarbageCollected < 0L
+						|| nextCommitToGarbageCollect.get() >= numberOfCommitsThatCanBeGarbageCollected)
+					return;
+
+				long start = System.currentTimeMillis(), startNanos = System.nanoTime();
+				var event = new GarbageCollectionEvent();
+				event.begin();
+
+				// the transaction is exclusive, hence it is never retried because of conflicts with the checkouts
+				Transaction txn = env.beginExclusiveTransaction();
+				backend.beginTransaction(txn);
+				long[] result;
+
+				try {
+					ByteIterable next = storeOfInfo.get(txn, NEXT_COMMIT_TO_GARBAGE_COLLECT);
+					long commit = next == null ? 0L : ByteBuffer.wrap(next.getBytes()).getLong();
+					long reclaimed = 0L;
+
+					while (reclaimed < config.keysPerGarbageCollectionChunk && commit < numberOfCommitsThatCanBeGarbageCollected) {
+						long budget = config.keysPerGarbageCollectionChunk - reclaimed;
+						long reclaimedFromCommit = garbageCollect(commit, budget, txn);
+						reclaimed += reclaimedFromCommit;
+						if (reclaimedFromCommit < budget) {
+							// the state at that height is not available anymore
+							storeOfInfo.remove(txn, keyOfRootAt(commit));
+							commit++;
+						}
+					}
+
+					storeOfInfo.put(txn, NEXT_COMMIT_TO_GARBAGE_COLLECT, ByteIterable.fromBytes(longToBytes(commit)));
+					result = new long[] { commit, reclaimed };
+
+					// as for the commits of the store, the backend gets forced first: a crash in between
+					// leaves Xodus behind the backend, hence the same commits get collected again later
+					backend.commitTransaction();
+				}
+				catch (RuntimeException e) {
+					txn.abort();
+					backend.abortTransaction();
+					throw e;
+				}
+
+				if (!txn.commit()) {
+					logger.info("garbage collection's commit failed");
+					return;
+				}
+
+				nextCommitToGarbageCollect.set(result[0]);
+				numberOfGarbageCollectedKeys.addAndGet(result[1]);
+				timeSpentInGarbageCollection.addAndGet(System.currentTimeMillis() - start);
+				garbageCollectionLatency.recordMicrosSince(startNanos);
+				garbageCollectedKeys.add(result[1]);
+				event.reclaimedKeys = result[1];
+				event.nextCommit = result[0];
+				event.commit();
+			}
+		}
+		catch (RuntimeException e) {
+			// we keep the executor alive, the chunk will be tried again later
+			logger.log(Level.WARNING, "garbage collection failed", e);
+		}
 	}
 
 	/**
@@ -304,7 +773,13 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 	 */
 	protected void checkout(byte[] root) {
 		setRootsTo(root);
-		recordTime(() -> env.executeInTransaction(txn -> storeOfInfo.put(txn, ROOT, ByteIterable.fromBytes(root))));
+		long height = getNumberOfCommits();
+
+		recordTime(() -> env.executeInTransaction(txn -> {
+			storeOfInfo.put(txn, ROOT, ByteIterable.fromBytes(root));
+			// we index the root by height, so that its state can be later queried, until garbage-collected
+			storeOfInfo.put(txn, keyOfRootAt(height), ByteIterable.fromBytes(root));
+		}));
 	}
 
 	/**
@@ -313,8 +788,15 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 	 * @return the number of commits
 	 */
 	public long getNumberOfCommits() {
-		return recordTime(() -> env.computeInReadonlyTransaction
-			(txn -> new TrieOfInfo(storeOfInfo, txn, nullIfEmpty(rootOfInfo), -1L).getNumberOfCommits()));
+		// the root is copied under the lock, since a concurrent checkout might be overwriting it;
+		// the trie is then read outside the lock, as in getResponse()
+		byte[] rootOfInfo;
+		synchronized (lock) {
+			rootOfInfo = this.rootOfInfo.clone();
+		}
+
+		return recordTime(() -> backend.computeInReadonlyTransaction
+			(txn -> new TrieOfInfo(backend.keyValueStoreFor("info", txn, nullIfEmpty(rootOfInfo)), -1L).getNumberOfCommits()));
 	}
 
 	/**
@@ -431,9 +913,10 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 		}
 	}
 
-	protected static ByteIterable intoByteArray(TransactionReference[] marshallables) throws UncheckedIOException {
+	protected static ByteIterable intoByteArray(TransactionReference[] marshallables, boolean compressed) throws UncheckedIOException {
 		try {
-			return ByteIterable.fromBytes(Marshallable.toByteArray(marshallables, BeanMarshallingContext::new));
+			byte[] bytes = Marshallable.toByteArray(marshallables, BeanMarshallingContext::new);
+			return ByteIterable.fromBytes(compressed ? Compression.compress(bytes) : bytes);
 		}
 		catch (IOException e) {
 			throw new UncheckedIOException(e);
@@ -441,7 +924,7 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 	}
 
 	protected static <T extends Marshallable> T[] fromByteArray(Unmarshaller<T> unmarshaller, Function<Integer,T[]> supplier, ByteIterable bytes) throws UncheckedIOException {
-		try (var context = unmarshaller.mkContext(new ByteArrayInputStream(bytes.getBytes()))) {
+		try (var context = unmarshaller.mkContext(new ByteArrayInputStream(Compression.decompress(bytes.getBytes())))) {
 			return context.readArray(unmarshaller, supplier);
 		}
 		catch (IOException e) {
@@ -451,4 +934,35 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 			throw new RuntimeException(e);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Determines if the state at the given height has not been garbage-collected yet
+	 * and will not be garbage-collected until further commits.
+	 * 
+	 * @param height the height, that is, the number of commits of the state
+	 * @return true if and only if that condition holds
+	 */
+	private boolean isCheckable(long height) {
+		long numberOfCommits = getNumberOfCommits();
+		return height >= 0L && height <= numberOfCommits && (checkableDepth < 0L || height >= numberOfCommits - checkableDepth);
+	}
+
+	private Map<ByteBuffer, PartialTrieBasedStore<C>> mkHistoricalStores() {
+		return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ByteBuffer, PartialTrieBasedStore<C>> eldest) {
+				return size() > MAX_HISTORICAL_STORES;
+			}
+		});
+	}
+
+	private static ByteIterable keyOfRootAt(long height) {
+		return ByteIterable.fromBytes(ByteBuffer.allocate(ROOT_AT.length + Long.BYTES).put(ROOT_AT).putLong(height).array());
+	}
+
+	private static byte[] longToBytes(long l) {
+		return ByteBuffer.allocate(Long.BYTES).putLong(l).array();
+	}
+}
@@ -17,7 +17,6 @@ limitations under the License.
 package io.hotmoka.stores;
 
 import java.util.Arrays;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import io.hotmoka.annotations.ThreadSafe;
@@ -25,6 +24,7 @@ import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.local.AbstractLocalNode;
 import io.hotmoka.local.Config;
+import io.hotmoka.stores.internal.SnapshotWriter;
 import io.hotmoka.stores.internal.TrieOfHistories;
 import io.hotmoka.xodus.env.Transaction;
 
@@ -53,13 +53,6 @@ import io.hotmoka.xodus.env.Transaction;
 @ThreadSafe
 public abstract class PartialTrieBasedWithHistoryStore<C extends Config> extends PartialTrieBasedStore<C> {
 
-	/**
-	 * The Xodus store that holds the history of each storage reference, ie, a list of
-	 * transaction references that contribute
-	 * to provide values to the fields of the storage object at that reference.
-	 */
-	private final io.hotmoka.xodus.env.Store storeOfHistory;
-
 	/**
 	 * The root of the trie of histories. It is an empty array if the trie is empty.
 	 */
@@ -93,9 +86,7 @@ public abstract class PartialTrieBasedWithHistoryStore<C extends Config> extends
 	protected PartialTrieBasedWithHistoryStore(AbstractLocalNode<? extends C, ? extends PartialTrieBasedWithHistoryStore<? extends C>> node, long checkableDepth) {
 		super(node, checkableDepth);
 
-		AtomicReference<io.hotmoka.xodus.env.Store> storeOfHistory = new AtomicReference<>();
-		recordTime(() -> env.executeInTransaction(txn -> storeOfHistory.set(env.openStoreWithoutDuplicates("history", txn))));
-		this.storeOfHistory = storeOfHistory.get();
+		recordTime(() -> backend.open("history"));
 	}
 
 	/**
@@ -106,14 +97,13 @@ public abstract class PartialTrieBasedWithHistoryStore<C extends Config> extends
 	protected PartialTrieBasedWithHistoryStore(PartialTrieBasedWithHistoryStore<? extends C> parent) {
 		super(parent);
 
-		this.storeOfHistory = parent.storeOfHistory;
 		System.arraycopy(parent.rootOfHistories, 0, this.rootOfHistories, 0, 32);
 	}
 
     @Override
 	public Stream<TransactionReference> getHistory(StorageReference object) {
-		return recordTimeSynchronized(() -> env.computeInReadonlyTransaction
-			(txn -> new TrieOfHistories(storeOfHistory, txn, nullIfEmpty(rootOfHistories), -1L).get(object)));
+		return recordTimeSynchronized(() -> backend.computeInReadonlyTransaction
+			(txn -> new TrieOfHistories(backend.keyValueStoreFor("history", txn, nullIfEmpty(rootOfHistories)), -1L).get(object)));
 	}
 
 	@Override
@@ -129,7 +119,7 @@ public abstract class PartialTrieBasedWithHistoryStore<C extends Config> extends
 			super.beginTransaction(now);
 
 			Transaction txn = getCurrentTransaction();
-			trieOfHistories = new TrieOfHistories(storeOfHistory, txn, nullIfEmpty(rootOfHistories), getNumberOfCommits());
+			trieOfHistories = new TrieOfHistories(backend.keyValueStoreFor("history", txn, nullIfEmpty(rootOfHistories)), getNumberOfCommits());
 		}
 	}
 
@@ -141,9 +131,19 @@ public abstract class PartialTrieBasedWithHistoryStore<C extends Config> extends
 	}
 
 	@Override
-	protected void garbageCollect(long commitNumber) {
-		super.garbageCollect(commitNumber);
-		trieOfHistories.garbageCollect(commitNumber);
+	protected long garbageCollect(long commitNumber, long maxKeys, Transaction txn) {
+		long reclaimed = super.garbageCollect(commitNumber, maxKeys, txn);
+		if (reclaimed < maxKeys)
+			reclaimed += new TrieOfHistories(backend.keyValueStoreFor("history", txn, null), -1L).garbageCollect(commitNumber, maxKeys - reclaimed);
+
+		return reclaimed;
+	}
+
+	@Override
+	void exportTries(byte[] root, Transaction txn, SnapshotWriter writer) {
+		super.exportTries(root, txn, writer);
+		writer.startTrie("history");
+		new TrieOfHistories(backend.keyValueStoreFor("history", txn, nullIfEmpty(Arrays.copyOfRange(root, 64, 96))), -1L).forEachNode(writer::write);
 	}
 
 	@Override
@@ -0,0 +1,259 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.stores;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import io.hotmoka.annotations.Immutable;
+import io.hotmoka.crypto.HashingAlgorithms;
+import io.hotmoka.crypto.api.HashingAlgorithm;
+
+/**
+ * The description of a snapshot of the state of a trie-based store, at a given root.
+ * The snapshot consists of a sequence of chunks, each containing bindings
+ * of the key/value stores that support the tries of the store. The description
+ * contains the hash of each chunk, so that chunks can be verified one by one,
+ * for instance when they are received from an untrusted peer.
+ * Each binding inside the chunks is self-verifying as well, since its key is the hash of its value.
+ */
+@Immutable
+public final class Snapshot {
+
+	/**
+	 * The format of the snapshots, as understood by this class.
+	 */
+	public final static int FORMAT = 1;
+
+	/**
+	 * The name of the file that contains the metadata of a snapshot, inside its directory.
+	 */
+	private final static String METADATA = "metadata";
+
+	/**
+	 * The length of the hashes of the chunks.
+	 */
+	private final static int HASH_LENGTH = 32;
+
+	/**
+	 * The minimal length of the root of a store. Roots are the concatenation
+	 * of the roots of the tries of the store, each of {@link #HASH_LENGTH} bytes,
+	 * and stores have at least the tries of the responses and of the miscellaneous information.
+	 */
+	private final static int MIN_ROOT_LENGTH = 2 * HASH_LENGTH;
+
+	/**
+	 * The maximal length of the root of a store.
+	 */
+	private final static int MAX_ROOT_LENGTH = 8 * HASH_LENGTH;
+
+	/**
+	 * The maximal number of chunks of a snapshot.
+	 */
+	private final static int MAX_NUMBER_OF_CHUNKS = 1 << 20;
+
+	/**
+	 * The number of commits of the store at the time of the snapshot.
+	 */
+	public final long height;
+
+	/**
+	 * The root of the store at the time of the snapshot.
+	 */
+	private final byte[] root;
+
+	/**
+	 * The hashes of the chunks of the snapshot, in order.
+	 */
+	private final byte[][] hashesOfChunks;
+
+	/**
+	 * Creates the description of a snapshot.
+	 * 
+	 * @param height the number of commits of the store at the time of the snapshot
+	 * @param root the root of the store at the time of the snapshot
+	 * @param hashesOfChunks the hashes of the chunks of the snapshot, in order
+	 */
+	public Snapshot(long height, byte[] root, byte[][] hashesOfChunks) {
+		this.height = height;
+		this.root = root.clone();
+		this.hashesOfChunks = new byte[hashesOfChunks.length][];
+		for (int pos = 0; pos < hashesOfChunks.length; pos++)
+			this.hashesOfChunks[pos] = hashesOfChunks[pos].clone();
+	}
+
+	/**
+	 * Creates the description of a snapshot from its metadata.
+	 * 
+	 * @param height the number of commits of the store at the time of the snapshot
+	 * @param metadata the metadata, as returned by {@link #getMetadata()}
+	 * @throws IOException if the metadata is not well-formed
+	 */
+	public Snapshot(long height, byte[] metadata) throws IOException {
+		// the metadata might come from an untrusted peer: lengths are checked before allocating arrays
+		try (var dis = new DataInputStream(new ByteArrayInputStream(metadata))) {
+			this.height = height;
+
+			int rootLength = dis.readInt();
+			if (rootLength < MIN_ROOT_LENGTH || rootLength > MAX_ROOT_LENGTH || rootLength % HASH_LENGTH != 0)
+				throw new IOException("illegal length for the root of a snapshot: " + rootLength);
+
+			this.root = new byte[rootLength];
+			dis.readFully(root);
+
+			int numberOfChunks = dis.readInt();
+			if (numberOfChunks < 0 || numberOfChunks > MAX_NUMBER_OF_CHUNKS || (long) numberOfChunks * (Integer.BYTES + HASH_LENGTH) > dis.available())
+				throw new IOException("illegal number of chunks for a snapshot: " + numberOfChunks);
+
+			this.hashesOfChunks = new byte[numberOfChunks][];
+			for (int pos = 0; pos < numberOfChunks; pos++) {
+				int hashLength = dis.readInt();
+				if (hashLength != HASH_LENGTH)
+					throw new IOException("illegal length for the hash of a chunk of a snapshot: " + hashLength);
+
+				hashesOfChunks[pos] = new byte[HASH_LENGTH];
+				dis.readFully(hashesOfChunks[pos]);
+			}
+
+			if (dis.available() > 0)
+				throw new IOException("unexpected bytes at the end of the metadata of the snapshot");
+		}
+	}
+
+	/**
+	 * Loads the description of the snapshot kept in the given directory.
+	 * 
+	 * @param dir the directory where the snapshot was written by
+	 *            {@link PartialTrieBasedStore#exportSnapshot(Path)}
+	 * @param height the number of commits of the store at the time of the snapshot
+	 * @return the description of the snapshot
+	 * @throws IOException if the snapshot cannot be loaded
+	 */
+	public static Snapshot load(Path dir, long height) throws IOException {
+		return new Snapshot(height, Files.readAllBytes(dir.resolve(METADATA)));
+	}
+
+	/**
+	 * Writes the metadata of this snapshot inside the given directory.
+	 * 
+	 * @param dir the directory
+	 * @throws IOException if the metadata cannot be written
+	 */
+	void dump(Path dir) throws IOException {
+		Files.write(dir.resolve(METADATA), getMetadata());
+	}
+
+	/**
+	 * Yields the given chunk of the snapshot kept in the given directory.
+	 * 
+	 * @param dir the directory where the snapshot was written by
+	 *            {@link PartialTrieBasedStore#exportSnapshot(Path)}
+	 * @param index the index of the chunk
+	 * @return the chunk
+	 * @throws IOException if the chunk cannot be read
+	 */
+	public static byte[] loadChunk(Path dir, int index) throws IOException {
+		return Files.readAllBytes(dir.resolve(String.valueOf(index)));
+	}
+
+	/**
+	 * Yields the root of the store at the time of the snapshot.
+	 * 
+	 * @return the root
+	 */
+	public byte[] getRoot() {
+		return root.clone();
+	}
+
+	/**
+	 * Yields the number of chunks of this snapshot.
+	 * 
+	 * @return the number of chunks
+	 */
+	public int getNumberOfChunks() {
+		return hashesOfChunks.length;
+	}
+
+	/**
+	 * Determines if the given chunk is the {@code index}th chunk of this snapshot.
+	 * 
+	 * @param index the index of the chunk
+	 * @param chunk the chunk
+	 * @return true if and only if the hash of {@code chunk} is that expected for the {@code index}th chunk
+	 */
+	public boolean isValidChunk(int index, byte[] chunk) {
+		return index >= 0 && index < hashesOfChunks.length && Arrays.equals(hashesOfChunks[index], hash(chunk));
+	}
+
+	/**
+	 * Yields the metadata of this snapshot, that is, a marshalled representation
+	 * of its root and of the hashes of its chunks.
+	 * 
+	 * @return the metadata
+	 */
+	public byte[] getMetadata() {
+		try (var baos = new ByteArrayOutputStream(); var dos = new DataOutputStream(baos)) {
+			dos.writeInt(root.length);
+			dos.write(root);
+			dos.writeInt(hashesOfChunks.length);
+			for (byte[] hash: hashesOfChunks) {
+				dos.writeInt(hash.length);
+				dos.write(hash);
+			}
+
+			dos.flush();
+			return baos.toByteArray();
+		}
+		catch (IOException e) {
+			// this does not happen with a byte array output stream
+			throw new RuntimeException("unexpected exception", e);
+		}
+	}
+
+	/**
+	 * Yields the hash of this snapshot. It is computed from its metadata,
+	 * hence two snapshots have the same hash if and only if they have the same chunks.
+	 * 
+	 * @return the hash
+	 */
+	public byte[] getHash() {
+		return hash(getMetadata());
+	}
+
+	/**
+	 * Yields the hash of the given bytes, as used for the chunks and for the snapshot itself.
+	 * 
+	 * @param bytes the bytes
+	 * @return the hash
+	 */
+	private static byte[] hash(byte[] bytes) {
+		try {
+			HashingAlgorithm<byte[]> sha256 = HashingAlgorithms.sha256(b -> b);
+			return sha256.hash(bytes);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("unexpected exception", e);
+		}
+	}
+}
@@ -0,0 +1,43 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.stores.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The flight recorder event for the garbage collection of a chunk of keys of a store.
+ */
+@Name("io.hotmoka.GarbageCollection")
+@Label("Garbage Collection")
+@Description("Garbage collection of a chunk of the keys of a store")
+@Category({ "Hotmoka", "Store" })
+@StackTrace(false)
+public final class GarbageCollectionEvent extends Event {
+
+	@Label("Reclaimed Keys")
+	@Description("The number of keys reclaimed")
+	public long reclaimedKeys;
+
+	@Label("Next Commit")
+	@Description("The number of the next commit whose keys will be garbage-collected")
+	public long nextCommit;
+}
@@ -0,0 +1,91 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.stores.internal;
+
+import java.util.function.Function;
+
+import io.hotmoka.patricia.KeyValueStore;
+import io.hotmoka.xodus.env.Transaction;
+
+/**
+ * The persistent support where the nodes of the Merkle-Patricia tries of a store are kept.
+ * Each trie has a name and gets its own key/value store. Updates are performed
+ * inside the Xodus transaction of the store and become visible to readers only
+ * when that transaction gets committed.
+ */
+public interface KeyValueStoreBackend extends AutoCloseable {
+
+	/**
+	 * Opens the key/value store with the given name, creating it if it does not exist.
+	 * This must be called once before the store can be used by {@link #keyValueStoreFor(String, Transaction, byte[])}.
+	 * 
+	 * @param name the name of the key/value store
+	 */
+	void open(String name);
+
+	/**
+	 * Determines if the key/value store with the given name has been opened.
+	 * 
+	 * @param name the name of the key/value store
+	 * @return true if and only if {@link #open(String)} has been called for {@code name}
+	 */
+	boolean isOpen(String name);
+
+	/**
+	 * Yields a view of the key/value store with the given name, that reads and
+	 * writes inside the given transaction.
+	 * 
+	 * @param name the name of the key/value store
+	 * @param txn the transaction; this is either the transaction started with
+	 *            {@link #beginTransaction(Transaction)} or a read-only transaction
+	 *            provided by {@link #computeInReadonlyTransaction(Function)}
+	 * @param root the root of the trie supported by the resulting key/value store; use {@code null} if the trie is empty
+	 * @return the key/value store
+	 */
+	KeyValueStore keyValueStoreFor(String name, Transaction txn, byte[] root);
+
+	/**
+	 * Runs the given function inside a read-only transaction.
+	 * 
+	 * @param <T> the type of the result of the function
+	 * @param computable the function
+	 * @return the result of the function
+	 */
+	<T> T computeInReadonlyTransaction(Function<Transaction, T> computable);
+
+	/**
+	 * Takes note that the given transaction has been started for updating the key/value stores.
+	 * 
+	 * @param txn the transaction
+	 */
+	void beginTransaction(Transaction txn);
+
+	/**
+	 * Takes note that the transaction started with {@link #beginTransaction(Transaction)}
+	 * has been committed, so that its updates must become persistent.
+	 */
+	void commitTransaction();
+
+	/**
+	 * Takes note that the transaction started with {@link #beginTransaction(Transaction)}
+	 * has been aborted, so that its updates must be discarded.
+	 */
+	void abortTransaction();
+
+	@Override
+	void close();
+}
@@ -0,0 +1,132 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.stores.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.hotmoka.annotations.ThreadSafe;
+import io.hotmoka.patricia.KeyValueStore;
+import io.hotmoka.xodus.env.Transaction;
+
+/**
+ * A backend that keeps the nodes of the tries inside memory-mapped logs
+ * (see {@link MappedLog}), one log for each trie. The updates performed during a transaction are kept in RAM
+ * and appended to the logs only when the transaction gets committed. Reads
+ * do not need any transaction.
+ */
+@ThreadSafe
+public class KeyValueStoreBackendOnMappedLog implements KeyValueStoreBackend {
+	private final static Logger logger = Logger.getLogger(KeyValueStoreBackendOnMappedLog.class.getName());
+
+	/**
+	 * The directory where the logs are kept.
+	 */
+	private final Path dir;
+
+	/**
+	 * The logs opened so far, by name.
+	 */
+	private final Map<String, MappedLog> logs = new ConcurrentHashMap<>();
+
+	/**
+	 * The updates performed during the current transaction, for each log.
+	 * A {@code null} value stands for a removal.
+	 */
+	private final Map<String, Map<MappedLog.Key, byte[]>> writes = new ConcurrentHashMap<>();
+
+	/**
+	 * The current transaction, if any.
+	 */
+	private volatile Transaction txn;
+
+	/**
+	 * Creates the backend.
+	 * 
+	 * @param dir the directory where the logs will be kept
+	 */
+	public KeyValueStoreBackendOnMappedLog(Path dir) {
+		this.dir = dir;
+	}
+
+	@Override
+	public void open(String name) {
+		try {
+			logs.put(name, new MappedLog(dir.resolve(name + ".log")));
+		}
+		catch (IOException e) {
+			logger.log(Level.SEVERE, "cannot open the log " + name, e);
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public boolean isOpen(String name) {
+		return logs.containsKey(name);
+	}
+
+	@Override
+	public KeyValueStore keyValueStoreFor(String name, Transaction txn, byte[] root) {
+		// only the current transaction sees and performs updates
+		Map<MappedLog.Key, byte[]> writes = txn != null && txn == this.txn ? this.writes.computeIfAbsent(name, _name -> new LinkedHashMap<>()) : null;
+		return new KeyValueStoreOnMappedLog(logs.get(name), writes, root);
+	}
+
+	@Override
+	public <T> T computeInReadonlyTransaction(Function<Transaction, T> computable) {
+		// reads from the logs do not need any transaction
+		return computable.apply(null);
+	}
+
+	@Override
+	public void beginTransaction(Transaction txn) {
+		writes.clear();
+		this.txn = txn;
+	}
+
+	@Override
+	public void commitTransaction() {
+		writes.forEach((name, writesOfLog) -> logs.get(name).append(writesOfLog));
+		writes.clear();
+		txn = null;
+	}
+
+	@Override
+	public void abortTransaction() {
+		writes.clear();
+		txn = null;
+	}
+
+	@Override
+	public void close() {
+		for (MappedLog log: logs.values()) {
+			try {
+				log.close();
+			}
+			catch (IOException e) {
+				logger.log(Level.WARNING, "failed to close a log", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.stores.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import io.hotmoka.patricia.KeyValueStore;
+import io.hotmoka.xodus.env.Environment;
+import io.hotmoka.xodus.env.Store;
+import io.hotmoka.xodus.env.Transaction;
+
+/**
+ * A backend that keeps the nodes of the tries inside the Xodus database of the store,
+ * one Xodus store for each trie.
+ */
+public class KeyValueStoreBackendOnXodus implements KeyValueStoreBackend {
+
+	/**
+	 * The Xodus environment that holds the stores.
+	 */
+	private final Environment env;
+
+	/**
+	 * The Xodus stores opened so far, by name.
+	 */
+	private final Map<String, Store> stores = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates the backend.
+	 * 
+	 * @param env the Xodus environment that will hold the stores
+	 */
+	public KeyValueStoreBackendOnXodus(Environment env) {
+		this.env = env;
+	}
+
+	@Override
+	public void open(String name) {
+		env.executeInTransaction(txn -> stores.put(name, env.openStoreWithoutDuplicates(name, txn)));
+	}
+
+	@Override
+	public boolean isOpen(String name) {
+		return stores.containsKey(name);
+	}
+
+	@Override
+	public KeyValueStore keyValueStoreFor(String name, Transaction txn, byte[] root) {
+		return new KeyValueStoreOnXodus(stores.get(name), txn, root);
+	}
+
+	@Override
+	public <T> T computeInReadonlyTransaction(Function<Transaction, T> computable) {
+		return env.computeInReadonlyTransaction(computable);
+	}
+
+	@Override
+	public void beginTransaction(Transaction txn) {
+		// Xodus is transactional already
+	}
+
+	@Override
+	public void commitTransaction() {
+		// Xodus is transactional already
+	}
+
+	@Override
+	public void abortTransaction() {
+		// Xodus is transactional already
+	}
+
+	@Override
+	public void close() {
+		// the environment is closed by the store that owns it
+	}
+}
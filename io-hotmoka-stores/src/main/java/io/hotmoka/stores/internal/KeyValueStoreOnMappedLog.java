@@ -0,0 +1,78 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.stores.internal;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import io.hotmoka.patricia.KeyValueStore;
+
+/**
+ * A key/value store implemented over an append-only, memory-mapped log.
+ * Updates are kept in a map until they get appended to the log, at commit time.
+ */
+class KeyValueStoreOnMappedLog implements KeyValueStore {
+	private final MappedLog log;
+
+	/**
+	 * The updates of the current transaction, or {@code null} if this store is only used for reading.
+	 */
+	private final Map<MappedLog.Key, byte[]> writes;
+	private byte[] root;
+
+	KeyValueStoreOnMappedLog(MappedLog log, Map<MappedLog.Key, byte[]> writes, byte[] root) {
+		this.log = log;
+		this.writes = writes;
+		this.root = root;
+	}
+
+	@Override
+	public byte[] getRoot() {
+		return root;
+	}
+
+	@Override
+	public void setRoot(byte[] root) {
+		this.root = root;
+	}
+
+	@Override
+	public void put(byte[] key, byte[] value) {
+		writes.put(new MappedLog.Key(key), value);
+	}
+
+	@Override
+	public void remove(byte[] key) {
+		writes.put(new MappedLog.Key(key), null);
+	}
+
+	@Override
+	public byte[] get(byte[] key) throws NoSuchElementException {
+		if (writes != null) {
+			MappedLog.Key wrapped = new MappedLog.Key(key);
+			if (writes.containsKey(wrapped)) {
+				byte[] value = writes.get(wrapped);
+				if (value == null)
+					throw new NoSuchElementException("no Merkle-Patricia trie node");
+				else
+					return value;
+			}
+		}
+
+		return log.get(key);
+	}
+}
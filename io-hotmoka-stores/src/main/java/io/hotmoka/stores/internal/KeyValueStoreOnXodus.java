@@ -18,6 +18,8 @@ package io.hotmoka.stores.internal;
 
 import java.util.NoSuchElementException;
 
+import io.hotmoka.nodes.metrics.Histogram;
+import io.hotmoka.nodes.metrics.Metrics;
 import io.hotmoka.patricia.KeyValueStore;
 import io.hotmoka.xodus.ByteIterable;
 import io.hotmoka.xodus.env.Store;
@@ -27,6 +29,9 @@ import io.hotmoka.xodus.env.Transaction;
  * A key/value store implemented over the Xodus database.
  */
 class KeyValueStoreOnXodus implements KeyValueStore {
+	private final static Histogram readLatency = Metrics.histogram("hotmoka_xodus_read_microseconds", "the time spent reading a node of a trie from Xodus");
+	private final static Histogram writeLatency = Metrics.histogram("hotmoka_xodus_write_microseconds", "the time spent writing or removing a node of a trie in Xodus");
+
 	private final Store store;
 	private final Transaction txn;
 	private byte[] root;
@@ -49,17 +54,24 @@ class KeyValueStoreOnXodus implements KeyValueStore {
 
 	@Override
 	public void put(byte[] key, byte[] value) {
+		long start = System.nanoTime();
 		store.put(txn, ByteIterable.fromBytes(key), ByteIterable.fromBytes(value));
+		writeLatency.recordMicrosSince(start);
 	}
 
 	@Override
 	public void remove(byte[] key) {
+		long start = System.nanoTime();
 		store.remove(txn, ByteIterable.fromBytes(key));
+		writeLatency.recordMicrosSince(start);
 	}
 
 	@Override
 	public byte[] get(byte[] key) throws NoSuchElementException {
+		long start = System.nanoTime();
 		ByteIterable result = store.get(txn, ByteIterable.fromBytes(key));
+		readLatency.recordMicrosSince(start);
+
 		if (result == null)
 			throw new NoSuchElementException("no Merkle-Patricia trie node");
 		else
@@ -0,0 +1,551 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.stores.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import io.hotmoka.annotations.ThreadSafe;
+
+/**
+ * A log of key/value pairs, memory-mapped in segments of fixed size,
+ * with a hash index in RAM from each key to the position of its last record in the log.
+ * Each record consists of the length of the key, the length of the value (or -1 for a removal),
+ * a CRC32 checksum of the record, the key and the value. Records are never overwritten: updates
+ * and removals just append new records and move the index. The space not yet written is filled with 0's,
+ * hence the end of the log is found, at opening time, as the first record with a key of length 0.
+ * A record that is truncated or whose checksum does not match, as it might result from a crash
+ * during an append, is considered as the end of the log as well: it and everything after it get erased.
+ * This is particularly efficient for the nodes of Merkle-Patricia tries, that are
+ * content-addressed and hence never updated, but only added and eventually removed.
+ * Reads do not need any transaction, since they just copy the value out of the mapped segments.
+ * When the records that are not reachable from the index anymore occupy at least
+ * half of the log and at least a segment, the log gets compacted: its reachable records are
+ * copied into a new file, that atomically replaces the log. Hence the log shrinks
+ * after the removal of the nodes of the tries, for instance by garbage collection.
+ */
+@ThreadSafe
+public class MappedLog implements AutoCloseable {
+	private final static Logger logger = Logger.getLogger(MappedLog.class.getName());
+
+	/**
+	 * The size of each memory-mapped segment of the log.
+	 */
+	private final static int SEGMENT_SIZE = 1 << 26;
+
+	/**
+	 * The size of the header of each record: the length of the key, that of the value and the checksum.
+	 */
+	private final static int HEADER_SIZE = 3 * Integer.BYTES;
+
+	/**
+	 * The file of the log.
+	 */
+	private final Path file;
+
+	/**
+	 * The file where the log gets compacted, before replacing {@link #file}.
+	 */
+	private final Path compacted;
+
+	/**
+	 * The current mapping of {@link #file}. It changes at each compaction. Readers
+	 * use the mapping that was current when they started, that remains readable
+	 * even after being replaced, since its records are never modified.
+	 */
+	private volatile Mapping mapping;
+
+	/**
+	 * The position where the next record will be appended.
+	 */
+	private long end;
+
+	/**
+	 * The number of bytes of the records reachable from the index.
+	 */
+	private long liveBytes;
+
+	/**
+	 * Opens the log in the given file, creating it if it does not exist.
+	 * The index gets rebuilt by scanning the records already in the log.
+	 *
+	 * @param file the file of the log
+	 * @throws IOException if the file cannot be opened or mapped
+	 */
+	public MappedLog(Path file) throws IOException {
+		Path parent = file.getParent();
+		if (parent != null)
+			Files.createDirectories(parent);
+
+		this.file = file;
+		this.compacted = file.resolveSibling(file.getFileName() + ".compacting");
+
+		// a compaction interrupted by a crash leaves its file, that has not replaced the log yet
+		Files.deleteIfExists(compacted);
+
+		this.mapping = new Mapping(file);
+		rebuildIndex();
+	}
+
+	/**
+	 * Yields the value bound to the given key.
+	 *
+	 * @param key the key
+	 * @return the value
+	 * @throws NoSuchElementException if the key is not bound in this log
+	 */
+	public byte[] get(byte[] key) throws NoSuchElementException {
+		Mapping mapping = this.mapping;
+		Long position = mapping.index.get(new Key(key));
+		if (position == null)
+			throw new NoSuchElementException("key not found in the log");
+
+		return valueAt(mapping, position);
+	}
+
+	/**
+	 * Determines if the given key is bound in this log.
+	 *
+	 * @param key the key
+	 * @return true if and only if that condition holds
+	 */
+	public boolean contains(byte[] key) {
+		return mapping.index.containsKey(new Key(key));
+	}
+
+	/**
+	 * Appends the given bindings at the end of the log and forces them to disk.
+	 * A {@code null} value means that the key must be removed. The log gets compacted
+	 * afterwards, if its unreachable records occupy too much space.
+	 *
+	 * @param writes the bindings to append
+	 */
+	public synchronized void append(Map<Key, byte[]> writes) {
+		if (writes.isEmpty())
+			return;
+
+		Mapping mapping = this.mapping;
+
+		try {
+			long start = end;
+
+			for (var entry: writes.entrySet()) {
+				byte[] key = entry.getKey().bytes;
+				byte[] value = entry.getValue();
+
+				if (value == null) {
+					// content-addressed data is typically never removed twice: we avoid useless tombstones
+					Long previous = mapping.index.get(entry.getKey());
+					if (previous != null) {
+						end = appendRecord(mapping, end, key, null);
+						mapping.index.remove(entry.getKey());
+						liveBytes -= sizeAt(mapping, previous);
+					}
+				}
+				else {
+					long position = end;
+					end = appendRecord(mapping, position, key, value);
+					// the record is completely written before being visible through the index
+					Long previous = mapping.index.put(entry.getKey(), position);
+					liveBytes += end - position;
+					if (previous != null)
+						liveBytes -= sizeAt(mapping, previous);
+				}
+			}
+
+			// only the segments modified by this append need to be forced
+			mapping.forceFrom(start);
+		}
+		catch (IOException e) {
+			logger.log(Level.SEVERE, "cannot append to the log", e);
+			throw new UncheckedIOException(e);
+		}
+
+		// compacting a log smaller than a segment would not shrink its file
+		long deadBytes = end - liveBytes;
+		if (deadBytes >= SEGMENT_SIZE && deadBytes >= liveBytes) {
+			try {
+				compact();
+			}
+			catch (UncheckedIOException e) {
+				// the log is still consistent, only larger than needed
+				logger.log(Level.WARNING, "cannot compact the log", e);
+			}
+		}
+	}
+
+	/**
+	 * Copies the records reachable from the index into a new file, that replaces the log.
+	 * Reads can proceed concurrently.
+	 *
+	 * @throws UncheckedIOException if the log cannot be compacted; in that case, it is left unchanged
+	 */
+	public synchronized void compact() {
+		Mapping old = mapping;
+		Mapping replacement = null;
+		long position = 0L;
+
+		try {
+			Files.deleteIfExists(compacted);
+			replacement = new Mapping(compacted);
+
+			for (var entry: old.index.entrySet()) {
+				replacement.index.put(entry.getKey(), position);
+				position = appendRecord(replacement, position, entry.getKey().bytes, valueAt(old, entry.getValue()));
+			}
+
+			replacement.forceFrom(0L);
+			// the open channel of the replacement follows the file when it gets renamed
+			Files.move(compacted, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException e) {
+			logger.log(Level.SEVERE, "cannot compact the log", e);
+
+			if (replacement != null) {
+				try {
+					replacement.close();
+					Files.deleteIfExists(compacted);
+				}
+				catch (IOException e1) {
+					logger.log(Level.WARNING, "cannot delete the partially compacted log", e1);
+				}
+			}
+
+			throw new UncheckedIOException(e);
+		}
+
+		logger.info("compacted the log " + file + " from " + end + " to " + position + " bytes");
+		this.mapping = replacement;
+		this.end = position;
+		this.liveBytes = position;
+
+		try {
+			// the mapped segments of the old mapping remain readable after its channel gets closed
+			old.close();
+		}
+		catch (IOException e) {
+			logger.log(Level.WARNING, "cannot close the file of the log before compaction", e);
+		}
+	}
+
+	/**
+	 * Yields the number of bytes currently written in the log, including those of
+	 * records that are not reachable anymore from the index.
+	 *
+	 * @return the number of bytes
+	 */
+	public synchronized long size() {
+		return end;
+	}
+
+	@Override
+	public void close() throws IOException {
+		mapping.close();
+	}
+
+	/**
+	 * Appends a record to the given mapping, at the given position.
+	 *
+	 * @param mapping the mapping
+	 * @param position the position
+	 * @param key the key of the record
+	 * @param value the value of the record; this is {@code null} for a removal
+	 * @return the position just after the record
+	 * @throws IOException if the log cannot be expanded
+	 */
+	private static long appendRecord(Mapping mapping, long position, byte[] key, byte[] value) throws IOException {
+		int recordSize = HEADER_SIZE + key.length + (value == null ? 0 : value.length);
+
+		while (mapping.capacity() < position + recordSize + HEADER_SIZE)
+			mapping.mapNewSegment();
+
+		int valueLength = value == null ? -1 : value.length;
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(key.length);
+		header.putInt(valueLength);
+		header.putInt(checksum(key.length, valueLength, key, value));
+		mapping.write(position, header.array());
+		mapping.write(position + HEADER_SIZE, key);
+		if (value != null)
+			mapping.write(position + HEADER_SIZE + key.length, value);
+
+		return position + recordSize;
+	}
+
+	/**
+	 * Yields the value of the record at the given position of the given mapping.
+	 *
+	 * @param mapping the mapping
+	 * @param position the position of the record
+	 * @return the value
+	 */
+	private static byte[] valueAt(Mapping mapping, long position) {
+		ByteBuffer header = ByteBuffer.wrap(mapping.read(position, HEADER_SIZE));
+		int keyLength = header.getInt();
+		int valueLength = header.getInt();
+
+		return mapping.read(position + HEADER_SIZE + keyLength, valueLength);
+	}
+
+	/**
+	 * Yields the size of the record at the given position of the given mapping.
+	 *
+	 * @param mapping the mapping
+	 * @param position the position of the record
+	 * @return the size, including the header
+	 */
+	private static long sizeAt(Mapping mapping, long position) {
+		ByteBuffer header = ByteBuffer.wrap(mapping.read(position, HEADER_SIZE));
+		int keyLength = header.getInt();
+		int valueLength = header.getInt();
+
+		return HEADER_SIZE + keyLength + Math.max(0, valueLength);
+	}
+
+	/**
+	 * Scans the log from its beginning and rebuilds the index, by taking into account
+	 * only the last record of each key. It sets {@link #end} to the end of the last valid record
+	 * and erases everything after it.
+	 */
+	private void rebuildIndex() {
+		long capacity = mapping.capacity();
+		long position = 0L;
+
+		while (position + HEADER_SIZE <= capacity) {
+			ByteBuffer header = ByteBuffer.wrap(mapping.read(position, HEADER_SIZE));
+			int keyLength = header.getInt();
+			int valueLength = header.getInt();
+			int checksum = header.getInt();
+			if (keyLength <= 0 || valueLength < -1 || position + HEADER_SIZE + keyLength + Math.max(0, valueLength) > capacity)
+				break;
+
+			byte[] key = mapping.read(position + HEADER_SIZE, keyLength);
+			byte[] value = valueLength < 0 ? null : mapping.read(position + HEADER_SIZE + keyLength, valueLength);
+			if (checksum != checksum(keyLength, valueLength, key, value))
+				break;
+
+			if (valueLength < 0)
+				mapping.index.remove(new Key(key));
+			else
+				mapping.index.put(new Key(key), position);
+
+			position += HEADER_SIZE + keyLength + Math.max(0, valueLength);
+		}
+
+		end = position;
+		liveBytes = mapping.index.values().stream().mapToLong(start -> sizeAt(mapping, start)).sum();
+		eraseFrom(position, capacity);
+	}
+
+	/**
+	 * Fills with 0's the log from the given position up to the given capacity, if it is not already empty.
+	 * This removes the records of an append that was interrupted by a crash, possibly
+	 * only partially written to disk, so that they cannot be taken for valid records later.
+	 *
+	 * @param position the position
+	 * @param capacity the capacity of the log
+	 */
+	private void eraseFrom(long position, long capacity) {
+		byte[] zeros = new byte[1 << 16];
+
+		for (long cursor = position; cursor < capacity; cursor += zeros.length) {
+			int length = (int) Math.min(zeros.length, capacity - cursor);
+			if (!Arrays.equals(mapping.read(cursor, length), 0, length, zeros, 0, length)) {
+				logger.warning("the log is truncated at " + position + " since its tail is corrupted or incomplete");
+
+				for (; cursor < capacity; cursor += zeros.length)
+					mapping.write(cursor, Arrays.copyOf(zeros, (int) Math.min(zeros.length, capacity - cursor)));
+
+				mapping.forceFrom(0L);
+
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Yields the checksum of a record.
+	 *
+	 * @param keyLength the length of the key of the record
+	 * @param valueLength the length of the value of the record, or -1 for a removal
+	 * @param key the key of the record
+	 * @param value the value of the record; this is {@code null} for a removal
+	 * @return the checksum
+	 */
+	private static int checksum(int keyLength, int valueLength, byte[] key, byte[] value) {
+		var crc = new CRC32();
+		crc.update(ByteBuffer.allocate(2 * Integer.BYTES).putInt(keyLength).putInt(valueLength).array());
+		crc.update(key);
+		if (value != null)
+			crc.update(value);
+
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * The memory-mapped segments of a file of the log, with the index of its records.
+	 */
+	private static class Mapping implements AutoCloseable {
+
+		/**
+		 * The channel to the file.
+		 */
+		private final FileChannel channel;
+
+		/**
+		 * The memory-mapped segments of the file, in order. They are only added at the end,
+		 * possibly while other threads are reading.
+		 */
+		private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+
+		/**
+		 * The index from each key to the position of its last record in the file.
+		 * Removed keys are not in the index.
+		 */
+		private final ConcurrentMap<Key, Long> index = new ConcurrentHashMap<>();
+
+		/**
+		 * Maps the given file, creating it if it does not exist.
+		 *
+		 * @param file the file
+		 * @throws IOException if the file cannot be opened or mapped
+		 */
+		private Mapping(Path file) throws IOException {
+			this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+			long size = channel.size();
+			for (long start = 0L; start < size; start += SEGMENT_SIZE)
+				mapNewSegment();
+		}
+
+		/**
+		 * Yields the number of bytes of the mapped segments.
+		 *
+		 * @return the number of bytes
+		 */
+		private long capacity() {
+			return (long) segments.size() * SEGMENT_SIZE;
+		}
+
+		/**
+		 * Maps a new segment at the end of the file, expanding the file if needed.
+		 *
+		 * @throws IOException if the file cannot be mapped
+		 */
+		private void mapNewSegment() throws IOException {
+			segments.add(channel.map(FileChannel.MapMode.READ_WRITE, capacity(), SEGMENT_SIZE));
+		}
+
+		/**
+		 * Forces to disk the segments from that containing the given position up to the last one.
+		 *
+		 * @param position the position
+		 */
+		private void forceFrom(long position) {
+			for (int pos = (int) (position / SEGMENT_SIZE); pos < segments.size(); pos++)
+				segments.get(pos).force();
+		}
+
+		/**
+		 * Writes the given bytes at the given position of the file, possibly across many segments.
+		 *
+		 * @param position the position
+		 * @param bytes the bytes to write
+		 */
+		private void write(long position, byte[] bytes) {
+			int done = 0;
+			while (done < bytes.length) {
+				ByteBuffer segment = segments.get((int) (position / SEGMENT_SIZE)).duplicate();
+				int offset = (int) (position % SEGMENT_SIZE);
+				int length = Math.min(bytes.length - done, SEGMENT_SIZE - offset);
+				segment.position(offset);
+				segment.put(bytes, done, length);
+				done += length;
+				position += length;
+			}
+		}
+
+		/**
+		 * Reads the given number of bytes from the given position of the file, possibly across many segments.
+		 *
+		 * @param position the position
+		 * @param length the number of bytes to read
+		 * @return the bytes
+		 */
+		private byte[] read(long position, int length) {
+			byte[] result = new byte[length];
+			int done = 0;
+			while (done < length) {
+				ByteBuffer segment = segments.get((int) (position / SEGMENT_SIZE)).duplicate();
+				int offset = (int) (position % SEGMENT_SIZE);
+				int chunk = Math.min(length - done, SEGMENT_SIZE - offset);
+				segment.position(offset);
+				segment.get(result, done, chunk);
+				done += chunk;
+				position += chunk;
+			}
+
+			return result;
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+
+	/**
+	 * A key of the log. It wraps an array of bytes, in order to provide
+	 * equality and hashing on its contents.
+	 */
+	public final static class Key {
+		private final byte[] bytes;
+		private final int hashCode;
+
+		public Key(byte[] bytes) {
+			this.bytes = bytes;
+			this.hashCode = Arrays.hashCode(bytes);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Key && Arrays.equals(bytes, ((Key) other).bytes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.stores.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import io.hotmoka.crypto.HashingAlgorithms;
+import io.hotmoka.crypto.api.HashingAlgorithm;
+
+/**
+ * A reader of the chunks of a snapshot of a store, as written by a {@link SnapshotWriter}.
+ * It verifies that each binding belongs to a known trie and is self-consistent,
+ * that is, that its key is the hash of its value.
+ */
+public class SnapshotReader {
+
+	/**
+	 * The hashing algorithm used for the keys of the bindings.
+	 */
+	private final HashingAlgorithm<byte[]> hashing;
+
+	/**
+	 * Determines if a name is that of a trie where bindings can be imported.
+	 */
+	private final Predicate<String> isKnownTrie;
+
+	/**
+	 * An action executed on each binding of a chunk.
+	 */
+	public interface BindingAction {
+
+		/**
+		 * Executes the action.
+		 * 
+		 * @param trie the name of the trie the binding belongs to
+		 * @param key the key of the binding
+		 * @param value the value of the binding
+		 */
+		void accept(String trie, byte[] key, byte[] value);
+	}
+
+	/**
+	 * Creates a reader of chunks.
+	 * 
+	 * @param isKnownTrie determines if a name is that of a trie where bindings can be imported;
+	 *                    chunks containing bindings for other tries are rejected
+	 */
+	public SnapshotReader(Predicate<String> isKnownTrie) {
+		this.isKnownTrie = isKnownTrie;
+
+		try {
+			this.hashing = HashingAlgorithms.sha256(bytes -> bytes);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("unexpected exception", e);
+		}
+	}
+
+	/**
+	 * Reads all bindings in the given chunk. They are all checked before
+	 * {@code action} is executed on any of them.
+	 * 
+	 * @param chunk the chunk
+	 * @param action the action executed on each binding
+	 * @throws IOException if the chunk is not well-formed or contains a binding for an unknown trie
+	 *                     or whose key is not the hash of its value
+	 */
+	public void read(byte[] chunk, BindingAction action) throws IOException {
+		// we read twice: the first time only to check the chunk
+		read(chunk, true, action);
+		read(chunk, false, action);
+	}
+
+	private void read(byte[] chunk, boolean check, BindingAction action) throws IOException {
+		try (var dis = new DataInputStream(new ByteArrayInputStream(chunk))) {
+			while (dis.readBoolean()) {
+				String trie = dis.readUTF();
+				if (!isKnownTrie.test(trie))
+					throw new IOException("unknown trie " + trie);
+
+				int keyLength;
+				while ((keyLength = dis.readInt()) > 0) {
+					byte[] key = dis.readNBytes(keyLength);
+					int valueLength = dis.readInt();
+					if (valueLength < 0)
+						throw new IOException("negative length for the value of a binding");
+
+					byte[] value = dis.readNBytes(valueLength);
+					if (key.length != keyLength || value.length != valueLength)
+						throw new IOException("truncated binding");
+
+					if (check) {
+						if (!Arrays.equals(key, hashing.hash(value)))
+							throw new IOException("the key of a binding is not the hash of its value");
+					}
+					else
+						action.accept(trie, key, value);
+				}
+			}
+
+			if (dis.available() > 0)
+				throw new IOException("unexpected bytes at the end of the chunk");
+		}
+	}
+}
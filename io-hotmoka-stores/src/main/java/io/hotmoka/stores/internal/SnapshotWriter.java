@@ -0,0 +1,177 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.stores.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.hotmoka.crypto.HashingAlgorithms;
+import io.hotmoka.crypto.api.HashingAlgorithm;
+
+/**
+ * A writer of the chunks of a snapshot of a store, inside a directory.
+ * Each chunk is a sequence of sections, one for each trie whose bindings are
+ * contained in the chunk. Each section starts with the name of the trie and contains
+ * the length of the key, the key, the length of the value and the value of each binding,
+ * and ends with a 0 length. The chunk ends when no more sections follow.
+ * Chunks are written in files named after their index. See {@link SnapshotReader}
+ * for the reverse operation.
+ */
+public class SnapshotWriter implements AutoCloseable {
+
+	/**
+	 * The size after which a chunk gets closed and a new chunk starts.
+	 * Tendermint limits chunks to 16 megabytes, hence we stay well below that limit.
+	 */
+	private final static int CHUNK_SIZE = 4_000_000;
+
+	/**
+	 * The directory where the chunks are written.
+	 */
+	private final Path dir;
+
+	/**
+	 * The hashing algorithm used for the chunks.
+	 */
+	private final HashingAlgorithm<byte[]> hashing;
+
+	/**
+	 * The hashes of the chunks written so far.
+	 */
+	private final List<byte[]> hashesOfChunks = new ArrayList<>();
+
+	/**
+	 * The bytes of the current chunk.
+	 */
+	private ByteArrayOutputStream chunk;
+
+	/**
+	 * The stream used to write into {@link #chunk}.
+	 */
+	private DataOutputStream out;
+
+	/**
+	 * The name of the trie whose bindings are being written, if any.
+	 */
+	private String trie;
+
+	/**
+	 * Creates a writer of the chunks of a snapshot.
+	 * 
+	 * @param dir the directory where the chunks must be written; it gets created if missing
+	 * @throws IOException if the directory cannot be created
+	 */
+	public SnapshotWriter(Path dir) throws IOException {
+		this.dir = dir;
+		Files.createDirectories(dir);
+
+		try {
+			this.hashing = HashingAlgorithms.sha256(bytes -> bytes);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("unexpected exception", e);
+		}
+
+		startChunk();
+	}
+
+	/**
+	 * Starts writing the bindings of the given trie.
+	 * 
+	 * @param trie the name of the trie
+	 */
+	public void startTrie(String trie) {
+		try {
+			if (this.trie != null)
+				out.writeInt(0);
+
+			this.trie = trie;
+			out.writeBoolean(true);
+			out.writeUTF(trie);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Writes a binding of the current trie. It might start a new chunk.
+	 * 
+	 * @param key the key of the binding
+	 * @param value the value of the binding
+	 */
+	public void write(byte[] key, byte[] value) {
+		try {
+			if (out.size() + 2 * Integer.BYTES + key.length + value.length > CHUNK_SIZE && out.size() > 0) {
+				String trie = this.trie;
+				finishChunk();
+				startChunk();
+				startTrie(trie);
+			}
+
+			out.writeInt(key.length);
+			out.write(key);
+			out.writeInt(value.length);
+			out.write(value);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Finishes the last chunk.
+	 */
+	@Override
+	public void close() throws IOException {
+		finishChunk();
+	}
+
+	/**
+	 * Yields the hashes of the chunks written so far.
+	 * 
+	 * @return the hashes, in order
+	 */
+	public byte[][] getHashesOfChunks() {
+		return hashesOfChunks.toArray(byte[][]::new);
+	}
+
+	private void startChunk() {
+		this.chunk = new ByteArrayOutputStream();
+		this.out = new DataOutputStream(chunk);
+		this.trie = null;
+	}
+
+	private void finishChunk() throws IOException {
+		if (trie != null)
+			out.writeInt(0);
+
+		out.writeBoolean(false);
+		out.flush();
+
+		byte[] bytes = chunk.toByteArray();
+		Files.write(dir.resolve(String.valueOf(hashesOfChunks.size())), bytes);
+		hashesOfChunks.add(hashing.hash(bytes));
+	}
+}
@@ -0,0 +1,40 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.stores.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The flight recorder event for the commit of the transaction of a store,
+ * typically at the end of a block.
+ */
+@Name("io.hotmoka.StoreCommit")
+@Label("Store Commit")
+@Description("Commit of the database transaction of a store")
+@Category({ "Hotmoka", "Store" })
+@StackTrace(false)
+public final class StoreCommitEvent extends Event {
+
+	@Label("Height")
+	@Description("The number of commits of the store, including this one")
+	public long height;
+}
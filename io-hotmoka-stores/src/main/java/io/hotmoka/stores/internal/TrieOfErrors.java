@@ -19,6 +19,7 @@ package io.hotmoka.stores.internal;
 import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.crypto.HashingAlgorithms;
@@ -26,9 +27,8 @@ import io.hotmoka.crypto.api.HashingAlgorithm;
 import io.hotmoka.marshalling.Marshallable;
 import io.hotmoka.marshalling.MarshallingContext;
 import io.hotmoka.marshalling.UnmarshallingContext;
+import io.hotmoka.patricia.KeyValueStore;
 import io.hotmoka.patricia.PatriciaTrie;
-import io.hotmoka.xodus.env.Store;
-import io.hotmoka.xodus.env.Transaction;
 
 /**
  * A map from transaction requests into their error, backed by a Merkle-Patricia trie.
@@ -43,19 +43,17 @@ public class TrieOfErrors {
 	/**
 	 * Builds a Merkle-Patricia trie that maps transaction requests into their errors.
 	 * 
-	 * @param store the supporting store of the database
-	 * @param txn the transaction where updates are reported
-	 * @param root the root of the trie to check out; use {@code null} if the trie is empty
+	 * @param store the supporting key/value store, whose root is that of the trie to check out;
+	 *              that root is {@code null} if the trie is empty
 	 * @param numberOfCommits the current number of commits already executed on the store; this trie
 	 *                        will record which data must be garbage collected (eventually)
 	 *                        as result of the store updates performed during that commit; you can pass
 	 *                        -1L if the trie is used only for reading
 	 */
-	public TrieOfErrors(Store store, Transaction txn, byte[] root, long numberOfCommits) {
+	public TrieOfErrors(KeyValueStore store, long numberOfCommits) {
 		try {
-			KeyValueStoreOnXodus keyValueStoreOfResponses = new KeyValueStoreOnXodus(store, txn, root);
 			HashingAlgorithm<io.hotmoka.patricia.Node> hashingForNodes = HashingAlgorithms.sha256(Marshallable::toByteArray);
-			parent = PatriciaTrie.of(keyValueStoreOfResponses, new HashingForTransactionReference(), hashingForNodes, MarshallableString::from, numberOfCommits);
+			parent = PatriciaTrie.of(store, new HashingForTransactionReference(), hashingForNodes, MarshallableString::from, numberOfCommits);
 		}
 		catch (NoSuchAlgorithmException e) {
 			throw new RuntimeException("unexpected exception", e);
@@ -108,11 +106,24 @@ public class TrieOfErrors {
 	}
 
 	/**
-	 * Garbage-collects all keys that have been updated during the given number of commit.
+	 * Visits all nodes reachable from the root of this trie, in depth-first order.
+	 * 
+	 * @param nodeAction the action executed for each node; it receives the hash of the node,
+	 *                   that is, its key in the supporting store, and its marshalled representation
+	 */
+	public void forEachNode(BiConsumer<byte[], byte[]> nodeAction) {
+		parent.forEachNode(nodeAction, value -> {});
+	}
+
+	/**
+	 * Garbage-collects some keys that have been updated during the given number of commit.
 	 * 
 	 * @param commitNumber the number of the commit to garbage collect
+	 * @param maxKeys the maximal number of keys to reclaim
+	 * @return the number of keys actually reclaimed; if this is smaller than {@code maxKeys},
+	 *         then all keys updated during the commit have been reclaimed
 	 */
-	public void garbageCollect(long commitNumber) {
-		parent.garbageCollect(commitNumber);
+	public long garbageCollect(long commitNumber, long maxKeys) {
+		return parent.garbageCollect(commitNumber, maxKeys);
 	}
 }
\ No newline at end of file
@@ -18,6 +18,8 @@ package io.hotmoka.stores.internal;
 
 import java.security.NoSuchAlgorithmException;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import io.hotmoka.beans.marshalling.BeanUnmarshaller;
 import io.hotmoka.beans.references.TransactionReference;
@@ -25,9 +27,8 @@ import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.crypto.HashingAlgorithms;
 import io.hotmoka.crypto.api.HashingAlgorithm;
 import io.hotmoka.marshalling.Marshallable;
+import io.hotmoka.patricia.KeyValueStore;
 import io.hotmoka.patricia.PatriciaTrie;
-import io.hotmoka.xodus.env.Store;
-import io.hotmoka.xodus.env.Transaction;
 
 /**
  * A Merkle-Patricia trie that maps references to transaction requests into their request itself.
@@ -42,19 +43,33 @@ public class TrieOfRequests implements PatriciaTrie<TransactionReference, Transa
 	/**
 	 * Builds a Merkle-Patricia trie that maps references to transaction requests into their responses.
 	 * 
-	 * @param store the supporting store of the database
-	 * @param txn the transaction where updates are reported
-	 * @param root the root of the trie to check out; use {@code null} if the trie is empty
+	 * @param store the supporting key/value store, whose root is that of the trie to check out;
+	 *              that root is {@code null} if the trie is empty
 	 * @param numberOfCommits the current number of commits already executed on the store; this trie
 	 *                        will record which data must be garbage collected (eventually)
 	 *                        as result of the store updates performed during that commit; you can pass
 	 *                        -1L if the trie is used only for reading
 	 */
-	public TrieOfRequests(Store store, Transaction txn, byte[] root, long numberOfCommits) {
+	public TrieOfRequests(KeyValueStore store, long numberOfCommits) {
+		this(store, numberOfCommits, false);
+	}
+
+	/**
+	 * Builds a Merkle-Patricia trie that maps references to transaction requests into their responses.
+	 * 
+	 * @param store the supporting key/value store, whose root is that of the trie to check out;
+	 *              that root is {@code null} if the trie is empty
+	 * @param numberOfCommits the current number of commits already executed on the store; this trie
+	 *                        will record which data must be garbage collected (eventually)
+	 *                        as result of the store updates performed during that commit; you can pass
+	 *                        -1L if the trie is used only for reading
+	 * @param compressed true if and only if the requests added to this trie must be kept compressed in {@code store};
+	 *                   they are decompressed at reading time in any case
+	 */
+	public TrieOfRequests(KeyValueStore store, long numberOfCommits, boolean compressed) {
 		try {
-			KeyValueStoreOnXodus keyValueStoreOfResponses = new KeyValueStoreOnXodus(store, txn, root);
 			HashingAlgorithm<io.hotmoka.patricia.Node> hashingForNodes = HashingAlgorithms.sha256(Marshallable::toByteArray);
-			parent = PatriciaTrie.of(keyValueStoreOfResponses, new HashingForTransactionReference(), hashingForNodes, (BeanUnmarshaller<TransactionRequest<?>>) TransactionRequest::from, numberOfCommits);
+			parent = PatriciaTrie.of(store, new HashingForTransactionReference(), hashingForNodes, (BeanUnmarshaller<TransactionRequest<?>>) TransactionRequest::from, numberOfCommits, compressed);
 		}
 		catch (NoSuchAlgorithmException e) {
 			throw new RuntimeException("unexpected exception", e);
@@ -77,7 +92,12 @@ public class TrieOfRequests implements PatriciaTrie<TransactionReference, Transa
 	}
 
 	@Override
-	public void garbageCollect(long commitNumber) {
-		parent.garbageCollect(commitNumber);
+	public long garbageCollect(long commitNumber, long maxKeys) {
+		return parent.garbageCollect(commitNumber, maxKeys);
+	}
+
+	@Override
+	public void forEachNode(BiConsumer<byte[], byte[]> nodeAction, Consumer<? super TransactionRequest<?>> valueAction) {
+		parent.forEachNode(nodeAction, valueAction);
 	}
 }
\ No newline at end of file
@@ -16,9 +16,14 @@ limitations under the License.
 
 package io.hotmoka.stores.internal;
 
+import java.nio.ByteBuffer;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -31,9 +36,8 @@ import io.hotmoka.beans.responses.TransactionResponseWithInstrumentedJar;
 import io.hotmoka.crypto.HashingAlgorithms;
 import io.hotmoka.crypto.api.HashingAlgorithm;
 import io.hotmoka.marshalling.Marshallable;
+import io.hotmoka.patricia.KeyValueStore;
 import io.hotmoka.patricia.PatriciaTrie;
-import io.hotmoka.xodus.env.Store;
-import io.hotmoka.xodus.env.Transaction;
 
 /**
  * A Merkle-Patricia trie that maps references to transaction requests into their responses.
@@ -56,25 +60,40 @@ public class TrieOfResponses implements PatriciaTrie<TransactionReference, Trans
 	/**
 	 * The store of the underlying Patricia trie.
 	 */
-	private final KeyValueStoreOnXodus keyValueStoreOfResponses;
+	private final KeyValueStore keyValueStoreOfResponses;
 
 	/**
 	 * Builds a Merkle-Patricia trie that maps references to transaction requests into their responses.
 	 * 
-	 * @param store the supporting store of the database
-	 * @param txn the transaction where updates are reported
-	 * @param root the root of the trie to check out; use {@code null} if the trie is empty
+	 * @param store the supporting key/value store, whose root is that of the trie to check out;
+	 *              that root is {@code null} if the trie is empty
 	 * @param numberOfCommits the current number of commits already executed on the store; this trie
 	 *                        will record which data must be garbage collected (eventually)
 	 *                        as result of the store updates performed during that commit; you can pass
 	 *                        -1L if the trie is used only for reading
 	 */
-	public TrieOfResponses(Store store, Transaction txn, byte[] root, long numberOfCommits) {
+	public TrieOfResponses(KeyValueStore store, long numberOfCommits) {
+		this(store, numberOfCommits, false);
+	}
+
+	/**
+	 * Builds a Merkle-Patricia trie that maps references to transaction requests into their responses.
+	 * 
+	 * @param store the supporting key/value store, whose root is that of the trie to check out;
+	 *              that root is {@code null} if the trie is empty
+	 * @param numberOfCommits the current number of commits already executed on the store; this trie
+	 *                        will record which data must be garbage collected (eventually)
+	 *                        as result of the store updates performed during that commit; you can pass
+	 *                        -1L if the trie is used only for reading
+	 * @param compressed true if and only if the responses added to this trie must be kept compressed in {@code store};
+	 *                   they are decompressed at reading time in any case
+	 */
+	public TrieOfResponses(KeyValueStore store, long numberOfCommits, boolean compressed) {
 		try {
-			this.keyValueStoreOfResponses = new KeyValueStoreOnXodus(store, txn, root);
+			this.keyValueStoreOfResponses = store;
 			HashingAlgorithm<io.hotmoka.patricia.Node> hashingForNodes = HashingAlgorithms.sha256(Marshallable::toByteArray);
 			this.hashingForJars = HashingAlgorithms.sha256(bytes -> bytes);
-			parent = PatriciaTrie.of(keyValueStoreOfResponses, new HashingForTransactionReference(), hashingForNodes, (BeanUnmarshaller<TransactionResponse>) TransactionResponse::from, numberOfCommits);
+			parent = PatriciaTrie.of(keyValueStoreOfResponses, new HashingForTransactionReference(), hashingForNodes, (BeanUnmarshaller<TransactionResponse>) TransactionResponse::from, numberOfCommits, compressed);
 		}
 		catch (NoSuchAlgorithmException e) {
 			throw new RuntimeException("unexpected exception", e);
@@ -163,7 +182,28 @@ public class TrieOfResponses implements PatriciaTrie<TransactionReference, Trans
 	}
 
 	@Override
-	public void garbageCollect(long commitNumber) {
-		parent.garbageCollect(commitNumber);
+	public long garbageCollect(long commitNumber, long maxKeys) {
+		return parent.garbageCollect(commitNumber, maxKeys);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The jars of the responses are visited as well, as if they were nodes, but only once,
+	 * even if they are shared by many responses. The values passed to {@code valueAction}
+	 * contain the hash of their jar, if any, instead of the jar itself.
+	 */
+	@Override
+	public void forEachNode(BiConsumer<byte[], byte[]> nodeAction, Consumer<? super TransactionResponse> valueAction) {
+		Set<ByteBuffer> jarsAlreadyVisited = new HashSet<>();
+
+		parent.forEachNode(nodeAction, response -> {
+			if (response instanceof TransactionResponseWithInstrumentedJar) {
+				byte[] reference = ((TransactionResponseWithInstrumentedJar) response).getInstrumentedJar();
+				if (jarsAlreadyVisited.add(ByteBuffer.wrap(reference)))
+					nodeAction.accept(reference, keyValueStoreOfResponses.get(reference));
+			}
+
+			valueAction.accept(response);
+		});
 	}
 }
\ No newline at end of file
@@ -22,4 +22,5 @@ module io.hotmoka.stores {
 	requires io.hotmoka.patricia;
 	requires io.hotmoka.xodus;
 	requires java.logging;
+	requires jdk.jfr;
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ package io.hotmoka.tendermint_abci;
 
 import io.grpc.stub.StreamObserver;
 import tendermint.abci.ABCIApplicationGrpc;
+import tendermint.abci.Types.RequestApplySnapshotChunk;
 import tendermint.abci.Types.RequestBeginBlock;
 import tendermint.abci.Types.RequestCheckTx;
 import tendermint.abci.Types.RequestCommit;
@@ -34,7 +35,11 @@ import tendermint.abci.Types.RequestEndBlock;
 import tendermint.abci.Types.RequestFlush;
 import tendermint.abci.Types.RequestInfo;
 import tendermint.abci.Types.RequestInitChain;
+import tendermint.abci.Types.RequestListSnapshots;
+import tendermint.abci.Types.RequestLoadSnapshotChunk;
+import tendermint.abci.Types.RequestOfferSnapshot;
 import tendermint.abci.Types.RequestQuery;
+import tendermint.abci.Types.ResponseApplySnapshotChunk;
 import tendermint.abci.Types.ResponseBeginBlock;
 import tendermint.abci.Types.ResponseCheckTx;
 import tendermint.abci.Types.ResponseCommit;
@@ -44,6 +49,9 @@ import tendermint.abci.Types.ResponseEndBlock;
 import tendermint.abci.Types.ResponseFlush;
 import tendermint.abci.Types.ResponseInfo;
 import tendermint.abci.Types.ResponseInitChain;
+import tendermint.abci.Types.ResponseListSnapshots;
+import tendermint.abci.Types.ResponseLoadSnapshotChunk;
+import tendermint.abci.Types.ResponseOfferSnapshot;
 import tendermint.abci.Types.ResponseQuery;
 
 /**
@@ -115,6 +123,30 @@ public abstract class ABCI {
 	        responseObserver.onNext(ABCI.this.flush(request));
 	        responseObserver.onCompleted();
 	    }
+
+		@Override
+	    public final void listSnapshots(RequestListSnapshots request, StreamObserver<ResponseListSnapshots> responseObserver) {
+	        responseObserver.onNext(ABCI.this.listSnapshots(request));
+	        responseObserver.onCompleted();
+	    }
+
+		@Override
+	    public final void offerSnapshot(RequestOfferSnapshot request, StreamObserver<ResponseOfferSnapshot> responseObserver) {
+	        responseObserver.onNext(ABCI.this.offerSnapshot(request));
+	        responseObserver.onCompleted();
+	    }
+
+		@Override
+	    public final void loadSnapshotChunk(RequestLoadSnapshotChunk request, StreamObserver<ResponseLoadSnapshotChunk> responseObserver) {
+	        responseObserver.onNext(ABCI.this.loadSnapshotChunk(request));
+	        responseObserver.onCompleted();
+	    }
+
+		@Override
+	    public final void applySnapshotChunk(RequestApplySnapshotChunk request, StreamObserver<ResponseApplySnapshotChunk> responseObserver) {
+	        responseObserver.onNext(ABCI.this.applySnapshotChunk(request));
+	        responseObserver.onCompleted();
+	    }
 	}
 
 	protected abstract ResponseInitChain initChain(RequestInitChain request);
@@ -136,4 +168,12 @@ public abstract class ABCI {
 	protected abstract ResponseQuery query(RequestQuery request);
 
 	protected abstract ResponseFlush flush(RequestFlush request);
+
+	protected abstract ResponseListSnapshots listSnapshots(RequestListSnapshots request);
+
+	protected abstract ResponseOfferSnapshot offerSnapshot(RequestOfferSnapshot request);
+
+	protected abstract ResponseLoadSnapshotChunk loadSnapshotChunk(RequestLoadSnapshotChunk request);
+
+	protected abstract ResponseApplySnapshotChunk applySnapshotChunk(RequestApplySnapshotChunk request);
 }
\ No newline at end of file
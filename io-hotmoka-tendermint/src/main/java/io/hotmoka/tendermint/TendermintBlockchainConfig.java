@@ -47,15 +47,40 @@ public class TendermintBlockchainConfig extends Config {
 	 */
 	public final int pingDelay;
 
+	/**
+	 * The number of commits between two successive snapshots of the state of the node,
+	 * that are offered to the peers that bootstrap through Tendermint's state-sync.
+	 * It is 0 if no snapshot must be taken. It defaults to 0.
+	 */
+	public final long snapshotInterval;
+
+	/**
+	 * The number of most recent snapshots that are kept. Older snapshots get deleted.
+	 * It defaults to 2.
+	 */
+	public final int numberOfKeptSnapshots;
+
+	/**
+	 * The number of past states of the node, before the current one, that are kept in store,
+	 * so that they can be queried. Older states get garbage-collected.
+	 * A negative value means that all past states are kept. It defaults to 0.
+	 */
+	public final long numberOfKeptPastStates;
+
 	/**
 	 * Full constructor for the builder pattern.
 	 */
-	protected TendermintBlockchainConfig(io.hotmoka.local.Config superConfig, Path tendermintConfigurationToClone, int maxPingAttemps, int pingDelay) {
+	protected TendermintBlockchainConfig(io.hotmoka.local.Config superConfig, Path tendermintConfigurationToClone, int maxPingAttemps, int pingDelay,
+			long snapshotInterval, int numberOfKeptSnapshots, long numberOfKeptPastStates) {
+
 		super(superConfig);
 
 		this.tendermintConfigurationToClone = tendermintConfigurationToClone;
 		this.maxPingAttempts = maxPingAttemps;
 		this.pingDelay = pingDelay;
+		this.snapshotInterval = snapshotInterval;
+		this.numberOfKeptSnapshots = numberOfKeptSnapshots;
+		this.numberOfKeptPastStates = numberOfKeptPastStates;
 	}
 
 	/**
@@ -65,6 +90,9 @@ public class TendermintBlockchainConfig extends Config {
 		private int maxPingAttempts = 20;
 		private int pingDelay = 200;
 		private Path tendermintConfigurationToClone;
+		private long snapshotInterval;
+		private int numberOfKeptSnapshots = 2;
+		private long numberOfKeptPastStates;
 
 		/**
 		 * Sets the directory that contains the Tendermint configuration that must be cloned
@@ -106,9 +134,47 @@ public class TendermintBlockchainConfig extends Config {
 			return this;
 		}
 
+		/**
+		 * Sets the number of commits between two successive snapshots of the state of the node,
+		 * that are offered to the peers that bootstrap through Tendermint's state-sync.
+		 * Use 0 if no snapshot must be taken. It defaults to 0.
+		 * 
+		 * @param snapshotInterval the number of commits between two snapshots
+		 * @return this builder
+		 */
+		public Builder setSnapshotInterval(long snapshotInterval) {
+			this.snapshotInterval = snapshotInterval;
+			return this;
+		}
+
+		/**
+		 * Sets the number of most recent snapshots that are kept. Older snapshots get deleted.
+		 * It defaults to 2.
+		 * 
+		 * @param numberOfKeptSnapshots the number of kept snapshots
+		 * @return this builder
+		 */
+		public Builder setNumberOfKeptSnapshots(int numberOfKeptSnapshots) {
+			this.numberOfKeptSnapshots = numberOfKeptSnapshots;
+			return this;
+		}
+
+		/**
+		 * Sets the number of past states of the node, before the current one, that are kept in store,
+		 * so that they can be queried. Older states get garbage-collected.
+		 * Use a negative value to keep all past states. It defaults to 0.
+		 * 
+		 * @param numberOfKeptPastStates the number of kept past states
+		 * @return this builder
+		 */
+		public Builder setNumberOfKeptPastStates(long numberOfKeptPastStates) {
+			this.numberOfKeptPastStates = numberOfKeptPastStates;
+			return this;
+		}
+
 		@Override
 		public TendermintBlockchainConfig build() {
-			return new TendermintBlockchainConfig(super.build(), tendermintConfigurationToClone, maxPingAttempts, pingDelay);
+			return new TendermintBlockchainConfig(super.build(), tendermintConfigurationToClone, maxPingAttempts, pingDelay, snapshotInterval, numberOfKeptSnapshots, numberOfKeptPastStates);
 		}
 
 		@Override
@@ -52,7 +52,8 @@ class Store extends PartialTrieBasedWithHistoryStore<TendermintBlockchainConfig>
      * @param nodeInternal the same node, with internal methods
      */
     Store(TendermintBlockchainImpl node, TendermintBlockchainInternal nodeInternal) {
-    	super(node, 0L); // deterministic finality: we will never checkout out an old state
+    	// deterministic finality: we will never checkout out an old state, but old states can be kept for being queried
+    	super(node, node.getConfig().numberOfKeptPastStates);
 
     	this.nodeInternal = nodeInternal;
 
@@ -78,6 +79,11 @@ class Store extends PartialTrieBasedWithHistoryStore<TendermintBlockchainConfig>
     	this.hashOfHashes = parent.hashOfHashes;
     }
 
+    @Override
+    protected Store mkClone() {
+    	return new Store(this);
+    }
+
     @Override
 	public Optional<String> getError(TransactionReference reference) {
     	// error messages are held inside the Tendermint blockchain
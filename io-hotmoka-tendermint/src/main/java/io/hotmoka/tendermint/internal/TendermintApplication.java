@@ -17,8 +17,16 @@ limitations under the License.
 package io.hotmoka.tendermint.internal;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -33,9 +41,11 @@ import io.hotmoka.beans.TransactionException;
 import io.hotmoka.beans.TransactionRejectedException;
 import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
 import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.stores.Snapshot;
 import io.hotmoka.tendermint.TendermintValidator;
 import io.hotmoka.tendermint_abci.ABCI;
 import tendermint.abci.Types.Evidence;
+import tendermint.abci.Types.RequestApplySnapshotChunk;
 import tendermint.abci.Types.RequestBeginBlock;
 import tendermint.abci.Types.RequestCheckTx;
 import tendermint.abci.Types.RequestCommit;
@@ -45,7 +55,11 @@ import tendermint.abci.Types.RequestEndBlock;
 import tendermint.abci.Types.RequestFlush;
 import tendermint.abci.Types.RequestInfo;
 import tendermint.abci.Types.RequestInitChain;
+import tendermint.abci.Types.RequestListSnapshots;
+import tendermint.abci.Types.RequestLoadSnapshotChunk;
+import tendermint.abci.Types.RequestOfferSnapshot;
 import tendermint.abci.Types.RequestQuery;
+import tendermint.abci.Types.ResponseApplySnapshotChunk;
 import tendermint.abci.Types.ResponseBeginBlock;
 import tendermint.abci.Types.ResponseCheckTx;
 import tendermint.abci.Types.ResponseCommit;
@@ -55,6 +69,9 @@ import tendermint.abci.Types.ResponseEndBlock;
 import tendermint.abci.Types.ResponseFlush;
 import tendermint.abci.Types.ResponseInfo;
 import tendermint.abci.Types.ResponseInitChain;
+import tendermint.abci.Types.ResponseListSnapshots;
+import tendermint.abci.Types.ResponseLoadSnapshotChunk;
+import tendermint.abci.Types.ResponseOfferSnapshot;
 import tendermint.abci.Types.ResponseQuery;
 import tendermint.abci.Types.Validator;
 import tendermint.abci.Types.ValidatorUpdate;
@@ -80,6 +97,22 @@ class TendermintApplication extends ABCI {
 	 */
 	private volatile TendermintValidator[] validatorsAtPreviousBlock;
 
+	/**
+	 * The directory where the snapshots of the state of the node are kept,
+	 * each in a subdirectory named after its height.
+	 */
+	private final Path snapshots;
+
+	/**
+	 * The snapshot being applied through state-sync, if any.
+	 */
+	private volatile Snapshot snapshotBeingApplied;
+
+	/**
+	 * The application hash expected at the end of the application of {@link #snapshotBeingApplied}.
+	 */
+	private volatile byte[] appHashOfSnapshotBeingApplied;
+
 	/**
      * Builds the Tendermint ABCI interface that executes Takamaka transactions.
      * 
@@ -87,6 +120,7 @@ class TendermintApplication extends ABCI {
      */
     TendermintApplication(TendermintBlockchainInternal node) {
     	this.node = node;
+    	this.snapshots = node.getConfig().dir.resolve("snapshots");
     }
 
     private static String getAddressOfValidator(Validator validator) {
@@ -203,7 +237,10 @@ class TendermintApplication extends ABCI {
         ResponseCheckTx.Builder responseBuilder = ResponseCheckTx.newBuilder();
 
         try (var context = new BeanUnmarshallingContext(new ByteArrayInputStream(tx.toByteArray()))) {
-        	node.checkTransaction(TransactionRequest.from(context));
+        	TransactionRequest<?> hotmokaRequest = TransactionRequest.from(context);
+        	node.checkTransaction(hotmokaRequest);
+        	// the request will be delivered in one of the next blocks
+        	node.prefetch(hotmokaRequest);
         	responseBuilder.setCode(0);
         }
         catch (Throwable t) {
@@ -283,6 +320,14 @@ class TendermintApplication extends ABCI {
     	// hash of the store, used for consensus
     	byte[] hash = store.getHash();
     	logger.info("Committed state with hash = " + Hex.toHexString(hash).toUpperCase());
+
+    	long snapshotInterval = node.getConfig().snapshotInterval;
+    	if (snapshotInterval > 0L) {
+    		long height = store.getNumberOfCommits();
+    		if (height % snapshotInterval == 0L)
+    			takeSnapshot(height);
+    	}
+
     	return ResponseCommit.newBuilder()
        		.setData(ByteString.copyFrom(hash))
        		.build();
@@ -297,4 +342,169 @@ class TendermintApplication extends ABCI {
 	protected ResponseFlush flush(RequestFlush request) {
 		return ResponseFlush.newBuilder().build();
 	}
+
+	@Override
+	protected ResponseListSnapshots listSnapshots(RequestListSnapshots request) {
+		ResponseListSnapshots.Builder builder = ResponseListSnapshots.newBuilder();
+
+		for (long height: heightsOfSnapshots()) {
+			try {
+				Snapshot snapshot = Snapshot.load(snapshots.resolve(String.valueOf(height)), height);
+				builder.addSnapshots(tendermint.abci.Types.Snapshot.newBuilder()
+					.setHeight(height)
+					.setFormat(Snapshot.FORMAT)
+					.setChunks(snapshot.getNumberOfChunks())
+					.setHash(ByteString.copyFrom(snapshot.getHash()))
+					.setMetadata(ByteString.copyFrom(snapshot.getMetadata())));
+			}
+			catch (IOException e) {
+				// the snapshot is still being exported or has been deleted in the meantime
+			}
+		}
+
+		return builder.build();
+	}
+
+	@Override
+	protected ResponseOfferSnapshot offerSnapshot(RequestOfferSnapshot request) {
+		tendermint.abci.Types.Snapshot offered = request.getSnapshot();
+		if (offered.getFormat() != Snapshot.FORMAT)
+			return ResponseOfferSnapshot.newBuilder().setResult(ResponseOfferSnapshot.Result.REJECT_FORMAT).build();
+
+		// the hash of an empty store is empty
+		if (node.getStore().getHash().length > 0) {
+			logger.warning("refusing a snapshot, since the store is not empty");
+			return ResponseOfferSnapshot.newBuilder().setResult(ResponseOfferSnapshot.Result.ABORT).build();
+		}
+
+		try {
+			Snapshot snapshot = new Snapshot(offered.getHeight(), offered.getMetadata().toByteArray());
+			if (!Arrays.equals(snapshot.getHash(), offered.getHash().toByteArray()) || snapshot.getNumberOfChunks() != offered.getChunks())
+				return ResponseOfferSnapshot.newBuilder().setResult(ResponseOfferSnapshot.Result.REJECT).build();
+
+			snapshotBeingApplied = snapshot;
+			appHashOfSnapshotBeingApplied = request.getAppHash().toByteArray();
+			logger.info("accepted a snapshot at height " + snapshot.height + " with " + snapshot.getNumberOfChunks() + " chunks");
+
+			return ResponseOfferSnapshot.newBuilder().setResult(ResponseOfferSnapshot.Result.ACCEPT).build();
+		}
+		catch (IOException e) {
+			logger.log(Level.WARNING, "rejecting a snapshot with illegal metadata", e);
+			return ResponseOfferSnapshot.newBuilder().setResult(ResponseOfferSnapshot.Result.REJECT).build();
+		}
+	}
+
+	@Override
+	protected ResponseLoadSnapshotChunk loadSnapshotChunk(RequestLoadSnapshotChunk request) {
+		ResponseLoadSnapshotChunk.Builder builder = ResponseLoadSnapshotChunk.newBuilder();
+
+		if (request.getFormat() == Snapshot.FORMAT) {
+			try {
+				builder.setChunk(ByteString.copyFrom(Snapshot.loadChunk(snapshots.resolve(String.valueOf(request.getHeight())), request.getChunk())));
+			}
+			catch (IOException e) {
+				logger.log(Level.WARNING, "cannot load chunk " + request.getChunk() + " of the snapshot at height " + request.getHeight(), e);
+			}
+		}
+
+		// an empty chunk means that the chunk is missing
+		return builder.build();
+	}
+
+	@Override
+	protected ResponseApplySnapshotChunk applySnapshotChunk(RequestApplySnapshotChunk request) {
+		Snapshot snapshot = snapshotBeingApplied;
+		if (snapshot == null)
+			return ResponseApplySnapshotChunk.newBuilder().setResult(ResponseApplySnapshotChunk.Result.ABORT).build();
+
+		int index = request.getIndex();
+		byte[] chunk = request.getChunk().toByteArray();
+		if (!snapshot.isValidChunk(index, chunk)) {
+			logger.warning("chunk " + index + " of the snapshot has a wrong hash: rejecting its sender");
+			return ResponseApplySnapshotChunk.newBuilder()
+				.setResult(ResponseApplySnapshotChunk.Result.RETRY)
+				.addRefetchChunks(index)
+				.addRejectSenders(request.getSender())
+				.build();
+		}
+
+		Store store = node.getStore();
+
+		try {
+			store.importSnapshotChunk(chunk);
+		}
+		catch (IOException e) {
+			// the chunk has the expected hash, hence the snapshot itself is wrong
+			logger.log(Level.WARNING, "chunk " + index + " of the snapshot is illegal", e);
+			return ResponseApplySnapshotChunk.newBuilder().setResult(ResponseApplySnapshotChunk.Result.REJECT_SNAPSHOT).build();
+		}
+
+		// Tendermint applies the chunks in order
+		if (index == snapshot.getNumberOfChunks() - 1) {
+			store.completeSnapshotImport(snapshot);
+			snapshotBeingApplied = null;
+
+			if (!Arrays.equals(store.getHash(), appHashOfSnapshotBeingApplied)) {
+				logger.warning("the state reconstructed from the snapshot does not match the expected application hash");
+				return ResponseApplySnapshotChunk.newBuilder().setResult(ResponseApplySnapshotChunk.Result.REJECT_SNAPSHOT).build();
+			}
+
+			node.recomputeConsensus();
+			logger.info("the state has been reconstructed from the snapshot at height " + snapshot.height);
+		}
+
+		return ResponseApplySnapshotChunk.newBuilder().setResult(ResponseApplySnapshotChunk.Result.ACCEPT).build();
+	}
+
+	/**
+	 * Starts taking, in the background, a snapshot of the state of the node at the given height,
+	 * after deleting the oldest snapshots, if they are too many.
+	 * 
+	 * @param height the height
+	 */
+	private void takeSnapshot(long height) {
+		List<Long> heights = heightsOfSnapshots();
+		int numberOfKeptSnapshots = Math.max(1, node.getConfig().numberOfKeptSnapshots);
+
+		try {
+			for (int pos = 0; pos <= heights.size() - numberOfKeptSnapshots; pos++)
+				deleteRecursively(snapshots.resolve(String.valueOf(heights.get(pos))));
+		}
+		catch (IOException e) {
+			logger.log(Level.WARNING, "cannot delete an old snapshot", e);
+		}
+
+		node.getStore().exportSnapshot(snapshots.resolve(String.valueOf(height)));
+	}
+
+	/**
+	 * Yields the heights of the snapshots available in the snapshots directory, in increasing order.
+	 * 
+	 * @return the heights
+	 */
+	private List<Long> heightsOfSnapshots() {
+		if (!Files.isDirectory(snapshots))
+			return List.of();
+
+		try (var files = Files.list(snapshots)) {
+			return files.map(Path::getFileName)
+				.map(Path::toString)
+				.filter(name -> name.matches("\\d+"))
+				.map(Long::valueOf)
+				.sorted()
+				.collect(Collectors.toList());
+		}
+		catch (IOException e) {
+			logger.log(Level.WARNING, "cannot list the snapshots", e);
+			return List.of();
+		}
+	}
+
+	private static void deleteRecursively(Path dir) throws IOException {
+		if (Files.exists(dir))
+			Files.walk(dir)
+				.sorted(Comparator.reverseOrder())
+				.map(Path::toFile)
+				.forEach(File::delete);
+	}
 }
\ No newline at end of file
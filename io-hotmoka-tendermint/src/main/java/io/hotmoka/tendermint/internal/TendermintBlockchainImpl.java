@@ -29,7 +29,11 @@ import java.net.HttpURLConnection;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
@@ -46,17 +50,21 @@ import io.hotmoka.beans.TransactionRejectedException;
 import io.hotmoka.beans.nodes.NodeInfo;
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.MethodCallTransactionRequest;
 import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponseWithEvents;
 import io.hotmoka.beans.signatures.CodeSignature;
+import io.hotmoka.beans.signatures.FieldSignature;
 import io.hotmoka.beans.signatures.MethodSignature;
 import io.hotmoka.beans.signatures.NonVoidMethodSignature;
 import io.hotmoka.beans.types.BasicTypes;
 import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.updates.UpdateOfField;
 import io.hotmoka.beans.values.BigIntegerValue;
 import io.hotmoka.beans.values.IntValue;
 import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StorageValue;
 import io.hotmoka.beans.values.StringValue;
 import io.hotmoka.constants.Constants;
 import io.hotmoka.local.AbstractLocalNode;
@@ -237,6 +245,7 @@ public class TendermintBlockchainImpl extends AbstractLocalNode<TendermintBlockc
 	private static final MethodSignature GET_SHARES = new NonVoidMethodSignature(ClassType.VALIDATORS, "getShares", storageMapView);
 	private static final MethodSignature SELECT = new NonVoidMethodSignature(storageMapView, "select", ClassType.OBJECT, BasicTypes.INT);
 	private static final MethodSignature GET = new NonVoidMethodSignature(storageMapView, "get", ClassType.OBJECT, ClassType.OBJECT);
+	private static final FieldSignature TENDERMINT_VALIDATOR_ID = new FieldSignature(ClassType.TENDERMINT_ED25519_VALIDATOR, "id", ClassType.STRING);
 
 	private volatile TendermintValidator[] tendermintValidatorsCached;
 
@@ -254,6 +263,14 @@ public class TendermintBlockchainImpl extends AbstractLocalNode<TendermintBlockc
 		}
 
 		StorageReference validators = caches.getValidators().get(); // the manifest is already set
+
+		// the validators are normally read from the fields of the objects in store, without running any code
+		Optional<TendermintValidator[]> validatorsInStore = readTendermintValidatorsFromStore(validators);
+		if (validatorsInStore.isPresent()) {
+			tendermintValidatorsCached = validatorsInStore.get();
+			return validatorsInStore;
+		}
+
 		TransactionReference takamakaCode = getTakamakaCode();
 
 		StorageReference shares = (StorageReference) runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
@@ -262,20 +279,26 @@ public class TendermintBlockchainImpl extends AbstractLocalNode<TendermintBlockc
 		int numOfValidators = ((IntValue) runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
 			(manifest, _50_000, takamakaCode, SIZE, shares))).value;
 
-		TendermintValidator[] result = new TendermintValidator[numOfValidators];
+		// the validators, their identifiers and their powers are read in two batches of calls
+		List<MethodCallTransactionRequest> selections = new ArrayList<>();
+		for (int num = 0; num < numOfValidators; num++)
+			selections.add(new InstanceMethodCallTransactionRequest(manifest, _50_000, takamakaCode, SELECT, shares, new IntValue(num)));
 
-		for (int num = 0; num < numOfValidators; num++) {
-			StorageReference validator = (StorageReference) runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _50_000, takamakaCode, SELECT, shares, new IntValue(num)));
-
-			String id = ((StringValue) runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _50_000, takamakaCode, CodeSignature.ID, validator))).value;
+		StorageReference[] validatorsOfShares = runViewBatch(selections).stream().map(validator -> (StorageReference) validator).toArray(StorageReference[]::new);
 
-			long power = ((BigIntegerValue) runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _50_000, takamakaCode, GET, shares, validator))).value.longValue();
+		List<MethodCallTransactionRequest> idsAndPowers = new ArrayList<>();
+		for (StorageReference validator: validatorsOfShares) {
+			idsAndPowers.add(new InstanceMethodCallTransactionRequest(manifest, _50_000, takamakaCode, CodeSignature.ID, validator));
+			idsAndPowers.add(new InstanceMethodCallTransactionRequest(manifest, _50_000, takamakaCode, GET, shares, validator));
+		}
 
-			String publicKey = storeUtilities.getPublicKeyUncommitted(validator);
+		Iterator<StorageValue> results = runViewBatch(idsAndPowers).iterator();
+		TendermintValidator[] result = new TendermintValidator[numOfValidators];
 
+		for (int num = 0; num < numOfValidators; num++) {
+			String id = ((StringValue) results.next()).value;
+			long power = ((BigIntegerValue) results.next()).value.longValue();
+			String publicKey = storeUtilities.getPublicKeyUncommitted(validatorsOfShares[num]);
 			result[num] = new TendermintValidator(id, power, publicKey, "tendermint/PubKeyEd25519");
 		}
 
@@ -284,6 +307,32 @@ public class TendermintBlockchainImpl extends AbstractLocalNode<TendermintBlockc
 		return Optional.of(result);
 	}
 
+	/**
+	 * Reads the current validators directly from their shares in store and from the fields of each validator.
+	 * 
+	 * @param validators the validators object in the manifest
+	 * @return the validators; this is empty if they are not instances of the classes
+	 *         of the Takamaka runtime, whose layout is known
+	 */
+	private Optional<TendermintValidator[]> readTendermintValidatorsFromStore(StorageReference validators) {
+		Optional<Map<StorageReference, BigInteger>> shares = storeUtilities.getSharesUncommitted(validators);
+		if (shares.isEmpty())
+			return Optional.empty();
+
+		List<TendermintValidator> result = new ArrayList<>();
+		for (Map.Entry<StorageReference, BigInteger> entry: shares.get().entrySet()) {
+			StorageReference validator = entry.getKey();
+			Optional<StorageValue> id = storeUtilities.getLastUpdateToFinalFieldUncommitted(validator, TENDERMINT_VALIDATOR_ID).map(UpdateOfField::getValue);
+			if (id.isEmpty() || !(id.get() instanceof StringValue))
+				return Optional.empty();
+
+			String publicKey = storeUtilities.getPublicKeyUncommitted(validator);
+			result.add(new TendermintValidator(((StringValue) id.get()).value, entry.getValue().longValue(), publicKey, "tendermint/PubKeyEd25519"));
+		}
+
+		return Optional.of(result.toArray(TendermintValidator[]::new));
+	}
+
 	/**
 	 * Determines if the given response generated events of type ValidatorsUpdate triggered by validators.
 	 * 
@@ -335,6 +384,11 @@ public class TendermintBlockchainImpl extends AbstractLocalNode<TendermintBlockc
 			TendermintBlockchainImpl.this.checkTransaction(request);
 		}
 
+		@Override
+		public void prefetch(TransactionRequest<?> request) {
+			TendermintBlockchainImpl.this.prefetch(request);
+		}
+
 		@Override
 		public TransactionResponse deliverTransaction(TransactionRequest<?> request) throws TransactionRejectedException {
 			return TendermintBlockchainImpl.this.deliverTransaction(request);
@@ -354,6 +408,12 @@ public class TendermintBlockchainImpl extends AbstractLocalNode<TendermintBlockc
 		public boolean rewardValidators(String behaving, String misbehaving) {
 			return TendermintBlockchainImpl.this.rewardValidators(behaving, misbehaving);
 		}
+
+		@Override
+		public void recomputeConsensus() {
+			invalidateCaches();
+			caches.recomputeConsensus();
+		}
 	}
 
 	/**
@@ -69,6 +69,14 @@ public interface TendermintBlockchainInternal {
 	 */
 	void checkTransaction(TransactionRequest<?> request) throws TransactionRejectedException;
 
+	/**
+	 * Warms up, in background, the caches of the node for the delivery of the given request,
+	 * that is expected to occur in one of the next blocks.
+	 * 
+	 * @param request the request
+	 */
+	void prefetch(TransactionRequest<?> request);
+
 	/**
 	 * Builds a response for the given request and adds it to the store of the node.
 	 * 
@@ -106,4 +114,11 @@ public interface TendermintBlockchainInternal {
 	 *         the code of the validators contract failed
 	 */
 	boolean rewardValidators(String behaving, String misbehaving);
+
+	/**
+	 * Invalidates the caches of the node and recomputes its consensus parameters
+	 * from its store. This is needed when the store has been replaced behind the node,
+	 * as after the application of a snapshot of the state.
+	 */
+	void recomputeConsensus();
 }
\ No newline at end of file
@@ -26,4 +26,5 @@ open module io.takamaka.code.tests {
 	requires io.hotmoka.verification;
 	requires org.junit.jupiter.api;
 	requires java.logging;
+	requires jdk.jfr;
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.signatures.CodeSignature;
+import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.network.BinaryProtocol;
+import io.hotmoka.nodes.Node;
+import io.hotmoka.remote.RemoteNode;
+import io.hotmoka.remote.RemoteNodeConfig;
+import io.hotmoka.service.NodeService;
+import io.hotmoka.service.NodeServiceConfig;
+
+/**
+ * A test for the binary protocol between remote nodes and the node service.
+ */
+public class BinaryRoundTrip extends HotmokaTest {
+	private final NodeServiceConfig serviceConfig = new NodeServiceConfig.Builder().setPort(8081).setSpringBannerModeOn(false).build();
+
+	@BeforeEach
+	void beforeEach() throws Exception {
+		setAccounts(_1_000_000, _100_000);
+	}
+
+	@Test @DisplayName("remote nodes over http and websockets yield the results of the node")
+	void remoteNodesCoincideWithNode() throws Exception {
+		RemoteNodeConfig httpConfig = new RemoteNodeConfig.Builder().setURL("localhost:8081").build();
+		RemoteNodeConfig webSocketsConfig = new RemoteNodeConfig.Builder().setURL("localhost:8081").setWebSockets(true).build();
+		var request = balanceOf(1);
+
+		try (NodeService service = NodeService.of(serviceConfig, node); Node http = RemoteNode.of(httpConfig); Node webSockets = RemoteNode.of(webSocketsConfig)) {
+			for (Node remote: new Node[] { http, webSockets }) {
+				assertEquals(node.runInstanceMethodCallTransaction(request), remote.runInstanceMethodCallTransaction(request));
+				assertEquals(node.getClassTag(account(1)), remote.getClassTag(account(1)));
+				assertEquals(node.getState(account(1)).collect(Collectors.toSet()), remote.getState(account(1)).collect(Collectors.toSet()));
+				assertEquals(node.getRequest(takamakaCode()), remote.getRequest(takamakaCode()));
+				assertEquals(node.getResponse(takamakaCode()), remote.getResponse(takamakaCode()));
+			}
+		}
+	}
+
+	@Test @DisplayName("a binary request is accepted at the path of its kind and rejected at the path of another kind")
+	void requestOfAnotherKindIsRejected() throws Exception {
+		var request = balanceOf(0);
+
+		try (NodeService service = NodeService.of(serviceConfig, node)) {
+			HttpURLConnection con = postBinary("/run/instanceMethodCallTransaction", request.toByteArray());
+			try (InputStream is = con.getInputStream()) {
+				assertEquals(200, con.getResponseCode());
+				assertEquals(node.runInstanceMethodCallTransaction(request), BinaryProtocol.fromBytes(is.readAllBytes(), StorageValue::from));
+			}
+			finally {
+				con.disconnect();
+			}
+
+			for (String path: new String[] { "/run/staticMethodCallTransaction", "/add/jarStoreTransaction", "/post/constructorCallTransaction", "/estimate/jarStoreTransaction" }) {
+				con = postBinary(path, request.toByteArray());
+				try {
+					assertEquals(400, con.getResponseCode(), path);
+				}
+				finally {
+					con.disconnect();
+				}
+			}
+		}
+	}
+
+	private InstanceMethodCallTransactionRequest balanceOf(int account) {
+		return new InstanceMethodCallTransactionRequest(account(account), _100_000, takamakaCode(), CodeSignature.BALANCE, account(account));
+	}
+
+	private static HttpURLConnection postBinary(String path, byte[] body) throws IOException {
+		HttpURLConnection con = (HttpURLConnection) new URL("http://localhost:8081" + path).openConnection();
+		con.setRequestMethod("POST");
+		con.setRequestProperty("Content-Type", BinaryProtocol.MEDIA_TYPE);
+		con.setDoOutput(true);
+		try (OutputStream os = con.getOutputStream()) {
+			os.write(body);
+		}
+
+		return con;
+	}
+}
@@ -50,6 +50,7 @@ import io.hotmoka.beans.values.StorageValue;
 class Collections extends HotmokaTest {
 	private static final ClassType MAP_TESTS = new ClassType("io.hotmoka.examples.collections.MapTests");
 	private static final ClassType INT_MAP_TESTS = new ClassType("io.hotmoka.examples.collections.IntMapTests");
+	private static final ClassType BTREE_MAP_TESTS = new ClassType("io.hotmoka.examples.collections.BTreeMapTests");
 	private static final ClassType ARRAY_TESTS = new ClassType("io.hotmoka.examples.collections.ArrayTests");
 	private static final ClassType SET_TESTS = new ClassType("io.hotmoka.examples.collections.SetTests");
 	private static final ClassType MAP_HOLDER = new ClassType("io.hotmoka.examples.collections.MapHolder");
@@ -126,6 +127,36 @@ class Collections extends HotmokaTest {
 		assertEquals(100L, count.value);
 	}
 
+	@Test @DisplayName("BTreeMapTests.testPutAndRemove() == 10000")
+	void btreePutAndRemove() throws TransactionException, CodeExecutionException, TransactionRejectedException {
+		IntValue sum = (IntValue) runStaticMethodCallTransaction(eoa, _10_000_000, jar(), new NonVoidMethodSignature(BTREE_MAP_TESTS, "testPutAndRemove", INT));
+		assertEquals(10000, sum.value);
+	}
+
+	@Test @DisplayName("BTreeMapTests.testOrder() == true")
+	void btreeOrder() throws TransactionException, CodeExecutionException, TransactionRejectedException {
+		BooleanValue result = (BooleanValue) runStaticMethodCallTransaction(eoa, _10_000_000, jar(), new NonVoidMethodSignature(BTREE_MAP_TESTS, "testOrder", BOOLEAN));
+		assertTrue(result.value);
+	}
+
+	@Test @DisplayName("BTreeMapTests.testFloorAndCeiling() == true")
+	void btreeFloorAndCeiling() throws TransactionException, CodeExecutionException, TransactionRejectedException {
+		BooleanValue result = (BooleanValue) runStaticMethodCallTransaction(eoa, _10_000_000, jar(), new NonVoidMethodSignature(BTREE_MAP_TESTS, "testFloorAndCeiling", BOOLEAN));
+		assertTrue(result.value);
+	}
+
+	@Test @DisplayName("BTreeMapTests.testSnapshot() == true")
+	void btreeSnapshot() throws TransactionException, CodeExecutionException, TransactionRejectedException {
+		BooleanValue result = (BooleanValue) runStaticMethodCallTransaction(eoa, _10_000_000, jar(), new NonVoidMethodSignature(BTREE_MAP_TESTS, "testSnapshot", BOOLEAN));
+		assertTrue(result.value);
+	}
+
+	@Test @DisplayName("BTreeMapTests.testIntKeys() == 14950")
+	void btreeIntKeys() throws TransactionException, CodeExecutionException, TransactionRejectedException {
+		IntValue sum = (IntValue) runStaticMethodCallTransaction(eoa, _10_000_000, jar(), new NonVoidMethodSignature(BTREE_MAP_TESTS, "testIntKeys", INT));
+		assertEquals(14950, sum.value);
+	}
+
 	@Test @DisplayName("ArrayTests.testRandomInitialization() == 1225")
 	void randomArray() throws TransactionException, CodeExecutionException, TransactionRejectedException {
 		IntValue sum = (IntValue) runStaticMethodCallTransaction(eoa, _10_000_000, jar(), new NonVoidMethodSignature(ARRAY_TESTS, "testRandomInitialization", INT));
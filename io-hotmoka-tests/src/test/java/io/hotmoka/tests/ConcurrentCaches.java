@@ -0,0 +1,123 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.local.internal.ConcurrentCache;
+
+/**
+ * A test for the concurrent caches of the nodes.
+ */
+class ConcurrentCaches {
+
+	@Test @DisplayName("a cache never holds more entries than its maximal size")
+	void evictionBySize() {
+		var cache = new ConcurrentCache<Integer, String>(null, 10);
+		for (int i = 0; i < 100; i++)
+			cache.put(i, String.valueOf(i));
+
+		assertTrue(cache.size() <= 10);
+		assertTrue(cache.size() > 0);
+	}
+
+	@Test @DisplayName("a cache never holds more weight than its maximal weight")
+	void evictionByWeight() {
+		var cache = new ConcurrentCache<Integer, String>(null, 32, 100L, String::length);
+		for (int i = 0; i < 50; i++)
+			cache.put(i, "0123456789");
+
+		assertTrue(cache.weight() <= 100L);
+		assertTrue(cache.size() <= 10);
+		assertTrue(cache.size() > 0);
+	}
+
+	@Test @DisplayName("an entry heavier than the share of a segment is not cached")
+	void heavyEntryIsNotCached() {
+		// 1000 entries need many segments, each with a share of the weight
+		var cache = new ConcurrentCache<Integer, String>(null, 1000, 160L, String::length);
+		assertTrue(cache.maxWeightOfEntry() < 160L);
+
+		cache.put(1, "x".repeat((int) cache.maxWeightOfEntry()));
+		cache.put(2, "x".repeat((int) cache.maxWeightOfEntry() + 1));
+		assertNotNull(cache.get(1));
+		assertNull(cache.get(2));
+	}
+
+	@Test @DisplayName("a frequently used entry survives a burst of entries used only once")
+	void frequentEntryIsNotFlushed() {
+		var cache = new ConcurrentCache<Integer, String>(null, 50);
+		var lru = new ConcurrentCache<Integer, String>(null, 50, 50L, _value -> 1L, 100);
+
+		for (var c: List.of(cache, lru)) {
+			c.put(-1, "hot");
+			for (int i = 0; i < 10; i++)
+				c.get(-1);
+
+			for (int i = 0; i < 1000; i++)
+				c.put(i, "cold");
+		}
+
+		assertEquals("hot", cache.get(-1));
+		// a plain least recently used cache instead gets flushed
+		assertNull(lru.get(-1));
+	}
+
+	@Test @DisplayName("concurrent misses of the same key compute its value only once")
+	void concurrentMissesLoadOnce() throws Exception {
+		var cache = new ConcurrentCache<Integer, String>(null, 100);
+		var loads = new AtomicInteger();
+		var start = new CountDownLatch(1);
+		ExecutorService executors = Executors.newFixedThreadPool(16);
+
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 16; i++)
+				results.add(executors.submit(() -> {
+					start.await();
+					return cache.computeIfAbsent(42, key -> {
+						loads.incrementAndGet();
+						Thread.sleep(200);
+						return "value of " + key;
+					});
+				}));
+
+			start.countDown();
+			for (var result: results)
+				assertEquals("value of 42", result.get());
+		}
+		finally {
+			executors.shutdownNow();
+		}
+
+		assertEquals(1, loads.get());
+	}
+}
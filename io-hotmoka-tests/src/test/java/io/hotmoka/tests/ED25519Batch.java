@@ -0,0 +1,85 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+
+package io.hotmoka.tests;
+
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.crypto.SignatureAlgorithms;
+import io.hotmoka.crypto.api.SignatureAlgorithm;
+
+public class ED25519Batch {
+	private final static int SIGNATURES = 2_000;
+
+	@Test
+    @DisplayName("2,000 ed25519 signatures verified in batch give the same results as one by one")
+    void ed25519BatchIsLikeOneByOne() throws Exception {
+		checkBatchIsLikeOneByOne(SignatureAlgorithms.ed25519((byte[] bytes) -> bytes), SIGNATURES);
+	}
+
+	@Test
+    @DisplayName("200 sha256dsa signatures verified in batch, by the default implementation, give the same results as one by one")
+    void defaultBatchIsLikeOneByOne() throws Exception {
+		checkBatchIsLikeOneByOne(SignatureAlgorithms.sha256dsa((byte[] bytes) -> bytes), SIGNATURES / 10);
+	}
+
+	@Test
+    @DisplayName("a batch of lists of different sizes is rejected")
+    void differentSizesAreRejected() throws Exception {
+		SignatureAlgorithm<byte[]> ed25519 = SignatureAlgorithms.ed25519((byte[] bytes) -> bytes);
+		KeyPair keys = ed25519.getKeyPair();
+		byte[] bytes = "HELLO".getBytes();
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ed25519.verify(List.of(bytes, bytes), List.of(keys.getPublic()), List.of(ed25519.sign(bytes, keys.getPrivate()))));
+	}
+
+	private static void checkBatchIsLikeOneByOne(SignatureAlgorithm<byte[]> algorithm, int howMany) throws Exception {
+		KeyPair keys = algorithm.getKeyPair();
+		List<byte[]> data = new ArrayList<>();
+		List<PublicKey> publicKeys = new ArrayList<>();
+		List<byte[]> signatures = new ArrayList<>();
+
+		for (int i = 0; i < howMany; i++) {
+			byte[] bytes = ("HELLO SIGNING " + i).getBytes();
+			data.add(bytes);
+			publicKeys.add(keys.getPublic());
+			signatures.add(algorithm.sign(bytes, keys.getPrivate()));
+		}
+
+		// we spoil one signature
+		signatures.set(13, signatures.get(14));
+
+		boolean[] oneByOne = new boolean[howMany];
+		for (int i = 0; i < howMany; i++)
+			oneByOne[i] = algorithm.verify(data.get(i), publicKeys.get(i), signatures.get(i));
+
+		boolean[] batch = algorithm.verify(data, publicKeys, signatures);
+
+		Assertions.assertArrayEquals(oneByOne, batch);
+		Assertions.assertFalse(batch[13]);
+		for (int i = 0; i < howMany; i++)
+			if (i != 13)
+				Assertions.assertTrue(batch[i]);
+	}
+}
@@ -0,0 +1,97 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static java.math.BigInteger.ONE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.responses.NonInitialTransactionResponse;
+import io.hotmoka.beans.responses.VoidMethodCallTransactionSuccessfulResponse;
+import io.hotmoka.beans.signatures.CodeSignature;
+import io.hotmoka.beans.values.IntValue;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.nodes.Node;
+import io.hotmoka.nodes.Signer;
+import io.hotmoka.remote.RemoteNode;
+import io.hotmoka.remote.RemoteNodeConfig;
+import io.hotmoka.service.NodeService;
+import io.hotmoka.service.NodeServiceConfig;
+
+/**
+ * A test for the estimation of the cost of transactions.
+ */
+public class EstimateGas extends HotmokaTest {
+
+	@BeforeEach
+	void beforeEach() throws Exception {
+		setAccounts(_1_000_000, _1_000_000);
+	}
+
+	@Test @DisplayName("an estimate does not modify the node and coincides with the response of the transaction")
+	void estimateCoincidesWithResponse() throws Exception {
+		BigInteger balanceBefore = getBalanceOf(account(1));
+		InstanceMethodCallTransactionRequest request = payment(account(0), 1000);
+
+		NonInitialTransactionResponse estimate = node.estimate(request);
+		assertTrue(estimate instanceof VoidMethodCallTransactionSuccessfulResponse);
+		assertTrue(estimate.gasConsumedForCPU.signum() > 0);
+		assertTrue(estimate.gasConsumedForStorage.signum() > 0);
+		assertEquals(balanceBefore, getBalanceOf(account(1)));
+
+		// the request is still valid, since the estimate has not consumed the nonce of the payer
+		node.addInstanceMethodCallTransaction(request);
+		assertEquals(estimate, node.getResponse(request.getReference()));
+		assertEquals(balanceBefore.add(BigInteger.valueOf(1000)), getBalanceOf(account(1)));
+	}
+
+	@Test @DisplayName("an estimate with a wrong nonce is rejected")
+	void estimateWithWrongNonceIsRejected() throws Exception {
+		StorageReference payer = account(0);
+		InstanceMethodCallTransactionRequest request = new InstanceMethodCallTransactionRequest
+			(Signer.with(signature(), privateKey(0)), payer, getNonceOf(payer).add(ONE), chainId, _100_000, ONE, takamakaCode(),
+			CodeSignature.RECEIVE_INT, account(1), new IntValue(1000));
+
+		assertThrows(TransactionRejectedException.class, () -> node.estimate(request));
+	}
+
+	@Test @DisplayName("an estimate through a remote node coincides with the estimate of the node")
+	void remoteEstimateCoincidesWithLocalEstimate() throws Exception {
+		NodeServiceConfig serviceConfig = new NodeServiceConfig.Builder().setPort(8081).setSpringBannerModeOn(false).build();
+		RemoteNodeConfig remoteNodeConfig = new RemoteNodeConfig.Builder().setURL("localhost:8081").build();
+		InstanceMethodCallTransactionRequest request = payment(account(0), 1000);
+
+		try (NodeService service = NodeService.of(serviceConfig, node); Node remote = RemoteNode.of(remoteNodeConfig)) {
+			assertEquals(node.estimate(request), remote.estimate(request));
+		}
+	}
+
+	private InstanceMethodCallTransactionRequest payment(StorageReference payer, int amount) throws Exception {
+		return new InstanceMethodCallTransactionRequest
+			(Signer.with(signature(), privateKey(0)), payer, getNonceOf(payer), chainId, _100_000, ONE, takamakaCode(),
+			CodeSignature.RECEIVE_INT, account(1), new IntValue(amount));
+	}
+}
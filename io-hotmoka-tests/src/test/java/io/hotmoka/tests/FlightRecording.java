@@ -0,0 +1,92 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.beans.signatures.ConstructorSignature;
+import io.hotmoka.beans.types.BasicTypes;
+import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.values.IntValue;
+import io.hotmoka.beans.values.StorageReference;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * A test for the flight recorder events emitted during the execution of transactions.
+ */
+class FlightRecording extends HotmokaTest {
+	private static final ConstructorSignature ABSTRACT_FAIL_IMPL_CONSTRUCTOR = new ConstructorSignature(new ClassType("io.hotmoka.examples.abstractfail.AbstractFailImpl"), BasicTypes.INT);
+
+	@BeforeAll
+	static void beforeAll() throws Exception {
+		setJar("abstractfail.jar");
+	}
+
+	@BeforeEach
+	void beforeEach() throws Exception {
+		setAccounts(_1_000_000_000);
+	}
+
+	@Test @DisplayName("a constructor call emits the events of its phases")
+	void constructorCallIsRecorded() throws Exception {
+		Path file = Files.createTempFile("hotmoka", ".jfr");
+
+		try {
+			StorageReference object;
+
+			try (var recording = new Recording()) {
+				recording.enable("io.hotmoka.ResponseBuilder");
+				recording.enable("io.hotmoka.CodeExecution");
+				recording.enable("io.hotmoka.Deliver");
+				recording.enable("io.hotmoka.TransactionSize");
+				recording.start();
+				object = addConstructorCallTransaction(privateKey(0), account(0), _50_000, BigInteger.ONE, jar(), ABSTRACT_FAIL_IMPL_CONSTRUCTOR, new IntValue(42));
+				recording.stop();
+				recording.dump(file);
+			}
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			String transaction = object.transaction.getHash();
+
+			assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("io.hotmoka.ResponseBuilder")
+				&& transaction.equals(event.getString("transaction"))));
+			assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("io.hotmoka.CodeExecution")
+				&& transaction.equals(event.getString("transaction")) && event.getString("code").equals(ABSTRACT_FAIL_IMPL_CONSTRUCTOR.toString())));
+			assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("io.hotmoka.Deliver")
+				&& transaction.equals(event.getString("transaction"))
+				&& event.getLong("gas") > 0L));
+			assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("io.hotmoka.TransactionSize")
+				&& transaction.equals(event.getString("transaction"))
+				&& event.getLong("requestSize") > 0L && event.getLong("responseSize") > 0L));
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
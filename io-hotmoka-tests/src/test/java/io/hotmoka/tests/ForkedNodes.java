@@ -0,0 +1,124 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.hotmoka.beans.values.BigIntegerValue;
+import io.hotmoka.local.AbstractLocalNode;
+import io.hotmoka.memory.MemoryBlockchain;
+import io.hotmoka.nodes.Node;
+
+/**
+ * A test for the forks of a local node.
+ */
+public class ForkedNodes extends HotmokaTest {
+
+	@Test
+	void forkDivergesFromItsParent(@TempDir Path dir) throws Exception {
+		try (var parent = TrieBasedNode.init(dir)) {
+			BigInteger nonceBefore = nonceOfGamete(parent, parent);
+
+			try (Node fork = parent.fork()) {
+				fork.addInstanceMethodCallTransaction(parent.transactionOfGameteFor(fork));
+				assertEquals(nonceBefore.add(BigInteger.ONE), nonceOfGamete(fork, parent));
+			}
+
+			// the parent has not been affected by the fork
+			assertEquals(nonceBefore, nonceOfGamete(parent, parent));
+		}
+	}
+
+	@Test
+	void forksRunConcurrentlyAndIndependently(@TempDir Path dir) throws Exception {
+		try (var parent = TrieBasedNode.init(dir)) {
+			BigInteger nonceBefore = nonceOfGamete(parent, parent);
+			ExecutorService executor = Executors.newFixedThreadPool(4);
+
+			try {
+				List<Future<BigInteger>> results = new ArrayList<>();
+				for (int counter = 0; counter < 8; counter++) {
+					results.add(executor.submit(() -> {
+						try (Node fork = parent.fork()) {
+							// the gamete runs two transactions in each fork
+							fork.addInstanceMethodCallTransaction(parent.transactionOfGameteFor(fork));
+							fork.addInstanceMethodCallTransaction(parent.transactionOfGameteFor(fork));
+							return nonceOfGamete(fork, parent);
+						}
+					}));
+				}
+
+				for (var result: results)
+					assertEquals(nonceBefore.add(BigInteger.TWO), result.get());
+			}
+			finally {
+				executor.shutdownNow();
+			}
+
+			assertEquals(nonceBefore, nonceOfGamete(parent, parent));
+		}
+	}
+	@Test
+	void forkDoesNotSeeTheLaterCommitsOfItsParent(@TempDir Path dir) throws Exception {
+		try (var parent = TrieBasedNode.init(dir)) {
+			var store = parent.getStore();
+			BigInteger nonceBefore = nonceOfGamete(parent, parent);
+
+			try (Node fork = parent.fork()) {
+				// more commits than the checkable depth: the state of the fork is garbage-collected, unless pinned
+				for (long counter = 0; counter < TrieBasedNode.CHECKABLE_DEPTH + 2; counter++)
+					parent.addTransactionOfGamete();
+
+				Thread.sleep(200);
+				assertTrue(store.getNumberOfCommitsWaitingForGarbageCollection() > 0L);
+				assertEquals(nonceBefore, nonceOfGamete(fork, parent));
+				assertEquals(nonceBefore.add(BigInteger.valueOf(TrieBasedNode.CHECKABLE_DEPTH + 2)), nonceOfGamete(parent, parent));
+			}
+
+			// closing the fork unpins its state, that gets garbage-collected
+			for (int attempt = 0; attempt < 500 && store.getNumberOfCommitsWaitingForGarbageCollection() > 0; attempt++)
+				Thread.sleep(10);
+
+			assertEquals(0L, store.getNumberOfCommitsWaitingForGarbageCollection());
+		}
+	}
+
+	@Test
+	void forkOfNodeWithoutPastStatesIsRejected() {
+		// the store of a memory blockchain cannot keep its state at the time of the fork
+		assumeTrue(node instanceof MemoryBlockchain && node instanceof AbstractLocalNode<?,?>);
+		assertThrows(UnsupportedOperationException.class, ((AbstractLocalNode<?,?>) node)::fork);
+	}
+
+	private static BigInteger nonceOfGamete(Node where, TrieBasedNode node) throws Exception {
+		return ((BigIntegerValue) where.runInstanceMethodCallTransaction(node.nonceOfGamete())).value;
+	}
+}
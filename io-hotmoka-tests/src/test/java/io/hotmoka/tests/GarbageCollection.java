@@ -0,0 +1,87 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.hotmoka.stores.internal.KeyValueStoreBackendOnXodus;
+import io.hotmoka.stores.internal.TrieOfInfo;
+import io.hotmoka.xodus.env.Environment;
+
+/**
+ * Tests for the background garbage collection of trie-based stores.
+ */
+class GarbageCollection {
+	private final static int TRANSACTIONS = 10;
+
+	@Test
+	@DisplayName("garbage collection reclaims the states that are not checkable anymore and keeps the others")
+	void reclaimsOnlyUncheckableStates(@TempDir Path dir) throws Exception {
+		Map<Long, byte[]> roots = new HashMap<>();
+		long height;
+
+		try (var node = TrieBasedNode.init(dir)) {
+			// closing a clone of the store must not stop the garbage collection of the store
+			node.getStore().getStoreAt(node.getRootAt(node.getHeight()).get()).get().close();
+
+			for (int counter = 0; counter < TRANSACTIONS; counter++) {
+				node.addTransactionOfGamete();
+				long h = node.getHeight();
+				roots.put(h, node.getRootAt(h).get());
+			}
+
+			var store = node.getStore();
+			for (int attempt = 0; attempt < 500 && store.getNumberOfCommitsWaitingForGarbageCollection() > 0; attempt++)
+				Thread.sleep(10);
+
+			assertEquals(0L, store.getNumberOfCommitsWaitingForGarbageCollection());
+			assertTrue(store.getNumberOfGarbageCollectedKeys() > 0L);
+			height = node.getHeight();
+		}
+
+		// we look directly inside the database, to see which states are still there
+		var env = new Environment(dir.resolve("store").toString());
+		try (var backend = new KeyValueStoreBackendOnXodus(env)) {
+			backend.open("info");
+			backend.computeInReadonlyTransaction(txn -> {
+				roots.forEach((h, root) -> {
+					var trie = new TrieOfInfo(backend.keyValueStoreFor("info", txn, Arrays.copyOfRange(root, 32, 64)), -1L);
+					if (h >= height - TrieBasedNode.CHECKABLE_DEPTH)
+						assertEquals(h, trie.getNumberOfCommits());
+					else
+						// the root node of the trie has been reclaimed, hence the trie looks empty
+						assertEquals(0L, trie.getNumberOfCommits());
+				});
+
+				return null;
+			});
+		}
+		finally {
+			env.close();
+		}
+	}
+}
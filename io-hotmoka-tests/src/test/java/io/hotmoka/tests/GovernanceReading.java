@@ -0,0 +1,185 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static java.math.BigInteger.ZERO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.hotmoka.beans.CodeExecutionException;
+import io.hotmoka.beans.TransactionException;
+import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.ConstructorCallTransactionRequest;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.signatures.CodeSignature;
+import io.hotmoka.beans.signatures.ConstructorSignature;
+import io.hotmoka.beans.signatures.MethodSignature;
+import io.hotmoka.beans.signatures.NonVoidMethodSignature;
+import io.hotmoka.beans.types.BasicTypes;
+import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.values.BigIntegerValue;
+import io.hotmoka.beans.values.IntValue;
+import io.hotmoka.beans.values.LongValue;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StringValue;
+import io.hotmoka.helpers.InitializedNode;
+import io.hotmoka.local.StoreUtilities;
+import io.hotmoka.local.internal.GovernanceReader;
+import io.hotmoka.local.internal.NodeCachesImpl;
+import io.hotmoka.nodes.ConsensusParams;
+import io.hotmoka.nodes.SignatureAlgorithmForTransactionRequests;
+
+/**
+ * Tests that the governance data read directly from the fields of the objects in store
+ * coincides with that computed by running the {@code @View} methods of those objects.
+ */
+class GovernanceReading {
+	private final static BigInteger _100_000 = BigInteger.valueOf(100_000);
+	private final static List<BigInteger> POWERS = Stream.of(5, 7, 11).map(BigInteger::valueOf).collect(Collectors.toList());
+	private final static MethodSignature GET_SHARES = new NonVoidMethodSignature(ClassType.VALIDATORS, "getShares", ClassType.STORAGE_MAP_VIEW);
+	private final static MethodSignature SIZE = new NonVoidMethodSignature(ClassType.STORAGE_MAP_VIEW, "size", BasicTypes.INT);
+	private final static MethodSignature SELECT = new NonVoidMethodSignature(ClassType.STORAGE_MAP_VIEW, "select", ClassType.OBJECT, BasicTypes.INT);
+	private final static MethodSignature GET = new NonVoidMethodSignature(ClassType.STORAGE_MAP_VIEW, "get", ClassType.OBJECT, ClassType.OBJECT);
+
+	@Test
+	@DisplayName("the consensus parameters read from store are those computed by calling the getters of the governance objects")
+	void consensusReadFromStoreIsThatComputedWithViews(@TempDir Path dir) throws Exception {
+		try (var node = TrieBasedNode.init(dir, GovernanceReading::createValidatorsBuilder)) {
+			var fromStore = node.getStoreUtilities().getConsensusParamsUncommitted();
+			assertTrue(fromStore.isPresent());
+			assertSameParams(((NodeCachesImpl) node.getCaches()).getConsensusParamsWithViews(), fromStore.get());
+			assertSameParams(fromStore.get(), node.getCaches().getConsensusParams());
+		}
+	}
+
+	@Test
+	@DisplayName("the consensus parameters are computed with the getters of a gas station that is not the generic one")
+	void consensusOfNonGenericGasStationIsComputedWithViews(@TempDir Path dir) throws Exception {
+		try (var node = TrieBasedNode.init(dir, GovernanceReading::createValidatorsBuilder)) {
+			// the gas station is seen as an instance of a class whose getters might be redefined
+			StoreUtilities storeUtilities = node.getStoreUtilities();
+			StorageReference gasStation = storeUtilities.getGasStationUncommitted().get();
+			var reader = new GovernanceReader(withClassName(storeUtilities, gasStation, "io.hotmoka.examples.governance.MyGasStation"));
+			assertTrue(reader.getConsensusParams().isEmpty());
+
+			// hence the node falls back to the getters, that yield the parameters of its initialization
+			assertSameParams(node.getInitialConsensus(), ((NodeCachesImpl) node.getCaches()).getConsensusParamsWithViews());
+		}
+	}
+
+	@Test
+	@DisplayName("the shares of the validators read from store are those computed by calling the getters of the validators")
+	void sharesReadFromStoreAreThoseComputedWithViews(@TempDir Path dir) throws Exception {
+		try (var node = TrieBasedNode.init(dir, GovernanceReading::createValidatorsBuilder)) {
+			StorageReference manifest = node.getManifest();
+			TransactionReference takamakaCode = node.getTakamakaCode();
+			var validators = (StorageReference) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+				(manifest, _100_000, takamakaCode, CodeSignature.GET_VALIDATORS, manifest));
+
+			var fromStore = node.getStoreUtilities().getSharesUncommitted(validators);
+			assertTrue(fromStore.isPresent());
+
+			var shares = (StorageReference) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+				(manifest, _100_000, takamakaCode, GET_SHARES, validators));
+			int size = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+				(manifest, _100_000, takamakaCode, SIZE, shares))).value;
+
+			Map<StorageReference, BigInteger> withViews = new LinkedHashMap<>();
+			for (int num = 0; num < size; num++) {
+				var validator = (StorageReference) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+					(manifest, _100_000, takamakaCode, SELECT, shares, new IntValue(num)));
+				withViews.put(validator, ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+					(manifest, _100_000, takamakaCode, GET, shares, validator))).value);
+			}
+
+			// same bindings, in the same order
+			assertEquals(new ArrayList<>(withViews.entrySet()), new ArrayList<>(fromStore.get().entrySet()));
+			assertEquals(POWERS, fromStore.get().values().stream().sorted().collect(Collectors.toList()));
+		}
+	}
+
+	/**
+	 * Creates the builder of generic validators, one for each of {@link #POWERS}.
+	 */
+	private static StorageReference createValidatorsBuilder(InitializedNode node, ConsensusParams consensus, TransactionReference takamakaCode)
+			throws InvalidKeyException, SignatureException, TransactionRejectedException, TransactionException, CodeExecutionException, NoSuchAlgorithmException {
+		var signature = SignatureAlgorithmForTransactionRequests.mk("ed25519");
+		var encoder = Base64.getEncoder();
+		List<String> publicKeys = new ArrayList<>();
+		for (int num = 0; num < POWERS.size(); num++)
+			publicKeys.add(encoder.encodeToString(signature.encodingOf(signature.getKeyPair().getPublic())));
+
+		StorageReference gamete = node.gamete();
+		BigInteger nonce = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+			(gamete, _100_000, takamakaCode, CodeSignature.NONCE, gamete))).value;
+
+		return node.addConstructorCallTransaction(new ConstructorCallTransactionRequest
+			(new byte[0], gamete, nonce, "", _100_000, ZERO, takamakaCode,
+			new ConstructorSignature("io.takamaka.code.governance.GenericValidators$Builder", ClassType.STRING,
+				ClassType.STRING, ClassType.BIG_INTEGER, ClassType.BIG_INTEGER, BasicTypes.LONG,
+				BasicTypes.INT, BasicTypes.INT, BasicTypes.INT, BasicTypes.INT),
+			new StringValue(String.join(" ", publicKeys)),
+			new StringValue(POWERS.stream().map(BigInteger::toString).collect(Collectors.joining(" "))),
+			new BigIntegerValue(consensus.ticketForNewPoll), new BigIntegerValue(consensus.finalSupply),
+			new LongValue(consensus.initialInflation), new IntValue(consensus.percentStaked),
+			new IntValue(consensus.buyerSurcharge), new IntValue(consensus.slashingForMisbehaving), new IntValue(consensus.slashingForNotBehaving)));
+	}
+
+	/**
+	 * Yields utilities that behave as the given ones, but report the given class name for an object.
+	 */
+	private static StoreUtilities withClassName(StoreUtilities parent, StorageReference object, String className) {
+		return (StoreUtilities) Proxy.newProxyInstance(StoreUtilities.class.getClassLoader(), new Class<?>[] { StoreUtilities.class }, (proxy, method, args) -> {
+			if (method.getName().equals("getClassNameUncommitted") && object.equals(args[0]))
+				return className;
+
+			try {
+				return method.invoke(parent, args);
+			}
+			catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		});
+	}
+
+	private static void assertSameParams(ConsensusParams expected, ConsensusParams actual) throws IllegalAccessException {
+		for (var field: ConsensusParams.class.getFields())
+			if (!Modifier.isStatic(field.getModifiers()))
+				assertEquals(field.get(expected), field.get(actual), field.getName());
+	}
+}
@@ -0,0 +1,145 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static io.hotmoka.tests.TrieBasedNode.CHECKABLE_DEPTH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.signatures.FieldSignature;
+import io.hotmoka.beans.updates.UpdateOfBigInteger;
+import io.hotmoka.beans.values.BigIntegerValue;
+
+/**
+ * A test for the queries to the past states of a node, at a given height or root.
+ */
+class HistoricalStates {
+
+	/**
+	 * The number of blocks committed by the tests.
+	 */
+	private final static int BLOCKS = 8;
+
+	@Test
+	@DisplayName("a view at a retained height sees the state at that height")
+	void viewsAtRetainedHeightsSeeTheirState(@TempDir Path dir) throws Exception {
+		try (var node = TrieBasedNode.init(dir)) {
+			Map<Long, BigInteger> nonces = commitBlocks(node);
+			long height = node.getHeight();
+
+			for (long h = height - CHECKABLE_DEPTH; h <= height; h++)
+				assertEquals(nonces.get(h), ((BigIntegerValue) node.runViewAt(h, node.nonceOfGamete())).value);
+
+			// the states below the retained window are not available anymore, those above do not exist yet
+			for (long h: new long[] { height - CHECKABLE_DEPTH - 1, height - BLOCKS + 1, height + 1 }) {
+				long _h = h;
+				assertThrows(TransactionRejectedException.class, () -> node.runViewAt(_h, node.nonceOfGamete()));
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("the state of an object can be read at a retained root, until it exits the retained window")
+	void stateAtRetainedRootIsThatOfItsHeight(@TempDir Path dir) throws Exception {
+		try (var node = TrieBasedNode.init(dir)) {
+			Map<Long, BigInteger> nonces = commitBlocks(node);
+			long height = node.getHeight() - 1;
+			byte[] root = node.getRootAt(height).get();
+
+			assertEquals(nonces.get(height), nonceIn(node, root));
+
+			// after these commits, the state at height is not retained anymore
+			for (int block = 0; block < CHECKABLE_DEPTH; block++)
+				node.addTransactionOfGamete();
+
+			assertTrue(node.getRootAt(height).isEmpty());
+			assertThrows(NoSuchElementException.class, () -> nonceIn(node, root));
+		}
+	}
+
+	@Test
+	@DisplayName("views at a height run while transactions are being delivered")
+	void viewsAtHeightRunConcurrentlyWithDelivery(@TempDir Path dir) throws Exception {
+		try (var node = TrieBasedNode.init(dir)) {
+			Map<Long, BigInteger> nonces = commitBlocks(node);
+			long start = node.getHeight();
+			BigInteger nonceAtStart = nonces.get(start);
+			var executor = Executors.newSingleThreadExecutor();
+
+			try {
+				var delivery = executor.submit(() -> commitBlocks(node));
+				int views = 0;
+
+				while (!delivery.isDone()) {
+					// each commit only increases the nonce of the gamete
+					long h = node.getHeight();
+
+					try {
+						assertEquals(nonceAtStart.add(BigInteger.valueOf(h - start)), ((BigIntegerValue) node.runViewAt(h, node.nonceOfGamete())).value);
+						views++;
+					}
+					catch (TransactionRejectedException e) {
+						// the state at h exited the retained window in the meanwhile
+					}
+				}
+
+				delivery.get();
+				assertTrue(views > 0);
+			}
+			finally {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * Commits {@link #BLOCKS} blocks, each with a transaction of the gamete.
+	 * 
+	 * @return the nonce of the gamete at the height after each block
+	 */
+	private static Map<Long, BigInteger> commitBlocks(TrieBasedNode node) throws Exception {
+		Map<Long, BigInteger> nonces = new HashMap<>();
+
+		for (int block = 0; block < BLOCKS; block++) {
+			node.addTransactionOfGamete();
+			nonces.put(node.getHeight(), ((BigIntegerValue) node.runInstanceMethodCallTransaction(node.nonceOfGamete())).value);
+		}
+
+		return nonces;
+	}
+
+	private static BigInteger nonceIn(TrieBasedNode node, byte[] root) {
+		return node.getState(node.getGamete(), root)
+			.filter(update -> update instanceof UpdateOfBigInteger)
+			.map(update -> (UpdateOfBigInteger) update)
+			.filter(update -> update.getField().equals(FieldSignature.EOA_NONCE_FIELD))
+			.findFirst().get().value;
+	}
+}
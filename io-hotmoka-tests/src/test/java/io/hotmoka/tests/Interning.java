@@ -0,0 +1,105 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static java.math.BigInteger.ONE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
+import io.hotmoka.beans.references.LocalTransactionReference;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.responses.TransactionResponseWithUpdates;
+import io.hotmoka.beans.responses.VoidMethodCallTransactionSuccessfulResponse;
+import io.hotmoka.beans.signatures.CodeSignature;
+import io.hotmoka.beans.signatures.FieldSignature;
+import io.hotmoka.beans.signatures.MethodSignature;
+import io.hotmoka.beans.signatures.NonVoidMethodSignature;
+import io.hotmoka.beans.types.BasicTypes;
+import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.updates.ClassTag;
+import io.hotmoka.beans.updates.Update;
+import io.hotmoka.beans.updates.UpdateOfField;
+import io.hotmoka.beans.updates.UpdateOfInt;
+import io.hotmoka.beans.values.StorageReference;
+
+/**
+ * Tests for the canonical instances of class types, field and method signatures.
+ */
+class Interning {
+	private final static TransactionReference JAR = new LocalTransactionReference(new byte[32]);
+
+	@Test
+	@DisplayName("the constants are the canonical instances")
+	void constantsAreCanonical() {
+		assertSame(ClassType.BIG_INTEGER, new ClassType(BigInteger.class.getName()).intern());
+		assertSame(FieldSignature.BALANCE_FIELD, new FieldSignature(ClassType.CONTRACT, "balance", ClassType.BIG_INTEGER).intern());
+		assertSame(CodeSignature.GET_BUYER_SURCHARGE, new NonVoidMethodSignature(ClassType.VALIDATORS, "getBuyerSurcharge", BasicTypes.INT).intern());
+	}
+
+	@Test
+	@DisplayName("equal beans have the same canonical instance")
+	void equalBeansHaveSameCanonicalInstance() {
+		var type1 = new ClassType("io.hotmoka.examples.Counter");
+		var type2 = new ClassType("io.hotmoka.examples.Counter");
+		assertNotSame(type1, type2);
+		assertSame(type1.intern(), type2.intern());
+
+		var method1 = new NonVoidMethodSignature(type1, "get", BasicTypes.INT);
+		var method2 = new NonVoidMethodSignature(type2, "get", BasicTypes.INT);
+		assertSame(method1.intern(), method2.intern());
+	}
+
+	@Test
+	@DisplayName("unmarshalled updates and method signatures refer to the canonical instances")
+	void unmarshalledBeansAreCanonical() throws Exception {
+		ClassType counter = new ClassType("io.hotmoka.examples.Counter").intern();
+		FieldSignature field = new FieldSignature(counter, "count", BasicTypes.INT).intern();
+		StorageReference object = new StorageReference(JAR, BigInteger.ZERO);
+		Stream<Update> updates = Stream.of(new ClassTag(object, counter, JAR), new UpdateOfInt(object, field, 42));
+		TransactionResponse response = new VoidMethodCallTransactionSuccessfulResponse(false, updates, Stream.empty(), BigInteger.valueOf(1234), ONE, BigInteger.valueOf(567));
+
+		byte[] bytes = response.toByteArray();
+		List<Update> unmarshalled;
+		try (var context = new BeanUnmarshallingContext(new ByteArrayInputStream(bytes))) {
+			unmarshalled = ((TransactionResponseWithUpdates) TransactionResponse.from(context)).getUpdates().collect(Collectors.toList());
+		}
+
+		assertEquals(2, unmarshalled.size());
+		for (Update update: unmarshalled)
+			if (update instanceof ClassTag)
+				assertSame(counter, ((ClassTag) update).clazz);
+			else
+				assertSame(field, ((UpdateOfField) update).getField());
+
+		MethodSignature method = new NonVoidMethodSignature(counter, "get", BasicTypes.INT).intern();
+		try (var context = new BeanUnmarshallingContext(new ByteArrayInputStream(method.toByteArray()))) {
+			assertSame(method, CodeSignature.from(context));
+		}
+	}
+}
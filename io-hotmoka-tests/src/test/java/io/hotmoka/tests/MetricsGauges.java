@@ -0,0 +1,51 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.DoubleSupplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.nodes.metrics.Metrics;
+
+/**
+ * A test for the registration and unregistration of gauges.
+ */
+class MetricsGauges {
+	private final static String NAME = "hotmoka_test_gauge";
+	private final static String LABELS = "owner=\"test\"";
+
+	@Test @DisplayName("a gauge is unregistered only by the last object that registered it")
+	void onlyTheLastOwnerUnregisters() {
+		DoubleSupplier first = () -> 13;
+		DoubleSupplier second = () -> 17;
+
+		Metrics.gauge(NAME, LABELS, "a gauge for testing", first);
+		Metrics.gauge(NAME, LABELS, "a gauge for testing", second);
+
+		// the first owner has been replaced by the second, hence it cannot remove the gauge
+		Metrics.unregisterGauge(NAME, LABELS, first);
+		assertTrue(Metrics.toPrometheusText().contains(NAME + "{" + LABELS + "} 17.0"));
+
+		Metrics.unregisterGauge(NAME, LABELS, second);
+		assertFalse(Metrics.toPrometheusText().contains(NAME));
+	}
+}
@@ -24,7 +24,11 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.security.InvalidKeyException;
@@ -269,4 +273,24 @@ class NetworkFromNode extends HotmokaTest {
 		// the state that the class tag holds the name of the class that has been created
 		assertEquals(CONSTRUCTOR_INTERNATIONAL_TIME.definingClass.name, classTag.className);
 	}
-}
\ No newline at end of file
+
+	@Test @DisplayName("starts a network server from a Hotmoka node and reads its metrics")
+	void testMetrics() throws IOException {
+		String metrics;
+
+		try (NodeService nodeRestService = NodeService.of(configNoBanner, node)) {
+			HttpURLConnection con = (HttpURLConnection) new URL("http://localhost:8081/metrics").openConnection();
+			try (InputStream is = con.getInputStream()) {
+				metrics = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+			}
+			finally {
+				con.disconnect();
+			}
+		}
+
+		// the installation of the jar in beforeEach() has been checked and delivered
+		assertTrue(metrics.contains("# TYPE hotmoka_deliver_transaction_microseconds histogram"));
+		assertTrue(metrics.contains("hotmoka_deliver_transaction_microseconds_count "));
+		assertTrue(metrics.contains("hotmoka_cache_hit_ratio{cache=\"requests\"} "));
+	}
+}
@@ -24,6 +24,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.NoSuchElementException;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -123,6 +125,34 @@ public class NodeFromNetwork extends HotmokaTest {
         assertEquals(localClassTag, remoteClassTag);
     }
 
+    @Test
+    @DisplayName("starts a network server from a Hotmoka node and reloads the persisted cache of a remote node")
+    void testRemoteCacheIsPersisted() throws Exception {
+    	ClassTag localClassTag = node.getClassTag(account(0));
+    	TransactionRequest<?> localRequest = node.getRequest(node.getTakamakaCode());
+    	Path cacheFile = Files.createTempDirectory("remote").resolve("cache");
+    	RemoteNodeConfig config = new RemoteNodeConfig.Builder().setURL("localhost:8081").setCacheFile(cacheFile).build();
+    	ClassTag remoteClassTag;
+    	TransactionRequest<?> remoteRequest;
+
+        try (NodeService nodeRestService = NodeService.of(serviceConfig, node)) {
+        	try (RemoteNode remoteNode = RemoteNode.of(config)) {
+        		remoteNode.getClassTag(account(0));
+        		remoteNode.getRequest(node.getTakamakaCode());
+        	}
+
+        	assertTrue(Files.size(cacheFile) > 0L);
+
+        	try (RemoteNode remoteNode = RemoteNode.of(config)) {
+        		remoteClassTag = remoteNode.getClassTag(account(0));
+        		remoteRequest = remoteNode.getRequest(node.getTakamakaCode());
+        	}
+        }
+
+        assertEquals(localClassTag, remoteClassTag);
+        assertEquals(localRequest, remoteRequest);
+    }
+
     @Test
     @DisplayName("starts a network server from a Hotmoka node and makes a remote call to getClassTag for a non-existing reference")
     void testRemoteGetClassTagNonExisting() {
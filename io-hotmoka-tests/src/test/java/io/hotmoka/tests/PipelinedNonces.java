@@ -0,0 +1,108 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static java.math.BigInteger.ONE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.signatures.CodeSignature;
+import io.hotmoka.beans.values.IntValue;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.helpers.NonceHelper;
+import io.hotmoka.memory.MemoryBlockchain;
+import io.hotmoka.nodes.Node.CodeSupplier;
+import io.hotmoka.nodes.Signer;
+
+/**
+ * A test for the requests sent from the same account with consecutive nonces,
+ * without waiting for the delivery of the previous ones.
+ */
+public class PipelinedNonces extends HotmokaTest {
+
+	@BeforeEach
+	void beforeEach() throws Exception {
+		setAccounts(_1_000_000, _1_000_000);
+	}
+
+	@Test @DisplayName("requests with consecutive nonces, posted in reverse order, are all executed")
+	void reversedNoncesAreExecuted() throws Exception {
+		assumeTrue(node instanceof MemoryBlockchain);
+
+		BigInteger balanceBefore = getBalanceOf(account(1));
+		BigInteger nonce = new NonceHelper(node).getNonceOf(account(0));
+		List<CodeSupplier<StorageValue>> suppliers = new ArrayList<>();
+		for (int i = 4; i >= 0; i--)
+			suppliers.add(node.postInstanceMethodCallTransaction(payment(nonce.add(BigInteger.valueOf(i)), 100)));
+
+		for (var supplier: suppliers)
+			supplier.get();
+
+		assertEquals(balanceBefore.add(BigInteger.valueOf(500)), getBalanceOf(account(1)));
+	}
+
+	@Test @DisplayName("requests with nonces reserved by the nonce helper are all executed")
+	void reservedNoncesAreExecuted() throws Exception {
+		assumeTrue(node instanceof MemoryBlockchain);
+
+		BigInteger balanceBefore = getBalanceOf(account(1));
+		var nonceHelper = new NonceHelper(node);
+		BigInteger first = nonceHelper.getNonceOf(account(0));
+		List<CodeSupplier<StorageValue>> suppliers = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			BigInteger nonce = nonceHelper.reserveNonceOf(account(0));
+			assertEquals(first.add(BigInteger.valueOf(i)), nonce);
+			suppliers.add(node.postInstanceMethodCallTransaction(payment(nonce, 10)));
+		}
+
+		for (var supplier: suppliers)
+			supplier.get();
+
+		assertEquals(balanceBefore.add(BigInteger.valueOf(100)), getBalanceOf(account(1)));
+		assertEquals(first.add(BigInteger.TEN), nonceHelper.getNonceOf(account(0)));
+
+		nonceHelper.forgetReservedNoncesOf(account(0));
+		assertEquals(first.add(BigInteger.TEN), nonceHelper.reserveNonceOf(account(0)));
+	}
+
+	@Test @DisplayName("a request with an already used nonce is rejected")
+	void staleNonceIsRejected() throws Exception {
+		BigInteger nonce = new NonceHelper(node).getNonceOf(account(0));
+		node.addInstanceMethodCallTransaction(payment(nonce, 100));
+
+		assertThrows(TransactionRejectedException.class, () -> node.postInstanceMethodCallTransaction(payment(nonce, 100)).get());
+	}
+
+	private InstanceMethodCallTransactionRequest payment(BigInteger nonce, int amount) throws Exception {
+		StorageReference payer = account(0);
+		return new InstanceMethodCallTransactionRequest
+			(Signer.with(signature(), privateKey(0)), payer, nonce, chainId, _100_000, ONE, takamakaCode(),
+			CodeSignature.RECEIVE_INT, account(1), new IntValue(amount));
+	}
+}
@@ -0,0 +1,72 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+
+package io.hotmoka.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.hotmoka.nodes.metrics.Counter;
+import io.hotmoka.nodes.metrics.Metrics;
+
+/**
+ * A test for the prefetching of the state needed by the requests that are going to be delivered soon.
+ */
+class Prefetching {
+	private final static String LABELS = "cache=\"classLoaders\"";
+	private final static Counter misses = Metrics.counter("hotmoka_cache_misses_total", LABELS, "lookups that did not find their key in the cache");
+	private final static Counter sharedLoads = Metrics.counter("hotmoka_cache_shared_loads_total", LABELS, "misses that waited for the value computed by another thread");
+
+	@Test
+	@DisplayName("the class loader of a prefetched request is not created again at its delivery")
+	void classLoaderIsCreatedByPrefetching(@TempDir Path dir) throws Exception {
+		try (var node = TrieBasedNode.init(dir)) {
+			var request = node.transactionOfGamete();
+
+			// we drop the class loaders created so far
+			var caches = node.getCaches();
+			caches.invalidate();
+			caches.recomputeConsensus();
+
+			long loadsBefore = loads();
+			node.prefetchFor(request);
+			for (int attempt = 0; attempt < 500 && loads() == loadsBefore; attempt++)
+				Thread.sleep(10);
+
+			assertEquals(loadsBefore + 1, loads());
+
+			// the delivery finds the class loader in cache, or waits for the prefetcher to complete its creation
+			node.addInstanceMethodCallTransaction(request);
+			assertEquals(loadsBefore + 1, loads());
+		}
+	}
+
+	/**
+	 * Yields the number of class loaders created so far, that is, the lookups that missed
+	 * the cache of class loaders and did not wait for the creation of the same class loader by another thread.
+	 * 
+	 * @return the number of class loaders
+	 */
+	private static long loads() {
+		return misses.get() - sharedLoads.get();
+	}
+}
@@ -25,6 +25,7 @@ import java.security.SignatureException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -45,6 +46,10 @@ import io.hotmoka.beans.values.IntValue;
 import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.constants.Constants;
 import io.hotmoka.nodes.Node.Subscription;
+import io.hotmoka.remote.RemoteNode;
+import io.hotmoka.remote.RemoteNodeConfig;
+import io.hotmoka.service.NodeService;
+import io.hotmoka.service.NodeServiceConfig;
 
 /**
  * A test for the remote purchase contract.
@@ -145,6 +150,29 @@ class RemotePurchase extends HotmokaTest {
 		assertEquals(PURCHASE_CONFIRMED_NAME, node.getClassTag(event).clazz.name);
 	}
 
+	@Test @DisplayName("two purchases are confirmed; a remote node subscribed to the events of one of them receives only its events")
+	void remoteNodeReceivesOnlyEventsOfItsCreator() throws Exception {
+		StorageReference purchase1 = addConstructorCallTransaction(privateKey(0), seller, _100_000, BigInteger.ONE, jar(), CONSTRUCTOR_PURCHASE, new IntValue(20));
+		StorageReference purchase2 = addConstructorCallTransaction(privateKey(0), seller, _100_000, BigInteger.ONE, jar(), CONSTRUCTOR_PURCHASE, new IntValue(20));
+		NodeServiceConfig serviceConfig = new NodeServiceConfig.Builder().setPort(8081).setSpringBannerModeOn(false).build();
+		RemoteNodeConfig remoteNodeConfig = new RemoteNodeConfig.Builder().setURL("localhost:8081").build();
+		List<StorageReference> creators = new CopyOnWriteArrayList<>();
+		CompletableFuture<StorageReference> received = new CompletableFuture<>();
+
+		try (NodeService service = NodeService.of(serviceConfig, node); RemoteNode remote = RemoteNode.of(remoteNodeConfig);
+			 Subscription subscription = remote.subscribeToEvents(purchase1, (creator, event) -> { creators.add(creator); received.complete(event); })) {
+
+			// the events of purchase2 are generated first, but they must not reach the subscription
+			addInstanceMethodCallTransaction(privateKey(1), buyer, _50_000, BigInteger.ONE, jar(), CONFIRM_PURCHASED, purchase2, new IntValue(20));
+			addInstanceMethodCallTransaction(privateKey(1), buyer, _50_000, BigInteger.ONE, jar(), CONFIRM_PURCHASED, purchase1, new IntValue(20));
+			assertEquals(PURCHASE_CONFIRMED_NAME, node.getClassTag(received.get(20_000, TimeUnit.MILLISECONDS)).clazz.name);
+			// events travel in distinct topics, hence we give some time to wrongly routed events to arrive
+			Thread.sleep(1_000);
+		}
+
+		assertEquals(List.of(purchase1), creators);
+	}
+
 	@Test @DisplayName("seller runs purchase = new Purchase(20); buyer runs purchase.confirmPurchase(20); a purchase event is generated, subscription without key")
 	void buyerHonestConfirmationEventNoKey() throws TransactionException, CodeExecutionException, TransactionRejectedException, InvalidKeyException, SignatureException, InterruptedException {
 		StorageReference purchase = addConstructorCallTransaction(privateKey(0), seller, _100_000, BigInteger.ONE,jar(), CONSTRUCTOR_PURCHASE, new IntValue(20));
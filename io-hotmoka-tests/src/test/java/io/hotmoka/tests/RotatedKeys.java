@@ -0,0 +1,71 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static io.hotmoka.beans.Coin.panarea;
+
+import java.math.BigInteger;
+import java.security.PrivateKey;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.signatures.CodeSignature;
+import io.hotmoka.beans.signatures.VoidMethodSignature;
+import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.values.BigIntegerValue;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StringValue;
+import io.hotmoka.crypto.Entropies;
+import io.hotmoka.nodes.Signer;
+
+/**
+ * A test for the rotation of the public key of an account.
+ */
+class RotatedKeys extends HotmokaTest {
+	private final static VoidMethodSignature ROTATE_PUBLIC_KEY = new VoidMethodSignature(ClassType.EOA, "rotatePublicKey", ClassType.STRING);
+
+	@BeforeEach
+	void beforeEach() throws Exception {
+		setAccounts(_1_000_000);
+	}
+
+	@Test @DisplayName("after the rotation of its key, an account rejects the old key and accepts the new one")
+	void rotationReplacesTheKey() throws Exception {
+		StorageReference account = account(0);
+		PrivateKey oldKey = privateKey(0);
+		var newKeys = Entropies.random().keys("", signature());
+		var newPublicKey = new StringValue(Base64.getEncoder().encodeToString(signature().encodingOf(newKeys.getPublic())));
+
+		// the rotation is signed with the old key, that the node has consequently seen already
+		addInstanceMethodCallTransaction(oldKey, account, _100_000, panarea(1), takamakaCode(), ROTATE_PUBLIC_KEY, account, newPublicKey);
+
+		throwsTransactionRejectedWithCause("invalid request signature", () ->
+			node.addInstanceMethodCallTransaction(rotationSignedWith(oldKey, account, newPublicKey)));
+
+		node.addInstanceMethodCallTransaction(rotationSignedWith(newKeys.getPrivate(), account, newPublicKey));
+	}
+
+	private InstanceMethodCallTransactionRequest rotationSignedWith(PrivateKey key, StorageReference account, StringValue publicKey) throws Exception {
+		BigInteger nonce = ((BigIntegerValue) runInstanceMethodCallTransaction(account, _100_000, takamakaCode(), CodeSignature.NONCE, account)).value;
+		return new InstanceMethodCallTransactionRequest(Signer.with(signature(), key), account, nonce, chainId, _100_000, panarea(1), takamakaCode(),
+			ROTATE_PUBLIC_KEY, account, publicKey);
+	}
+}
@@ -0,0 +1,125 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.hotmoka.crypto.HashingAlgorithms;
+import io.hotmoka.stores.Snapshot;
+
+/**
+ * Tests for the export and import of snapshots of trie-based stores.
+ */
+class Snapshots {
+
+	@Test
+	@DisplayName("a snapshot exported from a store and imported into another store reproduces the same state")
+	void exportThenImport(@TempDir Path dir) throws Exception {
+		Path snapshotDir = Files.createDirectories(dir.resolve("snapshot"));
+
+		try (var source = TrieBasedNode.init(dir.resolve("source")); var destination = TrieBasedNode.mk(dir.resolve("destination"))) {
+			source.addTransactionOfGamete();
+			long height = source.getHeight();
+			Snapshot exported = source.getStore().exportSnapshot(snapshotDir).get();
+			assertEquals(height, exported.height);
+
+			// the snapshot is reloaded from its metadata, as a peer would do
+			Snapshot snapshot = new Snapshot(height, Snapshot.load(snapshotDir, height).getMetadata());
+			assertArrayEquals(exported.getHash(), snapshot.getHash());
+
+			for (int index = 0; index < snapshot.getNumberOfChunks(); index++) {
+				byte[] chunk = Snapshot.loadChunk(snapshotDir, index);
+				assertTrue(snapshot.isValidChunk(index, chunk));
+				destination.getStore().importSnapshotChunk(chunk);
+			}
+
+			destination.getStore().completeSnapshotImport(snapshot);
+
+			var sourceStore = source.getStore();
+			var destinationStore = destination.getStore();
+			assertEquals(height, destination.getHeight());
+			assertArrayEquals(snapshot.getRoot(), destinationStore.getRootAt(height).get());
+			assertEquals(sourceStore.getManifest(), destinationStore.getManifest());
+			assertEquals(sourceStore.getResponse(source.getTakamakaCode()), destinationStore.getResponse(source.getTakamakaCode()));
+			assertArrayEquals(sourceStore.getHistory(source.getGamete()).toArray(), destinationStore.getHistory(source.getGamete()).toArray());
+		}
+	}
+
+	@Test
+	@DisplayName("metadata with illegal lengths is rejected")
+	void illegalMetadataIsRejected() {
+		// a root of illegal length
+		assertThrows(IOException.class, () -> new Snapshot(13L, metadata(17, 0, 32)));
+		// too many chunks for the size of the metadata
+		assertThrows(IOException.class, () -> new Snapshot(13L, metadata(64, Integer.MAX_VALUE, 32)));
+		// a hash of a chunk of illegal length
+		assertThrows(IOException.class, () -> new Snapshot(13L, metadata(64, 1, 1_000_000)));
+	}
+
+	@Test
+	@DisplayName("a chunk with bindings for an unknown trie is rejected")
+	void unknownTrieIsRejected(@TempDir Path dir) throws Exception {
+		byte[] value = { 1, 2, 3 };
+		byte[] key = HashingAlgorithms.sha256((byte[] bytes) -> bytes).hash(value);
+
+		var baos = new ByteArrayOutputStream();
+		try (var dos = new DataOutputStream(baos)) {
+			dos.writeBoolean(true);
+			dos.writeUTF("unknown");
+			dos.writeInt(key.length);
+			dos.write(key);
+			dos.writeInt(value.length);
+			dos.write(value);
+			dos.writeInt(0);
+			dos.writeBoolean(false);
+		}
+
+		try (var node = TrieBasedNode.mk(dir)) {
+			assertThrows(IOException.class, () -> node.getStore().importSnapshotChunk(baos.toByteArray()));
+		}
+	}
+
+	/**
+	 * Yields the metadata of a snapshot with the given declared lengths. It actually contains
+	 * a single hash of a chunk, of 32 bytes.
+	 */
+	private static byte[] metadata(int rootLength, int numberOfChunks, int hashLength) throws IOException {
+		var baos = new ByteArrayOutputStream();
+		try (var dos = new DataOutputStream(baos)) {
+			dos.writeInt(rootLength);
+			dos.write(new byte[rootLength]);
+			dos.writeInt(numberOfChunks);
+			dos.writeInt(hashLength);
+			dos.write(new byte[32]);
+		}
+
+		return baos.toByteArray();
+	}
+}
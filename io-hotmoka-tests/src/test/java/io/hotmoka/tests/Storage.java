@@ -49,6 +49,9 @@ class Storage extends HotmokaTest {
 	private static final VoidMethodSignature SET = new VoidMethodSignature(SIMPLE_STORAGE, "set", INT);
 	private static final NonVoidMethodSignature GET = new NonVoidMethodSignature(SIMPLE_STORAGE, "get", INT);
 	private static final ConstructorSignature CONSTRUCTOR_SIMPLE_STORAGE = new ConstructorSignature("io.hotmoka.examples.storage.SimpleStorage");
+	private static final ClassType LAZY_FIELDS = new ClassType("io.hotmoka.examples.storage.LazyFields");
+	private static final ConstructorSignature CONSTRUCTOR_LAZY_FIELDS = new ConstructorSignature(LAZY_FIELDS);
+	private static final NonVoidMethodSignature GET_LAZY_FIELDS = new NonVoidMethodSignature(LAZY_FIELDS, "get", INT);
 	private static final BigInteger ALL_FUNDS = BigInteger.valueOf(1_000_000);
 
 	/**
@@ -103,4 +106,23 @@ class Storage extends HotmokaTest {
 		IntValue value = (IntValue) runInstanceMethodCallTransaction(eoa, _50_000, jar(), GET, storage);
 		assertEquals(value.value, 17);
 	}
-}
\ No newline at end of file
+
+	@Test @DisplayName("lazy fields updated in distinct transactions are all read with their latest value")
+	void lazyFieldsUpdatedAcrossTransactionsHaveTheirLatestValue() throws TransactionException, CodeExecutionException, TransactionRejectedException, InvalidKeyException, SignatureException {
+		StorageReference fields = addConstructorCallTransaction(key, eoa, _50_000, BigInteger.ONE, jar(), CONSTRUCTOR_LAZY_FIELDS);
+		setLazyField(fields, "setFirst", 1);
+		setLazyField(fields, "setSecond", 2);
+		setLazyField(fields, "setThird", 3);
+		assertEquals(123, ((IntValue) runInstanceMethodCallTransaction(eoa, _50_000, jar(), GET_LAZY_FIELDS, fields)).value);
+
+		// the history of the object now contains older updates of the first and third field as well
+		setLazyField(fields, "setFirst", 4);
+		setLazyField(fields, "setThird", 5);
+		setLazyField(fields, "setFirst", 6);
+		assertEquals(625, ((IntValue) runInstanceMethodCallTransaction(eoa, _50_000, jar(), GET_LAZY_FIELDS, fields)).value);
+	}
+
+	private void setLazyField(StorageReference fields, String setter, int value) throws TransactionException, CodeExecutionException, TransactionRejectedException, InvalidKeyException, SignatureException {
+		addInstanceMethodCallTransaction(key, eoa, _50_000, BigInteger.ONE, jar(), new VoidMethodSignature(LAZY_FIELDS, setter, INT), fields, new IntValue(value));
+	}
+}
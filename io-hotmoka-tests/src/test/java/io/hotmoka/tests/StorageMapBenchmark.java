@@ -0,0 +1,169 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static io.hotmoka.beans.types.BasicTypes.BOOLEAN;
+import static io.hotmoka.beans.types.BasicTypes.INT;
+import static java.math.BigInteger.ONE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import io.hotmoka.beans.responses.NonInitialTransactionResponse;
+import io.hotmoka.beans.signatures.ConstructorSignature;
+import io.hotmoka.beans.signatures.MethodSignature;
+import io.hotmoka.beans.signatures.NonVoidMethodSignature;
+import io.hotmoka.beans.signatures.VoidMethodSignature;
+import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.values.BigIntegerValue;
+import io.hotmoka.beans.values.BooleanValue;
+import io.hotmoka.beans.values.IntValue;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StorageValue;
+
+/**
+ * A benchmark that compares the gas consumed and the time spent by the storage maps
+ * implemented as binary trees and as B-trees. Each size is filled in batches and then
+ * the same keys are read, added and removed from both maps, one transaction per operation.
+ * The sizes are taken from the comma-separated list in the {@code storageMapSizes} system property,
+ * for instance {@code mvn test -Dtest=StorageMapBenchmark -DstorageMapSizes=1000,10000,100000,1000000}.
+ * They default to 1000 only, since filling the maps of larger sizes takes a long time.
+ */
+class StorageMapBenchmark extends HotmokaTest {
+	private final static Logger logger = Logger.getLogger(StorageMapBenchmark.class.getName());
+	private static final ClassType MAP_BENCHMARK = new ClassType("io.hotmoka.examples.collections.MapBenchmark");
+	private static final ConstructorSignature CONSTRUCTOR = new ConstructorSignature(MAP_BENCHMARK, BOOLEAN);
+	private static final MethodSignature FILL = new VoidMethodSignature(MAP_BENCHMARK, "fill", INT, INT);
+	private static final MethodSignature PUT = new VoidMethodSignature(MAP_BENCHMARK, "put", INT);
+	private static final MethodSignature REMOVE = new VoidMethodSignature(MAP_BENCHMARK, "remove", INT);
+	private static final MethodSignature GET = new NonVoidMethodSignature(MAP_BENCHMARK, "get", ClassType.BIG_INTEGER, INT);
+	private static final MethodSignature SIZE = new NonVoidMethodSignature(MAP_BENCHMARK, "size", INT);
+
+	/**
+	 * The number of keys added to a map in each transaction, while filling the map.
+	 */
+	private static final int BATCH = 200;
+
+	/**
+	 * The number of transactions for each kind of operation, after the map has been filled.
+	 */
+	private static final int OPERATIONS = 20;
+
+	@BeforeAll
+	static void beforeAll() throws Exception {
+		setJar("collections.jar");
+	}
+
+	@BeforeEach
+	void beforeEach() throws Exception {
+		setAccounts(_10_000_000_000);
+	}
+
+	private static Stream<Integer> sizes() {
+		return Stream.of(System.getProperty("storageMapSizes", "1000").split(","))
+			.map(String::trim)
+			.map(Integer::valueOf);
+	}
+
+	@ParameterizedTest @DisplayName("binary tree vs B-tree") @MethodSource("sizes")
+	void compare(int size) throws Exception {
+		Result tree = run(false, size);
+		Result btree = run(true, size);
+		logger.info("size " + size + " binary: " + tree);
+		logger.info("size " + size + " B-tree: " + btree);
+
+		// the B-tree modifies fewer storage objects
+		assertTrue(btree.put.objects < tree.put.objects);
+		assertTrue(btree.remove.objects < tree.remove.objects);
+	}
+
+	/**
+	 * The average gas consumed, storage objects modified and time spent by a kind of operation.
+	 */
+	private static class Measure {
+		private long gas;
+		private long objects;
+		private long nanos;
+		private int count;
+
+		private void add(NonInitialTransactionResponse response, long nanos) {
+			this.gas += response.gasConsumedForCPU.add(response.gasConsumedForRAM).add(response.gasConsumedForStorage).longValue();
+			this.objects += response.getUpdates().map(update -> update.object).distinct().count();
+			this.nanos += nanos;
+			this.count++;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d gas, %d objects, %.2f ms", gas / count, objects / count, nanos / 1_000_000.0 / count);
+		}
+	}
+
+	private static class Result {
+		private final Measure fill = new Measure();
+		private final Measure get = new Measure();
+		private final Measure put = new Measure();
+		private final Measure remove = new Measure();
+
+		@Override
+		public String toString() {
+			return "fill of " + BATCH + " keys: " + fill + "; get: " + get + "; put: " + put + "; remove: " + remove;
+		}
+	}
+
+	private Result run(boolean btree, int size) throws Exception {
+		var result = new Result();
+		StorageReference map = addConstructorCallTransaction(privateKey(0), account(0), _10_000_000, ONE, jar(), CONSTRUCTOR, new BooleanValue(btree));
+		for (int from = 0; from < size; from += BATCH)
+			measure(result.fill, _1_000_000_000, FILL, map, new IntValue(from), new IntValue(Math.min(from + BATCH, size)));
+
+		assertEquals(size, ((IntValue) runInstanceMethodCallTransaction(account(0), _10_000_000, jar(), SIZE, map)).value);
+
+		for (int i = 0; i < OPERATIONS; i++) {
+			// views do not report their gas, hence we run get() inside a transaction
+			int key = i * (size / OPERATIONS);
+			assertEquals(BigInteger.valueOf(key), ((BigIntegerValue) measure(result.get, _10_000_000, GET, map, new IntValue(key))).value);
+		}
+
+		for (int i = 0; i < OPERATIONS; i++)
+			measure(result.put, _10_000_000, PUT, map, new IntValue(size + i));
+
+		for (int i = 0; i < OPERATIONS; i++)
+			measure(result.remove, _10_000_000, REMOVE, map, new IntValue(i * (size / OPERATIONS)));
+
+		assertEquals(size, ((IntValue) runInstanceMethodCallTransaction(account(0), _10_000_000, jar(), SIZE, map)).value);
+
+		return result;
+	}
+
+	private StorageValue measure(Measure measure, BigInteger gas, MethodSignature method, StorageReference map, StorageValue... actuals) throws Exception {
+		long start = System.nanoTime();
+		var supplier = postInstanceMethodCallTransaction(privateKey(0), account(0), gas, ONE, jar(), method, map, actuals);
+		StorageValue result = supplier.get();
+		measure.add((NonInitialTransactionResponse) node.getResponse(supplier.getReferenceOfRequest()), System.nanoTime() - start);
+		return result;
+	}
+}
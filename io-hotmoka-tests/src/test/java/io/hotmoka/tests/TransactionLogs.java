@@ -0,0 +1,78 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.hotmoka.beans.references.LocalTransactionReference;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.JarStoreInitialTransactionRequest;
+import io.hotmoka.beans.responses.JarStoreInitialTransactionResponse;
+import io.hotmoka.memory.internal.TransactionLog;
+
+/**
+ * A test for the log where the memory blockchain keeps its requests and responses.
+ */
+class TransactionLogs {
+
+	@Test @DisplayName("requests and responses written in a log across many segments are read back")
+	void writeAndReadBack(@TempDir Path dir) throws Exception {
+		try (var log = new TransactionLog(dir, 1_000L)) {
+			for (int i = 0; i < 100; i++) {
+				log.add(reference(i), request(i));
+				log.add(reference(i), response(i, 0));
+			}
+
+			// a response replaced later is read in its last version
+			log.add(reference(42), response(42, 1));
+
+			for (int i = 0; i < 100; i++) {
+				assertEquals(Optional.of(request(i)), log.getRequest(reference(i)));
+				assertEquals(Optional.of(response(i, i == 42 ? 1 : 0)), log.getResponse(reference(i)));
+			}
+
+			assertEquals(Optional.empty(), log.getRequest(reference(100)));
+			assertEquals(Optional.empty(), log.getResponse(reference(100)));
+		}
+
+		try (Stream<Path> segments = Files.list(dir)) {
+			assertTrue(segments.count() > 1L);
+		}
+	}
+
+	private static TransactionReference reference(int i) {
+		return new LocalTransactionReference(String.format("%064x", i));
+	}
+
+	private static JarStoreInitialTransactionRequest request(int i) {
+		return new JarStoreInitialTransactionRequest(new byte[] { (byte) i, 1, 2, 3 });
+	}
+
+	private static JarStoreInitialTransactionResponse response(int i, int version) {
+		return new JarStoreInitialTransactionResponse(new byte[] { (byte) i, 4, 5, 6 }, Stream.of(reference(i + 1)), version);
+	}
+}
@@ -0,0 +1,193 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.hotmoka.beans.references.LocalTransactionReference;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.stores.internal.KeyValueStoreBackend;
+import io.hotmoka.stores.internal.KeyValueStoreBackendOnMappedLog;
+import io.hotmoka.stores.internal.KeyValueStoreBackendOnXodus;
+import io.hotmoka.stores.internal.MappedLog;
+import io.hotmoka.stores.internal.TrieOfHistories;
+import io.hotmoka.xodus.env.Environment;
+import io.hotmoka.xodus.env.Transaction;
+
+/**
+ * Tests for the backends that keep the nodes of the Merkle-Patricia tries of the stores.
+ */
+public class TrieBackends {
+	private final static int COMMITS = 20;
+	private final static int UPDATES_PER_COMMIT = 50;
+	private final static TransactionReference CREATION = new LocalTransactionReference(new byte[32]);
+
+	@Test
+	@DisplayName("histories written in Xodus are read back after the backend is reopened")
+	void xodusSurvivesReopening(@TempDir Path dir) {
+		checkSurvivesReopening(dir, env -> new KeyValueStoreBackendOnXodus(env));
+	}
+
+	@Test
+	@DisplayName("histories written in a memory-mapped log are read back after the backend is reopened")
+	void mappedLogSurvivesReopening(@TempDir Path dir) {
+		checkSurvivesReopening(dir, env -> new KeyValueStoreBackendOnMappedLog(dir.resolve("tries")));
+	}
+
+	@Test
+	@DisplayName("a torn record at the end of a memory-mapped log is dropped at reopening, together with what follows")
+	void tornRecordIsDropped(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("test.log");
+		byte[] key1 = { 1 }, key2 = { 2 }, key3 = { 3 };
+		long sizeBeforeKey3;
+
+		try (var log = new MappedLog(file)) {
+			log.append(Map.of(new MappedLog.Key(key1), new byte[] { 10, 11 }));
+			log.append(Map.of(new MappedLog.Key(key2), new byte[] { 20, 21 }));
+			sizeBeforeKey3 = log.size();
+			log.append(Map.of(new MappedLog.Key(key3), new byte[] { 30, 31 }));
+		}
+
+		// we simulate a crash that has written to disk only part of the value of the last record
+		try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 0 }), sizeBeforeKey3 + 3 * Integer.BYTES + key3.length + 1);
+		}
+
+		try (var log = new MappedLog(file)) {
+			assertEquals(sizeBeforeKey3, log.size());
+			assertTrue(log.contains(key1));
+			assertTrue(log.contains(key2));
+			assertFalse(log.contains(key3));
+
+			// new records get appended in place of the torn one
+			log.append(Map.of(new MappedLog.Key(key3), new byte[] { 40 }));
+		}
+
+		try (var log = new MappedLog(file)) {
+			assertEquals(40, log.get(key3)[0]);
+			assertEquals(21, log.get(key2)[1]);
+		}
+	}
+
+	@Test
+	@DisplayName("a compacted memory-mapped log keeps only its live records, also after reopening")
+	void compactionKeepsOnlyTheLiveRecords(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("test.log");
+		byte[] key1 = { 1 }, key2 = { 2 }, key3 = { 3 };
+		long sizeBeforeCompaction;
+
+		try (var log = new MappedLog(file)) {
+			log.append(Map.of(new MappedLog.Key(key1), new byte[] { 10, 11 }, new MappedLog.Key(key2), new byte[] { 20, 21 }));
+			log.append(Map.of(new MappedLog.Key(key1), new byte[] { 12 }));
+			var removal = new HashMap<MappedLog.Key, byte[]>();
+			removal.put(new MappedLog.Key(key2), null);
+			log.append(removal);
+			sizeBeforeCompaction = log.size();
+
+			log.compact();
+			assertTrue(log.size() < sizeBeforeCompaction);
+			assertEquals(12, log.get(key1)[0]);
+			assertFalse(log.contains(key2));
+
+			// appends continue after the compacted records
+			log.append(Map.of(new MappedLog.Key(key3), new byte[] { 30 }));
+		}
+
+		try (var log = new MappedLog(file)) {
+			assertEquals(1, log.get(key1).length);
+			assertEquals(12, log.get(key1)[0]);
+			assertFalse(log.contains(key2));
+			assertEquals(30, log.get(key3)[0]);
+		}
+	}
+
+	private static void checkSurvivesReopening(Path dir, Function<Environment, KeyValueStoreBackend> mkBackend) {
+		Random random = new Random(13011973L);
+		List<TransactionReference> updates = new ArrayList<>();
+		for (int pos = 0; pos < COMMITS * UPDATES_PER_COMMIT; pos++) {
+			byte[] hash = new byte[32];
+			random.nextBytes(hash);
+			updates.add(new LocalTransactionReference(hash));
+		}
+
+		byte[] root = null;
+		Environment env = new Environment(dir.resolve("store").toString());
+		try (KeyValueStoreBackend backend = mkBackend.apply(env)) {
+			backend.open("history");
+
+			for (int commit = 0; commit < COMMITS; commit++) {
+				Transaction txn = env.beginTransaction();
+				backend.beginTransaction(txn);
+				TrieOfHistories trie = new TrieOfHistories(backend.keyValueStoreFor("history", txn, root), commit);
+
+				for (int update = 0; update < UPDATES_PER_COMMIT; update++) {
+					int pos = commit * UPDATES_PER_COMMIT + update;
+					trie.put(object(pos), Stream.of(updates.get(pos), CREATION));
+				}
+
+				root = trie.getRoot();
+				backend.commitTransaction();
+				txn.commit();
+			}
+		}
+		finally {
+			env.close();
+		}
+
+		byte[] finalRoot = root;
+		env = new Environment(dir.resolve("store").toString());
+		try (KeyValueStoreBackend backend = mkBackend.apply(env)) {
+			backend.open("history");
+
+			backend.computeInReadonlyTransaction(txn -> {
+				TrieOfHistories trie = new TrieOfHistories(backend.keyValueStoreFor("history", txn, finalRoot), -1L);
+				for (int pos = 0; pos < COMMITS * UPDATES_PER_COMMIT; pos++)
+					assertEquals(List.of(updates.get(pos), CREATION), trie.get(object(pos)).collect(Collectors.toList()));
+
+				return null;
+			});
+		}
+		finally {
+			env.close();
+		}
+	}
+
+	private static StorageReference object(int pos) {
+		return new StorageReference(CREATION, BigInteger.valueOf(pos));
+	}
+}
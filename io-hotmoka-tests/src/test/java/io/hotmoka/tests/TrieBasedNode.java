@@ -0,0 +1,393 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.hotmoka.beans.Coin;
+import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.nodes.NodeInfo;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.SignedTransactionRequest;
+import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.responses.TransactionResponseWithEvents;
+import io.hotmoka.beans.signatures.CodeSignature;
+import io.hotmoka.beans.signatures.VoidMethodSignature;
+import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.values.BigIntegerValue;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StringValue;
+import io.hotmoka.constants.Constants;
+import io.hotmoka.crypto.Entropies;
+import io.hotmoka.crypto.api.SignatureAlgorithm;
+import io.hotmoka.helpers.InitializedNode;
+import io.hotmoka.helpers.InitializedNode.ProducerOfStorageObject;
+import io.hotmoka.local.AbstractLocalNode;
+import io.hotmoka.local.NodeCaches;
+import io.hotmoka.local.StoreUtilities;
+import io.hotmoka.memory.MemoryBlockchainConfig;
+import io.hotmoka.nodes.ConsensusParams;
+import io.hotmoka.nodes.Node;
+import io.hotmoka.nodes.SignatureAlgorithmForTransactionRequests;
+import io.hotmoka.nodes.Signer;
+import io.hotmoka.stores.PartialTrieBasedWithHistoryStore;
+
+/**
+ * A local node over a trie-based store that keeps its last {@link #CHECKABLE_DEPTH} states.
+ * Each request is delivered in its own block, as soon as it is posted, hence each transaction
+ * increases the height of the node by one. This gives the tests control over the heights
+ * of the states of the store.
+ */
+class TrieBasedNode extends AbstractLocalNode<MemoryBlockchainConfig, TrieBasedNode.TrieStore> {
+
+	/**
+	 * The number of past states kept by the store of the node, besides the current one.
+	 */
+	final static long CHECKABLE_DEPTH = 3L;
+
+	private final static BigInteger _100_000 = BigInteger.valueOf(100_000);
+
+	private ConsensusParams consensus;
+	private SignatureAlgorithm<SignedTransactionRequest> signature;
+	private KeyPair keys;
+	private TransactionReference takamakaCode;
+	private StorageReference gamete;
+	private String chainId;
+
+	private TrieBasedNode(MemoryBlockchainConfig config, ConsensusParams consensus) throws IOException {
+		super(config, consensus);
+	}
+
+	/**
+	 * Yields a node that is not initialized yet, whose data is kept inside the given directory.
+	 * 
+	 * @param dir the directory
+	 * @return the node
+	 */
+	static TrieBasedNode mk(Path dir) throws Exception {
+		var signature = SignatureAlgorithmForTransactionRequests.mk("ed25519det");
+		var keys = Entropies.of(new byte[16]).keys("", signature);
+		var consensus = new ConsensusParams.Builder()
+			.signRequestsWith("ed25519det")
+			.ignoreGasPrice(true)
+			.setInitialSupply(Coin.level7(10000000))
+			.setInitialRedSupply(Coin.level7(10000000))
+			.setPublicKeyOfGamete(Base64.getEncoder().encodeToString(signature.encodingOf(keys.getPublic())))
+			.build();
+
+		var config = new MemoryBlockchainConfig.Builder()
+			.setDir(dir)
+			.setMaxGasPerViewTransaction(BigInteger.valueOf(10_000_000))
+			.setGarbageCollectionPeriod(10L)
+			.build();
+
+		var node = new TrieBasedNode(config, consensus);
+		node.consensus = consensus;
+		node.signature = signature;
+		node.keys = keys;
+
+		return node;
+	}
+
+	/**
+	 * Yields an initialized node, whose data is kept inside the given directory.
+	 * 
+	 * @param dir the directory
+	 * @return the node
+	 */
+	static TrieBasedNode init(Path dir) throws Exception {
+		return init(dir, null);
+	}
+
+	/**
+	 * Yields an initialized node, whose data is kept inside the given directory.
+	 * 
+	 * @param dir the directory
+	 * @param producerOfValidatorsBuilder the algorithm that creates the builder of the validators of the node;
+	 *                                    if this is {@code null}, a generic empty set of validators is created
+	 * @return the node
+	 */
+	static TrieBasedNode init(Path dir, ProducerOfStorageObject producerOfValidatorsBuilder) throws Exception {
+		var node = mk(dir);
+
+		try {
+			InitializedNode.of(node, node.consensus, Paths.get("../modules/explicit/io-takamaka-code-" + Constants.TAKAMAKA_VERSION + ".jar"),
+				producerOfValidatorsBuilder, null);
+			StorageReference manifest = node.getManifest();
+			node.takamakaCode = node.getTakamakaCode();
+			node.gamete = (StorageReference) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+				(manifest, _100_000, node.takamakaCode, CodeSignature.GET_GAMETE, manifest));
+			node.chainId = ((StringValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+				(manifest, _100_000, node.takamakaCode, CodeSignature.GET_CHAIN_ID, manifest))).value;
+		}
+		catch (Exception e) {
+			node.close();
+			throw e;
+		}
+
+		return node;
+	}
+
+	/**
+	 * Yields the number of commits of the store of this node.
+	 * 
+	 * @return the number of commits
+	 */
+	long getHeight() {
+		return store.getNumberOfCommits();
+	}
+
+	/**
+	 * Yields the store of this node.
+	 * 
+	 * @return the store
+	 */
+	TrieStore getStore() {
+		return store;
+	}
+
+	/**
+	 * Yields the consensus parameters used for the initialization of this node.
+	 * 
+	 * @return the consensus parameters
+	 */
+	ConsensusParams getInitialConsensus() {
+		return consensus;
+	}
+
+	/**
+	 * Yields the gamete of this node.
+	 * 
+	 * @return the gamete
+	 */
+	StorageReference getGamete() {
+		return gamete;
+	}
+
+	/**
+	 * Yields a view request that reads the nonce of the gamete.
+	 * 
+	 * @return the request
+	 */
+	InstanceMethodCallTransactionRequest nonceOfGamete() {
+		return new InstanceMethodCallTransactionRequest(gamete, _100_000, takamakaCode, CodeSignature.NONCE, gamete);
+	}
+
+	/**
+	 * Yields the utilities for accessing the store of this node.
+	 * 
+	 * @return the utilities
+	 */
+	StoreUtilities getStoreUtilities() {
+		return storeUtilities;
+	}
+
+	/**
+	 * Yields the caches of this node.
+	 * 
+	 * @return the caches
+	 */
+	NodeCaches getCaches() {
+		return caches;
+	}
+
+	/**
+	 * Runs a transaction signed by the gamete, in a new block. Its only visible effect
+	 * is to increase the nonce of the gamete.
+	 */
+	void addTransactionOfGamete() throws Exception {
+		addInstanceMethodCallTransaction(transactionOfGamete());
+	}
+
+	/**
+	 * Yields a request for a transaction signed by the gamete, whose only visible effect
+	 * is to increase the nonce of the gamete.
+	 * 
+	 * @return the request
+	 */
+	InstanceMethodCallTransactionRequest transactionOfGamete() throws Exception {
+		return transactionOfGamete(chainId);
+	}
+
+	/**
+	 * Yields a request for a transaction signed by the gamete, whose only visible effect
+	 * is to increase the nonce of the gamete.
+	 * 
+	 * @param chainId the chain identifier reported in the request
+	 * @return the request
+	 */
+	InstanceMethodCallTransactionRequest transactionOfGamete(String chainId) throws Exception {
+		return transactionOfGamete(chainId, keys.getPrivate());
+	}
+
+	/**
+	 * Yields a request for a transaction signed with the given key on behalf of the gamete,
+	 * whose only visible effect is to increase the nonce of the gamete.
+	 * 
+	 * @param key the private key used to sign the request
+	 * @return the request
+	 */
+	InstanceMethodCallTransactionRequest transactionOfGameteSignedWith(PrivateKey key) throws Exception {
+		return transactionOfGamete(chainId, key);
+	}
+
+	/**
+	 * Yields a request for a transaction signed by the gamete, whose only visible effect
+	 * is to increase the nonce of the gamete, for the given node, such as a fork of this node.
+	 * 
+	 * @param where the node whose nonce of the gamete is used for the request
+	 * @return the request
+	 */
+	InstanceMethodCallTransactionRequest transactionOfGameteFor(Node where) throws Exception {
+		return transactionOfGamete(where, chainId, keys.getPrivate());
+	}
+
+	private InstanceMethodCallTransactionRequest transactionOfGamete(String chainId, PrivateKey key) throws Exception {
+		return transactionOfGamete(this, chainId, key);
+	}
+
+	private InstanceMethodCallTransactionRequest transactionOfGamete(Node where, String chainId, PrivateKey key) throws Exception {
+		BigInteger nonce = ((BigIntegerValue) where.runInstanceMethodCallTransaction(nonceOfGamete())).value;
+		return new InstanceMethodCallTransactionRequest
+			(Signer.with(signature, key), gamete, nonce, chainId, _100_000, BigInteger.ONE, takamakaCode,
+			new VoidMethodSignature(ClassType.GAMETE, "setMaxFaucet", ClassType.BIG_INTEGER, ClassType.BIG_INTEGER), gamete,
+			new BigIntegerValue(BigInteger.TEN), new BigIntegerValue(BigInteger.TEN));
+	}
+
+	/**
+	 * Prefetches, in background, the state needed for the delivery of the given request.
+	 * 
+	 * @param request the request
+	 */
+	void prefetchFor(TransactionRequest<?> request) {
+		prefetch(request);
+	}
+
+	/**
+	 * Delivers the given request in a new block, without checking it first.
+	 * 
+	 * @param request the request
+	 * @throws TransactionRejectedException if the delivery rejects the request
+	 */
+	synchronized void deliverInNewBlock(TransactionRequest<?> request) throws TransactionRejectedException {
+		store.beginTransaction(System.currentTimeMillis());
+
+		try {
+			deliverTransaction(request);
+		}
+		finally {
+			store.commitAndCheckout();
+		}
+	}
+
+	@Override
+	protected TrieStore mkStore() {
+		return new TrieStore(this);
+	}
+
+	@Override
+	public NodeInfo getNodeInfo() {
+		return new NodeInfo(TrieBasedNode.class.getName(), "1.0", "");
+	}
+
+	@Override
+	protected synchronized void postRequest(TransactionRequest<?> request) {
+		store.beginTransaction(System.currentTimeMillis());
+
+		try {
+			checkTransaction(request);
+			deliverTransaction(request);
+		}
+		catch (TransactionRejectedException e) {
+			// the error has been recorded in the store
+		}
+
+		store.commitAndCheckout();
+	}
+
+	@Override
+	protected void scheduleForNotificationOfEvents(TransactionResponseWithEvents response) {
+		notifyEventsOf(response);
+	}
+
+	/**
+	 * The store of a {@link TrieBasedNode}. It keeps requests and errors in RAM.
+	 */
+	static class TrieStore extends PartialTrieBasedWithHistoryStore<MemoryBlockchainConfig> {
+		private final ConcurrentMap<TransactionReference, TransactionRequest<?>> requests;
+		private final ConcurrentMap<TransactionReference, String> errors;
+
+		private TrieStore(TrieBasedNode node) {
+			super(node, CHECKABLE_DEPTH);
+
+			this.requests = new ConcurrentHashMap<>();
+			this.errors = new ConcurrentHashMap<>();
+			setRootsAsCheckedOut();
+		}
+
+		private TrieStore(TrieStore parent) {
+			super(parent);
+
+			this.requests = parent.requests;
+			this.errors = parent.errors;
+		}
+
+		@Override
+		protected TrieStore mkClone() {
+			return new TrieStore(this);
+		}
+
+		@Override
+		public Optional<String> getError(TransactionReference reference) {
+			return Optional.ofNullable(errors.get(reference));
+		}
+
+		@Override
+		public Optional<TransactionRequest<?>> getRequest(TransactionReference reference) {
+			return Optional.ofNullable(requests.get(reference));
+		}
+
+		@Override
+		public void push(TransactionReference reference, TransactionRequest<?> request, String errorMessage) {
+			requests.put(reference, request);
+			errors.put(reference, errorMessage);
+		}
+
+		@Override
+		protected void setResponse(TransactionReference reference, TransactionRequest<?> request, TransactionResponse response) {
+			requests.put(reference, request);
+			super.setResponse(reference, request, response);
+		}
+
+		private void commitAndCheckout() {
+			synchronized (lock) {
+				checkout(commitTransaction());
+			}
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static java.math.BigInteger.ONE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.beans.references.LocalTransactionReference;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.responses.VoidMethodCallTransactionSuccessfulResponse;
+import io.hotmoka.beans.signatures.FieldSignature;
+import io.hotmoka.beans.types.BasicTypes;
+import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.updates.ClassTag;
+import io.hotmoka.beans.updates.Update;
+import io.hotmoka.beans.updates.UpdateOfBigInteger;
+import io.hotmoka.beans.updates.UpdateOfBoolean;
+import io.hotmoka.beans.updates.UpdateOfInt;
+import io.hotmoka.beans.updates.UpdateOfShort;
+import io.hotmoka.beans.updates.UpdateOfStorage;
+import io.hotmoka.beans.updates.UpdateOfString;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.patricia.Compression;
+import io.hotmoka.patricia.KeyValueStore;
+import io.hotmoka.stores.internal.TrieOfResponses;
+
+/**
+ * Tests for the compression of the values kept in the tries of the stores.
+ */
+public class TrieCompression {
+	private final static int RESPONSES = 500;
+	private final static TransactionReference JAR = new LocalTransactionReference(new byte[32]);
+
+	@Test
+	@DisplayName("compressed values are decompressed into the original ones, uncompressed values are left unchanged")
+	void roundTrip() throws Exception {
+		byte[] marshalled = mkResponse(new Random(13011973L)).toByteArray();
+		byte[] compressed = Compression.compress(marshalled);
+
+		assertTrue(compressed.length < marshalled.length);
+		assertArrayEquals(marshalled, Compression.decompress(compressed));
+		assertSame(marshalled, Compression.decompress(marshalled));
+	}
+
+	@Test
+	@DisplayName("values with an unknown compression are rejected")
+	void unknownVersion() {
+		assertThrows(IOException.class, () -> Compression.decompress(new byte[] { 0x7f, 1, 2, 3, 4, 5 }));
+	}
+
+	@Test
+	@DisplayName("500 responses in a compressed trie have the same root and values as in an uncompressed trie, but take less space")
+	void sameRootLessSpace() {
+		var uncompressedStore = new MapKeyValueStore();
+		var compressedStore = new MapKeyValueStore();
+		var uncompressed = new TrieOfResponses(uncompressedStore, 0L, false);
+		var compressed = new TrieOfResponses(compressedStore, 0L, true);
+		Random random = new Random(13011973L);
+
+		for (int pos = 0; pos < RESPONSES; pos++) {
+			TransactionResponse response = mkResponse(random);
+			uncompressed.put(reference(pos), response);
+			compressed.put(reference(pos), response);
+		}
+
+		assertArrayEquals(uncompressed.getRoot(), compressed.getRoot());
+
+		// a trie that does not compress can still read the compressed values
+		var reader = new TrieOfResponses(compressedStore, -1L);
+		for (int pos = 0; pos < RESPONSES; pos++)
+			assertEquals(uncompressed.get(reference(pos)), reader.get(reference(pos)));
+
+		assertTrue(compressedStore.size() < uncompressedStore.size(),
+			() -> "responses take " + uncompressedStore.size() + " bytes uncompressed and " + compressedStore.size() + " bytes compressed");
+	}
+
+	private static TransactionReference reference(int pos) {
+		return new LocalTransactionReference(ByteBuffer.allocate(32).putInt(pos).array());
+	}
+
+	/**
+	 * Yields a response that creates a token and updates the balance and the nonce of its creator,
+	 * as it occurs when a token is deployed.
+	 */
+	private static TransactionResponse mkResponse(Random random) {
+		byte[] hash = new byte[32];
+		random.nextBytes(hash);
+		TransactionReference transaction = new LocalTransactionReference(hash);
+		StorageReference creator = new StorageReference(transaction, BigInteger.ZERO);
+		StorageReference token = new StorageReference(transaction, BigInteger.ONE);
+		StorageReference totalSupply = new StorageReference(transaction, BigInteger.TWO);
+		StorageReference balances = new StorageReference(transaction, BigInteger.valueOf(3));
+
+		Stream<Update> updates = Stream.of(
+			new UpdateOfBigInteger(creator, FieldSignature.BALANCE_FIELD, BigInteger.valueOf(random.nextInt(1_000_000_000))),
+			new UpdateOfBigInteger(creator, FieldSignature.EOA_NONCE_FIELD, BigInteger.valueOf(random.nextInt(1000))),
+			new ClassTag(token, ClassType.ERC20, JAR),
+			new UpdateOfStorage(token, new FieldSignature(ClassType.ERC20, "totalSupply", ClassType.UNSIGNED_BIG_INTEGER), totalSupply),
+			new UpdateOfStorage(token, new FieldSignature(ClassType.ERC20, "balances", ClassType.MODIFIABLE_STORAGE_MAP), balances),
+			new UpdateOfShort(token, new FieldSignature(ClassType.ERC20, "decimals", BasicTypes.SHORT), (short) 18),
+			new UpdateOfBoolean(token, new FieldSignature(ClassType.ERC20, "generateEvents", BasicTypes.BOOLEAN), false),
+			new UpdateOfString(token, new FieldSignature(ClassType.ERC20, "name", ClassType.STRING), "ExampleCoin"),
+			new UpdateOfString(token, new FieldSignature(ClassType.ERC20, "symbol", ClassType.STRING), "EXC"),
+			new ClassTag(totalSupply, ClassType.UNSIGNED_BIG_INTEGER, JAR),
+			new UpdateOfBigInteger(totalSupply, FieldSignature.UNSIGNED_BIG_INTEGER_VALUE_FIELD, BigInteger.valueOf(random.nextInt(1_000_000_000))),
+			new ClassTag(balances, ClassType.STORAGE_TREE_MAP, JAR),
+			new UpdateOfInt(balances, new FieldSignature(ClassType.STORAGE_TREE_MAP, "size", BasicTypes.INT), 0));
+
+		return new VoidMethodCallTransactionSuccessfulResponse(false, updates, Stream.empty(), BigInteger.valueOf(1234), ONE, BigInteger.valueOf(567));
+	}
+
+	/**
+	 * A key/value store kept in RAM, that measures the size of its values.
+	 */
+	private static class MapKeyValueStore implements KeyValueStore {
+		private final Map<ByteBuffer, byte[]> map = new HashMap<>();
+		private byte[] root;
+
+		@Override
+		public byte[] getRoot() {
+			return root;
+		}
+
+		@Override
+		public void setRoot(byte[] root) {
+			this.root = root;
+		}
+
+		@Override
+		public void put(byte[] key, byte[] value) {
+			map.put(ByteBuffer.wrap(key), value);
+		}
+
+		@Override
+		public void remove(byte[] key) {
+			map.remove(ByteBuffer.wrap(key));
+		}
+
+		@Override
+		public byte[] get(byte[] key) throws NoSuchElementException {
+			byte[] value = map.get(ByteBuffer.wrap(key));
+			if (value == null)
+				throw new NoSuchElementException("missing key");
+
+			return value;
+		}
+
+		private long size() {
+			return map.values().stream().mapToLong(value -> value.length).sum();
+		}
+	}
+}
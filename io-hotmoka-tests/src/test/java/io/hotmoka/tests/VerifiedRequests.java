@@ -0,0 +1,74 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+
+package io.hotmoka.tests;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.crypto.Entropies;
+import io.hotmoka.nodes.SignatureAlgorithmForTransactionRequests;
+
+/**
+ * Tests for the requests that skip, at delivery, the checks already performed when they were checked.
+ */
+class VerifiedRequests {
+
+	@Test
+	@DisplayName("a request checked with consensus parameters replaced in the meanwhile is checked again at delivery")
+	void requestCheckedWithReplacedConsensusIsCheckedAgain(@TempDir Path dir) throws Exception {
+		try (var node = TrieBasedNode.init(dir)) {
+			var caches = node.getCaches();
+			var request = node.transactionOfGamete("not the chain id of the node");
+			var consensusOfTheCheck = caches.getConsensusParams();
+
+			// a check that passed with the old parameters takes note of the request after they have been replaced
+			caches.recomputeConsensus();
+			caches.takeNoteOfVerifiedRequest(request.getReference(), consensusOfTheCheck, BigInteger.ZERO);
+
+			var e = assertThrows(TransactionRejectedException.class, () -> node.deliverInNewBlock(request));
+			assertTrue(e.getMessage().contains("incorrect chain id"));
+
+			// with the current parameters, instead, the checks are skipped, including that of the chain id
+			caches.takeNoteOfVerifiedRequest(request.getReference(), caches.getConsensusParams(), BigInteger.ZERO);
+			assertDoesNotThrow(() -> node.deliverInNewBlock(request));
+		}
+	}
+
+	@Test
+	@DisplayName("the signature of a request is checked again at delivery, also if the request has been verified")
+	void signatureOfVerifiedRequestIsCheckedAgain(@TempDir Path dir) throws Exception {
+		try (var node = TrieBasedNode.init(dir)) {
+			var caches = node.getCaches();
+			// the request is signed with a key that is not that of the gamete, as if the gamete had rotated its key after the check
+			var request = node.transactionOfGameteSignedWith(Entropies.random().keys("", SignatureAlgorithmForTransactionRequests.ed25519det()).getPrivate());
+			caches.takeNoteOfVerifiedRequest(request.getReference(), caches.getConsensusParams(), BigInteger.ZERO);
+
+			var e = assertThrows(TransactionRejectedException.class, () -> node.deliverInNewBlock(request));
+			assertTrue(e.getMessage().contains("invalid request signature"));
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.MethodCallTransactionRequest;
+import io.hotmoka.beans.signatures.CodeSignature;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.nodes.Node;
+import io.hotmoka.remote.RemoteNode;
+import io.hotmoka.remote.RemoteNodeConfig;
+import io.hotmoka.service.NodeService;
+import io.hotmoka.service.NodeServiceConfig;
+
+/**
+ * A test for the execution of batches of view calls.
+ */
+public class ViewBatch extends HotmokaTest {
+
+	@BeforeEach
+	void beforeEach() throws Exception {
+		setAccounts(_1_000_000, _1_000_000, _100_000);
+	}
+
+	@Test @DisplayName("the results of a batch of view calls coincide with those of the calls run one by one")
+	void batchCoincidesWithSingleCalls() throws Exception {
+		List<MethodCallTransactionRequest> requests = views();
+		List<StorageValue> expected = new ArrayList<>();
+		for (var request: requests)
+			expected.add(node.runInstanceMethodCallTransaction((InstanceMethodCallTransactionRequest) request));
+
+		assertEquals(expected, node.runViewBatch(requests));
+	}
+
+	@Test @DisplayName("an empty batch of view calls yields no results")
+	void emptyBatch() throws Exception {
+		assertEquals(List.of(), node.runViewBatch(List.of()));
+	}
+
+	@Test @DisplayName("a batch of view calls through remote nodes yields the results of the node")
+	void remoteBatchCoincidesWithLocalBatch() throws Exception {
+		NodeServiceConfig serviceConfig = new NodeServiceConfig.Builder().setPort(8081).setSpringBannerModeOn(false).build();
+		RemoteNodeConfig httpConfig = new RemoteNodeConfig.Builder().setURL("localhost:8081").build();
+		RemoteNodeConfig webSocketsConfig = new RemoteNodeConfig.Builder().setURL("localhost:8081").setWebSockets(true).build();
+		List<MethodCallTransactionRequest> requests = views();
+		List<StorageValue> expected = node.runViewBatch(requests);
+
+		try (NodeService service = NodeService.of(serviceConfig, node); Node http = RemoteNode.of(httpConfig); Node webSockets = RemoteNode.of(webSocketsConfig)) {
+			assertEquals(expected, http.runViewBatch(requests));
+			assertEquals(expected, webSockets.runViewBatch(requests));
+		}
+	}
+
+	private List<MethodCallTransactionRequest> views() {
+		List<MethodCallTransactionRequest> requests = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			StorageReference account = account(i);
+			requests.add(new InstanceMethodCallTransactionRequest(account, _100_000, takamakaCode(), CodeSignature.BALANCE, account));
+			requests.add(new InstanceMethodCallTransactionRequest(account, _100_000, takamakaCode(), CodeSignature.NONCE, account));
+			requests.add(new InstanceMethodCallTransactionRequest(account, _100_000, takamakaCode(), CodeSignature.PUBLIC_KEY, account));
+		}
+
+		return requests;
+	}
+}
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.logging.LogManager;
 
+import io.hotmoka.tools.internal.moka.Bench;
 import io.hotmoka.tools.internal.moka.BindKey;
 import io.hotmoka.tools.internal.moka.Burn;
 import io.hotmoka.tools.internal.moka.BuyValidation;
@@ -36,6 +37,7 @@ import io.hotmoka.tools.internal.moka.Install;
 import io.hotmoka.tools.internal.moka.Instrument;
 import io.hotmoka.tools.internal.moka.Mint;
 import io.hotmoka.tools.internal.moka.PrintExceptionMessageHandler;
+import io.hotmoka.tools.internal.moka.Profile;
 import io.hotmoka.tools.internal.moka.ResumeTendermint;
 import io.hotmoka.tools.internal.moka.RotateKey;
 import io.hotmoka.tools.internal.moka.SellValidation;
@@ -57,7 +59,8 @@ import picocli.CommandLine.Command;
  */
 @Command(name = "moka",
 
-	subcommands = { BindKey.class,
+	subcommands = { Bench.class,
+					BindKey.class,
 					Burn.class,
 					BuyValidation.class,
 					Call.class,
@@ -73,6 +76,7 @@ import picocli.CommandLine.Command;
 					Install.class,
 					Instrument.class,
 					Mint.class,
+					Profile.class,
 			        ResumeTendermint.class,
 			        RotateKey.class,
 			        SellValidation.class,
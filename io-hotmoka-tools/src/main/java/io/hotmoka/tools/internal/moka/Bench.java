@@ -0,0 +1,631 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tools.internal.moka;
+
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import io.hotmoka.beans.CodeExecutionException;
+import io.hotmoka.beans.TransactionException;
+import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.ConstructorCallTransactionRequest;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.SignedTransactionRequest;
+import io.hotmoka.beans.signatures.CodeSignature;
+import io.hotmoka.beans.signatures.ConstructorSignature;
+import io.hotmoka.beans.signatures.MethodSignature;
+import io.hotmoka.beans.signatures.NonVoidMethodSignature;
+import io.hotmoka.beans.types.BasicTypes;
+import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.values.BigIntegerValue;
+import io.hotmoka.beans.values.IntValue;
+import io.hotmoka.beans.values.LongValue;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.beans.values.StringValue;
+import io.hotmoka.constants.Constants;
+import io.hotmoka.crypto.api.SignatureAlgorithm;
+import io.hotmoka.helpers.GasHelper;
+import io.hotmoka.helpers.InitializedNode;
+import io.hotmoka.helpers.NodeWithAccounts;
+import io.hotmoka.helpers.SignatureHelper;
+import io.hotmoka.memory.MemoryBlockchain;
+import io.hotmoka.memory.MemoryBlockchainConfig;
+import io.hotmoka.nodes.Account;
+import io.hotmoka.nodes.ConsensusParams;
+import io.hotmoka.nodes.Node;
+import io.hotmoka.nodes.Node.CodeSupplier;
+import io.hotmoka.nodes.SignatureAlgorithmForTransactionRequests;
+import io.hotmoka.nodes.Signer;
+import io.hotmoka.remote.RemoteNode;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+@Command(name = "bench",
+	description = "Measures throughput and latency of a node under a mix of coin transfers, ERC20 transfers and view calls",
+	showDefaultValues = true)
+public class Bench extends AbstractCommand {
+
+	private final static BigInteger _500_000 = BigInteger.valueOf(500_000L);
+
+	/**
+	 * The number of ERC20 tokens given to each account before the benchmark starts.
+	 */
+	private final static int TOKENS_PER_ACCOUNT = 1_000_000;
+
+	private final static ConstructorSignature ERC20_CONSTRUCTOR = new ConstructorSignature(ClassType.ERC20, ClassType.STRING, ClassType.STRING, BasicTypes.LONG);
+	private final static MethodSignature ERC20_TRANSFER = new NonVoidMethodSignature(ClassType.ERC20, "transfer", BasicTypes.BOOLEAN, ClassType.CONTRACT, BasicTypes.INT);
+	private final static MethodSignature ERC20_BALANCE_OF = new NonVoidMethodSignature(ClassType.ERC20, "balanceOf", ClassType.UNSIGNED_BIG_INTEGER, ClassType.CONTRACT);
+
+	@Option(names = { "--url" }, description = "the url of the node (without the protocol); if missing, a new node in memory is started and used")
+    private String url;
+
+	@Option(names = { "--payer" }, description = "the reference to the account that pays for the creation of the accounts of the benchmark; only used with --url")
+    private String payer;
+
+	@Option(names = { "--password-of-payer" }, description = "the password of the payer account; if not specified, it will be asked interactively")
+    private String passwordOfPayer;
+
+	@Option(names = { "--interactive" }, description = "run in interactive mode", defaultValue = "true")
+	private boolean interactive;
+
+	@Option(names = { "--dir" }, description = "the directory that will contain blocks and state of the node in memory, if --url is missing", defaultValue = "chain")
+	private Path dir;
+
+	@Option(names = { "--takamaka-code" }, description = "the jar with the basic Takamaka classes that will be installed in the node in memory, if --url is missing",
+			defaultValue = "modules/explicit/io-takamaka-code-TAKAMAKA-VERSION.jar")
+	private String takamakaCode;
+
+	@Option(names = { "--accounts" }, description = "the number of accounts that send the transactions", defaultValue = "32")
+	private int accounts;
+
+	@Option(names = { "--balance" }, description = "the initial balance of each account", defaultValue = "100000000000000")
+	private BigInteger balance;
+
+	@Option(names = { "--transfers" }, description = "the weight of coin transfers in the mix", defaultValue = "50")
+	private int transfers;
+
+	@Option(names = { "--erc20-transfers" }, description = "the weight of ERC20 transfers in the mix", defaultValue = "30")
+	private int erc20Transfers;
+
+	@Option(names = { "--views" }, description = "the weight of calls to @View methods in the mix", defaultValue = "20")
+	private int views;
+
+	@Option(names = { "--rate" }, description = "the target rate, in requests per second, of an open-loop load; if 0, the load is closed-loop", defaultValue = "0")
+	private int rate;
+
+	@Option(names = { "--clients" }, description = "the number of concurrent clients of a closed-loop load, or of threads that send the requests of an open-loop load", defaultValue = "16")
+	private int clients;
+
+	@Option(names = { "--duration" }, description = "the duration of the load, in seconds", defaultValue = "30")
+	private int duration;
+
+	@Option(names = { "--json" }, description = "print the report in JSON")
+	private boolean json;
+
+	@Override
+	protected void execute() throws Exception {
+		if (accounts < 2)
+			throw new IllegalArgumentException("at least two accounts are needed");
+
+		if (clients < 1)
+			throw new IllegalArgumentException("at least one client is needed");
+
+		if (rate == 0 && accounts < clients)
+			throw new IllegalArgumentException("a closed-loop load needs at least as many accounts as clients");
+
+		if (rate < 0 || duration <= 0 || transfers < 0 || erc20Transfers < 0 || views < 0 || transfers + erc20Transfers + views == 0)
+			throw new IllegalArgumentException("rate, duration and weights of the mix must be non-negative, with positive duration and weights not all 0");
+
+		new Run();
+	}
+
+	/**
+	 * The kinds of operations of the load.
+	 */
+	private enum Kind {
+		TRANSFER("coin transfers"), ERC20_TRANSFER("ERC20 transfers"), VIEW("views");
+
+		private final String description;
+
+		private Kind(String description) {
+			this.description = description;
+		}
+	}
+
+	private class Run {
+		private final Node node;
+		private final TransactionReference classpath;
+		private final String chainId;
+		private final BigInteger gasPrice;
+		private final Sender[] senders;
+		private final StorageReference erc20;
+		private final Statistics[] statistics = new Statistics[Kind.values().length];
+		private final ConcurrentMap<String, LongAdder> rejections = new ConcurrentHashMap<>();
+		private final ConcurrentMap<String, LongAdder> failures = new ConcurrentHashMap<>();
+		private long elapsed;
+
+		private Run() throws Exception {
+			for (Kind kind: Kind.values())
+				statistics[kind.ordinal()] = new Statistics();
+
+			if (url == null) {
+				var signature = SignatureAlgorithmForTransactionRequests.ed25519();
+				KeyPair keysOfGamete = signature.getKeyPair();
+				BigInteger supply = balance.multiply(BigInteger.valueOf(accounts + 1L));
+
+				ConsensusParams consensus = new ConsensusParams.Builder()
+					.ignoreGasPrice(true)
+					.setInitialSupply(supply)
+					.setFinalSupply(supply)
+					.setPublicKeyOfGamete(Base64.getEncoder().encodeToString(signature.encodingOf(keysOfGamete.getPublic())))
+					.build();
+
+				try (Node node = this.node = MemoryBlockchain.init(new MemoryBlockchainConfig.Builder().setDir(dir).build(), consensus)) {
+					InitializedNode initialized = InitializedNode.of(node, consensus, Paths.get(takamakaCode.replace("TAKAMAKA-VERSION", Constants.TAKAMAKA_VERSION)));
+					NodeWithAccounts nodeWithAccounts = NodeWithAccounts.of(node, initialized.gamete(), keysOfGamete.getPrivate(), funds());
+					this.classpath = node.getTakamakaCode();
+					this.chainId = chainId();
+					this.gasPrice = new GasHelper(node).getSafeGasPrice();
+					this.senders = senders(nodeWithAccounts);
+					this.erc20 = createERC20();
+					load();
+				}
+			}
+			else {
+				checkStorageReference(payer);
+				passwordOfPayer = ensurePassword(passwordOfPayer, "the payer account", interactive, false);
+
+				try (Node node = this.node = RemoteNode.of(remoteNodeConfig(url))) {
+					StorageReference payer = new StorageReference(Bench.this.payer);
+					KeyPair keysOfPayer = readKeys(new Account(payer), node, passwordOfPayer);
+					NodeWithAccounts nodeWithAccounts = NodeWithAccounts.of(node, payer, keysOfPayer.getPrivate(), funds());
+					this.classpath = node.getTakamakaCode();
+					this.chainId = chainId();
+					this.gasPrice = new GasHelper(node).getSafeGasPrice();
+					this.senders = senders(nodeWithAccounts);
+					this.erc20 = createERC20();
+					load();
+				}
+			}
+
+			if (json)
+				printJSON();
+			else
+				printReport();
+		}
+
+		private BigInteger[] funds() {
+			var funds = new BigInteger[accounts];
+			for (int i = 0; i < accounts; i++)
+				funds[i] = balance;
+
+			return funds;
+		}
+
+		private String chainId() throws TransactionRejectedException, TransactionException, CodeExecutionException {
+			StorageReference manifest = node.getManifest();
+			return ((StringValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+				(manifest, _100_000, classpath, CodeSignature.GET_CHAIN_ID, manifest))).value;
+		}
+
+		private Sender[] senders(NodeWithAccounts nodeWithAccounts) throws Exception {
+			// all accounts are created with the same signature algorithm
+			SignatureAlgorithm<SignedTransactionRequest> signature = new SignatureHelper(node).signatureAlgorithmFor(nodeWithAccounts.account(0));
+			var senders = new Sender[accounts];
+			for (int i = 0; i < accounts; i++)
+				senders[i] = new Sender(nodeWithAccounts.account(i), Signer.with(signature, nodeWithAccounts.privateKey(i)));
+
+			return senders;
+		}
+
+		/**
+		 * Creates an ERC20 token, owned by the first account, and distributes
+		 * the same amount of tokens to all other accounts.
+		 *
+		 * @return the reference to the token
+		 */
+		private StorageReference createERC20() throws Exception {
+			Sender owner = senders[0];
+			StorageReference erc20 = node.addConstructorCallTransaction(new ConstructorCallTransactionRequest
+				(owner.signer, owner.account, owner.nextNonce(), chainId, _500_000, gasPrice, classpath, ERC20_CONSTRUCTOR,
+				new StringValue("Bench"), new StringValue("BNC"), new LongValue((long) TOKENS_PER_ACCOUNT * accounts)));
+
+			// the transfers are posted together and only then waited for, which is much faster than adding them one by one
+			List<CodeSupplier<StorageValue>> transfers = new ArrayList<>();
+			for (int i = 1; i < accounts; i++)
+				transfers.add(node.postInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+					(owner.signer, owner.account, owner.nextNonce(), chainId, _500_000, gasPrice, classpath, ERC20_TRANSFER,
+					erc20, senders[i].account, new IntValue(TOKENS_PER_ACCOUNT))));
+
+			for (var transfer: transfers)
+				transfer.get();
+
+			return erc20;
+		}
+
+		private void load() throws InterruptedException {
+			long start = System.nanoTime();
+			long deadline = start + TimeUnit.SECONDS.toNanos(duration);
+			ExecutorService executor = Executors.newFixedThreadPool(clients);
+
+			try {
+				if (rate > 0) {
+					// open loop: the requests are sent at a fixed rate, regardless of the completion of the previous ones;
+					// latency is measured from the time when each request was meant to be sent, hence it includes
+					// the time spent waiting for a free thread when the node cannot keep up with the rate
+					long period = TimeUnit.SECONDS.toNanos(1) / rate;
+					for (long scheduled = start; scheduled < deadline; scheduled += period) {
+						long delay = scheduled - System.nanoTime();
+						if (delay > 0)
+							LockSupport.parkNanos(delay);
+
+						long when = scheduled;
+						executor.execute(() -> send(senders[ThreadLocalRandom.current().nextInt(accounts)], when));
+					}
+				}
+				else {
+					// closed loop: each client sends a new request as soon as the previous one completes;
+					// the accounts are partitioned among the clients, so that clients do not compete for the same nonces
+					for (int client = 0; client < clients; client++) {
+						int first = client;
+						executor.execute(() -> {
+							for (int next = first; System.nanoTime() < deadline; next = next + clients < accounts ? next + clients : first)
+								send(senders[next], System.nanoTime());
+						});
+					}
+				}
+			}
+			finally {
+				executor.shutdown();
+				executor.awaitTermination(1, TimeUnit.HOURS);
+				elapsed = System.nanoTime() - start;
+			}
+		}
+
+		/**
+		 * Sends a request of the mix on behalf of the given sender and records its outcome.
+		 *
+		 * @param sender the sender of the request
+		 * @param when the time when the request was meant to be sent, as given by {@link System#nanoTime()}
+		 */
+		private void send(Sender sender, long when) {
+			var random = ThreadLocalRandom.current();
+			int choice = random.nextInt(transfers + erc20Transfers + views);
+			Kind kind = choice < transfers ? Kind.TRANSFER : choice < transfers + erc20Transfers ? Kind.ERC20_TRANSFER : Kind.VIEW;
+			StorageReference receiver = senders[random.nextInt(accounts)].account;
+			Statistics statistics = this.statistics[kind.ordinal()];
+
+			try {
+				switch (kind) {
+				case TRANSFER:
+					node.addInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+						(sender.signer, sender.account, sender.nextNonce(), chainId, _100_000, gasPrice, classpath, CodeSignature.RECEIVE_INT,
+						receiver, new IntValue(1)));
+					break;
+				case ERC20_TRANSFER:
+					node.addInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+						(sender.signer, sender.account, sender.nextNonce(), chainId, _500_000, gasPrice, classpath, ERC20_TRANSFER,
+						erc20, receiver, new IntValue(1)));
+					break;
+				case VIEW:
+					node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+						(sender.account, _100_000, classpath, ERC20_BALANCE_OF, erc20, receiver));
+					break;
+				}
+
+				statistics.latencies.record(System.nanoTime() - when);
+			}
+			catch (TransactionException | CodeExecutionException e) {
+				// the transaction has been executed, hence its latency is meaningful
+				statistics.latencies.record(System.nanoTime() - when);
+				statistics.failed.increment();
+				failures.computeIfAbsent(reasonOf(e), _reason -> new LongAdder()).increment();
+			}
+			catch (TransactionRejectedException | InvalidKeyException | SignatureException | RuntimeException e) {
+				statistics.rejected.increment();
+				rejections.computeIfAbsent(reasonOf(e), _reason -> new LongAdder()).increment();
+
+				// the nonce has not been consumed, hence the next requests of the sender would be rejected as well
+				if (kind != Kind.VIEW)
+					sender.resyncNonce();
+			}
+		}
+
+		private String reasonOf(Exception e) {
+			String message = e.getMessage();
+			if (message == null)
+				return e.getClass().getName();
+
+			// we drop the details that would make each reason unique
+			int newline = message.indexOf('\n');
+			if (newline >= 0)
+				message = message.substring(0, newline);
+
+			return message.length() > 120 ? message.substring(0, 120) + "..." : message;
+		}
+
+		private long completed() {
+			long completed = 0L;
+			for (Statistics statistics: statistics)
+				completed += statistics.latencies.count();
+
+			return completed;
+		}
+
+		private double perSecond(long count) {
+			return count * 1_000_000_000.0 / elapsed;
+		}
+
+		private void printReport() {
+			System.out.println(ANSI_CYAN + "Benchmark of " + (url == null ? "a node in memory" : url) + " with " + accounts + " accounts, "
+				+ (rate > 0 ? "open loop at " + rate + " requests/s" : "closed loop with " + clients + " clients")
+				+ ", for " + String.format("%.1f", elapsed / 1_000_000_000.0) + " s:" + ANSI_RESET);
+			System.out.printf("%-16s %10s %8s %9s %10s %10s %10s %10s %10s %10s%n", "", "completed", "failed", "rejected", "req/s", "p50 (ms)", "p90 (ms)", "p99 (ms)", "p99.9 (ms)", "max (ms)");
+
+			for (Kind kind: Kind.values())
+				printLine(kind.description, statistics[kind.ordinal()]);
+
+			Statistics total = new Statistics();
+			for (Statistics statistics: statistics)
+				total.addAll(statistics);
+
+			printLine("total", total);
+			printReasons("Rejections:", rejections);
+			printReasons("Failures:", failures);
+		}
+
+		private void printLine(String description, Statistics statistics) {
+			LatencyHistogram latencies = statistics.latencies;
+			System.out.printf("%-16s %10d %8d %9d %10.1f %10.3f %10.3f %10.3f %10.3f %10.3f%n", description,
+				latencies.count(), statistics.failed.sum(), statistics.rejected.sum(), perSecond(latencies.count()),
+				latencies.percentile(50.0) / 1000.0, latencies.percentile(90.0) / 1000.0, latencies.percentile(99.0) / 1000.0,
+				latencies.percentile(99.9) / 1000.0, latencies.max() / 1000.0);
+		}
+
+		private void printReasons(String title, Map<String, LongAdder> reasons) {
+			if (!reasons.isEmpty()) {
+				System.out.println(ANSI_CYAN + title + ANSI_RESET);
+				reasons.entrySet().stream()
+					.sorted(Comparator.comparingLong(entry -> -entry.getValue().sum()))
+					.forEachOrdered(entry -> System.out.printf("%10d  %s%n", entry.getValue().sum(), entry.getKey()));
+			}
+		}
+
+		private void printJSON() {
+			var sb = new StringBuilder("{");
+			sb.append("\"node\":").append(url == null ? "null" : quote(url));
+			sb.append(",\"accounts\":").append(accounts);
+			sb.append(",\"mode\":").append(rate > 0 ? "\"open\"" : "\"closed\"");
+			sb.append(",\"rate\":").append(rate);
+			sb.append(",\"clients\":").append(clients);
+			sb.append(",\"seconds\":").append(elapsed / 1_000_000_000.0);
+			sb.append(",\"completed\":").append(completed());
+			sb.append(",\"throughput\":").append(perSecond(completed()));
+			sb.append(",\"kinds\":{");
+			for (Kind kind: Kind.values()) {
+				Statistics statistics = this.statistics[kind.ordinal()];
+				LatencyHistogram latencies = statistics.latencies;
+				if (kind.ordinal() > 0)
+					sb.append(',');
+
+				sb.append(quote(kind.name().toLowerCase())).append(":{");
+				sb.append("\"completed\":").append(latencies.count());
+				sb.append(",\"failed\":").append(statistics.failed.sum());
+				sb.append(",\"rejected\":").append(statistics.rejected.sum());
+				sb.append(",\"throughput\":").append(perSecond(latencies.count()));
+				sb.append(",\"latency_ms\":{");
+				sb.append("\"p50\":").append(latencies.percentile(50.0) / 1000.0);
+				sb.append(",\"p90\":").append(latencies.percentile(90.0) / 1000.0);
+				sb.append(",\"p99\":").append(latencies.percentile(99.0) / 1000.0);
+				sb.append(",\"p99.9\":").append(latencies.percentile(99.9) / 1000.0);
+				sb.append(",\"max\":").append(latencies.max() / 1000.0);
+				sb.append("}}");
+			}
+			sb.append('}');
+			sb.append(",\"rejections\":");
+			appendReasons(sb, rejections);
+			sb.append(",\"failures\":");
+			appendReasons(sb, failures);
+			sb.append('}');
+
+			System.out.println(sb);
+		}
+
+		private void appendReasons(StringBuilder sb, Map<String, LongAdder> reasons) {
+			sb.append('{');
+			boolean first = true;
+			for (var entry: reasons.entrySet()) {
+				if (!first)
+					sb.append(',');
+
+				sb.append(quote(entry.getKey())).append(':').append(entry.getValue().sum());
+				first = false;
+			}
+			sb.append('}');
+		}
+
+		private String quote(String s) {
+			var sb = new StringBuilder("\"");
+			for (char c: s.toCharArray()) {
+				if (c == '"' || c == '\\')
+					sb.append('\\').append(c);
+				else if (c < ' ')
+					sb.append(String.format("\\u%04x", (int) c));
+				else
+					sb.append(c);
+			}
+
+			return sb.append('"').toString();
+		}
+
+		/**
+		 * An account that sends requests, with the nonce for its next request.
+		 */
+		private class Sender {
+			private final StorageReference account;
+			private final Signer signer;
+			private BigInteger nonce;
+
+			private Sender(StorageReference account, Signer signer) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+				this.account = account;
+				this.signer = signer;
+				this.nonce = nonceInNode();
+			}
+
+			private synchronized BigInteger nextNonce() {
+				BigInteger result = nonce;
+				nonce = nonce.add(BigInteger.ONE);
+				return result;
+			}
+
+			/**
+			 * Reads again the nonce of the account from the node, after a request has been rejected
+			 * and its nonce has not been consumed.
+			 */
+			private synchronized void resyncNonce() {
+				try {
+					nonce = nonceInNode();
+				}
+				catch (TransactionRejectedException | TransactionException | CodeExecutionException e) {
+					// we keep the current nonce and hope for the best
+				}
+			}
+
+			private BigInteger nonceInNode() throws TransactionRejectedException, TransactionException, CodeExecutionException {
+				return ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+					(account, _100_000, classpath, CodeSignature.NONCE, account))).value;
+			}
+		}
+	}
+
+	/**
+	 * The outcomes of the requests of a kind.
+	 */
+	private static class Statistics {
+		private final LatencyHistogram latencies = new LatencyHistogram();
+		private final LongAdder failed = new LongAdder();
+		private final LongAdder rejected = new LongAdder();
+
+		private void addAll(Statistics other) {
+			latencies.addAll(other.latencies);
+			failed.add(other.failed.sum());
+			rejected.add(other.rejected.sum());
+		}
+	}
+
+	/**
+	 * A histogram of latencies, in microseconds, in the style of HdrHistogram: values below 128
+	 * are counted exactly, larger values in buckets whose width is 1/64 of their magnitude,
+	 * hence percentiles are reported with a relative error below 1.6%, in constant memory.
+	 * Values can be recorded concurrently.
+	 */
+	private static class LatencyHistogram {
+
+		/**
+		 * The number of bits of precision of the buckets.
+		 */
+		private final static int PRECISION = 6;
+		private final static int SUB_BUCKETS = 1 << PRECISION;
+
+		private final AtomicLongArray counts = new AtomicLongArray((64 - PRECISION) * SUB_BUCKETS);
+		private final LongAdder count = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+		private void record(long nanos) {
+			long micros = Math.max(0L, nanos / 1000L);
+			counts.incrementAndGet(indexOf(micros));
+			count.increment();
+			max.accumulate(micros);
+		}
+
+		private void addAll(LatencyHistogram other) {
+			for (int i = 0; i < counts.length(); i++)
+				counts.addAndGet(i, other.counts.get(i));
+
+			count.add(other.count());
+			max.accumulate(other.max());
+		}
+
+		private long count() {
+			return count.sum();
+		}
+
+		private long max() {
+			return max.get();
+		}
+
+		/**
+		 * Yields the given percentile of the recorded values.
+		 *
+		 * @param percentile the percentile, between 0 and 100
+		 * @return the highest value equivalent to the percentile, in microseconds; this is 0 if no value has been recorded
+		 */
+		private long percentile(double percentile) {
+			long count = count();
+			if (count == 0L)
+				return 0L;
+
+			long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+			long seen = 0L;
+			for (int i = 0; i < counts.length(); i++) {
+				seen += counts.get(i);
+				if (seen >= rank)
+					return Math.min(highestValueAt(i), max());
+			}
+
+			return max();
+		}
+
+		private static int indexOf(long value) {
+			if (value < 2 * SUB_BUCKETS)
+				return (int) value;
+
+			int shift = 63 - Long.numberOfLeadingZeros(value) - PRECISION;
+			return SUB_BUCKETS * (shift + 1) + (int) (value >>> shift) - SUB_BUCKETS;
+		}
+
+		private static long highestValueAt(int index) {
+			if (index < 2 * SUB_BUCKETS)
+				return index;
+
+			int shift = index / SUB_BUCKETS - 1;
+			long mantissa = index % SUB_BUCKETS + SUB_BUCKETS;
+			return ((mantissa + 1) << shift) - 1;
+		}
+	}
+}
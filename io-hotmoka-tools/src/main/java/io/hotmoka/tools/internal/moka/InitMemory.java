@@ -107,6 +107,8 @@ public class InitMemory extends AbstractCommand {
 			MemoryBlockchainConfig nodeConfig = new MemoryBlockchainConfig.Builder()
 				.setMaxGasPerViewTransaction(maxGasPerView)
 				.setDir(dir)
+				// this node is meant for experimentation, hence its transactions are visible on disk
+				.setDumpsTransactions(true)
 				.build();
 
 			networkConfig = new NodeServiceConfig.Builder()
@@ -0,0 +1,120 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tools.internal.moka;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+@Command(name = "profile",
+	description = "Summarizes the Hotmoka events of a flight recording, by phase and by contract method",
+	showDefaultValues = true)
+public class Profile extends AbstractCommand {
+
+	/**
+	 * The prefix of the names of the flight recorder events emitted by Hotmoka.
+	 */
+	private final static String PREFIX = "io.hotmoka.";
+
+	@Parameters(index = "0", description = "the flight recording, as created for instance with -XX:StartFlightRecording=filename=recording.jfr")
+	private Path recording;
+
+	@Option(names = { "--top" }, description = "the number of contract methods to report, the most expensive first", defaultValue = "20")
+	private int top;
+
+	@Override
+	protected void execute() throws Exception {
+		Map<String, Statistics> phases = new HashMap<>();
+		Map<String, Statistics> methods = new HashMap<>();
+		Map<String, String> methodOfTransaction = new HashMap<>();
+		Map<String, Long> gasOfTransaction = new HashMap<>();
+
+		try (var file = new RecordingFile(recording)) {
+			while (file.hasMoreEvents()) {
+				RecordedEvent event = file.readEvent();
+				String name = event.getEventType().getName();
+				if (!name.startsWith(PREFIX))
+					continue;
+
+				long nanos = event.getDuration().toNanos();
+				phases.computeIfAbsent(name.substring(PREFIX.length()), _name -> new Statistics()).add(nanos);
+
+				if (name.equals(PREFIX + "CodeExecution")) {
+					String code = event.getString("code");
+					methods.computeIfAbsent(code, _code -> new Statistics()).add(nanos);
+					methodOfTransaction.put(event.getString("transaction"), code);
+				}
+				else if (name.equals(PREFIX + "Deliver") && event.getLong("gas") >= 0L)
+					gasOfTransaction.put(event.getString("transaction"), event.getLong("gas"));
+			}
+		}
+
+		if (phases.isEmpty())
+			throw new CommandException("The recording contains no Hotmoka event");
+
+		// the gas is attributed to the method called by each delivered transaction
+		gasOfTransaction.forEach((transaction, gas) -> {
+			String code = methodOfTransaction.get(transaction);
+			if (code != null)
+				methods.get(code).gas += gas;
+		});
+
+		System.out.println(ANSI_CYAN + "By phase:" + ANSI_RESET);
+		System.out.printf("%-20s %10s %14s %12s %12s%n", "phase", "count", "total (ms)", "mean (ms)", "max (ms)");
+		phases.entrySet().stream()
+			.sorted(Comparator.comparingLong(entry -> -entry.getValue().total))
+			.forEachOrdered(entry -> System.out.printf("%-20s %s%n", entry.getKey(), entry.getValue()));
+
+		if (!methods.isEmpty()) {
+			System.out.println();
+			System.out.println(ANSI_CYAN + "By contract method:" + ANSI_RESET);
+			System.out.printf("%10s %14s %12s %12s %14s  %s%n", "count", "total (ms)", "mean (ms)", "max (ms)", "gas", "method");
+			methods.entrySet().stream()
+				.sorted(Comparator.comparingLong(entry -> -entry.getValue().total))
+				.limit(top)
+				.forEachOrdered(entry -> System.out.printf("%s %14d  %s%n", entry.getValue(), entry.getValue().gas, entry.getKey()));
+		}
+	}
+
+	/**
+	 * The statistics about a set of events.
+	 */
+	private static class Statistics {
+		private long count;
+		private long total;
+		private long max;
+		private long gas;
+
+		private void add(long nanos) {
+			count++;
+			total += nanos;
+			max = Math.max(max, nanos);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%10d %14.3f %12.3f %12.3f", count, total / 1_000_000.0, total / 1_000_000.0 / count, max / 1_000_000.0);
+		}
+	}
+}
@@ -29,6 +29,7 @@ module io.hotmoka.tools {
 	requires io.hotmoka.crypto;
 	requires info.picocli;
 	requires java.logging;
+	requires jdk.jfr;
 	opens io.hotmoka.tools to info.picocli; // for injecting CLI options
     opens io.hotmoka.tools.internal.moka to info.picocli; // for injecting CLI options
 }
\ No newline at end of file
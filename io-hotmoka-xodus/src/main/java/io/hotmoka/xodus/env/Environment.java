@@ -42,10 +42,18 @@ public class Environment {
 		return new Transaction(parent.beginTransaction());
 	}
 
+	public Transaction beginExclusiveTransaction() {
+		return new Transaction(parent.beginExclusiveTransaction());
+	}
+
 	public void executeInTransaction(Consumer<Transaction> executable) {
 		parent.executeInTransaction(txn -> executable.accept(new Transaction(txn)));
 	}
 
+	public <T> T computeInTransaction(Function<Transaction, T> computable) {
+		return parent.computeInTransaction(txn -> computable.apply(new Transaction(txn)));
+	}
+
 	public <T> T computeInReadonlyTransaction(Function<Transaction, T> computable) {
 		return parent.computeInReadonlyTransaction(txn -> computable.apply(new Transaction(txn)));
 	}
@@ -0,0 +1,1081 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.takamaka.code.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.takamaka.code.lang.Exported;
+import io.takamaka.code.lang.Storage;
+import io.takamaka.code.lang.View;
+
+/**
+ * A map from integer keys to (possibly {@code null}) storage values,
+ * that can be kept in storage. By iterating on this object, one gets
+ * the key/value pairs of the map, in increasing key order.
+ * <p>
+ * This implementation uses a B-tree whose nodes hold up to seven keys
+ * with their values. It is hence much shallower than the binary tree of
+ * {@link StorageTreeIntMap}: the <em>get</em>, <em>contains</em>, <em>put</em> and
+ * <em>remove</em> operations load from store and write back into store
+ * a number of nodes that is about a third of those of a binary tree,
+ * which makes them cheaper in terms of gas for large maps.
+ * Nodes are never modified, but rebuilt along the path to the modified key.
+ * Hence snapshots take constant time.
+ * Since keys are integers, they are loaded together with their node.
+ * The <em>size</em>, and <em>is-empty</em> operations take constant time.
+ * Construction takes constant time.
+ *
+ * @param <V> the type of the values
+ */
+public class StorageBTreeIntMap<V> extends Storage implements StorageIntMap<V> {
+
+	/**
+	 * The maximal number of keys in a node.
+	 */
+	private final static int MAX_KEYS = 7;
+
+	/**
+	 * The minimal number of keys in a node, except the root.
+	 */
+	private final static int MIN_KEYS = 3;
+
+	/**
+	 * An upper bound to the height of the tree, since each node,
+	 * except the root, has at least {@code MIN_KEYS + 1} children.
+	 */
+	private final static int MAX_HEIGHT = 32;
+
+	/**
+	 * The root of the tree.
+	 */
+	private Node<V> root;
+
+	/**
+	 * Builds an empty map.
+	 */
+	public StorageBTreeIntMap() {}
+
+	/**
+	 * Creates a map initialized to the same bindings as the given parent map.
+	 * 
+	 * @param parent the parent map
+	 */
+	public StorageBTreeIntMap(Map<Integer, ? extends V> parent) {
+		parent.forEach(this::put);
+	}
+
+	/**
+	 * Yields a snapshot of the given map.
+	 * 
+	 * @param parent the map
+	 */
+	private StorageBTreeIntMap(StorageBTreeIntMap<V> parent) {
+		this.root = parent.root;
+	}
+
+	/**
+	 * A node of the B-tree that implements the map. Since arrays cannot be kept
+	 * in storage, its keys, values and children are kept in distinct fields.
+	 * Nodes are immutable.
+	 */
+	private static class Node<V> extends Storage {
+
+		/**
+		 * True if and only if this node has no children.
+		 */
+		private final boolean leaf;
+
+		/**
+		 * The number of keys in this node.
+		 */
+		private final int count;
+
+		/**
+		 * The number of keys in the subtree rooted at this node.
+		 */
+		private final int size;
+
+		private final int key0, key1, key2, key3, key4, key5, key6;
+		private final V value0, value1, value2, value3, value4, value5, value6;
+		private final Node<V> child0, child1, child2, child3, child4, child5, child6, child7;
+
+		/**
+		 * Builds a node with the keys, values and children in the given arrays,
+		 * starting at the given position.
+		 * 
+		 * @param leaf true if and only if the node has no children
+		 * @param keys the keys
+		 * @param values the values
+		 * @param children the children; this is ignored if {@code leaf} is true
+		 * @param from the position, in the arrays, of the first key, value and child of the node
+		 * @param count the number of keys of the node
+		 */
+		@SuppressWarnings("unchecked")
+		private Node(boolean leaf, int[] keys, Object[] values, Object[] children, int from, int count) {
+			this.leaf = leaf;
+			this.count = count;
+			this.key0 = count > 0 ? keys[from] : 0;
+			this.key1 = 1 < count ? keys[from + 1] : 0;
+			this.key2 = 2 < count ? keys[from + 2] : 0;
+			this.key3 = 3 < count ? keys[from + 3] : 0;
+			this.key4 = 4 < count ? keys[from + 4] : 0;
+			this.key5 = 5 < count ? keys[from + 5] : 0;
+			this.key6 = 6 < count ? keys[from + 6] : 0;
+			this.value0 = (V) at(values, from, 0, count);
+			this.value1 = (V) at(values, from, 1, count);
+			this.value2 = (V) at(values, from, 2, count);
+			this.value3 = (V) at(values, from, 3, count);
+			this.value4 = (V) at(values, from, 4, count);
+			this.value5 = (V) at(values, from, 5, count);
+			this.value6 = (V) at(values, from, 6, count);
+
+			int children_count = leaf ? 0 : count + 1;
+			this.child0 = (Node<V>) at(children, from, 0, children_count);
+			this.child1 = (Node<V>) at(children, from, 1, children_count);
+			this.child2 = (Node<V>) at(children, from, 2, children_count);
+			this.child3 = (Node<V>) at(children, from, 3, children_count);
+			this.child4 = (Node<V>) at(children, from, 4, children_count);
+			this.child5 = (Node<V>) at(children, from, 5, children_count);
+			this.child6 = (Node<V>) at(children, from, 6, children_count);
+			this.child7 = (Node<V>) at(children, from, 7, children_count);
+
+			int size = count;
+			for (int i = 0; i < children_count; i++)
+				size += ((Node<?>) children[from + i]).size;
+
+			this.size = size;
+		}
+
+		private static Object at(Object[] array, int from, int i, int count) {
+			return i < count ? array[from + i] : null;
+		}
+
+		private int key(int i) {
+			switch (i) {
+			case 0: return key0;
+			case 1: return key1;
+			case 2: return key2;
+			case 3: return key3;
+			case 4: return key4;
+			case 5: return key5;
+			default: return key6;
+			}
+		}
+
+		private V value(int i) {
+			switch (i) {
+			case 0: return value0;
+			case 1: return value1;
+			case 2: return value2;
+			case 3: return value3;
+			case 4: return value4;
+			case 5: return value5;
+			default: return value6;
+			}
+		}
+
+		private Node<V> child(int i) {
+			switch (i) {
+			case 0: return child0;
+			case 1: return child1;
+			case 2: return child2;
+			case 3: return child3;
+			case 4: return child4;
+			case 5: return child5;
+			case 6: return child6;
+			default: return child7;
+			}
+		}
+
+		/**
+		 * Yields the position of the given key in this node.
+		 * 
+		 * @param key the key
+		 * @return the position of the key, if it is in this node; otherwise
+		 *         {@code -(i + 1)}, where {@code i} is the position of the child
+		 *         where the key should be looked for
+		 */
+		private int indexOf(int key) {
+			int low = 0, high = count - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int current = key(mid);
+				if      (key < current) high = mid - 1;
+				else if (key > current) low = mid + 1;
+				else                    return mid;
+			}
+
+			return -(low + 1);
+		}
+	}
+
+	/**
+	 * The keys, values and children of a node, unpacked into arrays that can be
+	 * modified before being packed into new nodes. There is room for one key more
+	 * than in a node, so that an overflowing node can be built and then split.
+	 * This is never kept in storage.
+	 */
+	private static class Unpacked<V> {
+		private final boolean leaf;
+		private final int[] keys = new int[MAX_KEYS + 1];
+		private final Object[] values = new Object[MAX_KEYS + 1];
+		private final Object[] children = new Object[MAX_KEYS + 2];
+		private int count;
+
+		private Unpacked(Node<V> node) {
+			this.leaf = node.leaf;
+			this.count = node.count;
+
+			for (int i = 0; i < count; i++) {
+				keys[i] = node.key(i);
+				values[i] = node.value(i);
+			}
+
+			if (!leaf)
+				for (int i = 0; i <= count; i++)
+					children[i] = node.child(i);
+		}
+
+		@SuppressWarnings("unchecked")
+		private Node<V> child(int i) {
+			return (Node<V>) children[i];
+		}
+
+		/**
+		 * Inserts a key and its value at the given position, with the given child at its right.
+		 */
+		private void insert(int i, int key, Object value, Object right) {
+			System.arraycopy(keys, i, keys, i + 1, count - i);
+			System.arraycopy(values, i, values, i + 1, count - i);
+			System.arraycopy(children, i + 1, children, i + 2, count - i);
+			keys[i] = key;
+			values[i] = value;
+			children[i + 1] = right;
+			count++;
+		}
+
+		/**
+		 * Inserts a key and its value before all others, with the given child at its left.
+		 */
+		private void insertFirst(int key, Object value, Object left) {
+			System.arraycopy(keys, 0, keys, 1, count);
+			System.arraycopy(values, 0, values, 1, count);
+			System.arraycopy(children, 0, children, 1, count + 1);
+			keys[0] = key;
+			values[0] = value;
+			children[0] = left;
+			count++;
+		}
+
+		/**
+		 * Removes the key at the given position, with its value and the child at its right.
+		 */
+		private void remove(int i) {
+			System.arraycopy(keys, i + 1, keys, i, count - i - 1);
+			System.arraycopy(values, i + 1, values, i, count - i - 1);
+			System.arraycopy(children, i + 2, children, i + 1, count - i - 1);
+			count--;
+			keys[count] = 0;
+			values[count] = null;
+			children[count + 1] = null;
+		}
+
+		/**
+		 * Removes the first key, with its value and the child at its left.
+		 */
+		private void removeFirst() {
+			System.arraycopy(keys, 1, keys, 0, count - 1);
+			System.arraycopy(values, 1, values, 0, count - 1);
+			System.arraycopy(children, 1, children, 0, count);
+			count--;
+			keys[count] = 0;
+			values[count] = null;
+			children[count + 1] = null;
+		}
+
+		/**
+		 * Appends the given key and value, followed by all keys, values and children of another node.
+		 */
+		private void merge(int key, Object value, Unpacked<V> other) {
+			keys[count] = key;
+			values[count] = value;
+			System.arraycopy(other.keys, 0, keys, count + 1, other.count);
+			System.arraycopy(other.values, 0, values, count + 1, other.count);
+			System.arraycopy(other.children, 0, children, count + 1, other.count + 1);
+			count += other.count + 1;
+		}
+
+		/**
+		 * Guarantees that the child at the given position has at least {@code MIN_KEYS} keys,
+		 * by moving a key from one of its siblings or by merging it with a sibling.
+		 */
+		private void fixUnderflow(int i) {
+			var child = child(i);
+			if (child.count >= MIN_KEYS)
+				return;
+
+			var c = new Unpacked<>(child);
+
+			if (i > 0) {
+				var left = new Unpacked<>(child(i - 1));
+				if (left.count > MIN_KEYS) {
+					// the separator moves down into the child and the largest key of the left sibling moves up
+					c.insertFirst(keys[i - 1], values[i - 1], left.children[left.count]);
+					keys[i - 1] = left.keys[left.count - 1];
+					values[i - 1] = left.values[left.count - 1];
+					left.remove(left.count - 1);
+					children[i - 1] = left.pack();
+					children[i] = c.pack();
+				}
+				else {
+					left.merge(keys[i - 1], values[i - 1], c);
+					remove(i - 1);
+					children[i - 1] = left.pack();
+				}
+			}
+			else {
+				var right = new Unpacked<>(child(i + 1));
+				if (right.count > MIN_KEYS) {
+					// the separator moves down into the child and the smallest key of the right sibling moves up
+					c.keys[c.count] = keys[i];
+					c.values[c.count] = values[i];
+					c.children[c.count + 1] = right.children[0];
+					c.count++;
+					keys[i] = right.keys[0];
+					values[i] = right.values[0];
+					right.removeFirst();
+					children[i] = c.pack();
+					children[i + 1] = right.pack();
+				}
+				else {
+					c.merge(keys[i], values[i], right);
+					remove(i);
+					children[i] = c.pack();
+				}
+			}
+		}
+
+		private Node<V> pack() {
+			return new Node<>(leaf, keys, values, children, 0, count);
+		}
+
+		/**
+		 * Packs this into a node or, if it has too many keys, into two nodes.
+		 * 
+		 * @return the node or the {@link Split} into two nodes
+		 */
+		private Object packOrSplit() {
+			if (count <= MAX_KEYS)
+				return pack();
+
+			int half = count / 2;
+			return new Split<V>(new Node<>(leaf, keys, values, children, 0, half), keys[half], values[half],
+				new Node<>(leaf, keys, values, children, half + 1, count - half - 1));
+		}
+	}
+
+	/**
+	 * The result of the split of an overflowing node: two nodes and the key that separates them.
+	 */
+	private static class Split<V> {
+		private final Node<V> left;
+		private final int key;
+		private final Object value;
+		private final Node<V> right;
+
+		private Split(Node<V> left, int key, Object value, Node<V> right) {
+			this.left = left;
+			this.key = key;
+			this.value = value;
+			this.right = right;
+		}
+	}
+
+	/**
+	 * The result of the removal of the largest key from a subtree.
+	 */
+	private static class RemovedMax<V> {
+		private final int key;
+		private final Object value;
+		private Node<V> node;
+
+		private RemovedMax(int key, Object value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	@Override
+	public @View int size() {
+		return root == null ? 0 : root.size;
+	}
+
+	@Override
+	public @View boolean isEmpty() {
+		return root == null;
+	}
+
+	/**
+	 * Yields the node that contains the given key.
+	 * 
+	 * @param key the key
+	 * @return the node, or {@code null} if the key is not in this map
+	 */
+	private Node<V> nodeOf(int key) {
+		var x = root;
+		while (x != null) {
+			int i = x.indexOf(key);
+			if (i >= 0)
+				return x;
+			else if (x.leaf)
+				return null;
+			else
+				x = x.child(-i - 1);
+		}
+
+		return null;
+	}
+
+	@Override
+	public @View V get(int key) {
+		var x = nodeOf(key);
+		return x == null ? null : x.value(x.indexOf(key));
+	}
+
+	@Override
+	public @View V getOrDefault(int key, V _default) {
+		var x = nodeOf(key);
+		return x == null ? _default : x.value(x.indexOf(key));
+	}
+
+	@Override
+	public V getOrDefault(int key, Supplier<? extends V> _default) {
+		var x = nodeOf(key);
+		return x == null ? _default.get() : x.value(x.indexOf(key));
+	}
+
+	@Override
+	public @View boolean containsKey(int key) {
+		return nodeOf(key) != null;
+	}
+
+	/**
+	 * Binds the given key to the value computed from the value it is currently bound to.
+	 * 
+	 * @param key the key
+	 * @param how the function that computes the new value from the old one, that is
+	 *            {@code null} if the key is not in this map
+	 */
+	@SuppressWarnings("unchecked")
+	private void bind(int key, UnaryOperator<V> how) {
+		if (root == null)
+			root = new Node<>(true, new int[] { key }, new Object[] { how.apply(null) }, null, 0, 1);
+		else {
+			Object result = bind(root, key, how);
+			if (result instanceof Split<?>) {
+				var split = (Split<V>) result;
+				root = new Node<>(false, new int[] { split.key }, new Object[] { split.value }, new Object[] { split.left, split.right }, 0, 1);
+			}
+			else
+				root = (Node<V>) result;
+		}
+	}
+
+	/**
+	 * Binds the given key, in the subtree rooted at x, to the value computed from
+	 * the value it is currently bound to.
+	 * 
+	 * @param x the root of the subtree
+	 * @param key the key
+	 * @param how the function that computes the new value from the old one
+	 * @return the new root of the subtree, that is x itself if nothing changed, or
+	 *         its {@link Split} if it has too many keys
+	 */
+	private static <V> Object bind(Node<V> x, int key, UnaryOperator<V> how) {
+		int i = x.indexOf(key);
+		if (i >= 0) {
+			V old = x.value(i);
+			V now = how.apply(old);
+			if (now == old)
+				return x;
+
+			var u = new Unpacked<>(x);
+			u.values[i] = now;
+			return u.pack();
+		}
+
+		int pos = -i - 1;
+		if (x.leaf) {
+			var u = new Unpacked<>(x);
+			u.insert(pos, key, how.apply(null), null);
+			return u.packOrSplit();
+		}
+
+		var child = x.child(pos);
+		Object result = bind(child, key, how);
+		if (result == child)
+			return x;
+
+		var u = new Unpacked<>(x);
+		if (result instanceof Split<?>) {
+			var split = (Split<?>) result;
+			u.children[pos] = split.left;
+			u.insert(pos, split.key, split.value, split.right);
+			return u.packOrSplit();
+		}
+		else {
+			u.children[pos] = result;
+			return u.pack();
+		}
+	}
+
+	@Override
+	public void put(int key, V value) {
+		bind(key, old -> value);
+	}
+
+	@Override
+	public void removeMin() {
+		if (isEmpty()) throw new NoSuchElementException();
+		remove(min());
+	}
+
+	@Override
+	public void removeMax() {
+		if (isEmpty()) throw new NoSuchElementException();
+		root = removeMax(root).node;
+		shrink();
+	}
+
+	/**
+	 * Removes the largest key from the subtree rooted at x.
+	 * 
+	 * @param x the root of the subtree
+	 * @return the removed key and value, and the new root of the subtree
+	 */
+	@SuppressWarnings("unchecked")
+	private static <V> RemovedMax<V> removeMax(Node<V> x) {
+		var u = new Unpacked<>(x);
+		RemovedMax<V> removed;
+
+		if (x.leaf) {
+			int last = u.count - 1;
+			removed = new RemovedMax<>(u.keys[last], u.values[last]);
+			u.remove(last);
+		}
+		else {
+			removed = removeMax(u.child(u.count));
+			u.children[u.count] = removed.node;
+			u.fixUnderflow(u.count);
+		}
+
+		removed.node = u.pack();
+		return removed;
+	}
+
+	@Override
+	public void remove(int key) {
+		if (root != null) {
+			root = remove(root, key);
+			shrink();
+		}
+	}
+
+	/**
+	 * Removes the root if it has no keys anymore.
+	 */
+	private void shrink() {
+		if (root.count == 0)
+			root = root.leaf ? null : root.child(0);
+	}
+
+	/**
+	 * Removes the given key from the subtree rooted at x.
+	 * 
+	 * @param x the root of the subtree
+	 * @param key the key
+	 * @return the new root of the subtree, that is x itself if nothing changed
+	 */
+	private static <V> Node<V> remove(Node<V> x, int key) {
+		int i = x.indexOf(key);
+		if (x.leaf) {
+			if (i < 0)
+				return x;
+
+			var u = new Unpacked<>(x);
+			u.remove(i);
+			return u.pack();
+		}
+
+		Unpacked<V> u;
+		int pos;
+		if (i >= 0) {
+			// the key is replaced by the largest key at its left, that gets removed from there
+			u = new Unpacked<>(x);
+			var removed = removeMax(u.child(i));
+			u.keys[i] = removed.key;
+			u.values[i] = removed.value;
+			u.children[i] = removed.node;
+			pos = i;
+		}
+		else {
+			pos = -i - 1;
+			var child = x.child(pos);
+			var newChild = remove(child, key);
+			if (newChild == child)
+				return x;
+
+			u = new Unpacked<>(x);
+			u.children[pos] = newChild;
+		}
+
+		u.fixUnderflow(pos);
+		return u.pack();
+	}
+
+	@Override
+	public @View int min() {
+		if (isEmpty()) throw new NoSuchElementException("call to min() with empty symbol table");
+		var x = root;
+		while (!x.leaf)
+			x = x.child(0);
+
+		return x.key(0);
+	}
+
+	@Override
+	public @View int max() {
+		if (isEmpty()) throw new NoSuchElementException("call to max() with empty symbol table");
+		var x = root;
+		while (!x.leaf)
+			x = x.child(x.count);
+
+		return x.key(x.count - 1);
+	}
+
+	@Override
+	public @View int floorKey(int key) {
+		if (isEmpty()) throw new NoSuchElementException();
+
+		// the largest key less than or equal to the given key, found so far
+		int floor = 0;
+		boolean found = false;
+		for (var x = root; x != null; ) {
+			int i = x.indexOf(key);
+			if (i >= 0)
+				return x.key(i);
+
+			int pos = -i - 1;
+			if (pos > 0) {
+				floor = x.key(pos - 1);
+				found = true;
+			}
+
+			x = x.leaf ? null : x.child(pos);
+		}
+
+		if (!found) throw new NoSuchElementException();
+		return floor;
+	}
+
+	@Override
+	public @View int ceilingKey(int key) {
+		if (isEmpty()) throw new NoSuchElementException();
+
+		// the smallest key greater than or equal to the given key, found so far
+		int ceiling = 0;
+		boolean found = false;
+		for (var x = root; x != null; ) {
+			int i = x.indexOf(key);
+			if (i >= 0)
+				return x.key(i);
+
+			int pos = -i - 1;
+			if (pos < x.count) {
+				ceiling = x.key(pos);
+				found = true;
+			}
+
+			x = x.leaf ? null : x.child(pos);
+		}
+
+		if (!found) throw new NoSuchElementException();
+		return ceiling;
+	}
+
+	@Override
+	public @View int select(int k) {
+		if (k < 0 || k >= size()) throw new IllegalArgumentException("argument to select() is invalid: " + k);
+
+		var x = root;
+		while (!x.leaf) {
+			int i = 0;
+			for (;; i++) {
+				int t = x.child(i).size;
+				if (k < t)
+					break;
+				else if (k == t)
+					return x.key(i);
+				else
+					k -= t + 1;
+			}
+
+			x = x.child(i);
+		}
+
+		return x.key(k);
+	}
+
+	@Override
+	public @View int rank(int key) {
+
+		int rank = 0;
+		for (var x = root; x != null; ) {
+			int i = x.indexOf(key);
+			int pos = i >= 0 ? i : -i - 1;
+			rank += pos;
+			if (!x.leaf)
+				for (int j = 0; j < pos; j++)
+					rank += x.child(j).size;
+
+			if (i >= 0) {
+				if (!x.leaf)
+					rank += x.child(i).size;
+
+				return rank;
+			}
+
+			x = x.leaf ? null : x.child(pos);
+		}
+
+		return rank;
+	}
+
+	@Override
+	public void update(int key, UnaryOperator<V> how) {
+		bind(key, how);
+	}
+
+	@Override
+	public void update(int key, V _default, UnaryOperator<V> how) {
+		bind(key, old -> how.apply(old == null ? _default : old));
+	}
+
+	@Override
+	public void update(int key, Supplier<? extends V> _default, UnaryOperator<V> how) {
+		bind(key, old -> how.apply(old == null ? _default.get() : old));
+	}
+
+	@Override
+	public V putIfAbsent(int key, V value) {
+
+		class PutIfAbsent {
+			private V result;
+
+			private V bind(V old) {
+				if (old == null)
+					// not found, or found but bound to null: result remains null
+					return value;
+
+				// found and bound to a non-null value
+				result = old;
+				return old;
+			}
+		}
+
+		var pia = new PutIfAbsent();
+		bind(key, pia::bind);
+		return pia.result;
+	}
+
+	@Override
+	public V computeIfAbsent(int key, Supplier<? extends V> supplier) {
+
+		class ComputeIfAbsent {
+			private V result;
+
+			private V bind(V old) {
+				result = old == null ? supplier.get() : old;
+				return result;
+			}
+		}
+
+		var cia = new ComputeIfAbsent();
+		bind(key, cia::bind);
+		return cia.result;
+	}
+
+	@Override
+	public V computeIfAbsent(int key, IntFunction<? extends V> supplier) {
+
+		class ComputeIfAbsent {
+			private V result;
+
+			private V bind(V old) {
+				result = old == null ? supplier.apply(key) : old;
+				return result;
+			}
+		}
+
+		var cia = new ComputeIfAbsent();
+		bind(key, cia::bind);
+		return cia.result;
+	}
+
+	@Override
+	public void clear() {
+		root = null;
+	}
+
+	@Override
+	public Iterator<Entry<V>> iterator() {
+		return new StorageMapIterator<>(root);
+	}
+
+	private static class StorageMapIterator<V> implements Iterator<Entry<V>> {
+		// the path under enumeration, with the position of the next key
+		// to enumerate in each of its nodes
+		private final Object[] nodes = new Object[MAX_HEIGHT];
+		private final int[] positions = new int[MAX_HEIGHT];
+		private int depth;
+
+		private StorageMapIterator(Node<V> root) {
+			// initially, the stack contains the leftmost path of the tree
+			if (root != null)
+				pushLeftmostPath(root);
+		}
+
+		private void pushLeftmostPath(Node<V> cursor) {
+			while (true) {
+				nodes[depth] = cursor;
+				positions[depth++] = 0;
+				if (cursor.leaf)
+					return;
+
+				cursor = cursor.child(0);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return depth > 0;
+		}
+
+		@Override
+		public Entry<V> next() {
+			if (depth == 0)
+				throw new NoSuchElementException();
+
+			@SuppressWarnings("unchecked")
+			var topmost = (Node<V>) nodes[depth - 1];
+			int i = positions[depth - 1]++;
+			var next = new NodeEntry<>(topmost.key(i), topmost.value(i));
+
+			if (!topmost.leaf)
+				pushLeftmostPath(topmost.child(i + 1));
+
+			// we pop the nodes whose keys have all been enumerated
+			while (depth > 0 && positions[depth - 1] == ((Node<?>) nodes[depth - 1]).count)
+				depth--;
+
+			return next;
+		}
+	}
+
+	private static class NodeEntry<V> implements Entry<V> {
+		private final int key;
+		private final V value;
+
+		private NodeEntry(int key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public int getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+	}
+
+	@Override
+	public Stream<Entry<V>> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	@Override
+	public List<Integer> keyList() {
+		List<Integer> keys = new ArrayList<>();
+		if (root != null)
+			keyList(root, keys);
+
+		return keys;
+	}
+
+	private static <V> void keyList(Node<V> x, List<Integer> keys) {
+		for (int i = 0; i < x.count; i++) {
+			if (!x.leaf)
+				keyList(x.child(i), keys);
+
+			keys.add(x.key(i));
+		}
+
+		if (!x.leaf)
+			keyList(x.child(x.count), keys);
+	}
+
+	@Override
+	public IntStream keys() {
+		return stream().mapToInt(Entry::getKey);
+	}
+
+	@Override
+	public Stream<V> values() {
+		return stream().map(Entry::getValue);
+	}
+
+	@Override
+	public StorageIntMapView<V> view() {
+
+		/**
+		 * A read-only view of a parent storage map. A view contains the same bindings
+		 * as the parent storage map, but does not include modification methods.
+		 * Moreover, a view is exported, so that it can be safely divulged outside
+		 * the store of a node. Calls to the view are simply forwarded to the parent map.
+		 */
+
+		@Exported
+		class StorageIntMapViewImpl extends Storage implements StorageIntMapView<V> {
+
+			@Override
+			public @View int size() {
+				return StorageBTreeIntMap.this.size();
+			}
+
+			@Override
+			public @View boolean isEmpty() {
+				return StorageBTreeIntMap.this.isEmpty();
+			}
+
+			@Override
+			public Iterator<Entry<V>> iterator() {
+				return StorageBTreeIntMap.this.iterator();
+			}
+
+			@Override
+			public V get(int key) {
+				return StorageBTreeIntMap.this.get(key);
+			}
+
+			@Override
+			public V getOrDefault(int key, V _default) {
+				return StorageBTreeIntMap.this.getOrDefault(key, _default);
+			}
+
+			@Override
+			public V getOrDefault(int key, Supplier<? extends V> _default) {
+				return StorageBTreeIntMap.this.getOrDefault(key, _default);
+			}
+
+			@Override
+			public boolean containsKey(int key) {
+				return StorageBTreeIntMap.this.containsKey(key);
+			}
+
+			@Override
+			public int min() {
+				return StorageBTreeIntMap.this.min();
+			}
+
+			@Override
+			public int max() {
+				return StorageBTreeIntMap.this.max();
+			}
+
+			@Override
+			public int floorKey(int key) {
+				return StorageBTreeIntMap.this.floorKey(key);
+			}
+
+			@Override
+			public int ceilingKey(int key) {
+				return StorageBTreeIntMap.this.ceilingKey(key);
+			}
+
+			@Override
+			public int select(int k) {
+				return StorageBTreeIntMap.this.select(k);
+			}
+
+			@Override
+			public int rank(int key) {
+				return StorageBTreeIntMap.this.rank(key);
+			}
+
+			@Override
+			public String toString() {
+				return StorageBTreeIntMap.this.toString();
+			}
+
+			@Override
+			public Stream<Entry<V>> stream() {
+				return StorageBTreeIntMap.this.stream();
+			}
+
+			@Override
+			public List<Integer> keyList() {
+				return StorageBTreeIntMap.this.keyList();
+			}
+
+			@Override
+			public IntStream keys() {
+				return StorageBTreeIntMap.this.keys();
+			}
+
+			@Override
+			public StorageIntMapView<V> snapshot() {
+				return StorageBTreeIntMap.this.snapshot();
+			}
+
+			@Override
+			public Stream<V> values() {
+				return StorageBTreeIntMap.this.values();
+			}
+		}
+
+		return new StorageIntMapViewImpl();
+	}
+
+	@Override
+	public StorageIntMapView<V> snapshot() {
+		return new StorageBTreeIntMap<>(this).view();
+	}
+}
\ No newline at end of file